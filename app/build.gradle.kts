@@ -1,7 +1,15 @@
 plugins {
     alias(libs.plugins.android.application)
+    alias(libs.plugins.baselineprofile)
 }
 
+// Code chỉ dành cho benchmark, dùng chung cho hai build type benchmark ở dưới
+val benchmarkSourceDir = file("src/benchmark")
+
+// ./gradlew :app:connectedAndroidTest -PdaoBenchmark: đổi sang runner benchmark và chỉ chạy DaoQueryBenchmark
+val runDaoBenchmark = providers.gradleProperty("daoBenchmark").isPresent
+val daoBenchmarkClass = "com.g3.soundify_musicplayer.data.dao.DaoQueryBenchmark"
+
 android {
     namespace = "com.g3.soundify_musicplayer"
     compileSdk = 36
@@ -13,7 +21,25 @@ android {
         versionCode = 1
         versionName = "1.0"
 
-        testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+        if (runDaoBenchmark) {
+            // AndroidBenchmarkRunner (kế thừa AndroidJUnitRunner), chỉ chạy DaoQueryBenchmark.
+            // androidTest chạy trên bản debuggable: thời gian SQLite (native) không đổi, chỉ phần map Cursor
+            // -> entity chậm hơn, nên số đo dùng để so sánh tương đối giữa các thay đổi index/schema
+            testInstrumentationRunner = "androidx.benchmark.junit4.AndroidBenchmarkRunner"
+            testInstrumentationRunnerArguments["androidx.benchmark.suppressErrors"] = "DEBUGGABLE"
+            testInstrumentationRunnerArguments["class"] = daoBenchmarkClass
+        } else {
+            // Test thường (MigrationTest...) chạy với runner mặc định, không có lỗi benchmark nào bị nuốt
+            testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+            testInstrumentationRunnerArguments["notClass"] = daoBenchmarkClass
+        }
+
+        // Room export schema JSON vào app/schemas (commit vào git) - MigrationTest đọc lại từ assets
+        javaCompileOptions {
+            annotationProcessorOptions {
+                arguments += mapOf("room.schemaLocation" to "$projectDir/schemas")
+            }
+        }
     }
 
     buildTypes {
@@ -30,11 +56,70 @@ android {
         targetCompatibility = JavaVersion.VERSION_11
     }
 
+    sourceSets {
+        getByName("androidTest") {
+            assets.srcDir("$projectDir/schemas")
+            // DaoQueryBenchmark dùng BenchmarkDataSeeder
+            java.srcDir(benchmarkSourceDir.resolve("java"))
+        }
+    }
+
     lint {
         abortOnError = false
     }
 }
 
+// Build type benchmarkRelease / nonMinifiedRelease do plugin baselineprofile tạo ra từ release:
+// ký bằng debug key để cài được lên máy test, và chỉ ở đó mới compile src/benchmark
+// (BenchmarkDataSeeder + BenchmarkSeedReceiver và manifest của nó) - debug/release không chứa code seed
+val benchmarkBuildTypes = setOf("benchmarkRelease", "nonMinifiedRelease")
+
+androidComponents {
+    finalizeDsl { extension ->
+        extension.buildTypes
+            .filter { it.name in benchmarkBuildTypes }
+            .forEach { it.signingConfig = extension.signingConfigs.getByName("debug") }
+    }
+    onVariants { variant ->
+        if (variant.buildType in benchmarkBuildTypes) {
+            variant.sources.java?.addStaticSourceDirectory(benchmarkSourceDir.resolve("java").path)
+            variant.sources.manifests.addStaticManifestFile(benchmarkSourceDir.resolve("AndroidManifest.xml").path)
+        }
+    }
+}
+
+baselineProfile {
+    // Profile sinh từ :benchmark được ghi vào src/main/generated/baselineProfiles
+    // và gộp với baseline-prof.txt viết tay
+    mergeIntoMain = true
+}
+
+// Schema JSON do Room export (app/schemas) phải nằm trong git: MigrationTest validate theo đó, và schema
+// của version cũ không sinh lại được sau khi entity đã đổi. Có đủ từ v6 (bản phát hành đầu, mốc của
+// MigrationTest) - version mới thì thêm vào list.
+val roomSchemaDir = file("schemas/com.g3.soundify_musicplayer.data.database.AppDatabase")
+val committedSchemaVersions = (6..11).toList()
+
+val verifyRoomSchemas by tasks.registering {
+    description = "Fails when an exported Room schema is missing from app/schemas"
+    group = "verification"
+    // Compile debug để Room export schema của version hiện tại trước khi kiểm tra
+    dependsOn("compileDebugJavaWithJavac")
+    doLast {
+        val missing = committedSchemaVersions.filterNot { roomSchemaDir.resolve("$it.json").isFile }
+        if (missing.isNotEmpty()) {
+            throw GradleException(
+                "Missing Room schema(s) $missing in $roomSchemaDir. Check out the commit of each " +
+                "version, run ./gradlew :app:compileDebugJavaWithJavac and commit app/schemas."
+            )
+        }
+    }
+}
+
+tasks.named("check") {
+    dependsOn(verifyRoomSchemas)
+}
+
 dependencies {
 
     implementation(libs.appcompat)
@@ -44,8 +129,16 @@ dependencies {
     testImplementation(libs.junit)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
+    androidTestImplementation(libs.benchmark.junit4)
+    androidTestImplementation("androidx.room:room-testing:2.7.2")
     implementation("androidx.room:room-runtime:2.7.2")
     annotationProcessor("androidx.room:room-compiler:2.7.2")
+    implementation("androidx.room:room-paging:2.7.2")
+    implementation("androidx.paging:paging-runtime:3.3.6")
+    implementation("androidx.work:work-runtime:2.10.1")
+    // Cài baseline-prof.txt khi app được cài ngoài Play Store (sideload / benchmark)
+    implementation("androidx.profileinstaller:profileinstaller:1.4.1")
+    baselineProfile(project(":benchmark"))
     implementation("com.google.android.material:material:1.11.0")
     implementation("androidx.swiperefreshlayout:swiperefreshlayout:1.1.0")
     implementation("com.github.bumptech.glide:glide:4.16.0")
@@ -55,4 +148,6 @@ dependencies {
     implementation("androidx.media3:media3-exoplayer:1.2.1")
     implementation("androidx.media3:media3-common:1.2.1")
     implementation("androidx.media3:media3-ui:1.2.1")
+    // DefaultDataSource cho AudioPrefetcher (read-ahead bài sắp phát)
+    implementation("androidx.media3:media3-datasource:1.2.1")
 }
\ No newline at end of file
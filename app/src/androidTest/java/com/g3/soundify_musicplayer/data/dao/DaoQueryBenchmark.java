@@ -0,0 +1,184 @@
+package com.g3.soundify_musicplayer.data.dao;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.os.Bundle;
+import android.util.Log;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.filters.LargeTest;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.g3.soundify_musicplayer.data.database.AppDatabase;
+import com.g3.soundify_musicplayer.data.database.BenchmarkDataSeeder;
+import com.g3.soundify_musicplayer.data.database.QueryPlanAudit;
+import com.g3.soundify_musicplayer.data.database.QueryPlans;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Microbenchmark cho các query nóng của DAO trên dataset 10k..1M bài hát.
+ *
+ * Mỗi kích thước dùng một file DB riêng, seed một lần rồi giữ lại giữa các lần chạy
+ * (seed 1M dòng mất vài phút). Chỉ chạy khi có -PdaoBenchmark (xem app/build.gradle.kts),
+ * kích thước chọn qua instrumentation argument:
+ *   ./gradlew :app:connectedAndroidTest -PdaoBenchmark \
+ *       -Pandroid.testInstrumentationRunnerArguments.daoBenchmarkSongs=10000,100000,1000000
+ * Query plan của từng query được ghi vào logcat (tag DaoQueryBenchmark) và query-plans-<n>.txt
+ * trong thư mục additional test output.
+ */
+@LargeTest
+@RunWith(Parameterized.class)
+public class DaoQueryBenchmark {
+
+    private static final String TAG = "DaoQueryBenchmark";
+    private static final String ARG_SONG_COUNTS = "daoBenchmarkSongs";
+    private static final String DEFAULT_SONG_COUNTS = "10000,100000";
+    private static final String SEARCH_QUERY = "summer";
+
+    // Giữ DB đã mở giữa các test method cùng kích thước
+    private static final Map<Integer, AppDatabase> DATABASES = new HashMap<>();
+
+    @Rule
+    public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    @Parameterized.Parameter
+    public int songCount;
+
+    private AppDatabase database;
+    private long benchUserId;
+    private long hotSongId;
+    private long playlistId;
+
+    @Parameterized.Parameters(name = "songs={0}")
+    public static List<Integer> songCounts() {
+        Bundle args = InstrumentationRegistry.getArguments();
+        String value = args.getString(ARG_SONG_COUNTS, DEFAULT_SONG_COUNTS);
+        List<Integer> counts = new ArrayList<>();
+        for (String part : value.split(",")) {
+            counts.add(Integer.parseInt(part.trim()));
+        }
+        return counts;
+    }
+
+    @Before
+    public void setUp() {
+        database = DATABASES.get(songCount);
+        if (database == null) {
+            Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+            database = AppDatabase.createStandalone(context, "dao-benchmark-" + songCount + ".db");
+            DATABASES.put(songCount, database);
+        }
+        benchUserId = BenchmarkDataSeeder.seedIfEmpty(database, BenchmarkDataSeeder.Spec.forQueries(songCount));
+
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        hotSongId = queryLong(db, "SELECT MIN(id) FROM songs");
+        playlistId = queryLong(db, "SELECT id FROM playlists WHERE name = '"
+                + BenchmarkDataSeeder.BENCHMARK_PLAYLIST_NAME + "'");
+    }
+
+    @AfterClass
+    public static void closeDatabases() {
+        for (AppDatabase db : DATABASES.values()) {
+            db.close();
+        }
+        DATABASES.clear();
+    }
+
+    @Test
+    public void searchPublicSongsWithUploaderInfo() {
+        SongDao dao = database.songDao();
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            dao.searchPublicSongsWithUploaderInfoSync(SEARCH_QUERY);
+        }
+    }
+
+    @Test
+    public void getSongsFromFollowing() {
+        SongDao dao = database.songDao();
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            dao.getSongsFromFollowingSync(benchUserId);
+        }
+    }
+
+    @Test
+    public void getRecentSongsWithUploaderInfo() {
+        RecentlyPlayedDao dao = database.recentlyPlayedDao();
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            dao.getRecentSongsWithUploaderInfoSync(benchUserId);
+        }
+    }
+
+    @Test
+    public void getCommentsWithUserBySong() {
+        CommentDao dao = database.commentDao();
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            dao.getCommentsWithUserBySongSync(hotSongId, benchUserId);
+        }
+    }
+
+    @Test
+    public void getSongsInPlaylist() {
+        PlaylistSongDao dao = database.playlistSongDao();
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            dao.getSongsInPlaylistSync(playlistId);
+        }
+    }
+
+    /**
+     * Không phải benchmark: in query plan để đối chiếu với số đo khi đổi index/schema,
+     * và fail nếu query nóng nào quét toàn bảng trên dataset lớn
+     */
+    @Test
+    public void queryPlans() throws IOException {
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+
+        StringBuilder report = new StringBuilder("songs=" + songCount + "\n\n");
+        for (QueryPlanAudit.HotQuery query : QueryPlanAudit.HOT_QUERIES) {
+            List<String> plan = QueryPlans.explain(db, query.sql);
+            assertFalse(query.name + " has no plan", plan.isEmpty());
+            String formatted = QueryPlans.format(query.name, plan);
+            Log.i(TAG, formatted);
+            report.append(formatted).append('\n');
+        }
+
+        String outputDir = InstrumentationRegistry.getArguments().getString("additionalTestOutputDir");
+        if (outputDir != null) {
+            try (FileWriter writer = new FileWriter(new File(outputDir, "query-plans-" + songCount + ".txt"))) {
+                writer.write(report.toString());
+            }
+        }
+
+        List<String> fullScans = QueryPlanAudit.findFullScans(db);
+        assertTrue("Full table scans:\n" + String.join("\n", fullScans), fullScans.isEmpty());
+    }
+
+    private static long queryLong(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : -1;
+        }
+    }
+}
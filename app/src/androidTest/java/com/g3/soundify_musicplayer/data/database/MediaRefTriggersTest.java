@@ -0,0 +1,76 @@
+package com.g3.soundify_musicplayer.data.database;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.g3.soundify_musicplayer.data.dao.MediaBlobDao;
+import com.g3.soundify_musicplayer.data.entity.MediaBlob;
+import com.g3.soundify_musicplayer.data.entity.Song;
+import com.g3.soundify_musicplayer.data.entity.User;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * DB tạo mới (cài app lần đầu, không qua migration nào) cũng phải có trigger ref_count:
+ * thiếu trigger thì ref_count đứng ở 0 và MediaBlobStore.reclaimUnreferenced xoá file đang dùng.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MediaRefTriggersTest {
+
+    private static final String TEST_DB = "media-ref-triggers-test.db";
+    private static final String AUDIO_PATH = "/data/media/ab/abcdef.mp3";
+    private static final String COVER_PATH = "/data/media/cd/cdef01.jpg";
+
+    private Context context;
+    private AppDatabase database;
+    private MediaBlobDao mediaBlobDao;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB);
+        database = AppDatabase.createStandalone(context, TEST_DB);
+        mediaBlobDao = database.mediaBlobDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void freshDatabaseCountsMediaReferences() {
+        assertEquals(11, database.getOpenHelper().getWritableDatabase().getVersion());
+
+        mediaBlobDao.insertIfAbsent(new MediaBlob("abcdef", AUDIO_PATH, 1024, 0));
+        mediaBlobDao.insertIfAbsent(new MediaBlob("cdef01", COVER_PATH, 512, 0));
+
+        long userId = database.userDao().insert(new User("owner", "Owner", "owner@test.com", "x"));
+        Song first = new Song(userId, "First", AUDIO_PATH);
+        first.setCoverArtUrl(COVER_PATH);
+        long firstId = database.songDao().insert(first);
+        database.songDao().insert(new Song(userId, "Second", AUDIO_PATH));
+
+        assertEquals(2, mediaBlobDao.getByHashSync("abcdef").getRefCount());
+        assertEquals(1, mediaBlobDao.getByHashSync("cdef01").getRefCount());
+
+        // Đổi ảnh bìa: blob cũ mất một tham chiếu
+        Song updated = database.songDao().getSongByIdSync(firstId);
+        updated.setCoverArtUrl(null);
+        database.songDao().update(updated);
+        assertEquals(0, mediaBlobDao.getByHashSync("cdef01").getRefCount());
+
+        // Xoá user cascade xoá songs: audio không còn ai trỏ tới
+        database.userDao().delete(database.userDao().getUserByIdSync(userId));
+        assertEquals(0, mediaBlobDao.getByHashSync("abcdef").getRefCount());
+        assertEquals(2, mediaBlobDao.getUnreferencedSync().size());
+    }
+}
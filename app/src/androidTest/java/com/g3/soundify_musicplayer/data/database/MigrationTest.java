@@ -0,0 +1,188 @@
+package com.g3.soundify_musicplayer.data.database;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.room.migration.Migration;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Migration từ v6 (bản phát hành đầu tiên) lên schema hiện tại, không mất dữ liệu.
+ *
+ * DB v6 được MigrationTestHelper tạo từ app/schemas/...AppDatabase/6.json, mỗi bước migrate được
+ * validate với <version>.json tương ứng - khi thêm version mới, commit schema export của nó, thêm
+ * migration vào AppDatabase.ALL_MIGRATIONS và tăng LATEST_VERSION.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationTest {
+
+    private static final String TEST_DB = "migration-test.db";
+    private static final int FIRST_RELEASED_VERSION = 6;
+    private static final int LATEST_VERSION = 11;
+
+    @Rule
+    public final MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(), AppDatabase.class);
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void migrateFromFirstReleaseKeepsData() throws IOException {
+        createV6Database();
+
+        SupportSQLiteDatabase db = helper.runMigrationsAndValidate(
+                TEST_DB, LATEST_VERSION, true, AppDatabase.ALL_MIGRATIONS);
+
+        // Dữ liệu cũ còn nguyên
+        assertEquals(2, queryLong(db, "SELECT COUNT(*) FROM users"));
+        assertEquals(2, queryLong(db, "SELECT COUNT(*) FROM songs"));
+        assertEquals(1, queryLong(db, "SELECT COUNT(*) FROM recently_played"));
+
+        // 6 -> 7: FTS được rebuild từ dữ liệu có sẵn
+        assertEquals(1, queryLong(db,
+                "SELECT COUNT(*) FROM songs_fts WHERE songs_fts MATCH 'summer'"));
+        assertEquals(1, queryLong(db,
+                "SELECT COUNT(*) FROM users_fts WHERE users_fts MATCH 'alice'"));
+        assertEquals(1, queryLong(db,
+                "SELECT COUNT(*) FROM playlists_fts WHERE playlists_fts MATCH 'chill'"));
+
+        // 7 -> 8: counter columns được backfill
+        assertEquals(2, queryLong(db, "SELECT like_count FROM songs WHERE id = 1"));
+        assertEquals(1, queryLong(db, "SELECT comment_count FROM songs WHERE id = 1"));
+        assertEquals(1, queryLong(db, "SELECT follower_count FROM users WHERE id = 1"));
+        assertEquals(1, queryLong(db, "SELECT following_count FROM users WHERE id = 2"));
+        assertEquals(2, queryLong(db, "SELECT song_count FROM playlists WHERE id = 1"));
+
+        // 8 -> 9: index cũ được thay bằng composite index
+        assertEquals(1, queryLong(db, "SELECT COUNT(*) FROM sqlite_master "
+                + "WHERE type = 'index' AND name = 'index_songs_is_public_created_at'"));
+        assertEquals(0, queryLong(db, "SELECT COUNT(*) FROM sqlite_master "
+                + "WHERE type = 'index' AND name = 'index_songs_is_public'"));
+
+        // 10 -> 11: song_metadata trống, bài cũ chờ MetadataBackfillWorker
+        assertEquals(0, queryLong(db, "SELECT COUNT(*) FROM song_metadata"));
+        assertEquals(2, queryLong(db, "SELECT COUNT(*) FROM songs s LEFT JOIN song_metadata m "
+                + "ON m.song_id = s.id WHERE m.song_id IS NULL"));
+    }
+
+    @Test
+    public void migratedDatabaseKeepsCountersInSync() throws IOException {
+        createV6Database();
+        SupportSQLiteDatabase db = helper.runMigrationsAndValidate(
+                TEST_DB, LATEST_VERSION, true, AppDatabase.ALL_MIGRATIONS);
+
+        db.execSQL("DELETE FROM song_likes WHERE song_id = 1 AND user_id = 2");
+        db.execSQL("INSERT INTO comments (song_id, user_id, content, created_at) VALUES (1, 1, 'again', 4)");
+
+        assertEquals(1, queryLong(db, "SELECT like_count FROM songs WHERE id = 1"));
+        assertEquals(2, queryLong(db, "SELECT comment_count FROM songs WHERE id = 1"));
+    }
+
+    @Test
+    public void migratedDatabaseTracksMediaReferences() throws IOException {
+        createV6Database();
+        SupportSQLiteDatabase db = helper.runMigrationsAndValidate(
+                TEST_DB, LATEST_VERSION, true, AppDatabase.ALL_MIGRATIONS);
+
+        db.execSQL("INSERT INTO media_blobs (hash, path, size_bytes, ref_count, created_at) "
+                + "VALUES ('abc', '/media/ab/abc', 10, 0, 1)");
+        db.execSQL("INSERT INTO songs (id, uploader_id, title, audio_url, is_public, created_at, "
+                + "like_count, comment_count) VALUES (3, 1, 'Dup', '/media/ab/abc', 1, 4, 0, 0)");
+        db.execSQL("UPDATE users SET avatar_url = '/media/ab/abc' WHERE id = 2");
+        assertEquals(2, queryLong(db, "SELECT ref_count FROM media_blobs WHERE hash = 'abc'"));
+
+        db.execSQL("DELETE FROM songs WHERE id = 3");
+        db.execSQL("UPDATE users SET avatar_url = NULL WHERE id = 2");
+        assertEquals(0, queryLong(db, "SELECT ref_count FROM media_blobs WHERE hash = 'abc'"));
+    }
+
+    /**
+     * Từng migration riêng lẻ cho ra đúng schema đã export của version đó
+     */
+    @Test
+    public void eachMigrationMatchesItsExportedSchema() throws IOException {
+        createV6Database();
+        for (Migration migration : AppDatabase.ALL_MIGRATIONS) {
+            helper.runMigrationsAndValidate(TEST_DB, migration.endVersion, true, migration).close();
+        }
+        assertEquals(LATEST_VERSION, AppDatabase.ALL_MIGRATIONS[AppDatabase.ALL_MIGRATIONS.length - 1].endVersion);
+    }
+
+    /**
+     * Room mở được DB đã migrate (identity hash khớp) và đọc được qua DAO
+     */
+    @Test
+    public void roomOpensMigratedDatabase() throws IOException {
+        createV6Database();
+        helper.runMigrationsAndValidate(TEST_DB, LATEST_VERSION, true, AppDatabase.ALL_MIGRATIONS).close();
+
+        AppDatabase database = Room.databaseBuilder(context, AppDatabase.class, TEST_DB)
+                .addMigrations(AppDatabase.ALL_MIGRATIONS)
+                .build();
+        try {
+            assertTrue(database.userDao().getUserByIdSync(1) != null);
+        } finally {
+            database.close();
+        }
+    }
+
+    /**
+     * Tạo DB v6 từ 6.json và thêm dữ liệu mẫu
+     */
+    private void createV6Database() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, FIRST_RELEASED_VERSION);
+        try {
+            db.execSQL("INSERT INTO users (id, username, display_name, email, created_at) "
+                    + "VALUES (1, 'alice', 'Alice', 'alice@example.com', 1)");
+            db.execSQL("INSERT INTO users (id, username, display_name, email, created_at) "
+                    + "VALUES (2, 'bob', 'Bob', 'bob@example.com', 1)");
+            db.execSQL("INSERT INTO songs (id, uploader_id, title, genre, description, is_public, created_at) "
+                    + "VALUES (1, 1, 'Summer Rain', 'Pop', 'first', 1, 2)");
+            db.execSQL("INSERT INTO songs (id, uploader_id, title, genre, description, is_public, created_at) "
+                    + "VALUES (2, 2, 'City Lights', 'Rock', 'second', 1, 3)");
+            db.execSQL("INSERT INTO playlists (id, owner_id, name, description, is_public, created_at) "
+                    + "VALUES (1, 1, 'Chill Mix', 'weekend', 1, 2)");
+            db.execSQL("INSERT INTO playlist_songs (playlist_id, song_id, position) VALUES (1, 1, 0)");
+            db.execSQL("INSERT INTO playlist_songs (playlist_id, song_id, position) VALUES (1, 2, 1)");
+            db.execSQL("INSERT INTO song_likes (song_id, user_id, created_at) VALUES (1, 1, 3)");
+            db.execSQL("INSERT INTO song_likes (song_id, user_id, created_at) VALUES (1, 2, 3)");
+            db.execSQL("INSERT INTO comments (song_id, user_id, content, created_at) VALUES (1, 2, 'nice', 3)");
+            db.execSQL("INSERT INTO user_follows (follower_id, followee_id, created_at) VALUES (2, 1, 3)");
+            db.execSQL("INSERT INTO recently_played (user_id, song_id, played_at) VALUES (1, 2, 3)");
+        } finally {
+            db.close();
+        }
+    }
+
+    private static long queryLong(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : -1;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.g3.soundify_musicplayer.data.database;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteConstraintException;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteStatement;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.g3.soundify_musicplayer.data.dao.SongLikeDao;
+import com.g3.soundify_musicplayer.data.entity.Song;
+import com.g3.soundify_musicplayer.data.entity.SongLike;
+import com.g3.soundify_musicplayer.data.entity.User;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Một write lỗi trong batch chỉ được fail Future của nó, các write còn lại vẫn phải được commit.
+ *
+ * Các write được submit trong lúc db-write thread đang bị chặn, nên chắc chắn đi chung một batch.
+ */
+@RunWith(AndroidJUnit4.class)
+public class WriteBatcherTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private AppDatabase database;
+    private WriteBatcher batcher;
+    private SongLikeDao songLikeDao;
+    private long songId;
+    private long firstUserId;
+    private long secondUserId;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class).build();
+        batcher = new WriteBatcher(database);
+        songLikeDao = database.songLikeDao();
+
+        firstUserId = database.userDao().insert(new User("first", "First", "first@test.com", "x"));
+        secondUserId = database.userDao().insert(new User("second", "Second", "second@test.com", "x"));
+        songId = database.songDao().insert(new Song(firstUserId, "Song", "/audio/song.mp3"));
+        // Like có sẵn: insert lại cùng (song, user) sẽ vi phạm primary key
+        songLikeDao.insert(new SongLike(songId, firstUserId));
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void failingWriteOnlyFailsItsOwnFuture() throws Exception {
+        Future<Void> duplicate;
+        Future<Void> valid;
+        CountDownLatch writerBlocked = blockWriter();
+        try {
+            duplicate = batcher.submit(() -> {
+                songLikeDao.insert(new SongLike(songId, firstUserId));
+                return null;
+            });
+            valid = batcher.submit(() -> {
+                songLikeDao.insert(new SongLike(songId, secondUserId));
+                return null;
+            });
+        } finally {
+            writerBlocked.countDown();
+        }
+
+        valid.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        try {
+            duplicate.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            fail("Duplicate like should fail");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof SQLiteConstraintException);
+        }
+
+        // Write hợp lệ đi chung batch với write lỗi vẫn được commit
+        assertEquals(1, songLikeDao.isSongLikedByUser(songId, secondUserId));
+        assertEquals(1, songLikeDao.isSongLikedByUser(songId, firstUserId));
+    }
+
+    @Test
+    public void swallowedNestedFailureOnlyFailsTheSwallowingWrite() throws Exception {
+        Future<Void> swallowing;
+        Future<Void> valid;
+        CountDownLatch writerBlocked = blockWriter();
+        try {
+            valid = batcher.submit(() -> {
+                songLikeDao.insert(new SongLike(songId, secondUserId));
+                return null;
+            });
+            swallowing = batcher.submit(() -> {
+                try {
+                    songLikeDao.insert(new SongLike(songId, firstUserId));
+                } catch (SQLiteConstraintException ignored) {
+                    // Transaction lồng của DAO đã lỗi: batch bị rollback dù write này "thành công"
+                }
+                return null;
+            });
+        } finally {
+            writerBlocked.countDown();
+        }
+
+        // Batch được chạy lại từng write một: chỉ write nuốt exception bị fail
+        valid.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertFails(swallowing);
+        assertEquals(1, songLikeDao.isSongLikedByUser(songId, secondUserId));
+    }
+
+    @Test
+    public void compiledStatementIsReusedAcrossBatches() throws Exception {
+        String sql = "INSERT OR REPLACE INTO song_likes (song_id, user_id, created_at) VALUES (?, ?, ?)";
+        SupportSQLiteStatement first = batcher.submit(() -> batcher.statement(sql))
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        SupportSQLiteStatement second = batcher.submit(() -> {
+            SupportSQLiteStatement statement = batcher.statement(sql);
+            statement.bindLong(1, songId);
+            statement.bindLong(2, secondUserId);
+            statement.bindLong(3, 1);
+            statement.executeInsert();
+            return statement;
+        }).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertSame(first, second);
+        assertEquals(1, songLikeDao.isSongLikedByUser(songId, secondUserId));
+    }
+
+    @Test
+    public void statementOutsideWriteIsRejected() {
+        try {
+            batcher.statement("DELETE FROM song_likes");
+            fail("statement() must only be used inside a batched write");
+        } catch (IllegalStateException expected) {
+            // ok
+        }
+    }
+
+    /**
+     * Chặn db-write thread cho tới khi latch được mở
+     */
+    private static CountDownLatch blockWriter() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AppExecutors.getInstance().diskWrite().execute(() -> {
+            started.countDown();
+            try {
+                release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        return release;
+    }
+
+    private static void assertFails(Future<?> future) throws Exception {
+        try {
+            future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            fail("Write rolled back by its own swallowed failure should fail");
+        } catch (ExecutionException expected) {
+            // ok
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.g3.soundify_musicplayer.data.database;
+
+import android.util.Log;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import com.g3.soundify_musicplayer.utils.AuthManager;
+
+import java.util.Random;
+
+/**
+ * Sinh dữ liệu lớn, deterministic cho benchmark (macro + micro).
+ *
+ * Ghi thẳng bằng compiled statement trong một transaction thay vì đi qua DAO: seed hàng trăm nghìn
+ * dòng qua @Insert từng entity mất vài phút. Counter columns vẫn do trigger cập nhật (CounterTriggers),
+ * nên dữ liệu seed nhất quán giống dữ liệu thật.
+ *
+ * User đầu tiên luôn là {@link #BENCHMARK_USERNAME}: có bài hát riêng, một playlist lớn,
+ * follow nhiều user và có lịch sử nghe - đủ để mọi màn hình chính có dữ liệu để scroll.
+ */
+public final class BenchmarkDataSeeder {
+
+    private static final String TAG = "BenchmarkDataSeeder";
+
+    public static final String BENCHMARK_USERNAME = "bench_user";
+    public static final String BENCHMARK_PASSWORD = "bench123";
+    public static final String BENCHMARK_PLAYLIST_NAME = "Benchmark Playlist";
+
+    // Từ khoá để query search có kết quả ở nhiều mức selectivity
+    private static final String[] WORDS = {
+            "love", "night", "summer", "rain", "city", "dream", "fire", "ocean",
+            "blue", "gold", "moon", "river", "heart", "road", "light", "echo"
+    };
+    private static final String[] GENRES = {"Pop", "Rock", "Jazz", "Hip Hop", "Electronic", "Ballad"};
+
+    /**
+     * Kích thước dataset
+     */
+    public static final class Spec {
+        public final int users;
+        public final int songs;
+        public final int benchUserSongs;
+        public final int playlistSongs;
+        public final int followsPerUser;
+        public final int likesPerUser;
+        public final int recentlyPlayed;
+        public final int hotSongComments;
+
+        public Spec(int users, int songs, int benchUserSongs, int playlistSongs,
+                    int followsPerUser, int likesPerUser, int recentlyPlayed, int hotSongComments) {
+            this.users = Math.max(2, users);
+            this.songs = Math.max(benchUserSongs, songs);
+            this.benchUserSongs = benchUserSongs;
+            this.playlistSongs = Math.min(playlistSongs, this.songs);
+            this.followsPerUser = Math.min(followsPerUser, this.users - 1);
+            this.likesPerUser = likesPerUser;
+            this.recentlyPlayed = Math.min(recentlyPlayed, this.songs);
+            this.hotSongComments = hotSongComments;
+        }
+
+        /**
+         * Dataset cho macrobenchmark: đủ lớn để scroll nhiều trang, seed xong trong vài giây
+         */
+        public static Spec forUiJourneys() {
+            return new Spec(500, 10_000, 1_000, 2_000, 100, 50, 50, 500);
+        }
+
+        /**
+         * Dataset cho DAO microbenchmark, scale theo số bài hát (10k..1M)
+         */
+        public static Spec forQueries(int songs) {
+            int users = Math.max(100, songs / 20);
+            return new Spec(users, songs, 1_000, 5_000, 200, 20, 500, 2_000);
+        }
+    }
+
+    private BenchmarkDataSeeder() {
+    }
+
+    /**
+     * Seed dataset nếu benchmark user chưa tồn tại. Blocking - không gọi trên main thread.
+     *
+     * @return id của benchmark user
+     */
+    public static long seedIfEmpty(AppDatabase database, Spec spec) {
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        long existing = findBenchmarkUserId(db);
+        if (existing > 0) {
+            return existing;
+        }
+
+        long start = System.currentTimeMillis();
+        Random random = new Random(42);
+        long now = System.currentTimeMillis();
+
+        db.beginTransaction();
+        try {
+            long firstUserId = insertUsers(db, spec, now);
+            long firstSongId = insertSongs(db, spec, firstUserId, random, now);
+            insertPlaylists(db, spec, firstUserId, firstSongId, now);
+            insertFollows(db, spec, firstUserId, random, now);
+            insertLikes(db, spec, firstUserId, firstSongId, random, now);
+            insertRecentlyPlayed(db, spec, firstUserId, firstSongId, random, now);
+            insertComments(db, spec, firstUserId, firstSongId, random, now);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+
+        Log.d(TAG, "Seeded " + spec.users + " users / " + spec.songs + " songs in "
+                + (System.currentTimeMillis() - start) + "ms");
+        return findBenchmarkUserId(db);
+    }
+
+    private static long findBenchmarkUserId(SupportSQLiteDatabase db) {
+        try (android.database.Cursor cursor = db.query(
+                "SELECT id FROM users WHERE username = ?", new Object[]{BENCHMARK_USERNAME})) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : -1;
+        }
+    }
+
+    private static long insertUsers(SupportSQLiteDatabase db, Spec spec, long now) {
+        SupportSQLiteStatement stmt = db.compileStatement(
+                "INSERT INTO users (username, display_name, email, password_hash, created_at) VALUES (?, ?, ?, ?, ?)");
+        String passwordHash = AuthManager.hashPassword(BENCHMARK_PASSWORD);
+        long firstId = -1;
+        for (int i = 0; i < spec.users; i++) {
+            String username = i == 0 ? BENCHMARK_USERNAME : "user_" + i;
+            stmt.bindString(1, username);
+            stmt.bindString(2, i == 0 ? "Benchmark User" : "Artist " + i);
+            stmt.bindString(3, username + "@benchmark.local");
+            stmt.bindString(4, passwordHash);
+            stmt.bindLong(5, now - i * 60_000L);
+            long id = stmt.executeInsert();
+            if (i == 0) {
+                firstId = id;
+            }
+        }
+        return firstId;
+    }
+
+    private static long insertSongs(SupportSQLiteDatabase db, Spec spec, long firstUserId, Random random, long now) {
+        SupportSQLiteStatement stmt = db.compileStatement(
+                "INSERT INTO songs (uploader_id, title, description, audio_url, genre, duration_ms, is_public, created_at)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+        long firstId = -1;
+        for (int i = 0; i < spec.songs; i++) {
+            // benchUserSongs bài đầu thuộc benchmark user (Library > My Songs), còn lại chia đều
+            long uploaderId = i < spec.benchUserSongs
+                    ? firstUserId
+                    : firstUserId + 1 + (i % (spec.users - 1));
+            stmt.bindLong(1, uploaderId);
+            stmt.bindString(2, WORDS[random.nextInt(WORDS.length)] + " "
+                    + WORDS[random.nextInt(WORDS.length)] + " " + i);
+            stmt.bindString(3, "Benchmark song " + i);
+            // Host .invalid: không bao giờ resolve, player báo lỗi nhưng UI journey vẫn chạy
+            stmt.bindString(4, "https://audio.benchmark.invalid/" + i + ".mp3");
+            stmt.bindString(5, GENRES[i % GENRES.length]);
+            stmt.bindLong(6, 120_000 + random.nextInt(180_000));
+            stmt.bindLong(7, i % 10 == 9 ? 0 : 1);
+            stmt.bindLong(8, now - i * 1_000L);
+            long id = stmt.executeInsert();
+            if (i == 0) {
+                firstId = id;
+            }
+        }
+        return firstId;
+    }
+
+    private static void insertPlaylists(SupportSQLiteDatabase db, Spec spec, long firstUserId, long firstSongId, long now) {
+        SupportSQLiteStatement playlistStmt = db.compileStatement(
+                "INSERT INTO playlists (owner_id, name, description, is_public, created_at) VALUES (?, ?, ?, 1, ?)");
+        playlistStmt.bindLong(1, firstUserId);
+        playlistStmt.bindString(2, BENCHMARK_PLAYLIST_NAME);
+        playlistStmt.bindString(3, spec.playlistSongs + " songs");
+        playlistStmt.bindLong(4, now);
+        long playlistId = playlistStmt.executeInsert();
+
+        SupportSQLiteStatement songStmt = db.compileStatement(
+                "INSERT INTO playlist_songs (playlist_id, song_id, position) VALUES (?, ?, ?)");
+        for (int i = 0; i < spec.playlistSongs; i++) {
+            songStmt.bindLong(1, playlistId);
+            songStmt.bindLong(2, firstSongId + i);
+            songStmt.bindLong(3, i);
+            songStmt.executeInsert();
+        }
+    }
+
+    private static void insertFollows(SupportSQLiteDatabase db, Spec spec, long firstUserId, Random random, long now) {
+        SupportSQLiteStatement stmt = db.compileStatement(
+                "INSERT OR IGNORE INTO user_follows (follower_id, followee_id, created_at) VALUES (?, ?, ?)");
+        for (int u = 0; u < spec.users; u++) {
+            // Benchmark user follow nhiều nhất, user khác follow ít hơn để phân bố giống thực tế
+            int follows = u == 0 ? spec.followsPerUser : Math.min(10, spec.followsPerUser);
+            for (int f = 0; f < follows; f++) {
+                int followee = u == 0 ? f + 1 : random.nextInt(spec.users);
+                if (followee == u) {
+                    continue;
+                }
+                stmt.bindLong(1, firstUserId + u);
+                stmt.bindLong(2, firstUserId + followee);
+                stmt.bindLong(3, now - f * 1_000L);
+                stmt.executeInsert();
+            }
+        }
+    }
+
+    private static void insertLikes(SupportSQLiteDatabase db, Spec spec, long firstUserId, long firstSongId,
+                                    Random random, long now) {
+        SupportSQLiteStatement stmt = db.compileStatement(
+                "INSERT OR IGNORE INTO song_likes (song_id, user_id, created_at) VALUES (?, ?, ?)");
+        for (int u = 0; u < spec.users; u++) {
+            for (int l = 0; l < spec.likesPerUser; l++) {
+                stmt.bindLong(1, firstSongId + random.nextInt(spec.songs));
+                stmt.bindLong(2, firstUserId + u);
+                stmt.bindLong(3, now - l * 1_000L);
+                stmt.executeInsert();
+            }
+        }
+    }
+
+    private static void insertRecentlyPlayed(SupportSQLiteDatabase db, Spec spec, long firstUserId, long firstSongId,
+                                             Random random, long now) {
+        SupportSQLiteStatement stmt = db.compileStatement(
+                "INSERT OR REPLACE INTO recently_played (user_id, song_id, played_at) VALUES (?, ?, ?)");
+        for (int i = 0; i < spec.recentlyPlayed; i++) {
+            stmt.bindLong(1, firstUserId);
+            stmt.bindLong(2, firstSongId + random.nextInt(spec.songs));
+            stmt.bindLong(3, now - i * 60_000L);
+            stmt.executeInsert();
+        }
+    }
+
+    /**
+     * Bài đầu tiên là "hot song" với nhiều comment + like, cho query comment + hydrate like
+     */
+    private static void insertComments(SupportSQLiteDatabase db, Spec spec, long firstUserId, long firstSongId,
+                                       Random random, long now) {
+        SupportSQLiteStatement commentStmt = db.compileStatement(
+                "INSERT INTO comments (song_id, user_id, content, created_at, updated_at) VALUES (?, ?, ?, ?, ?)");
+        SupportSQLiteStatement likeStmt = db.compileStatement(
+                "INSERT OR IGNORE INTO comment_likes (comment_id, user_id, created_at) VALUES (?, ?, ?)");
+        for (int i = 0; i < spec.hotSongComments; i++) {
+            long createdAt = now - i * 1_000L;
+            commentStmt.bindLong(1, firstSongId);
+            commentStmt.bindLong(2, firstUserId + random.nextInt(spec.users));
+            commentStmt.bindString(3, "Comment " + i + " " + WORDS[i % WORDS.length]);
+            commentStmt.bindLong(4, createdAt);
+            commentStmt.bindLong(5, createdAt);
+            long commentId = commentStmt.executeInsert();
+
+            int likes = random.nextInt(5);
+            for (int l = 0; l < likes; l++) {
+                likeStmt.bindLong(1, commentId);
+                likeStmt.bindLong(2, firstUserId + random.nextInt(spec.users));
+                likeStmt.bindLong(3, createdAt);
+                likeStmt.executeInsert();
+            }
+        }
+    }
+}
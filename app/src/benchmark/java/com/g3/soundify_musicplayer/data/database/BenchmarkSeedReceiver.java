@@ -0,0 +1,50 @@
+package com.g3.soundify_musicplayer.data.database;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.util.Log;
+
+import com.g3.soundify_musicplayer.utils.AppExecutors;
+import com.g3.soundify_musicplayer.utils.AuthManager;
+
+/**
+ * Hook cho :benchmark - seed dataset lớn và đăng nhập sẵn benchmark user, để journey
+ * mở thẳng vào MainActivity thay vì đo cả màn hình login.
+ *
+ * Nằm trong src/benchmark nên chỉ được compile vào build benchmarkRelease / nonMinifiedRelease
+ * (xem app/build.gradle.kts), và yêu cầu quyền DUMP mà chỉ shell có:
+ *   adb shell am broadcast -a com.g3.soundify_musicplayer.SEED_BENCHMARK_DATA \
+ *       -n com.g3.soundify_musicplayer/.data.database.BenchmarkSeedReceiver
+ * `am broadcast` chờ tới khi finish() được gọi, nên caller biết chắc seed đã xong.
+ */
+public class BenchmarkSeedReceiver extends BroadcastReceiver {
+
+    private static final String TAG = "BenchmarkSeedReceiver";
+
+    public static final String ACTION_SEED = "com.g3.soundify_musicplayer.SEED_BENCHMARK_DATA";
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        if (!ACTION_SEED.equals(intent.getAction())) {
+            return;
+        }
+
+        PendingResult result = goAsync();
+        Context appContext = context.getApplicationContext();
+        AppExecutors.getInstance().diskWrite().execute(() -> {
+            try {
+                long userId = BenchmarkDataSeeder.seedIfEmpty(
+                        AppDatabase.getInstance(appContext),
+                        BenchmarkDataSeeder.Spec.forUiJourneys());
+                new AuthManager(appContext).saveUserSession(userId, BenchmarkDataSeeder.BENCHMARK_USERNAME);
+                result.setResultCode(1);
+            } catch (Exception e) {
+                Log.e(TAG, "Error seeding benchmark data", e);
+                result.setResultCode(0);
+            } finally {
+                result.finish();
+            }
+        });
+    }
+}
@@ -4,9 +4,14 @@ import android.app.Application;
 import android.app.NotificationChannel;
 import android.app.NotificationManager;
 import android.os.Build;
+import android.os.Trace;
 import android.util.Log;
 
 import com.g3.soundify_musicplayer.data.database.AppDatabase;
+import com.g3.soundify_musicplayer.service.CounterRepairWorker;
+import com.g3.soundify_musicplayer.service.MediaGcWorker;
+import com.g3.soundify_musicplayer.service.MetadataBackfillWorker;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
 import com.g3.soundify_musicplayer.utils.RepositoryManager;
 
 /**
@@ -21,21 +26,24 @@ public class SoundifyApplication extends Application {
     public static final String MEDIA_PLAYBACK_CHANNEL_ID = "MediaPlaybackChannel";
     public static final String GENERAL_NOTIFICATIONS_CHANNEL_ID = "GeneralNotifications";
 
-    // Singleton Repository Manager
-    private RepositoryManager repositoryManager;
-    
     @Override
     public void onCreate() {
-        super.onCreate();
+        Trace.beginSection("SoundifyApplication.onCreate");
+        try {
+            super.onCreate();
 
-        // Initialize notification channels
-        createNotificationChannels();
+            // Initialize notification channels
+            createNotificationChannels();
 
-        // Initialize database (this will create the database if it doesn't exist)
-        initializeDatabase();
+            // Mở database ở background - màn hình đầu tiên không phải chờ open/migration.
+            // Repository và MediaPlaybackService được tạo lười qua RepositoryManager.
+            warmUpDatabase();
 
-        // Initialize Repository Manager singleton
-        repositoryManager = RepositoryManager.getInstance(this);
+            // WorkManager.getInstance + enqueue cũng khởi tạo database của WorkManager: không làm trên main thread
+            schedulePeriodicWork();
+        } finally {
+            Trace.endSection();
+        }
     }
     
     /**
@@ -67,15 +75,45 @@ public class SoundifyApplication extends Application {
     }
     
     /**
-     * Initialize the Room database
+     * Mở Room database (create / migrate / trigger callbacks) trên diskWrite,
+     * trước khi query đầu tiên của UI cần tới nó
      */
-    private void initializeDatabase() {
-        try {
-            // This will trigger database creation if it doesn't exist
-            AppDatabase database = AppDatabase.getInstance(this);
-        } catch (Exception e) {
-            Log.e(TAG, "Error initializing database", e);
-        }
+    private void warmUpDatabase() {
+        AppExecutors.getInstance().diskWrite().execute(() -> {
+            Trace.beginSection("AppDatabase.warmUp");
+            try {
+                AppDatabase.getInstance(this).getOpenHelper().getWritableDatabase();
+                if (AppDatabase.consumeCountersBackfilled()) {
+                    // Counter vừa được backfill bởi migration: verify một lần, không chờ lịch tuần
+                    CounterRepairWorker.runOnce(this);
+                }
+            } catch (Exception e) {
+                Log.e(TAG, "Error warming up database", e);
+            } finally {
+                Trace.endSection();
+            }
+        });
+    }
+    
+    /**
+     * Đăng ký các periodic worker trên background, giống warmUpDatabase
+     */
+    private void schedulePeriodicWork() {
+        AppExecutors.getInstance().background().execute(() -> {
+            Trace.beginSection("SoundifyApplication.schedulePeriodicWork");
+            try {
+                // Verify denormalized counters weekly while charging + idle (repairs drift, if any)
+                CounterRepairWorker.schedule(this);
+                // Dọn file media mồ côi khi máy sạc + idle
+                MediaGcWorker.schedule(this);
+                // Đọc metadata cho các bài upload trước khi có song_metadata
+                MetadataBackfillWorker.schedule(this);
+            } catch (Exception e) {
+                Log.e(TAG, "Error scheduling periodic work", e);
+            } finally {
+                Trace.endSection();
+            }
+        });
     }
     
     @Override
@@ -83,6 +121,7 @@ public class SoundifyApplication extends Application {
         super.onTerminate();
 
         // Cleanup repositories
+        RepositoryManager repositoryManager = RepositoryManager.peekInstance();
         if (repositoryManager != null) {
             repositoryManager.cleanup();
         }
@@ -98,6 +137,14 @@ public class SoundifyApplication extends Application {
     public void onTrimMemory(int level) {
         super.onTrimMemory(level);
         Log.w(TAG, "Memory trim requested, level: " + level);
+        RepositoryManager repositoryManager = RepositoryManager.peekInstance();
+        if (repositoryManager != null) {
+            Log.d(TAG, "Live worker threads: " + repositoryManager.getAppExecutors().getLiveThreadCount());
+            // App xuống background: ghi ngay checkpoint phiên phát nhạc, process có thể bị kill bất cứ lúc nào
+            if (level >= TRIM_MEMORY_UI_HIDDEN) {
+                repositoryManager.flushPlaybackSession();
+            }
+        }
     }
 
     /**
@@ -105,9 +152,6 @@ public class SoundifyApplication extends Application {
      * Useful for debugging or manual access
      */
     public RepositoryManager getRepositoryManager() {
-        if (repositoryManager == null) {
-            repositoryManager = RepositoryManager.getInstance(this);
-        }
-        return repositoryManager;
+        return RepositoryManager.getInstance(this);
     }
 }
@@ -1,18 +1,36 @@
 package com.g3.soundify_musicplayer.data.dao;
 
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.Query;
 import androidx.room.Update;
 
+import com.g3.soundify_musicplayer.data.dto.CommentWithUserRow;
 import com.g3.soundify_musicplayer.data.entity.Comment;
 
 import java.util.List;
 
 @Dao
 public interface CommentDao {
+
+    // Comments + author + like hydration: dùng chung cho LiveData/Paged/Sync và DaoQueryBenchmark
+    String SQL_COMMENTS_WITH_USER_BY_SONG =
+            "SELECT c.*, " +
+            "u.id AS u_id, u.username AS u_username, u.display_name AS u_display_name, u.email AS u_email, " +
+            "u.password_hash AS u_password_hash, u.avatar_url AS u_avatar_url, u.bio AS u_bio, u.created_at AS u_created_at, " +
+            "u.follower_count AS u_follower_count, u.following_count AS u_following_count, " +
+            "COALESCE(lc.like_count, 0) AS like_count, " +
+            "EXISTS (SELECT 1 FROM comment_likes ml WHERE ml.comment_id = c.id AND ml.user_id = :currentUserId) AS is_liked " +
+            "FROM comments c " +
+            "INNER JOIN users u ON u.id = c.user_id " +
+            "LEFT JOIN (SELECT cl.comment_id, COUNT(*) AS like_count FROM comment_likes cl " +
+            "           INNER JOIN comments sc ON sc.id = cl.comment_id " +
+            "           WHERE sc.song_id = :songId GROUP BY cl.comment_id) lc ON lc.comment_id = c.id " +
+            "WHERE c.song_id = :songId " +
+            "ORDER BY c.created_at DESC";
     
     @Insert
     long insert(Comment comment);
@@ -31,11 +49,35 @@ public interface CommentDao {
     
     @Query("SELECT * FROM comments WHERE song_id = :songId ORDER BY created_at DESC")
     LiveData<List<Comment>> getCommentsBySong(long songId);
+
+    /**
+     * Paged variant of getCommentsBySong
+     */
+    @Query("SELECT * FROM comments WHERE song_id = :songId ORDER BY created_at DESC")
+    PagingSource<Integer, Comment> getCommentsBySongPaged(long songId);
+    
+    /**
+     * Comments of a song with author, like count and current user's like flag in one query.
+     * Like counts are aggregated once per song (GROUP BY) instead of one COUNT per comment;
+     * currentUserId = -1 (guest) simply makes is_liked false.
+     */
+    @Query(SQL_COMMENTS_WITH_USER_BY_SONG)
+    LiveData<List<CommentWithUserRow>> getCommentsWithUserBySong(long songId, long currentUserId);
+
+    @Query(SQL_COMMENTS_WITH_USER_BY_SONG)
+    List<CommentWithUserRow> getCommentsWithUserBySongSync(long songId, long currentUserId);
+
+    /**
+     * Paged variant of getCommentsWithUserBySong - a 500-comment thread only keeps a window in memory
+     */
+    @Query(SQL_COMMENTS_WITH_USER_BY_SONG)
+    PagingSource<Integer, CommentWithUserRow> getCommentsWithUserBySongPaged(long songId, long currentUserId);
     
     @Query("SELECT * FROM comments WHERE user_id = :userId ORDER BY created_at DESC")
     LiveData<List<Comment>> getCommentsByUser(long userId);
     
-    @Query("SELECT COUNT(*) FROM comments WHERE song_id = :songId")
+    // O(1): maintained counter column (see CounterTriggers)
+    @Query("SELECT comment_count FROM songs WHERE id = :songId")
     int getCommentCountBySong(long songId);
     
     @Query("SELECT COUNT(*) FROM comments WHERE user_id = :userId")
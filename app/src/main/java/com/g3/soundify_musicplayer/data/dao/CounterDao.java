@@ -0,0 +1,47 @@
+package com.g3.soundify_musicplayer.data.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+/**
+ * Verification / repair of the denormalized counter columns.
+ * Each query rewrites only the rows whose stored counter differs from the real COUNT(*)
+ * and returns how many rows were out of sync.
+ */
+@Dao
+public interface CounterDao {
+
+    @Query("UPDATE songs SET like_count = (SELECT COUNT(*) FROM song_likes sl WHERE sl.song_id = songs.id) " +
+           "WHERE like_count != (SELECT COUNT(*) FROM song_likes sl WHERE sl.song_id = songs.id)")
+    int repairSongLikeCounts();
+
+    @Query("UPDATE songs SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.song_id = songs.id) " +
+           "WHERE comment_count != (SELECT COUNT(*) FROM comments c WHERE c.song_id = songs.id)")
+    int repairSongCommentCounts();
+
+    @Query("UPDATE users SET follower_count = (SELECT COUNT(*) FROM user_follows uf WHERE uf.followee_id = users.id) " +
+           "WHERE follower_count != (SELECT COUNT(*) FROM user_follows uf WHERE uf.followee_id = users.id)")
+    int repairFollowerCounts();
+
+    @Query("UPDATE users SET following_count = (SELECT COUNT(*) FROM user_follows uf WHERE uf.follower_id = users.id) " +
+           "WHERE following_count != (SELECT COUNT(*) FROM user_follows uf WHERE uf.follower_id = users.id)")
+    int repairFollowingCounts();
+
+    @Query("UPDATE playlists SET song_count = (SELECT COUNT(*) FROM playlist_songs ps WHERE ps.playlist_id = playlists.id) " +
+           "WHERE song_count != (SELECT COUNT(*) FROM playlist_songs ps WHERE ps.playlist_id = playlists.id)")
+    int repairPlaylistSongCounts();
+
+    /**
+     * Verify and repair every counter in one transaction
+     * @return number of rows that were out of sync (0 = all counters consistent)
+     */
+    @Transaction
+    default int repairAllCounters() {
+        return repairSongLikeCounts()
+                + repairSongCommentCounts()
+                + repairFollowerCounts()
+                + repairFollowingCounts()
+                + repairPlaylistSongCounts();
+    }
+}
@@ -0,0 +1,82 @@
+package com.g3.soundify_musicplayer.data.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import com.g3.soundify_musicplayer.data.dto.PathRefCount;
+import com.g3.soundify_musicplayer.data.entity.MediaBlob;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bảng media_blobs của MediaBlobStore. ref_count do trigger quản lý (MediaRefTriggers).
+ */
+@Dao
+public interface MediaBlobDao {
+
+    // IGNORE: blob đã có (upload trùng) thì giữ nguyên row và ref_count hiện tại
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    long insertIfAbsent(MediaBlob blob);
+
+    @Query("SELECT * FROM media_blobs WHERE hash = :hash")
+    MediaBlob getByHashSync(String hash);
+
+    @Query("SELECT * FROM media_blobs WHERE ref_count <= 0")
+    List<MediaBlob> getUnreferencedSync();
+
+    @Query("DELETE FROM media_blobs WHERE hash = :hash AND ref_count <= 0")
+    int deleteIfUnreferenced(String hash);
+
+    @Query("SELECT path FROM media_blobs WHERE path IN (:paths)")
+    List<String> findKnownPathsSync(List<String> paths);
+
+    /**
+     * Những path trong danh sách còn được songs / users trỏ tới (cho MediaGcWorker)
+     */
+    @Query("SELECT audio_url FROM songs WHERE audio_url IN (:paths) " +
+           "UNION SELECT cover_art_url FROM songs WHERE cover_art_url IN (:paths) " +
+           "UNION SELECT avatar_url FROM users WHERE avatar_url IN (:paths)")
+    List<String> findReferencedPathsSync(List<String> paths);
+
+    // Mỗi path xuất hiện 3 lần trong query: giữ số bind variable dưới giới hạn 999 của SQLite
+    int REPAIR_CHUNK_SIZE = 300;
+
+    /**
+     * Số tham chiếu thật của các path (path không ai trỏ tới thì không có trong kết quả)
+     */
+    @Query("SELECT path, COUNT(*) AS ref_count FROM (" +
+           "SELECT audio_url AS path FROM songs WHERE audio_url IN (:paths) " +
+           "UNION ALL SELECT cover_art_url FROM songs WHERE cover_art_url IN (:paths) " +
+           "UNION ALL SELECT avatar_url FROM users WHERE avatar_url IN (:paths)) " +
+           "GROUP BY path")
+    List<PathRefCount> countReferencesSync(List<String> paths);
+
+    @Query("UPDATE media_blobs SET ref_count = :refCount WHERE path = :path AND ref_count != :refCount")
+    int setRefCount(String path, int refCount);
+
+    /**
+     * Sửa ref_count của các blob sắp bị reclaim (ref_count = 0) mà thực ra vẫn được trỏ tới.
+     * Chỉ kiểm tra ứng viên xoá - thường rất ít - thay vì đếm lại mọi blob bằng COUNT tương quan
+     * trên cột không có index; ref_count lệch lên trên chỉ làm file được giữ lâu hơn, không mất dữ liệu.
+     * @return số row bị lệch (0 = trigger vẫn đúng)
+     */
+    @Transaction
+    default int repairDeletionCandidates() {
+        List<MediaBlob> candidates = getUnreferencedSync();
+        int repaired = 0;
+        for (int from = 0; from < candidates.size(); from += REPAIR_CHUNK_SIZE) {
+            List<String> paths = new ArrayList<>();
+            for (MediaBlob blob : candidates.subList(from, Math.min(from + REPAIR_CHUNK_SIZE, candidates.size()))) {
+                paths.add(blob.getPath());
+            }
+            for (PathRefCount count : countReferencesSync(paths)) {
+                repaired += setRefCount(count.path, count.refCount);
+            }
+        }
+        return repaired;
+    }
+}
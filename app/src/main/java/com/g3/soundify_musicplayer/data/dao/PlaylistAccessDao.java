@@ -13,6 +13,19 @@ import java.util.List;
 
 @Dao
 public interface PlaylistAccessDao {
+
+    // Hot write (mỗi lần mở playlist): PlaylistRepository.trackPlaylistAccess chạy qua
+    // WriteBatcher.statement() với câu lệnh compile sẵn - cùng ý nghĩa với insert() / cleanupOldAccessRecords()
+    String SQL_UPSERT_PLAYLIST_ACCESS =
+            "INSERT OR REPLACE INTO playlist_access (user_id, playlist_id, accessed_at) VALUES (?, ?, ?)";
+    String SQL_CLEANUP_OLD_ACCESS_RECORDS =
+            "DELETE FROM playlist_access " +
+            "WHERE user_id = ?1 AND id NOT IN (" +
+            "  SELECT id FROM playlist_access " +
+            "  WHERE user_id = ?1 " +
+            "  ORDER BY accessed_at DESC " +
+            "  LIMIT 10" +
+            ")";
     
     /**
      * Get 3 most recently accessed playlists for a user
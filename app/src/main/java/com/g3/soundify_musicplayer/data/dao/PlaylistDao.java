@@ -7,6 +7,7 @@ import androidx.room.Insert;
 import androidx.room.Query;
 import androidx.room.Update;
 
+import com.g3.soundify_musicplayer.data.dto.PlaylistSearchRow;
 import com.g3.soundify_musicplayer.data.entity.Playlist;
 
 import java.util.List;
@@ -47,6 +48,26 @@ public interface PlaylistDao {
     
     @Query("SELECT * FROM playlists WHERE owner_id = :ownerId AND is_public = 1 ORDER BY created_at DESC")
     LiveData<List<Playlist>> getPublicPlaylistsByOwner(long ownerId);
+
+    /**
+     * Full-text search over public playlists (name, description) with owner in the same row (song_count is a column).
+     * :match is an FTS MATCH expression, :query the LIKE-escaped raw input for ranking.
+     */
+    @Query("SELECT p.*, " +
+           "u.id AS u_id, u.username AS u_username, u.display_name AS u_display_name, u.email AS u_email, " +
+           "u.password_hash AS u_password_hash, u.avatar_url AS u_avatar_url, u.bio AS u_bio, u.created_at AS u_created_at, " +
+           "u.follower_count AS u_follower_count, u.following_count AS u_following_count " +
+           "FROM playlists p " +
+           "INNER JOIN playlists_fts ON p.id = playlists_fts.rowid " +
+           "LEFT JOIN users u ON p.owner_id = u.id " +
+           "WHERE playlists_fts MATCH :match AND p.is_public = 1 " +
+           "ORDER BY CASE " +
+           "WHEN p.name LIKE :query ESCAPE '\\' THEN 0 " +
+           "WHEN p.name LIKE :query || '%' ESCAPE '\\' THEN 1 " +
+           "WHEN p.name LIKE '%' || :query || '%' ESCAPE '\\' THEN 2 " +
+           "ELSE 3 END, p.created_at DESC " +
+           "LIMIT :limit OFFSET :offset")
+    List<PlaylistSearchRow> searchPublicPlaylistsFts(String match, String query, int limit, int offset);
     
     @Query("DELETE FROM playlists WHERE id = :playlistId")
     void deletePlaylistById(long playlistId);
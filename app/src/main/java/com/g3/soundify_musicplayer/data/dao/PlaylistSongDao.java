@@ -1,6 +1,7 @@
 package com.g3.soundify_musicplayer.data.dao;
 
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
@@ -14,6 +15,14 @@ import java.util.List;
 
 @Dao
 public interface PlaylistSongDao {
+
+    // Dùng chung cho LiveData/Paged/Sync và DaoQueryBenchmark
+    String SQL_SONGS_IN_PLAYLIST =
+            "SELECT s.*, u.username as uploaderName FROM songs s " +
+            "INNER JOIN playlist_songs ps ON s.id = ps.song_id " +
+            "LEFT JOIN users u ON s.uploader_id = u.id " +
+            "WHERE ps.playlist_id = :playlistId " +
+            "ORDER BY ps.position ASC, ps.rowid ASC";
     
     @Insert
     void insert(PlaylistSong playlistSong);
@@ -24,18 +33,16 @@ public interface PlaylistSongDao {
     @Delete
     void delete(PlaylistSong playlistSong);
     
-    @Query("SELECT s.*, u.username as uploaderName FROM songs s " +
-           "INNER JOIN playlist_songs ps ON s.id = ps.song_id " +
-           "LEFT JOIN users u ON s.uploader_id = u.id " +
-           "WHERE ps.playlist_id = :playlistId " +
-           "ORDER BY ps.position ASC, ps.rowid ASC")
+    @Query(SQL_SONGS_IN_PLAYLIST)
     LiveData<List<Song>> getSongsInPlaylist(long playlistId);
 
-    @Query("SELECT s.*, u.username as uploaderName FROM songs s " +
-           "INNER JOIN playlist_songs ps ON s.id = ps.song_id " +
-           "LEFT JOIN users u ON s.uploader_id = u.id " +
-           "WHERE ps.playlist_id = :playlistId " +
-           "ORDER BY ps.position ASC, ps.rowid ASC")
+    /**
+     * Paged variant of getSongsInPlaylist (same ordering)
+     */
+    @Query(SQL_SONGS_IN_PLAYLIST)
+    PagingSource<Integer, Song> getSongsInPlaylistPaged(long playlistId);
+
+    @Query(SQL_SONGS_IN_PLAYLIST)
     List<Song> getSongsInPlaylistSync(long playlistId);
     
     @Query("SELECT p.* FROM playlists p INNER JOIN playlist_songs ps ON p.id = ps.playlist_id WHERE ps.song_id = :songId")
@@ -47,7 +54,8 @@ public interface PlaylistSongDao {
     @Query("DELETE FROM playlist_songs WHERE playlist_id = :playlistId")
     void removeAllSongsFromPlaylist(long playlistId);
     
-    @Query("SELECT COUNT(*) FROM playlist_songs WHERE playlist_id = :playlistId")
+    // O(1): maintained counter column (see CounterTriggers)
+    @Query("SELECT song_count FROM playlists WHERE id = :playlistId")
     int getSongCountInPlaylist(long playlistId);
     
     @Query("SELECT COUNT(*) FROM playlist_songs WHERE playlist_id = :playlistId AND song_id = :songId")
@@ -16,6 +16,31 @@ import java.util.concurrent.Future;
 
 @Dao
 public interface RecentlyPlayedDao {
+
+    // Hot query (Home): dùng chung cho LiveData/Sync và DaoQueryBenchmark
+    String SQL_RECENT_SONGS_WITH_UPLOADER_INFO =
+            "SELECT s.id, s.uploader_id, s.title, s.description, s.audio_url, s.cover_art_url, " +
+            "s.genre, s.duration_ms, s.is_public, s.created_at, " +
+            "u.username as uploaderUsername, u.display_name as uploaderDisplayName, u.avatar_url as uploaderAvatarUrl " +
+            "FROM songs s " +
+            "INNER JOIN recently_played rp ON s.id = rp.song_id " +
+            "INNER JOIN users u ON s.uploader_id = u.id " +
+            "WHERE rp.user_id = :userId " +
+            "ORDER BY rp.played_at DESC " +
+            "LIMIT 6";
+
+    // Hot write (mỗi lần phát bài): SongRepository.trackRecentlyPlayed chạy qua WriteBatcher.statement()
+    // với câu lệnh compile sẵn - cùng ý nghĩa với insert() / cleanupOldRecords()
+    String SQL_UPSERT_RECENTLY_PLAYED =
+            "INSERT OR REPLACE INTO recently_played (user_id, song_id, played_at) VALUES (?, ?, ?)";
+    String SQL_CLEANUP_OLD_RECORDS =
+            "DELETE FROM recently_played " +
+            "WHERE user_id = ?1 AND id NOT IN (" +
+            "  SELECT id FROM recently_played " +
+            "  WHERE user_id = ?1 " +
+            "  ORDER BY played_at DESC " +
+            "  LIMIT 20" +
+            ")";
     
     /**
      * Get 6 most recent songs for a user
@@ -40,17 +65,12 @@ public interface RecentlyPlayedDao {
     /**
      * Get 6 most recent songs with uploader information for a user
      */
-    @Query("SELECT s.id, s.uploader_id, s.title, s.description, s.audio_url, s.cover_art_url, " +
-           "s.genre, s.duration_ms, s.is_public, s.created_at, " +
-           "u.username as uploaderUsername, u.display_name as uploaderDisplayName, u.avatar_url as uploaderAvatarUrl " +
-           "FROM songs s " +
-           "INNER JOIN recently_played rp ON s.id = rp.song_id " +
-           "INNER JOIN users u ON s.uploader_id = u.id " +
-           "WHERE rp.user_id = :userId " +
-           "ORDER BY rp.played_at DESC " +
-           "LIMIT 6")
+    @Query(SQL_RECENT_SONGS_WITH_UPLOADER_INFO)
     LiveData<List<SongWithUploaderInfo>> getRecentSongsWithUploaderInfo(long userId);
 
+    @Query(SQL_RECENT_SONGS_WITH_UPLOADER_INFO)
+    List<SongWithUploaderInfo> getRecentSongsWithUploaderInfoSync(long userId);
+
     /**
      * Insert or update recently played record
      * If song already exists for user, update timestamp
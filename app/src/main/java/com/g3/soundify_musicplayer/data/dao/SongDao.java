@@ -1,6 +1,7 @@
 package com.g3.soundify_musicplayer.data.dao;
 
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
@@ -8,6 +9,7 @@ import androidx.room.Query;
 import androidx.room.Update;
 
 import com.g3.soundify_musicplayer.data.entity.Song;
+import com.g3.soundify_musicplayer.data.dto.SongSearchRow;
 import com.g3.soundify_musicplayer.data.dto.SongWithUploader;
 import com.g3.soundify_musicplayer.data.dto.SongWithUploaderInfo;
 
@@ -16,6 +18,52 @@ import java.util.concurrent.Future;
 
 @Dao
 public interface SongDao {
+
+    // Hot queries: SQL dùng chung cho các biến thể LiveData/Paged/Sync, DaoQueryBenchmark và QueryPlanAudit
+    String SQL_PUBLIC_SONGS = "SELECT * FROM songs WHERE is_public = 1 ORDER BY created_at DESC";
+
+    String SQL_SONGS_BY_GENRE = "SELECT * FROM songs WHERE genre = :genre AND is_public = 1 ORDER BY created_at DESC";
+
+    String SQL_PUBLIC_SONGS_WITH_UPLOADER_INFO =
+            "SELECT s.id, s.uploader_id, s.title, s.description, s.audio_url, s.cover_art_url, " +
+            "s.genre, s.duration_ms, s.is_public, s.created_at, " +
+            "u.username as uploaderUsername, u.display_name as uploaderDisplayName, u.avatar_url as uploaderAvatarUrl " +
+            "FROM songs s " +
+            "INNER JOIN users u ON s.uploader_id = u.id " +
+            "WHERE s.is_public = 1 " +
+            "ORDER BY s.created_at DESC";
+
+    // Cùng thứ tự với getSongsByUploaderSync / getPublicSongsByUploaderSync (queue phát nhạc của list paged)
+    String SQL_SONGS_BY_UPLOADER_WITH_INFO =
+            "SELECT s.id, s.uploader_id, s.title, s.description, s.audio_url, s.cover_art_url, " +
+            "s.genre, s.duration_ms, s.is_public, s.created_at, " +
+            "u.username as uploaderUsername, u.display_name as uploaderDisplayName, u.avatar_url as uploaderAvatarUrl " +
+            "FROM songs s " +
+            "INNER JOIN users u ON s.uploader_id = u.id " +
+            "WHERE s.uploader_id = :uploaderId " +
+            "ORDER BY s.created_at DESC";
+
+    String SQL_PUBLIC_SONGS_BY_UPLOADER_WITH_INFO =
+            "SELECT s.id, s.uploader_id, s.title, s.description, s.audio_url, s.cover_art_url, " +
+            "s.genre, s.duration_ms, s.is_public, s.created_at, " +
+            "u.username as uploaderUsername, u.display_name as uploaderDisplayName, u.avatar_url as uploaderAvatarUrl " +
+            "FROM songs s " +
+            "INNER JOIN users u ON s.uploader_id = u.id " +
+            "WHERE s.uploader_id = :uploaderId AND s.is_public = 1 " +
+            "ORDER BY s.created_at DESC";
+
+    String SQL_SONGS_FROM_FOLLOWING =
+            "SELECT s.* FROM songs s INNER JOIN user_follows uf ON s.uploader_id = uf.followee_id " +
+            "WHERE uf.follower_id = :userId AND s.is_public = 1 ORDER BY s.created_at DESC";
+
+    String SQL_SEARCH_PUBLIC_WITH_UPLOADER_INFO =
+            "SELECT s.id, s.uploader_id, s.title, s.description, s.audio_url, s.cover_art_url, " +
+            "s.genre, s.duration_ms, s.is_public, s.created_at, " +
+            "u.username as uploaderUsername, u.display_name as uploaderDisplayName, u.avatar_url as uploaderAvatarUrl " +
+            "FROM songs s " +
+            "INNER JOIN users u ON s.uploader_id = u.id " +
+            "WHERE s.is_public = 1 AND (s.title LIKE '%' || :query || '%' OR s.genre LIKE '%' || :query || '%' OR u.display_name LIKE '%' || :query || '%') " +
+            "ORDER BY s.created_at DESC";
     
     @Insert
     long insert(Song song);
@@ -31,14 +79,24 @@ public interface SongDao {
     
     @Query("SELECT * FROM songs WHERE id = :songId")
     Song getSongByIdSync(long songId);
+
+    // Thứ tự kết quả không theo songIds - caller tự sắp lại
+    @Query("SELECT * FROM songs WHERE id IN (:songIds)")
+    List<Song> getSongsByIdsSync(List<Long> songIds);
     
     @Query("SELECT * FROM songs ORDER BY created_at DESC")
     LiveData<List<Song>> getAllSongs();
 
+    /**
+     * Paged variant of getAllSongs - only the visible window is loaded
+     */
+    @Query("SELECT * FROM songs ORDER BY created_at DESC")
+    PagingSource<Integer, Song> getAllSongsPaged();
+
     @Query("SELECT * FROM songs WHERE uploader_id = :uploaderId ORDER BY created_at DESC")
     LiveData<List<Song>> getSongsByUploader(long uploaderId);
 
-    @Query("SELECT * FROM songs WHERE is_public = 1 ORDER BY created_at DESC")
+    @Query(SQL_PUBLIC_SONGS)
     LiveData<List<Song>> getPublicSongs();
     @Query("SELECT * FROM songs ORDER BY RANDOM() LIMIT :limit")
     LiveData<List<Song>> getRandomSongs(int limit);
@@ -52,13 +110,16 @@ public interface SongDao {
     @Query("SELECT * FROM songs WHERE is_public = 1 AND (title LIKE '%' || :query || '%' OR genre LIKE '%' || :query || '%') ORDER BY created_at DESC")
     LiveData<List<Song>> searchPublicSongs(String query);
     
-    @Query("SELECT s.* FROM songs s INNER JOIN user_follows uf ON s.uploader_id = uf.followee_id WHERE uf.follower_id = :userId AND s.is_public = 1 ORDER BY s.created_at DESC")
+    @Query(SQL_SONGS_FROM_FOLLOWING)
     LiveData<List<Song>> getSongsFromFollowing(long userId);
+
+    @Query(SQL_SONGS_FROM_FOLLOWING)
+    List<Song> getSongsFromFollowingSync(long userId);
     
     @Query("SELECT * FROM songs WHERE uploader_id = :uploaderId AND is_public = 1 ORDER BY created_at DESC")
     LiveData<List<Song>> getPublicSongsByUploader(long uploaderId);
     
-    @Query("SELECT * FROM songs WHERE genre = :genre AND is_public = 1 ORDER BY created_at DESC")
+    @Query(SQL_SONGS_BY_GENRE)
     LiveData<List<Song>> getSongsByGenre(String genre);
     
     @Query("SELECT DISTINCT genre FROM songs WHERE genre IS NOT NULL AND genre != '' ORDER BY genre")
@@ -74,6 +135,29 @@ public interface SongDao {
     List<Song> getAllSongsSync();
 
 
+    // ========== FULL-TEXT SEARCH (FTS4) ==========
+
+    /**
+     * Full-text search over public songs (title, genre, description), uploader included in the same row.
+     * :match is an FTS MATCH expression built by SearchQueryUtils.toFtsMatchQuery,
+     * :query is the LIKE-escaped raw input used for ranking title hits first.
+     */
+    @Query("SELECT s.*, " +
+           "u.id AS u_id, u.username AS u_username, u.display_name AS u_display_name, u.email AS u_email, " +
+           "u.password_hash AS u_password_hash, u.avatar_url AS u_avatar_url, u.bio AS u_bio, u.created_at AS u_created_at, " +
+           "u.follower_count AS u_follower_count, u.following_count AS u_following_count " +
+           "FROM songs s " +
+           "INNER JOIN songs_fts ON s.id = songs_fts.rowid " +
+           "LEFT JOIN users u ON s.uploader_id = u.id " +
+           "WHERE songs_fts MATCH :match AND s.is_public = 1 " +
+           "ORDER BY CASE " +
+           "WHEN s.title LIKE :query ESCAPE '\\' THEN 0 " +
+           "WHEN s.title LIKE :query || '%' ESCAPE '\\' THEN 1 " +
+           "WHEN s.title LIKE '%' || :query || '%' ESCAPE '\\' THEN 2 " +
+           "ELSE 3 END, s.created_at DESC " +
+           "LIMIT :limit OFFSET :offset")
+    List<SongSearchRow> searchPublicSongsFts(String match, String query, int limit, int offset);
+
     // ========== JOIN QUERIES FOR SONG WITH UPLOADER ==========
 
     /**
@@ -91,55 +175,52 @@ public interface SongDao {
     /**
      * Get all public songs with uploader information
      */
-    @Query("SELECT s.id, s.uploader_id, s.title, s.description, s.audio_url, s.cover_art_url, " +
-           "s.genre, s.duration_ms, s.is_public, s.created_at, " +
-           "u.username as uploaderUsername, u.display_name as uploaderDisplayName, u.avatar_url as uploaderAvatarUrl " +
-           "FROM songs s " +
-           "INNER JOIN users u ON s.uploader_id = u.id " +
-           "WHERE s.is_public = 1 " +
-           "ORDER BY s.created_at DESC")
+    @Query(SQL_PUBLIC_SONGS_WITH_UPLOADER_INFO)
     LiveData<List<SongWithUploaderInfo>> getPublicSongsWithUploaderInfo();
 
+    /**
+     * Paged variant of getPublicSongsWithUploaderInfo
+     */
+    @Query(SQL_PUBLIC_SONGS_WITH_UPLOADER_INFO)
+    PagingSource<Integer, SongWithUploaderInfo> getPublicSongsWithUploaderInfoPaged();
+
     /**
      * Search public songs with uploader information
      */
-    @Query("SELECT s.id, s.uploader_id, s.title, s.description, s.audio_url, s.cover_art_url, " +
-           "s.genre, s.duration_ms, s.is_public, s.created_at, " +
-           "u.username as uploaderUsername, u.display_name as uploaderDisplayName, u.avatar_url as uploaderAvatarUrl " +
-           "FROM songs s " +
-           "INNER JOIN users u ON s.uploader_id = u.id " +
-           "WHERE s.is_public = 1 AND (s.title LIKE '%' || :query || '%' OR s.genre LIKE '%' || :query || '%' OR u.display_name LIKE '%' || :query || '%') " +
-           "ORDER BY s.created_at DESC")
+    @Query(SQL_SEARCH_PUBLIC_WITH_UPLOADER_INFO)
     LiveData<List<SongWithUploaderInfo>> searchPublicSongsWithUploaderInfo(String query);
 
+    @Query(SQL_SEARCH_PUBLIC_WITH_UPLOADER_INFO)
+    List<SongWithUploaderInfo> searchPublicSongsWithUploaderInfoSync(String query);
+
     /**
      * Get public songs by uploader with uploader information (sync)
      */
-    @Query("SELECT s.id, s.uploader_id, s.title, s.description, s.audio_url, s.cover_art_url, " +
-           "s.genre, s.duration_ms, s.is_public, s.created_at, " +
-           "u.username as uploaderUsername, u.display_name as uploaderDisplayName, u.avatar_url as uploaderAvatarUrl " +
-           "FROM songs s " +
-           "INNER JOIN users u ON s.uploader_id = u.id " +
-           "WHERE s.uploader_id = :uploaderId AND s.is_public = 1 " +
-           "ORDER BY s.created_at DESC")
+    @Query(SQL_PUBLIC_SONGS_BY_UPLOADER_WITH_INFO)
     List<SongWithUploaderInfo> getPublicSongsByUploaderWithInfoSync(long uploaderId);
 
+    /**
+     * Paged variant of getPublicSongsByUploaderWithInfoSync - other user's profile
+     */
+    @Query(SQL_PUBLIC_SONGS_BY_UPLOADER_WITH_INFO)
+    PagingSource<Integer, SongWithUploaderInfo> getPublicSongsByUploaderWithInfoPaged(long uploaderId);
+
     /**
      * Get all songs by uploader with uploader information (sync) - for own profile
      */
-    @Query("SELECT s.id, s.uploader_id, s.title, s.description, s.audio_url, s.cover_art_url, " +
-           "s.genre, s.duration_ms, s.is_public, s.created_at, " +
-           "u.username as uploaderUsername, u.display_name as uploaderDisplayName, u.avatar_url as uploaderAvatarUrl " +
-           "FROM songs s " +
-           "INNER JOIN users u ON s.uploader_id = u.id " +
-           "WHERE s.uploader_id = :uploaderId " +
-           "ORDER BY s.created_at DESC")
+    @Query(SQL_SONGS_BY_UPLOADER_WITH_INFO)
     List<SongWithUploaderInfo> getSongsByUploaderWithInfoSync(long uploaderId);
 
+    /**
+     * Paged variant of getSongsByUploaderWithInfoSync - My Songs, own profile
+     */
+    @Query(SQL_SONGS_BY_UPLOADER_WITH_INFO)
+    PagingSource<Integer, SongWithUploaderInfo> getSongsByUploaderWithInfoPaged(long uploaderId);
+
     /**
      * Get songs by genre (sync version for related songs)
      */
-    @Query("SELECT * FROM songs WHERE genre = :genre AND is_public = 1 ORDER BY created_at DESC")
+    @Query(SQL_SONGS_BY_GENRE)
     List<Song> getSongsByGenreSync(String genre);
 
     /**
@@ -41,7 +41,8 @@ public interface SongLikeDao {
     @Query("SELECT u.* FROM users u INNER JOIN song_likes sl ON u.id = sl.user_id WHERE sl.song_id = :songId ORDER BY sl.created_at DESC")
     LiveData<List<User>> getUsersWhoLikedSong(long songId);
     
-    @Query("SELECT COUNT(*) FROM song_likes WHERE song_id = :songId")
+    // O(1): maintained counter column (see CounterTriggers)
+    @Query("SELECT like_count FROM songs WHERE id = :songId")
     int getLikeCountForSong(long songId);
     
     @Query("SELECT COUNT(*) FROM song_likes WHERE song_id = :songId AND user_id = :userId")
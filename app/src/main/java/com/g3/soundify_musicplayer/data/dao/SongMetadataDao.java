@@ -0,0 +1,43 @@
+package com.g3.soundify_musicplayer.data.dao;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import com.g3.soundify_musicplayer.data.entity.Song;
+import com.g3.soundify_musicplayer.data.entity.SongMetadata;
+
+import java.util.List;
+
+/**
+ * Bảng song_metadata (AudioMetadataExtractor ghi, MetadataBackfillWorker đọc lại khi cần)
+ */
+@Dao
+public interface SongMetadataDao {
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsert(SongMetadata metadata);
+
+    @Query("SELECT * FROM song_metadata WHERE song_id = :songId")
+    LiveData<SongMetadata> getBySongId(long songId);
+
+    @Query("SELECT * FROM song_metadata WHERE song_id = :songId")
+    SongMetadata getBySongIdSync(long songId);
+
+    /**
+     * Bài chưa có metadata hoặc metadata từ extractor cũ hơn, theo id tăng dần (keyset:
+     * afterId = id cuối của batch trước, nên bài đọc lỗi không bị lấy lại trong cùng lượt)
+     */
+    @Query("SELECT s.* FROM songs s LEFT JOIN song_metadata m ON m.song_id = s.id " +
+           "WHERE s.id > :afterId AND (m.song_id IS NULL OR m.extractor_version < :extractorVersion) " +
+           "ORDER BY s.id LIMIT :limit")
+    List<Song> getSongsNeedingExtractionSync(int extractorVersion, long afterId, int limit);
+
+    /**
+     * Bổ sung duration cho bài upload trước khi có metadata (không ghi đè giá trị đã có)
+     */
+    @Query("UPDATE songs SET duration_ms = :durationMs WHERE id = :songId AND duration_ms IS NULL")
+    int fillMissingDuration(long songId, int durationMs);
+}
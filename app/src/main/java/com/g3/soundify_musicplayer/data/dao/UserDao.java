@@ -7,6 +7,7 @@ import androidx.room.Insert;
 import androidx.room.Query;
 import androidx.room.Update;
 
+import com.g3.soundify_musicplayer.data.dto.UserSearchRow;
 import com.g3.soundify_musicplayer.data.entity.User;
 import java.util.List;
 
@@ -46,6 +47,22 @@ public interface UserDao {
     @Query("SELECT * FROM users WHERE username LIKE '%' || :query || '%' OR display_name LIKE '%' || :query || '%' ORDER BY display_name")
     LiveData<List<User>> searchUsers(String query);
 
+    /**
+     * Full-text search over users (username, display_name) with their song count in the same row.
+     * :match is an FTS MATCH expression, :query the LIKE-escaped raw input for ranking.
+     */
+    @Query("SELECT u.*, " +
+           "(SELECT COUNT(*) FROM songs s WHERE s.uploader_id = u.id) AS song_count " +
+           "FROM users u " +
+           "INNER JOIN users_fts ON u.id = users_fts.rowid " +
+           "WHERE users_fts MATCH :match " +
+           "ORDER BY CASE " +
+           "WHEN u.username LIKE :query ESCAPE '\\' OR u.display_name LIKE :query ESCAPE '\\' THEN 0 " +
+           "WHEN u.username LIKE :query || '%' ESCAPE '\\' OR u.display_name LIKE :query || '%' ESCAPE '\\' THEN 1 " +
+           "ELSE 2 END, u.display_name " +
+           "LIMIT :limit OFFSET :offset")
+    List<UserSearchRow> searchUsersFts(String match, String query, int limit, int offset);
+
     @Query("SELECT COUNT(*) FROM users WHERE username = :username")
     int checkUsernameExists(String username);
 
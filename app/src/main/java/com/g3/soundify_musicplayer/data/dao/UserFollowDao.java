@@ -26,10 +26,11 @@ public interface UserFollowDao {
     @Query("SELECT u.* FROM users u INNER JOIN user_follows uf ON u.id = uf.follower_id WHERE uf.followee_id = :userId ORDER BY uf.created_at DESC")
     LiveData<List<User>> getFollowers(long userId);
     
-    @Query("SELECT COUNT(*) FROM user_follows WHERE follower_id = :userId")
+    // O(1): maintained counter columns (see CounterTriggers)
+    @Query("SELECT following_count FROM users WHERE id = :userId")
     int getFollowingCount(long userId);
     
-    @Query("SELECT COUNT(*) FROM user_follows WHERE followee_id = :userId")
+    @Query("SELECT follower_count FROM users WHERE id = :userId")
     int getFollowersCount(long userId);
     
     @Query("SELECT COUNT(*) FROM user_follows WHERE follower_id = :followerId AND followee_id = :followeeId")
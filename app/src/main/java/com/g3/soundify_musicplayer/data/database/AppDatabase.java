@@ -1,6 +1,10 @@
 package com.g3.soundify_musicplayer.data.database;
 
 import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.database.Cursor;
+
+import androidx.annotation.VisibleForTesting;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
@@ -9,6 +13,9 @@ import androidx.sqlite.db.SupportSQLiteDatabase;
 
 import com.g3.soundify_musicplayer.data.dao.CommentDao;
 import com.g3.soundify_musicplayer.data.dao.CommentLikeDao;
+import com.g3.soundify_musicplayer.data.dao.CounterDao;
+import com.g3.soundify_musicplayer.data.dao.MediaBlobDao;
+import com.g3.soundify_musicplayer.data.dao.SongMetadataDao;
 import com.g3.soundify_musicplayer.data.dao.PlaylistDao;
 import com.g3.soundify_musicplayer.data.dao.PlaylistSongDao;
 import com.g3.soundify_musicplayer.data.dao.SongDao;
@@ -27,6 +34,11 @@ import com.g3.soundify_musicplayer.data.entity.User;
 import com.g3.soundify_musicplayer.data.entity.UserFollow;
 import com.g3.soundify_musicplayer.data.entity.RecentlyPlayed;
 import com.g3.soundify_musicplayer.data.entity.PlaylistAccess;
+import com.g3.soundify_musicplayer.data.entity.SongFts;
+import com.g3.soundify_musicplayer.data.entity.UserFts;
+import com.g3.soundify_musicplayer.data.entity.PlaylistFts;
+import com.g3.soundify_musicplayer.data.entity.MediaBlob;
+import com.g3.soundify_musicplayer.data.entity.SongMetadata;
 
 @Database(
     entities = {
@@ -39,15 +51,22 @@ import com.g3.soundify_musicplayer.data.entity.PlaylistAccess;
         CommentLike.class,
         SongLike.class,
         RecentlyPlayed.class,
-        PlaylistAccess.class
+        PlaylistAccess.class,
+        SongFts.class,
+        UserFts.class,
+        PlaylistFts.class,
+        MediaBlob.class,
+        SongMetadata.class
     },
-    version = 6,
-    exportSchema = false
+    version = 11,
+    exportSchema = true // app/schemas/<version>.json, dùng cho MigrationTest
 )
 public abstract class AppDatabase extends RoomDatabase {
     
     private static final String DATABASE_NAME = "soundpify_database";
     private static volatile AppDatabase INSTANCE;
+    // MIGRATION_7_8 vừa backfill counter trong lần mở DB này (xem consumeCountersBackfilled)
+    private static volatile boolean countersBackfilled;
     
     // Abstract methods for DAOs
     public abstract UserDao userDao();
@@ -60,25 +79,229 @@ public abstract class AppDatabase extends RoomDatabase {
     public abstract SongLikeDao songLikeDao();
     public abstract RecentlyPlayedDao recentlyPlayedDao();
     public abstract PlaylistAccessDao playlistAccessDao();
+    public abstract CounterDao counterDao();
+    public abstract MediaBlobDao mediaBlobDao();
+    public abstract SongMetadataDao songMetadataDao();
+
+    /**
+     * 6 -> 7: external-content FTS4 tables for search, filled from the existing rows.
+     * The content-sync triggers are not created here: Room drops and recreates every
+     * FTS sync trigger itself after each migration run.
+     */
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `songs_fts` USING FTS4("
+                    + "`title` TEXT, `genre` TEXT, `description` TEXT, tokenize=unicode61, content=`songs`)");
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `users_fts` USING FTS4("
+                    + "`username` TEXT, `display_name` TEXT, tokenize=unicode61, content=`users`)");
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `playlists_fts` USING FTS4("
+                    + "`name` TEXT, `description` TEXT, tokenize=unicode61, content=`playlists`)");
+
+            db.execSQL("INSERT INTO songs_fts(songs_fts) VALUES('rebuild')");
+            db.execSQL("INSERT INTO users_fts(users_fts) VALUES('rebuild')");
+            db.execSQL("INSERT INTO playlists_fts(playlists_fts) VALUES('rebuild')");
+        }
+    };
+
+    /**
+     * 7 -> 8: denormalized counter columns + triggers, backfilled from the source tables
+     */
+    static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE songs ADD COLUMN like_count INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE songs ADD COLUMN comment_count INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE users ADD COLUMN follower_count INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE users ADD COLUMN following_count INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE playlists ADD COLUMN song_count INTEGER NOT NULL DEFAULT 0");
+            CounterTriggers.backfill(db);
+            CounterTriggers.create(db);
+            countersBackfilled = true;
+        }
+    };
+
+    /**
+     * 8 -> 9: single-column indices replaced by composite (filter, sort) indices so feed /
+     * playlist / comment queries read rows in index order instead of sorting in a temp B-tree.
+     * Index names follow Room's index_<table>_<columns> convention so schema validation passes.
+     */
+    static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(SupportSQLiteDatabase db) {
+            db.execSQL("DROP INDEX IF EXISTS index_songs_uploader_id");
+            db.execSQL("DROP INDEX IF EXISTS index_songs_is_public");
+            db.execSQL("CREATE INDEX IF NOT EXISTS index_songs_uploader_id_created_at ON songs (uploader_id, created_at)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS index_songs_is_public_created_at ON songs (is_public, created_at)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS index_songs_genre_is_public_created_at ON songs (genre, is_public, created_at)");
+
+            db.execSQL("DROP INDEX IF EXISTS index_playlists_owner_id");
+            db.execSQL("DROP INDEX IF EXISTS index_playlists_is_public");
+            db.execSQL("CREATE INDEX IF NOT EXISTS index_playlists_owner_id_created_at ON playlists (owner_id, created_at)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS index_playlists_is_public_created_at ON playlists (is_public, created_at)");
+
+            db.execSQL("DROP INDEX IF EXISTS index_comments_song_id");
+            db.execSQL("CREATE INDEX IF NOT EXISTS index_comments_song_id_created_at ON comments (song_id, created_at)");
+
+            db.execSQL("DROP INDEX IF EXISTS index_song_likes_user_id");
+            db.execSQL("CREATE INDEX IF NOT EXISTS index_song_likes_user_id_created_at ON song_likes (user_id, created_at)");
+
+            db.execSQL("CREATE INDEX IF NOT EXISTS index_playlist_songs_playlist_id_position ON playlist_songs (playlist_id, position)");
+
+            db.execSQL("DROP INDEX IF EXISTS index_recently_played_played_at");
+            db.execSQL("CREATE INDEX IF NOT EXISTS index_recently_played_user_id_played_at ON recently_played (user_id, played_at)");
+
+            db.execSQL("DROP INDEX IF EXISTS index_user_follows_followee_id");
+            db.execSQL("CREATE INDEX IF NOT EXISTS index_user_follows_followee_id_created_at ON user_follows (followee_id, created_at)");
+
+            // Thống kê mới cho query planner sau khi đổi index
+            db.execSQL("ANALYZE");
+        }
+    };
+
+    /**
+     * 9 -> 10: content-addressed media store (MediaBlobStore) + reference-count triggers.
+     * Files uploaded before v10 stay at their name-based paths and are simply not tracked.
+     */
+    static final Migration MIGRATION_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `media_blobs` (`hash` TEXT NOT NULL, `path` TEXT NOT NULL, "
+                    + "`size_bytes` INTEGER NOT NULL, `ref_count` INTEGER NOT NULL, `created_at` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`hash`))");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_media_blobs_path` ON `media_blobs` (`path`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_media_blobs_ref_count` ON `media_blobs` (`ref_count`)");
+            MediaRefTriggers.create(db);
+        }
+    };
+
+    /**
+     * 10 -> 11: song_metadata (AudioMetadataExtractor). Bài đã có được MetadataBackfillWorker đọc dần.
+     */
+    static final Migration MIGRATION_10_11 = new Migration(10, 11) {
+        @Override
+        public void migrate(SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `song_metadata` (`song_id` INTEGER NOT NULL, `mime_type` TEXT, "
+                    + "`duration_ms` INTEGER, `bitrate` INTEGER, `sample_rate` INTEGER, `bits_per_sample` INTEGER, "
+                    + "`channel_count` INTEGER, `artist` TEXT, `album` TEXT, `album_artist` TEXT, `year` INTEGER, "
+                    + "`track_number` INTEGER, `has_embedded_artwork` INTEGER NOT NULL, `track_gain_db` REAL, "
+                    + "`track_peak` REAL, `album_gain_db` REAL, `album_peak` REAL, "
+                    + "`extractor_version` INTEGER NOT NULL, `extracted_at` INTEGER NOT NULL, PRIMARY KEY(`song_id`), "
+                    + "FOREIGN KEY(`song_id`) REFERENCES `songs`(`id`) ON UPDATE NO ACTION ON DELETE CASCADE )");
+        }
+    };
+
+    /**
+     * Mọi migration theo thứ tự - app và MigrationTest dùng chung
+     */
+    static final Migration[] ALL_MIGRATIONS = {
+        MIGRATION_6_7,
+        MIGRATION_7_8,
+        MIGRATION_8_9,
+        MIGRATION_9_10,
+        MIGRATION_10_11
+    };
+
+    // Page cache của connection ghi: 8 MB (mặc định ~2 MB), giá trị âm = KiB
+    private static final int CACHE_SIZE_KIB = 8 * 1024;
+    // Auto-checkpoint thưa hơn mặc định (1000 trang), WriteBatcher checkpoint khi writer rảnh
+    private static final int WAL_AUTOCHECKPOINT_PAGES = 2000;
+    // Sau checkpoint, WAL bị cắt về tối đa 4 MB thay vì giữ kích thước lớn nhất từng đạt
+    private static final long WAL_SIZE_LIMIT_BYTES = 4L * 1024 * 1024;
+
+    /**
+     * WAL + page cache tuning. Các PRAGMA này theo connection: onOpen chạy trên connection ghi,
+     * là connection duy nhất commit nên checkpoint/journal limit đều áp dụng đúng chỗ.
+     */
+    private static final RoomDatabase.Callback CONNECTION_TUNING_CALLBACK = new RoomDatabase.Callback() {
+        @Override
+        public void onOpen(SupportSQLiteDatabase db) {
+            pragma(db, "PRAGMA cache_size = -" + CACHE_SIZE_KIB);
+            pragma(db, "PRAGMA wal_autocheckpoint = " + WAL_AUTOCHECKPOINT_PAGES);
+            pragma(db, "PRAGMA journal_size_limit = " + WAL_SIZE_LIMIT_BYTES);
+            // WAL + NORMAL: commit không fsync, chỉ checkpoint mới fsync - vẫn không corrupt khi crash
+            pragma(db, "PRAGMA synchronous = NORMAL");
+        }
+    };
+
+    // PRAGMA có thể trả về row, execSQL sẽ throw nên luôn đi qua query()
+    private static void pragma(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            cursor.moveToFirst();
+        }
+    }
+
+    /**
+     * Debug builds only: fail fast when a hot DAO query no longer uses an index (see QueryPlanAudit)
+     */
+    private static final RoomDatabase.Callback QUERY_PLAN_AUDIT_CALLBACK = new RoomDatabase.Callback() {
+        @Override
+        public void onOpen(SupportSQLiteDatabase db) {
+            QueryPlanAudit.verify(db);
+        }
+    };
+
+    /**
+     * Triggers are not part of Room's schema: (re)create them on every open so that
+     * fresh and destructively-recreated databases get them too.
+     */
+    private static final RoomDatabase.Callback TRIGGERS_CALLBACK = new RoomDatabase.Callback() {
+        @Override
+        public void onOpen(SupportSQLiteDatabase db) {
+            CounterTriggers.create(db);
+            MediaRefTriggers.create(db);
+        }
+    };
     
+    /**
+     * true đúng một lần sau khi MIGRATION_7_8 chạy, để app lên lịch verify counter một lần
+     */
+    public static boolean consumeCountersBackfilled() {
+        boolean backfilled = countersBackfilled;
+        countersBackfilled = false;
+        return backfilled;
+    }
+
     // Singleton pattern
     public static AppDatabase getInstance(Context context) {
         if (INSTANCE == null) {
             synchronized (AppDatabase.class) {
                 if (INSTANCE == null) {
-                    INSTANCE = Room.databaseBuilder(
-                        context.getApplicationContext(),
-                        AppDatabase.class,
-                        DATABASE_NAME
-                    )
-                    // .addMigrations(MIGRATION_1_2)  // TODO: Fix migration
-                    .fallbackToDestructiveMigration() // For development - will recreate DB
-                    .build();
+                    INSTANCE = buildDatabase(context, DATABASE_NAME);
                 }
             }
         }
         return INSTANCE;
     }
+
+    /**
+     * Database riêng (tên file khác) với đúng cấu hình của app - cho benchmark/test,
+     * caller tự close()
+     */
+    @VisibleForTesting
+    public static AppDatabase createStandalone(Context context, String name) {
+        return buildDatabase(context, name);
+    }
+
+    private static AppDatabase buildDatabase(Context context, String name) {
+        RoomDatabase.Builder<AppDatabase> builder = Room.databaseBuilder(
+                context.getApplicationContext(),
+                AppDatabase.class,
+                name
+            )
+            .addMigrations(ALL_MIGRATIONS)
+            // 1..5 là schema dev trước bản phát hành đầu tiên (v6), không còn định nghĩa để migrate.
+            // Từ v6 trở đi thiếu migration sẽ crash thay vì âm thầm xoá dữ liệu người dùng
+            .fallbackToDestructiveMigrationFrom(true, 1, 2, 3, 4, 5)
+            .setJournalMode(JournalMode.WRITE_AHEAD_LOGGING)
+            .addCallback(CONNECTION_TUNING_CALLBACK)
+            .addCallback(TRIGGERS_CALLBACK);
+
+        if ((context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+            builder.addCallback(QUERY_PLAN_AUDIT_CALLBACK);
+        }
+        return builder.build();
+    }
     
     public static void destroyInstance() {
         INSTANCE = null;
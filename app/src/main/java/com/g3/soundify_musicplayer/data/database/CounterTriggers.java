@@ -0,0 +1,90 @@
+package com.g3.soundify_musicplayer.data.database;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * SQLite triggers that keep the denormalized counter columns in sync:
+ * songs.like_count / comment_count, users.follower_count / following_count, playlists.song_count.
+ *
+ * Every insert/delete on the child tables adjusts the parent counter by one, so reading a count
+ * is a single column lookup instead of COUNT(*). Guard triggers restore the counters when an
+ * entity-level @Update (which rewrites every column, possibly from a stale object) changes them.
+ */
+public final class CounterTriggers {
+
+    private CounterTriggers() {
+        // Utility class
+    }
+
+    private static final String[] CREATE_STATEMENTS = {
+        // Song likes
+        "CREATE TRIGGER IF NOT EXISTS trg_song_likes_ai AFTER INSERT ON song_likes BEGIN " +
+            "UPDATE songs SET like_count = like_count + 1 WHERE id = NEW.song_id; END",
+        "CREATE TRIGGER IF NOT EXISTS trg_song_likes_ad AFTER DELETE ON song_likes BEGIN " +
+            "UPDATE songs SET like_count = MAX(like_count - 1, 0) WHERE id = OLD.song_id; END",
+
+        // Comments
+        "CREATE TRIGGER IF NOT EXISTS trg_comments_ai AFTER INSERT ON comments BEGIN " +
+            "UPDATE songs SET comment_count = comment_count + 1 WHERE id = NEW.song_id; END",
+        "CREATE TRIGGER IF NOT EXISTS trg_comments_ad AFTER DELETE ON comments BEGIN " +
+            "UPDATE songs SET comment_count = MAX(comment_count - 1, 0) WHERE id = OLD.song_id; END",
+
+        // Follows
+        "CREATE TRIGGER IF NOT EXISTS trg_user_follows_ai AFTER INSERT ON user_follows BEGIN " +
+            "UPDATE users SET follower_count = follower_count + 1 WHERE id = NEW.followee_id; " +
+            "UPDATE users SET following_count = following_count + 1 WHERE id = NEW.follower_id; END",
+        "CREATE TRIGGER IF NOT EXISTS trg_user_follows_ad AFTER DELETE ON user_follows BEGIN " +
+            "UPDATE users SET follower_count = MAX(follower_count - 1, 0) WHERE id = OLD.followee_id; " +
+            "UPDATE users SET following_count = MAX(following_count - 1, 0) WHERE id = OLD.follower_id; END",
+
+        // Playlist sizes
+        "CREATE TRIGGER IF NOT EXISTS trg_playlist_songs_ai AFTER INSERT ON playlist_songs BEGIN " +
+            "UPDATE playlists SET song_count = song_count + 1 WHERE id = NEW.playlist_id; END",
+        "CREATE TRIGGER IF NOT EXISTS trg_playlist_songs_ad AFTER DELETE ON playlist_songs BEGIN " +
+            "UPDATE playlists SET song_count = MAX(song_count - 1, 0) WHERE id = OLD.playlist_id; END",
+
+        // Guards: Room's @Update sets every column including "id"; the counter triggers above only
+        // set the counter columns, so "UPDATE OF id" fires for entity updates only.
+        "CREATE TRIGGER IF NOT EXISTS trg_songs_counter_guard AFTER UPDATE OF id ON songs " +
+            "WHEN NEW.like_count != OLD.like_count OR NEW.comment_count != OLD.comment_count BEGIN " +
+            "UPDATE songs SET like_count = OLD.like_count, comment_count = OLD.comment_count WHERE id = NEW.id; END",
+        "CREATE TRIGGER IF NOT EXISTS trg_users_counter_guard AFTER UPDATE OF id ON users " +
+            "WHEN NEW.follower_count != OLD.follower_count OR NEW.following_count != OLD.following_count BEGIN " +
+            "UPDATE users SET follower_count = OLD.follower_count, following_count = OLD.following_count WHERE id = NEW.id; END",
+        "CREATE TRIGGER IF NOT EXISTS trg_playlists_counter_guard AFTER UPDATE OF id ON playlists " +
+            "WHEN NEW.song_count != OLD.song_count BEGIN " +
+            "UPDATE playlists SET song_count = OLD.song_count WHERE id = NEW.id; END"
+    };
+
+    /**
+     * Recompute every counter from the source tables (used after adding the columns)
+     */
+    private static final String[] BACKFILL_STATEMENTS = {
+        "UPDATE songs SET " +
+            "like_count = (SELECT COUNT(*) FROM song_likes sl WHERE sl.song_id = songs.id), " +
+            "comment_count = (SELECT COUNT(*) FROM comments c WHERE c.song_id = songs.id)",
+        "UPDATE users SET " +
+            "follower_count = (SELECT COUNT(*) FROM user_follows uf WHERE uf.followee_id = users.id), " +
+            "following_count = (SELECT COUNT(*) FROM user_follows uf WHERE uf.follower_id = users.id)",
+        "UPDATE playlists SET " +
+            "song_count = (SELECT COUNT(*) FROM playlist_songs ps WHERE ps.playlist_id = playlists.id)"
+    };
+
+    /**
+     * Create all counter triggers (idempotent)
+     */
+    public static void create(SupportSQLiteDatabase db) {
+        for (String sql : CREATE_STATEMENTS) {
+            db.execSQL(sql);
+        }
+    }
+
+    /**
+     * Recompute all counters from scratch
+     */
+    public static void backfill(SupportSQLiteDatabase db) {
+        for (String sql : BACKFILL_STATEMENTS) {
+            db.execSQL(sql);
+        }
+    }
+}
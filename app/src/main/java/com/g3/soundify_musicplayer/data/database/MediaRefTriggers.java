@@ -0,0 +1,56 @@
+package com.g3.soundify_musicplayer.data.database;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * SQLite triggers that keep media_blobs.ref_count equal to the number of columns pointing at
+ * each blob path: songs.audio_url, songs.cover_art_url and users.avatar_url.
+ *
+ * Triggers (not repository code) so every write path is covered, including cascade deletes
+ * when a user is removed. Paths outside the media store simply match no blob row.
+ * Update triggers only fire when the path actually changes, because entity-level @Update
+ * rewrites every column.
+ */
+public final class MediaRefTriggers {
+
+    private MediaRefTriggers() {
+        // Utility class
+    }
+
+    private static final String[] CREATE_STATEMENTS = {
+        // Songs
+        "CREATE TRIGGER IF NOT EXISTS trg_media_songs_insert AFTER INSERT ON songs BEGIN " +
+            "UPDATE media_blobs SET ref_count = ref_count + 1 WHERE path = NEW.audio_url; " +
+            "UPDATE media_blobs SET ref_count = ref_count + 1 WHERE path = NEW.cover_art_url; END",
+        "CREATE TRIGGER IF NOT EXISTS trg_media_songs_delete AFTER DELETE ON songs BEGIN " +
+            "UPDATE media_blobs SET ref_count = MAX(ref_count - 1, 0) WHERE path = OLD.audio_url; " +
+            "UPDATE media_blobs SET ref_count = MAX(ref_count - 1, 0) WHERE path = OLD.cover_art_url; END",
+        "CREATE TRIGGER IF NOT EXISTS trg_media_songs_audio_update AFTER UPDATE OF audio_url ON songs " +
+            "WHEN OLD.audio_url IS NOT NEW.audio_url BEGIN " +
+            "UPDATE media_blobs SET ref_count = MAX(ref_count - 1, 0) WHERE path = OLD.audio_url; " +
+            "UPDATE media_blobs SET ref_count = ref_count + 1 WHERE path = NEW.audio_url; END",
+        "CREATE TRIGGER IF NOT EXISTS trg_media_songs_cover_update AFTER UPDATE OF cover_art_url ON songs " +
+            "WHEN OLD.cover_art_url IS NOT NEW.cover_art_url BEGIN " +
+            "UPDATE media_blobs SET ref_count = MAX(ref_count - 1, 0) WHERE path = OLD.cover_art_url; " +
+            "UPDATE media_blobs SET ref_count = ref_count + 1 WHERE path = NEW.cover_art_url; END",
+
+        // User avatars
+        "CREATE TRIGGER IF NOT EXISTS trg_media_users_insert AFTER INSERT ON users BEGIN " +
+            "UPDATE media_blobs SET ref_count = ref_count + 1 WHERE path = NEW.avatar_url; END",
+        "CREATE TRIGGER IF NOT EXISTS trg_media_users_delete AFTER DELETE ON users BEGIN " +
+            "UPDATE media_blobs SET ref_count = MAX(ref_count - 1, 0) WHERE path = OLD.avatar_url; END",
+        "CREATE TRIGGER IF NOT EXISTS trg_media_users_avatar_update AFTER UPDATE OF avatar_url ON users " +
+            "WHEN OLD.avatar_url IS NOT NEW.avatar_url BEGIN " +
+            "UPDATE media_blobs SET ref_count = MAX(ref_count - 1, 0) WHERE path = OLD.avatar_url; " +
+            "UPDATE media_blobs SET ref_count = ref_count + 1 WHERE path = NEW.avatar_url; END"
+    };
+
+    /**
+     * Create all media reference triggers (idempotent)
+     */
+    public static void create(SupportSQLiteDatabase db) {
+        for (String sql : CREATE_STATEMENTS) {
+            db.execSQL(sql);
+        }
+    }
+}
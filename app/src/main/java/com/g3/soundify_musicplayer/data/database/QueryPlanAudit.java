@@ -0,0 +1,118 @@
+package com.g3.soundify_musicplayer.data.database;
+
+import android.util.Log;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.g3.soundify_musicplayer.data.dao.CommentDao;
+import com.g3.soundify_musicplayer.data.dao.PlaylistSongDao;
+import com.g3.soundify_musicplayer.data.dao.RecentlyPlayedDao;
+import com.g3.soundify_musicplayer.data.dao.SongDao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Kiểm tra EXPLAIN QUERY PLAN của các query nóng: mọi bảng thật phải được đọc bằng SEARCH
+ * (seek theo index / rowid), không bước nào được SCAN toàn bảng hay toàn index.
+ * Chạy mỗi lần mở DB trong bản debuggable (AppDatabase) và trong DaoQueryBenchmark,
+ * nên một index bị xoá / query viết lại làm mất index sẽ crash ngay khi dev mở app.
+ * Temp B-tree (sort không theo index) chỉ được log cảnh báo.
+ */
+public final class QueryPlanAudit {
+
+    private static final String TAG = "QueryPlanAudit";
+
+    public static final class HotQuery {
+        public final String name;
+        public final String sql;
+        // false: query chỉ được in plan, không bị check full scan
+        public final boolean mustUseIndex;
+
+        HotQuery(String name, String sql, boolean mustUseIndex) {
+            this.name = name;
+            this.sql = sql;
+            this.mustUseIndex = mustUseIndex;
+        }
+    }
+
+    public static final List<HotQuery> HOT_QUERIES = Collections.unmodifiableList(Arrays.asList(
+            new HotQuery("SongDao.getPublicSongs", SongDao.SQL_PUBLIC_SONGS, true),
+            new HotQuery("SongDao.getSongsByGenre", SongDao.SQL_SONGS_BY_GENRE, true),
+            new HotQuery("SongDao.getPublicSongsWithUploaderInfo", SongDao.SQL_PUBLIC_SONGS_WITH_UPLOADER_INFO, true),
+            new HotQuery("SongDao.getSongsFromFollowing", SongDao.SQL_SONGS_FROM_FOLLOWING, true),
+            // LIKE '%q%' trên title/display_name không dùng được index - search có index là searchPublicSongsFts
+            new HotQuery("SongDao.searchPublicSongsWithUploaderInfo", SongDao.SQL_SEARCH_PUBLIC_WITH_UPLOADER_INFO, false),
+            new HotQuery("RecentlyPlayedDao.getRecentSongsWithUploaderInfo", RecentlyPlayedDao.SQL_RECENT_SONGS_WITH_UPLOADER_INFO, true),
+            new HotQuery("CommentDao.getCommentsWithUserBySong", CommentDao.SQL_COMMENTS_WITH_USER_BY_SONG, true),
+            new HotQuery("PlaylistSongDao.getSongsInPlaylist", PlaylistSongDao.SQL_SONGS_IN_PLAYLIST, true)
+    ));
+
+    private QueryPlanAudit() {
+    }
+
+    /**
+     * Các bước quét toàn bảng, dạng "QueryName: SCAN ..." - rỗng nếu mọi query đều dùng index
+     */
+    public static List<String> findFullScans(SupportSQLiteDatabase db) {
+        List<String> violations = new ArrayList<>();
+        for (HotQuery query : HOT_QUERIES) {
+            if (!query.mustUseIndex) {
+                continue;
+            }
+            for (String step : fullScanSteps(QueryPlans.explain(db, query.sql))) {
+                violations.add(query.name + ": " + step);
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Debug check: log temp B-tree, throw nếu có full scan
+     */
+    static void verify(SupportSQLiteDatabase db) {
+        for (HotQuery query : HOT_QUERIES) {
+            for (String step : QueryPlans.explain(db, query.sql)) {
+                if (step.contains("USE TEMP B-TREE")) {
+                    Log.w(TAG, query.name + ": " + step.trim());
+                }
+            }
+        }
+
+        List<String> violations = findFullScans(db);
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("Hot queries fall back to a full table scan "
+                    + "(add or fix an index):\n" + String.join("\n", violations));
+        }
+    }
+
+    /**
+     * Mọi "SCAN x" đều là vi phạm, kể cả "SCAN x USING [COVERING] INDEX" (đọc hết index để lấy
+     * thứ tự - vẫn O(n)); chỉ SEARCH mới là dùng index. Bỏ qua SCAN trên subquery đã materialize /
+     * co-routine (kết quả tạm, không phải bảng), CONSTANT ROW và virtual table FTS
+     */
+    private static List<String> fullScanSteps(List<String> plan) {
+        Set<String> derived = new HashSet<>();
+        List<String> scans = new ArrayList<>();
+        for (String line : plan) {
+            String step = line.trim().replace(" TABLE ", " ");
+            if (step.startsWith("MATERIALIZE ") || step.startsWith("CO-ROUTINE ")) {
+                derived.add(step.substring(step.indexOf(' ') + 1).split(" ")[0]);
+                continue;
+            }
+            if (!step.startsWith("SCAN ")) {
+                continue;
+            }
+            String target = step.substring("SCAN ".length()).split(" ")[0];
+            if (derived.contains(target) || target.equals("CONSTANT") || step.contains(" VIRTUAL ")) {
+                continue;
+            }
+            scans.add(step);
+        }
+        return scans;
+    }
+}
@@ -0,0 +1,54 @@
+package com.g3.soundify_musicplayer.data.database;
+
+import android.database.Cursor;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EXPLAIN QUERY PLAN cho các query của DAO (SQL lấy từ hằng SQL_* trong DAO).
+ * Tham số :name không cần bind - SQLite vẫn lập plan với giá trị NULL.
+ */
+public final class QueryPlans {
+
+    private QueryPlans() {
+    }
+
+    /**
+     * Plan dạng cây, mỗi dòng một bước, thụt lề theo node cha (giống sqlite3 shell)
+     */
+    public static List<String> explain(SupportSQLiteDatabase db, String sql) {
+        List<String> lines = new ArrayList<>();
+        Map<Integer, Integer> depthById = new HashMap<>();
+        try (Cursor cursor = db.query("EXPLAIN QUERY PLAN " + sql)) {
+            while (cursor.moveToNext()) {
+                int id = cursor.getInt(0);
+                int parent = cursor.getInt(1);
+                String detail = cursor.getString(3);
+
+                Integer parentDepth = depthById.get(parent);
+                int depth = parentDepth != null ? parentDepth + 1 : 0;
+                depthById.put(id, depth);
+
+                StringBuilder line = new StringBuilder();
+                for (int i = 0; i < depth; i++) {
+                    line.append("  ");
+                }
+                lines.add(line.append(detail).toString());
+            }
+        }
+        return lines;
+    }
+
+    public static String format(String name, List<String> plan) {
+        StringBuilder out = new StringBuilder(name).append('\n');
+        for (String line : plan) {
+            out.append("  ").append(line).append('\n');
+        }
+        return out.toString();
+    }
+}
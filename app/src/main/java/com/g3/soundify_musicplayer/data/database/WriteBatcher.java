@@ -0,0 +1,415 @@
+package com.g3.soundify_musicplayer.data.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import com.g3.soundify_musicplayer.utils.AppExecutors;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gom các write nhỏ (like, follow, recently played, playlist access...) vào một transaction.
+ *
+ * Mỗi write riêng lẻ là một implicit transaction = một lần commit + fsync WAL. Ở đây write được
+ * xếp hàng và drain trên db-write thread (AppExecutors.diskWrite, single thread), mỗi lần drain
+ * chạy tối đa MAX_BATCH_SIZE write trong một transaction. Không có timer chờ gom: write đến khi
+ * writer đang rảnh được commit ngay, write đến trong lúc writer bận thì đi chung batch kế tiếp.
+ *
+ * Mỗi write vẫn có kết quả riêng: exception của một write chỉ fail Future của write đó.
+ * DAO method của Room tự mở transaction lồng, và khi nó lỗi thì transaction ngoài bị đánh dấu
+ * rollback (endTransaction rollback cả batch, không báo lỗi) - nên batch có write lỗi bị rollback
+ * hẳn rồi chạy lại không có write đó. Batch cũng ghi một marker vào temp table ngay trước commit:
+ * không thấy marker sau commit (một write tự nuốt exception của DAO) thì không biết write nào gây
+ * ra, nên từng write được chạy lại trong transaction riêng và chỉ write đó bị fail.
+ * Future chỉ complete sau khi transaction commit, nên caller đọc lại ngay sẽ thấy dữ liệu mới.
+ *
+ * Write nóng (recently played, playlist access) dùng statement() thay cho DAO: câu lệnh được
+ * compile một lần trên connection ghi và dùng lại cho mọi batch sau.
+ */
+public final class WriteBatcher {
+
+    private static final String TAG = "WriteBatcher";
+
+    static final int MAX_BATCH_SIZE = 64;
+    // Sau chừng này write thì chạy passive checkpoint khi writer rảnh (xem checkpointIfNeeded)
+    private static final int CHECKPOINT_EVERY_WRITES = 500;
+    // Temp table theo connection ghi, rollback cùng transaction của batch
+    private static final String COMMIT_MARKER_TABLE = "temp.write_batch_commit";
+
+    private static volatile WriteBatcher INSTANCE;
+
+    /**
+     * Một write chạy trong transaction của batch
+     */
+    public interface Write<T> {
+        T run() throws Exception;
+    }
+
+    private static final class Pending<T> {
+        final Write<T> write;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final long enqueuedAt = SystemClock.elapsedRealtimeNanos();
+        T result;
+        Exception error;
+
+        Pending(Write<T> write) {
+            this.write = write;
+        }
+
+        void execute() {
+            result = null;
+            error = null;
+            try {
+                result = write.run();
+            } catch (Exception e) {
+                error = e;
+            }
+        }
+
+        void complete() {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+
+    private final AppDatabase database;
+    private final Object lock = new Object();
+    private final ArrayDeque<Pending<?>> queue = new ArrayDeque<>();
+    private boolean drainScheduled;
+    private int writesSinceCheckpoint;
+    // Chỉ dùng trên db-write thread
+    private long transactionSeq;
+    private final Map<String, SupportSQLiteStatement> statements = new HashMap<>();
+    private volatile Thread writerThread;
+
+    // Counters, chỉ tăng
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong rolledBackAttempts = new AtomicLong();
+    private final AtomicLong largestBatch = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicLong totalTransactionNanos = new AtomicLong();
+    private final AtomicLong checkpoints = new AtomicLong();
+    private final long createdAt = SystemClock.elapsedRealtime();
+
+    // Package-private cho WriteBatcherTest (DB in-memory)
+    WriteBatcher(AppDatabase database) {
+        this.database = database;
+    }
+
+    public static WriteBatcher getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (WriteBatcher.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new WriteBatcher(AppDatabase.getInstance(context));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Xếp write vào batch kế tiếp
+     */
+    public <T> Future<T> submit(Write<T> write) {
+        return enqueue(write);
+    }
+
+    /**
+     * Fire-and-forget write, lỗi chỉ được log
+     */
+    public void execute(String label, Write<?> write) {
+        enqueue(write).whenComplete((result, error) -> {
+            if (error != null) {
+                Log.e(TAG, "Error in batched write: " + label, error);
+            }
+        });
+    }
+
+    private <T> CompletableFuture<T> enqueue(Write<T> write) {
+        Pending<T> pending = new Pending<>(write);
+        boolean schedule;
+        synchronized (lock) {
+            queue.add(pending);
+            schedule = !drainScheduled;
+            drainScheduled = true;
+        }
+        if (schedule) {
+            // Lấy executor mỗi lần: AppExecutors được tạo lại sau RepositoryManager.cleanup()
+            AppExecutors.getInstance().diskWrite().execute(this::drain);
+        }
+        return pending.future;
+    }
+
+    private void drain() {
+        writerThread = Thread.currentThread();
+        while (true) {
+            List<Pending<?>> batch = new ArrayList<>();
+            synchronized (lock) {
+                while (batch.size() < MAX_BATCH_SIZE && !queue.isEmpty()) {
+                    batch.add(queue.poll());
+                }
+                if (batch.isEmpty()) {
+                    drainScheduled = false;
+                    writerThread = null;
+                    break;
+                }
+            }
+            runBatch(batch);
+        }
+        checkpointIfNeeded();
+    }
+
+    private void runBatch(List<Pending<?>> batch) {
+        long start = SystemClock.elapsedRealtimeNanos();
+        List<Pending<?>> attempt = batch;
+        while (!attempt.isEmpty()) {
+            boolean committed;
+            try {
+                committed = runAttempt(attempt);
+            } catch (RuntimeException e) {
+                // Commit lỗi (disk full, DB đóng...): không write nào được ghi
+                Log.e(TAG, "Batch of " + attempt.size() + " writes failed", e);
+                failRemaining(attempt, e);
+                closeStatements();
+                break;
+            }
+            if (committed) {
+                break;
+            }
+            rolledBackAttempts.incrementAndGet();
+
+            // Write lỗi giữ nguyên lỗi của nó, các write còn lại chạy lại trong transaction mới
+            List<Pending<?>> retry = new ArrayList<>();
+            for (Pending<?> pending : attempt) {
+                if (pending.error == null) {
+                    retry.add(pending);
+                }
+            }
+            if (retry.size() == attempt.size()) {
+                // Rollback mà không write nào báo lỗi: không biết write nào gây ra, chạy lại từng write
+                runIndividually(attempt);
+                break;
+            }
+            attempt = retry;
+        }
+        long end = SystemClock.elapsedRealtimeNanos();
+
+        totalTransactionNanos.addAndGet(end - start);
+        batches.incrementAndGet();
+        largestBatch.accumulateAndGet(batch.size(), Math::max);
+        for (Pending<?> pending : batch) {
+            long latency = end - pending.enqueuedAt;
+            totalLatencyNanos.addAndGet(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            writes.incrementAndGet();
+            if (pending.error != null) {
+                failedWrites.incrementAndGet();
+            }
+            pending.complete();
+        }
+        writesSinceCheckpoint += batch.size();
+    }
+
+    /**
+     * Chạy các write trong một transaction, dừng ở write lỗi đầu tiên.
+     * @return true nếu transaction đã commit; false nếu bị rollback (có write lỗi, hoặc một
+     *         transaction lồng lỗi khiến endTransaction rollback cả batch)
+     */
+    private boolean runAttempt(List<Pending<?>> attempt) {
+        long marker = ++transactionSeq;
+        SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+        try {
+            database.runInTransaction(() -> {
+                for (Pending<?> pending : attempt) {
+                    pending.execute();
+                    if (pending.error != null) {
+                        throw new RollbackBatch();
+                    }
+                }
+                db.execSQL("CREATE TABLE IF NOT EXISTS " + COMMIT_MARKER_TABLE + " (id INTEGER PRIMARY KEY)");
+                db.execSQL("INSERT INTO " + COMMIT_MARKER_TABLE + " (id) VALUES (?)", new Object[]{marker});
+            });
+        } catch (RollbackBatch e) {
+            return false;
+        }
+        // Câu lệnh ghi nên chạy trên connection ghi - đúng connection có temp table
+        try (SupportSQLiteStatement consume = db.compileStatement(
+                "DELETE FROM " + COMMIT_MARKER_TABLE + " WHERE id = ?")) {
+            consume.bindLong(1, marker);
+            return consume.executeUpdateDelete() == 1;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Mỗi write một transaction: write nuốt exception của transaction lồng chỉ rollback chính nó
+     */
+    private void runIndividually(List<Pending<?>> pendings) {
+        for (Pending<?> pending : pendings) {
+            try {
+                if (!runAttempt(Collections.singletonList(pending))) {
+                    rolledBackAttempts.incrementAndGet();
+                    if (pending.error == null) {
+                        pending.error = new IllegalStateException(
+                                "Write was rolled back by a failed nested transaction");
+                    }
+                }
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Write failed", e);
+                pending.error = e;
+                closeStatements();
+            }
+        }
+    }
+
+    private static void failRemaining(List<Pending<?>> pendings, Exception error) {
+        for (Pending<?> pending : pendings) {
+            if (pending.error == null) {
+                pending.error = error;
+            }
+        }
+    }
+
+    /**
+     * Ném ra trong transaction để rollback batch có write lỗi
+     */
+    private static final class RollbackBatch extends RuntimeException {
+        RollbackBatch() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Câu lệnh đã compile trên connection ghi, dùng lại giữa các write và batch (binding đã được xoá).
+     * Chỉ gọi bên trong một Write.
+     */
+    public SupportSQLiteStatement statement(String sql) {
+        if (Thread.currentThread() != writerThread) {
+            throw new IllegalStateException("statement() must be called from a batched write");
+        }
+        SupportSQLiteStatement statement = statements.get(sql);
+        if (statement == null) {
+            statement = database.getOpenHelper().getWritableDatabase().compileStatement(sql);
+            statements.put(sql, statement);
+        }
+        statement.clearBindings();
+        return statement;
+    }
+
+    /**
+     * Bỏ các câu lệnh đã compile sau khi connection lỗi - lần sau compile lại
+     */
+    private void closeStatements() {
+        for (SupportSQLiteStatement statement : statements.values()) {
+            try {
+                statement.close();
+            } catch (Exception e) {
+                // Ignore
+            }
+        }
+        statements.clear();
+    }
+
+    /**
+     * Passive checkpoint khi writer vừa rảnh: không chặn reader, giữ file WAL nhỏ mà không đợi
+     * auto-checkpoint chạy giữa một batch đang commit
+     */
+    private void checkpointIfNeeded() {
+        if (writesSinceCheckpoint < CHECKPOINT_EVERY_WRITES) {
+            return;
+        }
+        writesSinceCheckpoint = 0;
+        try {
+            SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+            try (Cursor cursor = db.query("PRAGMA wal_checkpoint(PASSIVE)")) {
+                cursor.moveToFirst();
+            }
+            checkpoints.incrementAndGet();
+        } catch (Exception e) {
+            Log.w(TAG, "WAL checkpoint failed", e);
+        }
+    }
+
+    // ========== METRICS ==========
+
+    /**
+     * Snapshot of the batching counters
+     */
+    public static class Stats {
+        public final long writes;
+        public final long failedWrites;
+        public final long batches;
+        public final long rolledBackAttempts;
+        public final long largestBatch;
+        public final double avgBatchSize;
+        public final double avgLatencyMs;
+        public final double maxLatencyMs;
+        public final double avgTransactionMs;
+        public final double writesPerSecond;
+        public final long checkpoints;
+        public final int queued;
+
+        Stats(WriteBatcher batcher, int queued) {
+            this.writes = batcher.writes.get();
+            this.failedWrites = batcher.failedWrites.get();
+            this.batches = batcher.batches.get();
+            this.rolledBackAttempts = batcher.rolledBackAttempts.get();
+            this.largestBatch = batcher.largestBatch.get();
+            this.avgBatchSize = batches == 0 ? 0 : (double) writes / batches;
+            this.avgLatencyMs = writes == 0 ? 0 : batcher.totalLatencyNanos.get() / 1e6 / writes;
+            this.maxLatencyMs = batcher.maxLatencyNanos.get() / 1e6;
+            this.avgTransactionMs = batches == 0 ? 0 : batcher.totalTransactionNanos.get() / 1e6 / batches;
+            long uptimeMs = Math.max(1, SystemClock.elapsedRealtime() - batcher.createdAt);
+            this.writesPerSecond = writes * 1000.0 / uptimeMs;
+            this.checkpoints = batcher.checkpoints.get();
+            this.queued = queued;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "writes=%d failed=%d batches=%d rolledBack=%d avgBatch=%.1f largestBatch=%d "
+                            + "latency avg=%.2fms max=%.2fms txn avg=%.2fms throughput=%.1f/s "
+                            + "checkpoints=%d queued=%d",
+                    writes, failedWrites, batches, rolledBackAttempts, avgBatchSize, largestBatch,
+                    avgLatencyMs, maxLatencyMs, avgTransactionMs, writesPerSecond,
+                    checkpoints, queued);
+        }
+    }
+
+    public Stats getStats() {
+        int queued;
+        synchronized (lock) {
+            queued = queue.size();
+        }
+        return new Stats(this, queued);
+    }
+
+    public void logStats() {
+        Log.d(TAG, getStats().toString());
+    }
+}
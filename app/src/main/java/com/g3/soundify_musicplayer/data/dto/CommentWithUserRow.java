@@ -0,0 +1,42 @@
+package com.g3.soundify_musicplayer.data.dto;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Embedded;
+
+import com.g3.soundify_musicplayer.data.entity.Comment;
+import com.g3.soundify_musicplayer.data.entity.User;
+
+/**
+ * Comment projection: comment + author + like count + current user's like flag (one JOIN query)
+ */
+public class CommentWithUserRow {
+
+    @Embedded
+    public Comment comment;
+
+    @Embedded(prefix = "u_")
+    public User user;
+
+    @ColumnInfo(name = "like_count")
+    public int likeCount;
+
+    @ColumnInfo(name = "is_liked")
+    public boolean isLiked;
+
+    // Getters
+    public Comment getComment() {
+        return comment;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public int getLikeCount() {
+        return likeCount;
+    }
+
+    public boolean isLiked() {
+        return isLiked;
+    }
+}
@@ -0,0 +1,15 @@
+package com.g3.soundify_musicplayer.data.dto;
+
+import androidx.room.ColumnInfo;
+
+/**
+ * Số chỗ (songs.audio_url / cover_art_url, users.avatar_url) đang trỏ tới một media path
+ */
+public class PathRefCount {
+
+    @ColumnInfo(name = "path")
+    public String path;
+
+    @ColumnInfo(name = "ref_count")
+    public int refCount;
+}
@@ -0,0 +1,32 @@
+package com.g3.soundify_musicplayer.data.dto;
+
+import androidx.room.Embedded;
+
+import com.g3.soundify_musicplayer.data.entity.Playlist;
+import com.g3.soundify_musicplayer.data.entity.User;
+
+/**
+ * Search projection: playlist plus owner, loaded in one query.
+ * Owner columns are selected with the "u_" prefix; the song count is the playlist's song_count column.
+ */
+public class PlaylistSearchRow {
+
+    @Embedded
+    public Playlist playlist;
+
+    @Embedded(prefix = "u_")
+    public User owner;
+
+    // Getters
+    public Playlist getPlaylist() {
+        return playlist;
+    }
+
+    public User getOwner() {
+        return owner;
+    }
+
+    public int getSongCount() {
+        return playlist != null ? playlist.getSongCount() : 0;
+    }
+}
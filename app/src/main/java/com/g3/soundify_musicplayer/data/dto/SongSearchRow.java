@@ -0,0 +1,28 @@
+package com.g3.soundify_musicplayer.data.dto;
+
+import androidx.room.Embedded;
+
+import com.g3.soundify_musicplayer.data.entity.Song;
+import com.g3.soundify_musicplayer.data.entity.User;
+
+/**
+ * Search projection: song plus its uploader, loaded in one JOIN query.
+ * Uploader columns are selected with the "u_" prefix.
+ */
+public class SongSearchRow {
+
+    @Embedded
+    public Song song;
+
+    @Embedded(prefix = "u_")
+    public User uploader;
+
+    // Getters
+    public Song getSong() {
+        return song;
+    }
+
+    public User getUploader() {
+        return uploader;
+    }
+}
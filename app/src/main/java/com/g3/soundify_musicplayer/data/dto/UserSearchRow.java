@@ -0,0 +1,27 @@
+package com.g3.soundify_musicplayer.data.dto;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Embedded;
+
+import com.g3.soundify_musicplayer.data.entity.User;
+
+/**
+ * Search projection: user plus number of uploaded songs (COUNT aggregate in the same query)
+ */
+public class UserSearchRow {
+
+    @Embedded
+    public User user;
+
+    @ColumnInfo(name = "song_count")
+    public int songCount;
+
+    // Getters
+    public User getUser() {
+        return user;
+    }
+
+    public int getSongCount() {
+        return songCount;
+    }
+}
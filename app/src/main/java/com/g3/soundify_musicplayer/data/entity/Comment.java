@@ -25,7 +25,7 @@ import androidx.room.PrimaryKey;
         )
     },
     indices = {
-        @Index(value = {"song_id"}),
+        @Index(value = {"song_id", "created_at"}),
         @Index(value = {"user_id"})
     }
 )
@@ -0,0 +1,65 @@
+package com.g3.soundify_musicplayer.data.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Một file media trong content-addressed store (MediaBlobStore), key = SHA-256 của nội dung.
+ * ref_count = số chỗ trỏ tới path (songs.audio_url / cover_art_url, users.avatar_url),
+ * do MediaRefTriggers cập nhật - không ghi tay.
+ */
+@Entity(
+    tableName = "media_blobs",
+    indices = {
+        @Index(value = "path", unique = true),
+        @Index("ref_count")
+    }
+)
+public class MediaBlob {
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "hash")
+    private String hash;
+
+    @NonNull
+    @ColumnInfo(name = "path")
+    private String path;
+
+    @ColumnInfo(name = "size_bytes")
+    private long sizeBytes;
+
+    @ColumnInfo(name = "ref_count")
+    private int refCount;
+
+    @ColumnInfo(name = "created_at")
+    private long createdAt;
+
+    // Constructors
+    public MediaBlob(@NonNull String hash, @NonNull String path, long sizeBytes, long createdAt) {
+        this.hash = hash;
+        this.path = path;
+        this.sizeBytes = sizeBytes;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    @NonNull
+    public String getHash() { return hash; }
+    public void setHash(@NonNull String hash) { this.hash = hash; }
+
+    @NonNull
+    public String getPath() { return path; }
+    public void setPath(@NonNull String path) { this.path = path; }
+
+    public long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+
+    public int getRefCount() { return refCount; }
+    public void setRefCount(int refCount) { this.refCount = refCount; }
+
+    public long getCreatedAt() { return createdAt; }
+    public void setCreatedAt(long createdAt) { this.createdAt = createdAt; }
+}
@@ -16,8 +16,8 @@ import androidx.room.PrimaryKey;
         onUpdate = ForeignKey.CASCADE
     ),
     indices = {
-        @Index(value = {"owner_id"}),
-        @Index(value = {"is_public"})
+        @Index(value = {"owner_id", "created_at"}),
+        @Index(value = {"is_public", "created_at"})
     }
 )
 public class Playlist {
@@ -39,6 +39,10 @@ public class Playlist {
     @ColumnInfo(name = "created_at")
     private long createdAt;
 
+    // Denormalized counter - maintained by triggers (see CounterTriggers), never written by the app
+    @ColumnInfo(name = "song_count", defaultValue = "0")
+    private int songCount;
+
     // Constructors
     public Playlist() {}
 
@@ -97,4 +101,12 @@ public class Playlist {
     public void setCreatedAt(long createdAt) {
         this.createdAt = createdAt;
     }
-} 
\ No newline at end of file
+
+    public int getSongCount() {
+        return songCount;
+    }
+
+    public void setSongCount(int songCount) {
+        this.songCount = songCount;
+    }
+}
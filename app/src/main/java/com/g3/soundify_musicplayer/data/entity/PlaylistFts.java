@@ -0,0 +1,39 @@
+package com.g3.soundify_musicplayer.data.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * FTS4 shadow table for playlists.
+ * Uses playlists as external content, Room keeps the index in sync via triggers.
+ * Join back to playlists with playlists_fts.rowid = playlists.id
+ */
+@Fts4(contentEntity = Playlist.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "playlists_fts")
+public class PlaylistFts {
+
+    @ColumnInfo(name = "name")
+    private String name;
+
+    @ColumnInfo(name = "description")
+    private String description;
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
@@ -24,8 +24,10 @@ import androidx.room.Index;
             onUpdate = ForeignKey.CASCADE
         )
     },
+    // (playlist_id, song_id) là primary key; (playlist_id, position) cho thứ tự bài trong playlist
     indices = {
-        @Index(value = {"song_id"})
+        @Index(value = {"song_id"}),
+        @Index(value = {"playlist_id", "position"})
     }
 )
 public class PlaylistSong {
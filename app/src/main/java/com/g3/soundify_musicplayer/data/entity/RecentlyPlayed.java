@@ -24,7 +24,7 @@ import androidx.room.PrimaryKey;
     },
     indices = {
         @Index(value = {"user_id", "song_id"}, unique = true),
-        @Index("played_at"),
+        @Index(value = {"user_id", "played_at"}),
         @Index("song_id")
     }
 )
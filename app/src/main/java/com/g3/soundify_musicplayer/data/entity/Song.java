@@ -15,9 +15,12 @@ import androidx.room.PrimaryKey;
         onDelete = ForeignKey.CASCADE,
         onUpdate = ForeignKey.CASCADE
     ),
+    // Composite (filter, created_at): feed queries đọc theo thứ tự index, không sort bằng temp B-tree.
+    // uploader_id đứng đầu nên vẫn phục vụ foreign key lookup
     indices = {
-        @Index(value = {"uploader_id"}),
-        @Index(value = {"is_public"})
+        @Index(value = {"uploader_id", "created_at"}),
+        @Index(value = {"is_public", "created_at"}),
+        @Index(value = {"genre", "is_public", "created_at"})
     }
 )
 public class Song {
@@ -55,6 +58,13 @@ public class Song {
     @ColumnInfo(name = "created_at")
     private long createdAt;
 
+    // Denormalized counters - maintained by triggers (see CounterTriggers), never written by the app
+    @ColumnInfo(name = "like_count", defaultValue = "0")
+    private int likeCount;
+
+    @ColumnInfo(name = "comment_count", defaultValue = "0")
+    private int commentCount;
+
     // Constructors
     public Song() {}
 
@@ -154,4 +164,20 @@ public class Song {
     public void setUploaderName(String uploaderName) {
         this.uploaderName = uploaderName;
     }
+
+    public int getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(int likeCount) {
+        this.likeCount = likeCount;
+    }
+
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(int commentCount) {
+        this.commentCount = commentCount;
+    }
 }
\ No newline at end of file
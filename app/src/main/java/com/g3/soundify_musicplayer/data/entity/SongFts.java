@@ -0,0 +1,50 @@
+package com.g3.soundify_musicplayer.data.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * FTS4 shadow table for songs.
+ * Uses songs as external content, Room keeps the index in sync via triggers.
+ * Join back to songs with songs_fts.rowid = songs.id
+ */
+@Fts4(contentEntity = Song.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "songs_fts")
+public class SongFts {
+
+    @ColumnInfo(name = "title")
+    private String title;
+
+    @ColumnInfo(name = "genre")
+    private String genre;
+
+    @ColumnInfo(name = "description")
+    private String description;
+
+    // Getters and Setters
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getGenre() {
+        return genre;
+    }
+
+    public void setGenre(String genre) {
+        this.genre = genre;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+}
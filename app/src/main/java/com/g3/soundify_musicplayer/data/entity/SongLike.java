@@ -24,8 +24,9 @@ import androidx.room.Index;
             onUpdate = ForeignKey.CASCADE
         )
     },
+    // (song_id, user_id) đã là primary key; thêm created_at để "liked songs" của user không cần sort
     indices = {
-        @Index(value = {"user_id"})
+        @Index(value = {"user_id", "created_at"})
     }
 )
 public class SongLike {
@@ -0,0 +1,144 @@
+package com.g3.soundify_musicplayer.data.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.PrimaryKey;
+
+/**
+ * Thông tin kỹ thuật + tag của file audio, đọc một lần lúc upload (AudioMetadataExtractor)
+ * để các tính năng sau không phải mở lại file. Cột null = file không có thông tin đó.
+ *
+ * extractor_version tăng khi extractor đọc thêm được gì mới: MetadataBackfillWorker
+ * đọc lại các row cũ hơn version hiện tại.
+ */
+@Entity(
+    tableName = "song_metadata",
+    foreignKeys = @ForeignKey(
+        entity = Song.class,
+        parentColumns = "id",
+        childColumns = "song_id",
+        onDelete = ForeignKey.CASCADE
+    )
+)
+public class SongMetadata {
+    @PrimaryKey
+    @ColumnInfo(name = "song_id")
+    private long songId;
+
+    @ColumnInfo(name = "mime_type")
+    private String mimeType;
+
+    @ColumnInfo(name = "duration_ms")
+    private Long durationMs;
+
+    @ColumnInfo(name = "bitrate")
+    private Integer bitrate;
+
+    @ColumnInfo(name = "sample_rate")
+    private Integer sampleRate;
+
+    @ColumnInfo(name = "bits_per_sample")
+    private Integer bitsPerSample;
+
+    @ColumnInfo(name = "channel_count")
+    private Integer channelCount;
+
+    @ColumnInfo(name = "artist")
+    private String artist;
+
+    @ColumnInfo(name = "album")
+    private String album;
+
+    @ColumnInfo(name = "album_artist")
+    private String albumArtist;
+
+    @ColumnInfo(name = "year")
+    private Integer year;
+
+    @ColumnInfo(name = "track_number")
+    private Integer trackNumber;
+
+    @ColumnInfo(name = "has_embedded_artwork")
+    private boolean hasEmbeddedArtwork;
+
+    // ReplayGain: gain tính bằng dB, peak là biên độ tuyến tính (1.0 = full scale)
+    @ColumnInfo(name = "track_gain_db")
+    private Float trackGainDb;
+
+    @ColumnInfo(name = "track_peak")
+    private Float trackPeak;
+
+    @ColumnInfo(name = "album_gain_db")
+    private Float albumGainDb;
+
+    @ColumnInfo(name = "album_peak")
+    private Float albumPeak;
+
+    @ColumnInfo(name = "extractor_version")
+    private int extractorVersion;
+
+    @ColumnInfo(name = "extracted_at")
+    private long extractedAt;
+
+    // Constructors
+    public SongMetadata() {}
+
+    // Getters and Setters
+    public long getSongId() { return songId; }
+    public void setSongId(long songId) { this.songId = songId; }
+
+    public String getMimeType() { return mimeType; }
+    public void setMimeType(String mimeType) { this.mimeType = mimeType; }
+
+    public Long getDurationMs() { return durationMs; }
+    public void setDurationMs(Long durationMs) { this.durationMs = durationMs; }
+
+    public Integer getBitrate() { return bitrate; }
+    public void setBitrate(Integer bitrate) { this.bitrate = bitrate; }
+
+    public Integer getSampleRate() { return sampleRate; }
+    public void setSampleRate(Integer sampleRate) { this.sampleRate = sampleRate; }
+
+    public Integer getBitsPerSample() { return bitsPerSample; }
+    public void setBitsPerSample(Integer bitsPerSample) { this.bitsPerSample = bitsPerSample; }
+
+    public Integer getChannelCount() { return channelCount; }
+    public void setChannelCount(Integer channelCount) { this.channelCount = channelCount; }
+
+    public String getArtist() { return artist; }
+    public void setArtist(String artist) { this.artist = artist; }
+
+    public String getAlbum() { return album; }
+    public void setAlbum(String album) { this.album = album; }
+
+    public String getAlbumArtist() { return albumArtist; }
+    public void setAlbumArtist(String albumArtist) { this.albumArtist = albumArtist; }
+
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+
+    public Integer getTrackNumber() { return trackNumber; }
+    public void setTrackNumber(Integer trackNumber) { this.trackNumber = trackNumber; }
+
+    public boolean isHasEmbeddedArtwork() { return hasEmbeddedArtwork; }
+    public void setHasEmbeddedArtwork(boolean hasEmbeddedArtwork) { this.hasEmbeddedArtwork = hasEmbeddedArtwork; }
+
+    public Float getTrackGainDb() { return trackGainDb; }
+    public void setTrackGainDb(Float trackGainDb) { this.trackGainDb = trackGainDb; }
+
+    public Float getTrackPeak() { return trackPeak; }
+    public void setTrackPeak(Float trackPeak) { this.trackPeak = trackPeak; }
+
+    public Float getAlbumGainDb() { return albumGainDb; }
+    public void setAlbumGainDb(Float albumGainDb) { this.albumGainDb = albumGainDb; }
+
+    public Float getAlbumPeak() { return albumPeak; }
+    public void setAlbumPeak(Float albumPeak) { this.albumPeak = albumPeak; }
+
+    public int getExtractorVersion() { return extractorVersion; }
+    public void setExtractorVersion(int extractorVersion) { this.extractorVersion = extractorVersion; }
+
+    public long getExtractedAt() { return extractedAt; }
+    public void setExtractedAt(long extractedAt) { this.extractedAt = extractedAt; }
+}
@@ -37,6 +37,13 @@ public class User {
     @ColumnInfo(name = "created_at")
     private long createdAt;
 
+    // Denormalized counters - maintained by triggers (see CounterTriggers), never written by the app
+    @ColumnInfo(name = "follower_count", defaultValue = "0")
+    private int followerCount;
+
+    @ColumnInfo(name = "following_count", defaultValue = "0")
+    private int followingCount;
+
     // Constructors
     public User() {}
 
@@ -112,4 +119,20 @@ public class User {
     public void setCreatedAt(long createdAt) {
         this.createdAt = createdAt;
     }
-} 
\ No newline at end of file
+
+    public int getFollowerCount() {
+        return followerCount;
+    }
+
+    public void setFollowerCount(int followerCount) {
+        this.followerCount = followerCount;
+    }
+
+    public int getFollowingCount() {
+        return followingCount;
+    }
+
+    public void setFollowingCount(int followingCount) {
+        this.followingCount = followingCount;
+    }
+}
@@ -25,7 +25,7 @@ import androidx.room.Index;
         )
     },
     indices = {
-        @Index(value = {"followee_id"})
+        @Index(value = {"followee_id", "created_at"})
     }
 )
 public class UserFollow {
@@ -0,0 +1,39 @@
+package com.g3.soundify_musicplayer.data.entity;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * FTS4 shadow table for users.
+ * Uses users as external content, Room keeps the index in sync via triggers.
+ * Join back to users with users_fts.rowid = users.id
+ */
+@Fts4(contentEntity = User.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "users_fts")
+public class UserFts {
+
+    @ColumnInfo(name = "username")
+    private String username;
+
+    @ColumnInfo(name = "display_name")
+    private String displayName;
+
+    // Getters and Setters
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public void setDisplayName(String displayName) {
+        this.displayName = displayName;
+    }
+}
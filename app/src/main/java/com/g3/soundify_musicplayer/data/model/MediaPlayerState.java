@@ -3,6 +3,8 @@ package com.g3.soundify_musicplayer.data.model;
 import com.g3.soundify_musicplayer.data.entity.Song;
 import com.g3.soundify_musicplayer.data.entity.User;
 
+import java.util.Objects;
+
 /**
  * Data classes để quản lý trạng thái media player
  */
@@ -24,28 +26,112 @@ public class MediaPlayerState {
     // ✅ REMOVED: RepeatMode enum - Zero Queue Rule không cần repeat
     
     /**
-     * Class chứa thông tin trạng thái playback hiện tại
+     * Snapshot bất biến của bài đang phát (song + artist).
+     * equals() theo id + các field hiển thị (title, ảnh bìa, tên/avatar artist): stream track chỉ phát
+     * khi đổi bài/artist hoặc khi bài đang phát được sửa, không phải mỗi tick.
+     */
+    public static final class TrackInfo {
+        public static final TrackInfo EMPTY = new TrackInfo(null, null);
+
+        private final Song song;
+        private final User artist;
+
+        public TrackInfo(Song song, User artist) {
+            this.song = song;
+            this.artist = artist;
+        }
+
+        public Song getSong() { return song; }
+        public User getArtist() { return artist; }
+
+        public long getSongId() {
+            return song != null ? song.getId() : -1;
+        }
+
+        public long getArtistId() {
+            return artist != null ? artist.getId() : -1;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TrackInfo)) return false;
+            TrackInfo that = (TrackInfo) o;
+            return getSongId() == that.getSongId() && getArtistId() == that.getArtistId()
+                    && sameSongDisplay(song, that.song) && sameArtistDisplay(artist, that.artist);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(getSongId()) + Long.hashCode(getArtistId());
+        }
+
+        private static boolean sameSongDisplay(Song a, Song b) {
+            if (a == null || b == null) return a == b;
+            return Objects.equals(a.getTitle(), b.getTitle())
+                    && Objects.equals(a.getCoverArtUrl(), b.getCoverArtUrl())
+                    && Objects.equals(a.getUploaderName(), b.getUploaderName());
+        }
+
+        private static boolean sameArtistDisplay(User a, User b) {
+            if (a == null || b == null) return a == b;
+            return Objects.equals(a.getDisplayName(), b.getDisplayName())
+                    && Objects.equals(a.getUsername(), b.getUsername())
+                    && Objects.equals(a.getAvatarUrl(), b.getAvatarUrl());
+        }
+    }
+
+    /**
+     * Snapshot bất biến của trạng thái playback hiện tại = track + transport + position.
+     * Không có setter: mỗi thay đổi tạo object mới qua with*(), nên đọc từ bất kỳ thread nào
+     * cũng không bị "torn read" giữa các field.
      */
-    public static class CurrentPlaybackState {
-        // ✅ SIMPLIFIED: Only 5 essential fields for Zero Queue Rule
-        private Song currentSong;
-        private User currentArtist;         // Centralized artist state
-        private PlaybackState playbackState;
-        private long currentPosition;       // Vị trí hiện tại (milliseconds)
-        private long duration;              // Tổng thời lượng (milliseconds)
+    public static final class CurrentPlaybackState {
+        public static final CurrentPlaybackState INITIAL = new CurrentPlaybackState();
+
+        private final TrackInfo track;
+        private final PlaybackState playbackState;
+        private final PositionSnapshot position;
 
         public CurrentPlaybackState() {
-            this.playbackState = PlaybackState.IDLE;
-            this.currentPosition = 0;
-            this.duration = 0;
+            this(TrackInfo.EMPTY, PlaybackState.IDLE, PositionSnapshot.EMPTY);
         }
-        
+
         public CurrentPlaybackState(Song currentSong, PlaybackState playbackState) {
-            this();
-            this.currentSong = currentSong;
-            this.playbackState = playbackState;
+            this(new TrackInfo(currentSong, null), playbackState, PositionSnapshot.EMPTY);
         }
-        
+
+        private CurrentPlaybackState(TrackInfo track, PlaybackState playbackState, PositionSnapshot position) {
+            this.track = track != null ? track : TrackInfo.EMPTY;
+            this.playbackState = playbackState != null ? playbackState : PlaybackState.IDLE;
+            this.position = position != null ? position : PositionSnapshot.EMPTY;
+        }
+
+        // Copy-on-write
+        public CurrentPlaybackState withTrack(Song song, User artist) {
+            return new CurrentPlaybackState(new TrackInfo(song, artist), playbackState, position);
+        }
+
+        /**
+         * Đổi bài, giữ artist hiện tại cho tới khi service báo artist mới
+         */
+        public CurrentPlaybackState withSong(Song song) {
+            return withTrack(song, track.getArtist());
+        }
+
+        public CurrentPlaybackState withPlaybackState(PlaybackState newState) {
+            return new CurrentPlaybackState(track, newState, position);
+        }
+
+        public CurrentPlaybackState withPosition(PositionSnapshot newPosition) {
+            return new CurrentPlaybackState(track, playbackState, newPosition);
+        }
+
+        public CurrentPlaybackState withPositionMs(long positionMs) {
+            return withPosition(new PositionSnapshot(positionMs, position.getDurationMs(),
+                    position.getBufferedPositionMs()));
+        }
+
         // Helper methods
         public boolean isPlaying() {
             return playbackState == PlaybackState.PLAYING;
@@ -72,18 +158,15 @@ public class MediaPlayerState {
         }
         
         public int getProgressPercentage() {
-            if (duration > 0) {
-                return (int) ((currentPosition * 100) / duration);
-            }
-            return 0;
+            return position.getProgressPercentage();
         }
         
         public String getFormattedCurrentPosition() {
-            return formatTime(currentPosition);
+            return formatTime(getCurrentPosition());
         }
         
         public String getFormattedDuration() {
-            return formatTime(duration);
+            return formatTime(getDuration());
         }
         
         private String formatTime(long timeMs) {
@@ -93,23 +176,70 @@ public class MediaPlayerState {
             return String.format("%d:%02d", minutes, seconds);
         }
         
-        // Getters and Setters
-        public Song getCurrentSong() { return currentSong; }
-        public void setCurrentSong(Song currentSong) { this.currentSong = currentSong; }
-
-        public User getCurrentArtist() { return currentArtist; }
-        public void setCurrentArtist(User currentArtist) { this.currentArtist = currentArtist; }
-        
+        // Getters
+        public TrackInfo getTrack() { return track; }
+        public Song getCurrentSong() { return track.getSong(); }
+        public User getCurrentArtist() { return track.getArtist(); }
         public PlaybackState getPlaybackState() { return playbackState; }
-        public void setPlaybackState(PlaybackState playbackState) { this.playbackState = playbackState; }
-        
-        public long getCurrentPosition() { return currentPosition; }
-        public void setCurrentPosition(long currentPosition) { this.currentPosition = currentPosition; }
-        
-        public long getDuration() { return duration; }
-        public void setDuration(long duration) { this.duration = duration; }
+        public PositionSnapshot getPosition() { return position; }
+        public long getCurrentPosition() { return position.getPositionMs(); }
+        public long getDuration() { return position.getDurationMs(); }
     }
     
+    /**
+     * Snapshot bất biến của vị trí phát - mỗi tick tạo object mới thay vì mutate state dùng chung.
+     * equals() so sánh theo giá trị để observer bỏ qua tick không đổi gì.
+     */
+    public static final class PositionSnapshot {
+        public static final PositionSnapshot EMPTY = new PositionSnapshot(0, 0, 0);
+
+        private final long positionMs;
+        private final long durationMs;
+        private final long bufferedPositionMs;
+
+        public PositionSnapshot(long positionMs, long durationMs, long bufferedPositionMs) {
+            this.positionMs = Math.max(0, positionMs);
+            this.durationMs = Math.max(0, durationMs); // C.TIME_UNSET (âm) khi chưa biết duration
+            this.bufferedPositionMs = Math.max(0, bufferedPositionMs);
+        }
+
+        public long getPositionMs() { return positionMs; }
+        public long getDurationMs() { return durationMs; }
+        public long getBufferedPositionMs() { return bufferedPositionMs; }
+
+        /**
+         * Progress theo thang 0..max (max = seekBar.getMax())
+         */
+        public int getProgress(int max) {
+            if (durationMs <= 0) {
+                return 0;
+            }
+            return (int) Math.min(max, (positionMs * max) / durationMs);
+        }
+
+        public int getProgressPercentage() {
+            return getProgress(100);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PositionSnapshot)) return false;
+            PositionSnapshot that = (PositionSnapshot) o;
+            return positionMs == that.positionMs
+                    && durationMs == that.durationMs
+                    && bufferedPositionMs == that.bufferedPositionMs;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Long.hashCode(positionMs);
+            result = 31 * result + Long.hashCode(durationMs);
+            result = 31 * result + Long.hashCode(bufferedPositionMs);
+            return result;
+        }
+    }
+
     /**
      * Class chứa thông tin về queue và navigation
      */
@@ -2,22 +2,26 @@ package com.g3.soundify_musicplayer.data.repository;
 
 import android.app.Application;
 import androidx.lifecycle.LiveData;
-import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.Transformations;
+import androidx.paging.PagingData;
+import androidx.paging.PagingDataTransforms;
 
 import com.g3.soundify_musicplayer.data.database.AppDatabase;
+import com.g3.soundify_musicplayer.data.database.WriteBatcher;
 import com.g3.soundify_musicplayer.data.dao.CommentDao;
 import com.g3.soundify_musicplayer.data.dao.CommentLikeDao;
 import com.g3.soundify_musicplayer.data.dao.UserDao;
+import com.g3.soundify_musicplayer.data.dto.CommentWithUserRow;
 import com.g3.soundify_musicplayer.data.entity.Comment;
 import com.g3.soundify_musicplayer.data.entity.CommentLike;
-import com.g3.soundify_musicplayer.data.entity.User;
 import com.g3.soundify_musicplayer.ui.player.comment.CommentWithUser;
 import com.g3.soundify_musicplayer.utils.AuthManager;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
+import com.g3.soundify_musicplayer.utils.PagingUtils;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 /**
@@ -30,7 +34,11 @@ public class CommentRepository {
     private CommentLikeDao commentLikeDao;
     private UserDao userDao;
     private AuthManager authManager;
-    private ExecutorService executor;
+    // Shared pools from AppExecutors - not owned here, never shut down by this repository
+    private final ExecutorService dbReadExecutor;
+    private final ExecutorService dbWriteExecutor;
+    // Small user-action writes (likes, follows, history) share one transaction per batch
+    private final WriteBatcher writeBatcher;
     
     public CommentRepository(Application application) {
         AppDatabase database = AppDatabase.getInstance(application);
@@ -38,54 +46,46 @@ public class CommentRepository {
         commentLikeDao = database.commentLikeDao();
         userDao = database.userDao();
         authManager = new AuthManager(application);
-        executor = Executors.newFixedThreadPool(4);
+        dbReadExecutor = AppExecutors.getInstance().diskRead();
+        dbWriteExecutor = AppExecutors.getInstance().diskWrite();
+        writeBatcher = WriteBatcher.getInstance(application);
     }
     
     /**
      * Get comments for a song with user data and like status
      */
     public LiveData<List<CommentWithUser>> getCommentsWithUserData(long songId) {
-        MediatorLiveData<List<CommentWithUser>> result = new MediatorLiveData<>();
-        
-        LiveData<List<Comment>> commentsLiveData = commentDao.getCommentsBySong(songId);
-        result.addSource(commentsLiveData, comments -> {
-            if (comments != null) {
-                // Process comments in background thread
-                executor.execute(() -> {
-                    List<CommentWithUser> commentsWithUser = new ArrayList<>();
-                    long currentUserId = authManager.getCurrentUserId();
-                    
-                    for (Comment comment : comments) {
-                        try {
-                            // Get user data
-                            User user = userDao.getUserByIdSync(comment.getUserId());
-                            if (user != null) {
-                                // Get like status and count
-                                boolean isLiked = currentUserId != -1 && 
-                                    commentLikeDao.isCommentLikedByUser(comment.getId(), currentUserId) > 0;
-                                int likeCount = commentLikeDao.getLikeCountForComment(comment.getId());
-                                
-                                CommentWithUser commentWithUser = new CommentWithUser(comment, user, isLiked, likeCount);
-                                commentsWithUser.add(commentWithUser);
-                            }
-                        } catch (Exception e) {
-                            android.util.Log.e("CommentRepository", "Error processing comment: " + comment.getId(), e);
-                        }
-                    }
-                    
-                    result.postValue(commentsWithUser);
-                });
+        long currentUserId = authManager.getCurrentUserId();
+
+        // Single JOIN query; Room re-runs it when comments, users or comment_likes change
+        LiveData<List<CommentWithUserRow>> rows = commentDao.getCommentsWithUserBySong(songId, currentUserId);
+        return Transformations.map(rows, list -> {
+            List<CommentWithUser> commentsWithUser = new ArrayList<>();
+            if (list != null) {
+                for (CommentWithUserRow row : list) {
+                    commentsWithUser.add(new CommentWithUser(row.comment, row.user, row.isLiked, row.likeCount));
+                }
             }
+            return commentsWithUser;
         });
-        
-        return result;
+    }
+
+    /**
+     * Paged variant of getCommentsWithUserData - same single query, loaded one window at a time
+     */
+    public LiveData<PagingData<CommentWithUser>> getCommentsWithUserDataPaged(long songId) {
+        long currentUserId = authManager.getCurrentUserId();
+        LiveData<PagingData<CommentWithUserRow>> rows =
+                PagingUtils.livePager(() -> commentDao.getCommentsWithUserBySongPaged(songId, currentUserId));
+        return Transformations.map(rows, pagingData -> PagingDataTransforms.map(pagingData, dbReadExecutor,
+                row -> new CommentWithUser(row.comment, row.user, row.isLiked, row.likeCount)));
     }
     
     /**
      * Add a new comment
      */
     public Future<Long> addComment(long songId, String content) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             long currentUserId = authManager.getCurrentUserId();
             if (currentUserId == -1) {
                 throw new IllegalStateException("User not logged in");
@@ -104,7 +104,7 @@ public class CommentRepository {
      * Delete a comment (only if user owns it)
      */
     public Future<Boolean> deleteComment(long commentId) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             try {
                 long currentUserId = authManager.getCurrentUserId();
                 if (currentUserId == -1) {
@@ -142,7 +142,7 @@ public class CommentRepository {
      * Toggle like status for a comment
      */
     public Future<Boolean> toggleCommentLike(long commentId) {
-        return executor.submit(() -> {
+        return writeBatcher.submit(() -> {
             try {
                 long currentUserId = authManager.getCurrentUserId();
                 if (currentUserId == -1) {
@@ -178,7 +178,7 @@ public class CommentRepository {
      * Check if current user can delete a comment
      */
     public Future<Boolean> canDeleteComment(long commentId) {
-        return executor.submit(() -> {
+        return dbReadExecutor.submit(() -> {
             long currentUserId = authManager.getCurrentUserId();
             if (currentUserId == -1) {
                 return false;
@@ -193,12 +193,10 @@ public class CommentRepository {
      * Get comment count for a song
      */
     public Future<Integer> getCommentCount(long songId) {
-        return executor.submit(() -> commentDao.getCommentCountBySong(songId));
+        return dbReadExecutor.submit(() -> commentDao.getCommentCountBySong(songId));
     }
     
     public void shutdown() {
-        if (executor != null) {
-            executor.shutdown();
-        }
+        // Nothing to release: executors are shared and owned by AppExecutors
     }
 }
@@ -0,0 +1,50 @@
+package com.g3.soundify_musicplayer.data.repository;
+
+import android.app.Application;
+import android.util.Log;
+
+import com.g3.soundify_musicplayer.data.dao.CounterDao;
+import com.g3.soundify_musicplayer.data.database.AppDatabase;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Repository for the denormalized counter columns (likes, comments, followers, playlist sizes).
+ * The counters are maintained by triggers; this only verifies and repairs drift.
+ */
+public class CounterRepository {
+
+    private static final String TAG = "CounterRepository";
+
+    private final CounterDao counterDao;
+    // Shared pool from AppExecutors - not owned here
+    private final ExecutorService dbWriteExecutor;
+
+    public CounterRepository(Application application) {
+        counterDao = AppDatabase.getInstance(application).counterDao();
+        dbWriteExecutor = AppExecutors.getInstance().diskWrite();
+    }
+
+    /**
+     * Compare every counter with the real COUNT(*) and fix the rows that drifted
+     * @return number of repaired rows
+     */
+    public Future<Integer> verifyAndRepairCounters() {
+        return dbWriteExecutor.submit(() -> {
+            try {
+                int repaired = counterDao.repairAllCounters();
+                if (repaired > 0) {
+                    Log.w(TAG, "Repaired " + repaired + " out-of-sync counter rows");
+                } else {
+                    Log.d(TAG, "All counters consistent");
+                }
+                return repaired;
+            } catch (Exception e) {
+                Log.e(TAG, "Error verifying counters", e);
+                return 0;
+            }
+        });
+    }
+}
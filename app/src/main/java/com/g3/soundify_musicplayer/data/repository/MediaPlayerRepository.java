@@ -4,20 +4,30 @@ import android.app.Application;
 import android.content.ComponentName;
 import android.content.Intent;
 import android.content.ServiceConnection;
+import android.os.Handler;
 import android.os.IBinder;
+import android.os.Looper;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
 
 import com.g3.soundify_musicplayer.data.entity.Song;
 import com.g3.soundify_musicplayer.data.entity.User;
 import com.g3.soundify_musicplayer.data.model.MediaPlayerState;
+import com.g3.soundify_musicplayer.service.AudioPrefetcher;
 import com.g3.soundify_musicplayer.service.MediaPlaybackService;
+import com.g3.soundify_musicplayer.service.PositionUpdateEngine;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
+import com.g3.soundify_musicplayer.utils.Constants;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 /**
  * Simple Media Player Repository - Zero Queue Rule
@@ -25,11 +35,16 @@ import java.util.concurrent.Future;
  */
 public class MediaPlayerRepository extends SongDetailRepository implements MediaPlaybackService.PlaybackStateListener {
 
-    private final ExecutorService executor;
+    private final ExecutorService executor;  // Shared single playback thread (AppExecutors)
+    private final PlaybackCommandQueue commandQueue;
     private final Application application;
 
     // LiveData
     private final MutableLiveData<MediaPlayerState.CurrentPlaybackState> currentPlaybackState;
+    // Stream con distinct-until-changed: observer chỉ chạy khi đúng phần của nó thay đổi
+    private final LiveData<MediaPlayerState.TrackInfo> trackState;
+    private final LiveData<MediaPlayerState.PlaybackState> transportState;
+    private final LiveData<MediaPlayerState.PositionSnapshot> positionState;
     private final MutableLiveData<MediaPlayerState.QueueInfo> queueInfo;
     private final MutableLiveData<Boolean> isPlayerVisible;
 
@@ -38,32 +53,100 @@ public class MediaPlayerRepository extends SongDetailRepository implements Media
     private int currentIndex = 0;
     private String currentListTitle = "";
 
-    private final MediaPlayerState.CurrentPlaybackState currentState;
+    // Snapshot bất biến, thay nguyên object bằng CAS (binder callback + executor thread cùng ghi)
+    private final AtomicReference<MediaPlayerState.CurrentPlaybackState> currentState =
+            new AtomicReference<>(MediaPlayerState.CurrentPlaybackState.INITIAL);
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final AtomicBoolean publishPending = new AtomicBoolean(false);
+
+    // UI đang hiển thị vị trí -> tần suất mong muốn (chỉ truy cập trên main thread)
+    private final Map<Object, PositionUpdateEngine.Rate> positionSubscribers = new HashMap<>();
 
     // Service
     private MediaPlaybackService mediaService;
     private boolean isServiceBound = false;
     private ServiceConnection serviceConnection;
+    // currentSongList đã nạp làm playlist ExoPlayer chưa + vị trí bắt đầu khi nạp (phiên khôi phục)
+    private final ServicePlaylistState servicePlaylist = new ServicePlaylistState();
+
+    // Playback session persistence (process death)
+    private final PlaybackSessionStore sessionStore;
     
     public MediaPlayerRepository(Application application) {
         super(application);
         this.application = application;
-        executor = Executors.newSingleThreadExecutor();
+        executor = AppExecutors.getInstance().playback();
+        commandQueue = new PlaybackCommandQueue(executor, this::handleCommand);
 
         // Initialize LiveData
-        currentPlaybackState = new MutableLiveData<>();
+        currentPlaybackState = new MutableLiveData<>(currentState.get());
+        trackState = Transformations.distinctUntilChanged(
+                Transformations.map(currentPlaybackState, MediaPlayerState.CurrentPlaybackState::getTrack));
+        transportState = Transformations.distinctUntilChanged(
+                Transformations.map(currentPlaybackState, MediaPlayerState.CurrentPlaybackState::getPlaybackState));
+        positionState = Transformations.distinctUntilChanged(
+                Transformations.map(currentPlaybackState, MediaPlayerState.CurrentPlaybackState::getPosition));
         queueInfo = new MutableLiveData<>();
         isPlayerVisible = new MutableLiveData<>();
 
-        currentState = new MediaPlayerState.CurrentPlaybackState();
-
         // Set initial values
-        currentPlaybackState.setValue(currentState);
         queueInfo.setValue(new MediaPlayerState.QueueInfo());
         isPlayerVisible.setValue(false);
 
+        sessionStore = new PlaybackSessionStore(application);
+
         // Bind to service
         bindToMediaService();
+
+        // Khôi phục phiên trước ở background, không chặn Application.onCreate
+        restoreSessionAsync();
+    }
+
+    /**
+     * Đọc phiên đã lưu + load songs theo id, rồi đưa vào command queue như một command bình thường.
+     * Service chỉ được nạp playlist khi user bấm play (lazy), UI chỉ hiển thị lại MiniPlayer.
+     */
+    private void restoreSessionAsync() {
+        backgroundExecutor.execute(() -> {
+            try {
+                PlaybackSessionStore.Session session = sessionStore.load();
+                if (session == null) {
+                    return;
+                }
+
+                List<Song> found = songRepository.getSongsByIdsSync(session.songIds).get();
+                Map<Long, Song> songsById = new HashMap<>();
+                for (Song song : found) {
+                    songsById.put(song.getId(), song);
+                }
+
+                // Giữ thứ tự queue, bỏ bài đã bị xoá
+                List<Song> songs = new ArrayList<>();
+                int index = 0;
+                long positionMs = 0;
+                for (int i = 0; i < session.songIds.size(); i++) {
+                    Song song = songsById.get(session.songIds.get(i));
+                    if (song == null) {
+                        continue;
+                    }
+                    if (i == session.index) {
+                        index = songs.size();
+                        positionMs = session.positionMs;
+                    }
+                    songs.add(song);
+                }
+                if (songs.isEmpty()) {
+                    sessionStore.clear();
+                    return;
+                }
+
+                commandQueue.submit(PlaybackCommandQueue.Command.withPayload(
+                        PlaybackCommandQueue.Type.RESTORE_SESSION, index,
+                        new RestorePayload(songs, session.title, positionMs)));
+            } catch (Exception e) {
+                android.util.Log.e("MediaPlayerRepository", "Error restoring playback session", e);
+            }
+        });
     }
 
     /**
@@ -81,6 +164,7 @@ public class MediaPlayerRepository extends SongDetailRepository implements Media
                 
                 if (mediaService != null) {
                     mediaService.setPlaybackStateListener(MediaPlayerRepository.this);
+                    mediaService.setPositionUpdateRate(getRequestedPositionRate());
                 }
             }
 
@@ -88,6 +172,7 @@ public class MediaPlayerRepository extends SongDetailRepository implements Media
             public void onServiceDisconnected(ComponentName name) {
                 mediaService = null;
                 isServiceBound = false;
+                servicePlaylist.markUnloaded();
             }
         };
 
@@ -100,151 +185,269 @@ public class MediaPlayerRepository extends SongDetailRepository implements Media
     }
     
     // ========== CORE METHODS - ZERO QUEUE RULE ==========
+    // Public transport methods only enqueue a command and return immediately.
+    // Commands run in order on the single executor thread (see handleCommand).
 
     /**
      * Replace entire list and play (Zero Queue Rule)
      */
     public void replaceListAndPlay(List<Song> songs, String title, int startIndex) {
-        executor.execute(() -> {
-            try {
-
-                // Clear and replace
-                currentSongList.clear();
-                currentSongList.addAll(songs);
-                currentListTitle = title;
-                currentIndex = startIndex;
+        if (songs == null || songs.isEmpty()) {
+            return;
+        }
+        commandQueue.submit(PlaybackCommandQueue.Command.withPayload(
+                PlaybackCommandQueue.Type.REPLACE_LIST, startIndex,
+                new ReplaceListPayload(new ArrayList<>(songs), title)));
+    }
 
-                // Update state
-                Song songToPlay = currentSongList.get(currentIndex);
-                currentState.setCurrentSong(songToPlay);
-                updateQueueInfo();
+    /**
+     * Play next song
+     */
+    public void playNext() {
+        commandQueue.submit(PlaybackCommandQueue.Command.of(PlaybackCommandQueue.Type.NEXT));
+    }
 
-                // Start playback
-                if (isServiceBound && mediaService != null) {
-                    mediaService.playSong(songToPlay, null);
-                }
+    /**
+     * Play previous song (restarts current song if more than 3 seconds in)
+     */
+    public void playPrevious() {
+        commandQueue.submit(PlaybackCommandQueue.Command.of(PlaybackCommandQueue.Type.PREVIOUS));
+    }
 
-                isPlayerVisible.postValue(true);
-            } catch (Exception e) {
-                android.util.Log.e("MediaPlayerRepository", "Error in replaceListAndPlay", e);
-            }
-        });
+    /**
+     * Toggle play/pause
+     */
+    public void togglePlayPause() {
+        commandQueue.submit(PlaybackCommandQueue.Command.of(PlaybackCommandQueue.Type.TOGGLE_PLAY_PAUSE));
     }
 
+    /**
+     * Pause playback
+     */
+    public void pause() {
+        commandQueue.submit(PlaybackCommandQueue.Command.of(PlaybackCommandQueue.Type.PAUSE));
+    }
 
     /**
-     * Play next song
+     * Seek to position - rapid seeks are coalesced, only the last one is applied
      */
-    public Future<Boolean> playNext() {
-        return executor.submit(() -> {
-            try {
-                if (currentSongList.isEmpty() || currentIndex >= currentSongList.size() - 1) {
-                    return false;
-                }
+    public void seekTo(long positionMs) {
+        commandQueue.submit(PlaybackCommandQueue.Command.of(PlaybackCommandQueue.Type.SEEK, positionMs));
+    }
 
-                currentIndex++;
-                Song nextSong = currentSongList.get(currentIndex);
+    /**
+     * Jump to specific index in current list
+     */
+    public void jumpToIndex(int position) {
+        commandQueue.submit(PlaybackCommandQueue.Command.of(PlaybackCommandQueue.Type.JUMP_TO_INDEX, position));
+    }
 
-                currentState.setCurrentSong(nextSong);
-                currentState.setCurrentPosition(0);
-                updateQueueInfo();
+    /**
+     * Move item in current list (for drag & drop)
+     */
+    public void moveItemInList(int fromPosition, int toPosition) {
+        commandQueue.submit(PlaybackCommandQueue.Command.of(
+                PlaybackCommandQueue.Type.MOVE_ITEM, fromPosition, toPosition));
+    }
 
-                if (isServiceBound && mediaService != null) {
-                    mediaService.playSong(nextSong, null);
+    // ========== COMMAND EXECUTION (executor thread only) ==========
+
+    private void handleCommand(PlaybackCommandQueue.Command command) {
+        switch (command.type) {
+            case REPLACE_LIST:
+                ReplaceListPayload payload = (ReplaceListPayload) command.payload;
+                replaceListSync(payload.songs, payload.title, (int) command.value);
+                break;
+            case JUMP_TO_INDEX:
+                jumpToIndexSync((int) command.value);
+                break;
+            case MOVE_ITEM:
+                moveItemSync((int) command.value, (int) command.extra);
+                break;
+            case NEXT:
+                skipForwardSync((int) command.value);
+                break;
+            case AUTO_ADVANCE:
+                syncAdvancedIndex((int) command.value);
+                break;
+            case PREVIOUS:
+                skipBackwardSync((int) command.value,
+                        command.extra == PlaybackCommandQueue.PREVIOUS_SKIPS_RESTART);
+                break;
+            case TOGGLE_PLAY_PAUSE:
+                if (currentState.get().isPlaying()) {
+                    pauseSync();
+                } else {
+                    resumeSync();
                 }
+                break;
+            case PAUSE:
+                pauseSync();
+                break;
+            case SEEK:
+                seekToSync(command.value);
+                break;
+            case RESTORE_SESSION:
+                RestorePayload restore = (RestorePayload) command.payload;
+                restoreSessionSync(restore.songs, restore.title, (int) command.value, restore.positionMs);
+                break;
+        }
+    }
 
-                return true;
-            } catch (Exception e) {
-                return false;
-            }
-        });
+    private void replaceListSync(List<Song> songs, String title, int startIndex) {
+        // Clear and replace
+        currentSongList.clear();
+        currentSongList.addAll(songs);
+        currentListTitle = title;
+        currentIndex = Math.max(0, Math.min(startIndex, currentSongList.size() - 1));
+
+        // New list -> reload the service playlist once, later navigation only seeks within it
+        servicePlaylist.reset(0);
+        sessionStore.checkpointQueue(currentSongList, currentIndex, currentListTitle);
+        playCurrentIndex(null);
+        isPlayerVisible.postValue(true);
     }
 
     /**
-     * Play previous song
+     * Khôi phục queue đã lưu nhưng không phát; bỏ qua nếu user đã kịp bắt đầu phát thứ khác
      */
-    public Future<Boolean> playPrevious() {
-        return executor.submit(() -> {
-            try {
-                if (currentSongList.isEmpty()) {
-                    return false;
-                }
-                android.util.Log.d("MediaPlayerRepository", "Playing previous song===================== 2");
-
-                // Get current position
-                long currentPosition = 0;
-                try {
-                    if (mediaService != null) {
-                        currentPosition = mediaService.getCurrentPosition();
-                        android.util.Log.d("MediaPlayerRepository", "Got position from service: " + currentPosition);
-                    } else {
-                        currentPosition = currentState.getCurrentPosition();
-                        android.util.Log.d("MediaPlayerRepository", "Got position from state: " + currentPosition);
-                    }
-                } catch (Exception positionException) {
-                    android.util.Log.e("MediaPlayerRepository", "Error getting position, using fallback", positionException);
-                    currentPosition = currentState.getCurrentPosition();
-                }
+    private void restoreSessionSync(List<Song> songs, String title, int index, long positionMs) {
+        if (!currentSongList.isEmpty()) {
+            return;
+        }
 
+        currentSongList.addAll(songs);
+        currentListTitle = title != null ? title : "";
+        currentIndex = Math.max(0, Math.min(index, currentSongList.size() - 1));
+        servicePlaylist.reset(positionMs);
+
+        Song song = currentSongList.get(currentIndex);
+        long durationMs = song.getDurationMs() != null ? song.getDurationMs() : 0;
+        updateState(state -> state
+                .withSong(song)
+                .withPlaybackState(MediaPlayerState.PlaybackState.PAUSED)
+                .withPosition(new MediaPlayerState.PositionSnapshot(positionMs, durationMs, 0)));
+        updateQueueInfo();
+        isPlayerVisible.postValue(true);
+    }
 
+    private boolean skipForwardSync(int steps) {
+        if (currentSongList.isEmpty() || currentIndex >= currentSongList.size() - 1) {
+            return false;
+        }
 
-                android.util.Log.d("MediaPlayerRepository", "Playing previous song===================== 3");
-                // If position > 3 seconds, restart current song
-                if (currentPosition > 3000) {
-                    return seekToSync(0);
-                }
+        currentIndex = Math.min(currentIndex + steps, currentSongList.size() - 1);
+        playCurrentIndex(null);
+        return true;
+    }
+
+    private boolean skipBackwardSync(int steps, boolean skipRestart) {
+        if (currentSongList.isEmpty()) {
+            return false;
+        }
 
+        // Service position is only readable on the main thread, use the last reported position
+        long currentPosition = currentState.get().getCurrentPosition();
 
-                android.util.Log.d("MediaPlayerRepository", "Playing previous song===================== 4");
+        // If position > 3 seconds, the first step restarts the current song
+        if (!skipRestart && currentPosition > 3000) {
+            steps--;
+            if (steps == 0) {
+                return seekToSync(0);
+            }
+        }
 
-                // Go to previous song
-                if (currentIndex > 0) {
-                    currentIndex--;
-                    Song prevSong = currentSongList.get(currentIndex);
+        if (currentIndex > 0) {
+            currentIndex = Math.max(currentIndex - steps, 0);
+            playCurrentIndex(null);
+            return true;
+        } else {
+            return seekToSync(0); // Restart current song
+        }
+    }
 
-                    currentState.setCurrentSong(prevSong);
-                    currentState.setCurrentPosition(0);
-                    updateQueueInfo();
+    private boolean jumpToIndexSync(int position) {
+        if (position >= 0 && position < currentSongList.size()) {
+            currentIndex = position;
+            playCurrentIndex(currentState.get().getCurrentArtist());
+            return true;
+        }
+        return false;
+    }
 
-                    if (isServiceBound && mediaService != null) {
+    private boolean moveItemSync(int fromPosition, int toPosition) {
+        if (fromPosition >= 0 && fromPosition < currentSongList.size() &&
+                toPosition >= 0 && toPosition < currentSongList.size()) {
 
-                        android.util.Log.d("MediaPlayerRepository", "Playing previous song===================== 5");
-                        mediaService.playSong(prevSong, null);
-                    }
+            // Move the song
+            Song songToMove = currentSongList.remove(fromPosition);
+            currentSongList.add(toPosition, songToMove);
 
-                    return true;
-                } else {
-                    return seekToSync(0); // Restart current song
-                }
+            // Adjust current index
+            if (fromPosition == currentIndex) {
+                currentIndex = toPosition;
+            } else if (fromPosition < currentIndex && toPosition >= currentIndex) {
+                currentIndex--;
+            } else if (fromPosition > currentIndex && toPosition <= currentIndex) {
+                currentIndex++;
+            }
 
-            } catch (Exception e) {
-                return false;
+            if (servicePlaylist.isLoaded() && mediaService != null) {
+                mediaService.moveItem(fromPosition, toPosition);
             }
-        });
+
+            sessionStore.checkpointQueue(currentSongList, currentIndex, currentListTitle);
+            updateQueueInfo();
+            return true;
+        }
+        return false;
     }
 
     /**
-     * Toggle play/pause
+     * ExoPlayer moved to the next playlist item on its own (gapless), mirror it without touching the player
      */
-    public Future<Boolean> togglePlayPause() {
-        return executor.submit(() -> {
-            try {
-                if (currentState.isPlaying()) {
-                    return pauseSync();
-                } else {
-                    return resumeSync();
-                }
-            } catch (Exception e) {
-                return false;
+    private void syncAdvancedIndex(int index) {
+        if (index < 0 || index >= currentSongList.size() || index == currentIndex) {
+            return;
+        }
+        currentIndex = index;
+        Song song = currentSongList.get(currentIndex);
+        updateState(state -> state.withSong(song).withPositionMs(0));
+        sessionStore.checkpointIndex(currentIndex, song.getId());
+        updateQueueInfo();
+        prefetchUpcoming();
+    }
+
+    private void playCurrentIndex(User artist) {
+        Song songToPlay = currentSongList.get(currentIndex);
+
+        updateState(state -> state.withSong(songToPlay).withPositionMs(0));
+        sessionStore.checkpointIndex(currentIndex, songToPlay.getId());
+        servicePlaylist.rememberPosition(0);
+        updateQueueInfo();
+
+        if (isServiceBound && mediaService != null) {
+            if (servicePlaylist.isLoaded()) {
+                // Same list: seek within the prepared playlist, no teardown / re-buffering
+                mediaService.playIndex(currentIndex, artist);
+            } else {
+                mediaService.setPlaylist(currentSongList, currentIndex, artist);
+                servicePlaylist.markLoaded();
             }
-        });
+        }
+        prefetchUpcoming();
     }
 
     /**
-     * Pause playback
+     * Đọc trước phần đầu của PREFETCH_NEXT_SONGS bài kế tiếp (executor thread)
      */
-    public Future<Boolean> pause() {
-        return executor.submit(this::pauseSync);
+    private void prefetchUpcoming() {
+        List<String> upcoming = new ArrayList<>();
+        int end = Math.min(currentSongList.size(), currentIndex + 1 + Constants.PREFETCH_NEXT_SONGS);
+        for (int i = currentIndex + 1; i < end; i++) {
+            upcoming.add(currentSongList.get(i).getAudioUrl());
+        }
+        AudioPrefetcher.getInstance(application).prefetch(upcoming);
     }
 
     private boolean pauseSync() {
@@ -261,7 +464,14 @@ public class MediaPlayerRepository extends SongDetailRepository implements Media
     private boolean resumeSync() {
         try {
             if (mediaService != null) {
-                mediaService.resume();
+                if (!servicePlaylist.isLoaded() && !currentSongList.isEmpty()) {
+                    // Phiên vừa khôi phục: nạp playlist lần đầu, tiếp tục từ vị trí đã lưu
+                    mediaService.setPlaylist(currentSongList, currentIndex,
+                            currentState.get().getCurrentArtist(), servicePlaylist.pendingPosition());
+                    servicePlaylist.markLoaded();
+                } else {
+                    mediaService.resume();
+                }
             }
             return true;
         } catch (Exception e) {
@@ -269,21 +479,18 @@ public class MediaPlayerRepository extends SongDetailRepository implements Media
         }
     }
 
-    /**
-     * Seek to position
-     */
-    public Future<Boolean> seekTo(long positionMs) {
-        return executor.submit(() -> seekToSync(positionMs));
-    }
-
     private boolean seekToSync(long positionMs) {
         try {
-            if (positionMs >= 0 && positionMs <= currentState.getDuration()) {
-                if (mediaService != null) {
+            if (positionMs >= 0 && positionMs <= currentState.get().getDuration()) {
+                if (!servicePlaylist.isLoaded()) {
+                    // Playlist khôi phục chưa nạp vào service - nhớ vị trí cho lần play đầu
+                    servicePlaylist.rememberPosition(positionMs);
+                } else if (mediaService != null) {
                     mediaService.seekTo(positionMs);
                 }
-                currentState.setCurrentPosition(positionMs);
-                currentPlaybackState.postValue(currentState);
+                sessionStore.checkpointPosition(positionMs);
+                // Phản hồi ngay cho seekbar, service sẽ publish vị trí thật sau khi seek
+                updateState(state -> state.withPositionMs(positionMs));
                 return true;
             }
             return false;
@@ -292,72 +499,121 @@ public class MediaPlayerRepository extends SongDetailRepository implements Media
         }
     }
 
+    private static class RestorePayload {
+        final List<Song> songs;
+        final String title;
+        final long positionMs;
+
+        RestorePayload(List<Song> songs, String title, long positionMs) {
+            this.songs = songs;
+            this.title = title;
+            this.positionMs = positionMs;
+        }
+    }
+
+    private static class ReplaceListPayload {
+        final List<Song> songs;
+        final String title;
+
+        ReplaceListPayload(List<Song> songs, String title) {
+            this.songs = songs;
+            this.title = title;
+        }
+    }
+
+    // ========== GETTERS ==========
+
+    public List<Song> getCurrentQueue() {
+        return new ArrayList<>(currentSongList);
+    }
+
     /**
-     * Jump to specific index in current list
+     * Toàn bộ state (đổi cả khi chỉ vị trí thay đổi) - UI nên dùng các stream con bên dưới
      */
-    public void jumpToIndex(int position) {
-        executor.submit(() -> {
-            try {
-                if (position >= 0 && position < currentSongList.size()) {
-                    currentIndex = position;
-                    Song songToPlay = currentSongList.get(currentIndex);
+    public LiveData<MediaPlayerState.CurrentPlaybackState> getCurrentPlaybackState() {
+        return currentPlaybackState;
+    }
 
-                    currentState.setCurrentSong(songToPlay);
-                    updateQueueInfo();
+    /**
+     * Snapshot mới nhất, đọc được từ bất kỳ thread nào
+     */
+    public MediaPlayerState.CurrentPlaybackState getCurrentStateSnapshot() {
+        return currentState.get();
+    }
 
-                    if (isServiceBound && mediaService != null) {
-                        mediaService.playSong(songToPlay, currentState.getCurrentArtist());
-                    }
+    /**
+     * Bài + artist, chỉ phát khi đổi bài/artist (bind cover art, title một lần mỗi bài)
+     */
+    public LiveData<MediaPlayerState.TrackInfo> getTrackState() {
+        return trackState;
+    }
 
-                    return true;
-                }
-                return false;
-            } catch (Exception e) {
-                return false;
-            }
-        });
+    /**
+     * Trạng thái transport (PLAYING/PAUSED/ERROR...), chỉ phát khi thay đổi
+     */
+    public LiveData<MediaPlayerState.PlaybackState> getTransportState() {
+        return transportState;
     }
 
     /**
-     * Move item in current list (for drag & drop)
+     * Vị trí phát dạng snapshot bất biến. Tick chỉ có khi có UI đăng ký requestPositionUpdates().
      */
-    public void moveItemInList(int fromPosition, int toPosition) {
-        executor.submit(() -> {
-            try {
-                if (fromPosition >= 0 && fromPosition < currentSongList.size() &&
-                        toPosition >= 0 && toPosition < currentSongList.size()) {
-
-                    // Move the song
-                    Song songToMove = currentSongList.remove(fromPosition);
-                    currentSongList.add(toPosition, songToMove);
-
-                    // Adjust current index
-                    if (fromPosition == currentIndex) {
-                        currentIndex = toPosition;
-                    } else if (fromPosition < currentIndex && toPosition >= currentIndex) {
-                        currentIndex--;
-                    } else if (fromPosition > currentIndex && toPosition <= currentIndex) {
-                        currentIndex++;
-                    }
+    public LiveData<MediaPlayerState.PositionSnapshot> getPositionState() {
+        return positionState;
+    }
 
-                    updateQueueInfo();
-                    return true;
-                }
-                return false;
-            } catch (Exception e) {
-                return false;
-            }
-        });
+    /**
+     * Thay state bằng snapshot mới (CAS) rồi publish lên main thread
+     */
+    private void updateState(UnaryOperator<MediaPlayerState.CurrentPlaybackState> change) {
+        currentState.updateAndGet(change);
+        publishState();
     }
 
-    // ========== GETTERS ==========
+    /**
+     * Main thread: setValue ngay. Thread khác: gộp các update dồn dập thành một lần post,
+     * và đọc snapshot mới nhất lúc chạy nên không bao giờ ghi đè state mới bằng state cũ.
+     */
+    private void publishState() {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            currentPlaybackState.setValue(currentState.get());
+        } else if (publishPending.compareAndSet(false, true)) {
+            mainHandler.post(() -> {
+                publishPending.set(false);
+                currentPlaybackState.setValue(currentState.get());
+            });
+        }
+    }
 
-    public List<Song> getCurrentQueue() {
-        return new ArrayList<>(currentSongList);
+    /**
+     * UI bắt đầu hiển thị vị trí (onStart) - main thread
+     */
+    public void requestPositionUpdates(Object owner, PositionUpdateEngine.Rate rate) {
+        positionSubscribers.put(owner, rate);
+        applyPositionRate();
     }
 
-    public LiveData<MediaPlayerState.CurrentPlaybackState> getCurrentPlaybackState() {
-        return currentPlaybackState;
+    /**
+     * UI không còn hiển thị (onStop) - main thread
+     */
+    public void releasePositionUpdates(Object owner) {
+        if (positionSubscribers.remove(owner) != null) {
+            applyPositionRate();
+        }
+    }
+
+    private PositionUpdateEngine.Rate getRequestedPositionRate() {
+        PositionUpdateEngine.Rate rate = PositionUpdateEngine.Rate.NONE;
+        for (PositionUpdateEngine.Rate requested : positionSubscribers.values()) {
+            rate = PositionUpdateEngine.Rate.max(rate, requested);
+        }
+        return rate;
+    }
+
+    private void applyPositionRate() {
+        if (isServiceBound && mediaService != null) {
+            mediaService.setPositionUpdateRate(getRequestedPositionRate());
+        }
     }
 
     public LiveData<MediaPlayerState.QueueInfo> getQueueInfo() {
@@ -370,6 +626,15 @@ public class MediaPlayerRepository extends SongDetailRepository implements Media
 
     public void hidePlayer() {
         isPlayerVisible.setValue(false);
+        // User chủ động đóng player -> lần mở app sau không khôi phục lại
+        sessionStore.clear();
+    }
+
+    /**
+     * Ghi ngay checkpoint đang pending (app xuống background / trim memory)
+     */
+    public void flushSession() {
+        sessionStore.flush();
     }
 
     private void updateQueueInfo() {
@@ -397,42 +662,48 @@ public class MediaPlayerRepository extends SongDetailRepository implements Media
 
     @Override
     public void onPlaybackStateChanged(boolean isPlaying) {
-        currentState.setPlaybackState(isPlaying ?
+        MediaPlayerState.PlaybackState newState = isPlaying ?
             MediaPlayerState.PlaybackState.PLAYING :
-            MediaPlayerState.PlaybackState.PAUSED);
-        currentPlaybackState.postValue(currentState);
+            MediaPlayerState.PlaybackState.PAUSED;
+        updateState(state -> state.withPlaybackState(newState));
+        if (!isPlaying) {
+            // Post để chạy sau khi service publish vị trí lúc pause (cùng main-thread message)
+            mainHandler.post(sessionStore::flush);
+        }
     }
 
     @Override
-    public void onPositionChanged(long currentPosition, long duration) {
-        currentState.setCurrentPosition(currentPosition);
-        currentState.setDuration(duration);
-        currentPlaybackState.postValue(currentState);
+    public void onPositionChanged(MediaPlayerState.PositionSnapshot snapshot) {
+        // Service gọi trên main thread; chỉ stream vị trí phát, track/transport giữ nguyên
+        if (!servicePlaylist.acceptsServicePosition()) {
+            // Queue (vd. phiên khôi phục) chưa nạp vào service: snapshot 0 ms lúc bind không được
+            // ghi đè vị trí đã khôi phục, cả trên UI lẫn checkpoint
+            return;
+        }
+        updateState(state -> state.withPosition(snapshot));
+        sessionStore.checkpointPosition(snapshot.getPositionMs());
     }
 
     @Override
     public void onSongChanged(Song song, User artist) {
-        currentState.setCurrentSong(song);
-        currentState.setCurrentArtist(artist);
-        currentPlaybackState.postValue(currentState);
+        updateState(state -> state.withTrack(song, artist));
         isPlayerVisible.postValue(true);
     }
 
+    @Override
+    public void onTrackAdvanced(int index) {
+        // Non-blocking: keep currentIndex in sync through the command queue
+        commandQueue.submit(PlaybackCommandQueue.Command.of(PlaybackCommandQueue.Type.AUTO_ADVANCE, index));
+    }
+
     @Override
     public void onSongCompleted() {
-        executor.execute(() -> {
-            try {
-                playNext().get();
-            } catch (Exception e) {
-                // Ignore
-            }
-        });
+        // ExoPlayer plays the whole list itself, completion means the end of the list was reached
     }
 
     @Override
     public void onPlayerError(String error) {
-        currentState.setPlaybackState(MediaPlayerState.PlaybackState.ERROR);
-        currentPlaybackState.postValue(currentState);
+        updateState(state -> state.withPlaybackState(MediaPlayerState.PlaybackState.ERROR));
     }
 
     /**
@@ -448,10 +719,9 @@ public class MediaPlayerRepository extends SongDetailRepository implements Media
 
     @Override
     public void shutdown() {
+        commandQueue.clear();
+        AudioPrefetcher.getInstance(application).cancelPrefetch();
         cleanup();
         super.shutdown();
-        if (executor != null) {
-            executor.shutdown();
-        }
     }
 }
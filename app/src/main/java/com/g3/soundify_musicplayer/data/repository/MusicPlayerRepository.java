@@ -4,6 +4,7 @@ import android.app.Application;
 import androidx.lifecycle.LiveData;
 
 import com.g3.soundify_musicplayer.data.database.AppDatabase;
+import com.g3.soundify_musicplayer.data.database.WriteBatcher;
 import com.g3.soundify_musicplayer.data.dao.CommentDao;
 import com.g3.soundify_musicplayer.data.dao.CommentLikeDao;
 import com.g3.soundify_musicplayer.data.dao.SongLikeDao;
@@ -15,10 +16,10 @@ import com.g3.soundify_musicplayer.data.entity.User;
 import com.g3.soundify_musicplayer.data.entity.UserFollow;
 import com.g3.soundify_musicplayer.data.entity.Song;
 import com.g3.soundify_musicplayer.data.dto.SongWithUploaderInfo;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 public class MusicPlayerRepository {
@@ -27,7 +28,11 @@ public class MusicPlayerRepository {
     private CommentDao commentDao;
     private CommentLikeDao commentLikeDao;
     private SongLikeDao songLikeDao;
-    private ExecutorService executor;
+    // Shared pools from AppExecutors - not owned here, never shut down by this repository
+    private final ExecutorService dbReadExecutor;
+    private final ExecutorService dbWriteExecutor;
+    // Small user-action writes (likes, follows, history) share one transaction per batch
+    private final WriteBatcher writeBatcher;
     
     public MusicPlayerRepository(Application application) {
         AppDatabase database = AppDatabase.getInstance(application);
@@ -35,12 +40,14 @@ public class MusicPlayerRepository {
         commentDao = database.commentDao();
         commentLikeDao = database.commentLikeDao();
         songLikeDao = database.songLikeDao();
-        executor = Executors.newFixedThreadPool(4);
+        dbReadExecutor = AppExecutors.getInstance().diskRead();
+        dbWriteExecutor = AppExecutors.getInstance().diskWrite();
+        writeBatcher = WriteBatcher.getInstance(application);
     }
     
     // User Follow Operations
     public Future<Void> followUser(long followerId, long followeeId) {
-        return executor.submit(() -> {
+        return writeBatcher.submit(() -> {
             if (followerId != followeeId) { // Prevent self-follow
                 UserFollow userFollow = new UserFollow(followerId, followeeId);
                 userFollowDao.insert(userFollow);
@@ -50,7 +57,7 @@ public class MusicPlayerRepository {
     }
     
     public Future<Void> unfollowUser(long followerId, long followeeId) {
-        return executor.submit(() -> {
+        return writeBatcher.submit(() -> {
             userFollowDao.unfollow(followerId, followeeId);
             return null;
         });
@@ -65,34 +72,34 @@ public class MusicPlayerRepository {
     }
     
     public Future<Boolean> isFollowing(long followerId, long followeeId) {
-        return executor.submit(() -> userFollowDao.isFollowing(followerId, followeeId) > 0);
+        return dbReadExecutor.submit(() -> userFollowDao.isFollowing(followerId, followeeId) > 0);
     }
     
     public Future<Integer> getFollowingCount(long userId) {
-        return executor.submit(() -> userFollowDao.getFollowingCount(userId));
+        return dbReadExecutor.submit(() -> userFollowDao.getFollowingCount(userId));
     }
     
     public Future<Integer> getFollowersCount(long userId) {
-        return executor.submit(() -> userFollowDao.getFollowersCount(userId));
+        return dbReadExecutor.submit(() -> userFollowDao.getFollowersCount(userId));
     }
     
     // Comment Operations
     public Future<Long> addComment(long songId, long userId, String content) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             Comment comment = new Comment(songId, userId, content);
             return commentDao.insert(comment);
         });
     }
     
     public Future<Void> updateComment(Comment comment) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             commentDao.update(comment);
             return null;
         });
     }
     
     public Future<Void> deleteComment(Comment comment) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             commentDao.delete(comment);
             return null;
         });
@@ -107,12 +114,16 @@ public class MusicPlayerRepository {
     }
     
     public Future<Integer> getCommentCountBySong(long songId) {
-        return executor.submit(() -> commentDao.getCommentCountBySong(songId));
+        return dbReadExecutor.submit(() -> getCommentCountBySongDirectly(songId));
+    }
+
+    public int getCommentCountBySongDirectly(long songId) {
+        return commentDao.getCommentCountBySong(songId);
     }
     
     // Comment Like Operations
     public Future<Void> likeComment(long commentId, long userId) {
-        return executor.submit(() -> {
+        return writeBatcher.submit(() -> {
             CommentLike commentLike = new CommentLike(commentId, userId);
             commentLikeDao.insert(commentLike);
             return null;
@@ -120,18 +131,18 @@ public class MusicPlayerRepository {
     }
     
     public Future<Void> unlikeComment(long commentId, long userId) {
-        return executor.submit(() -> {
+        return writeBatcher.submit(() -> {
             commentLikeDao.unlikeComment(commentId, userId);
             return null;
         });
     }
     
     public Future<Boolean> isCommentLikedByUser(long commentId, long userId) {
-        return executor.submit(() -> commentLikeDao.isCommentLikedByUser(commentId, userId) > 0);
+        return dbReadExecutor.submit(() -> commentLikeDao.isCommentLikedByUser(commentId, userId) > 0);
     }
     
     public Future<Integer> getLikeCountForComment(long commentId) {
-        return executor.submit(() -> commentLikeDao.getLikeCountForComment(commentId));
+        return dbReadExecutor.submit(() -> commentLikeDao.getLikeCountForComment(commentId));
     }
     
     public LiveData<List<User>> getUsersWhoLikedComment(long commentId) {
@@ -140,7 +151,7 @@ public class MusicPlayerRepository {
     
     // Song Like Operations
     public Future<Void> likeSong(long songId, long userId) {
-        return executor.submit(() -> {
+        return writeBatcher.submit(() -> {
             SongLike songLike = new SongLike(songId, userId);
             songLikeDao.insert(songLike);
             return null;
@@ -148,18 +159,18 @@ public class MusicPlayerRepository {
     }
     
     public Future<Void> unlikeSong(long songId, long userId) {
-        return executor.submit(() -> {
+        return writeBatcher.submit(() -> {
             songLikeDao.unlikeSong(songId, userId);
             return null;
         });
     }
     
     public Future<Boolean> isSongLikedByUser(long songId, long userId) {
-        return executor.submit(() -> songLikeDao.isSongLikedByUser(songId, userId) > 0);
+        return dbReadExecutor.submit(() -> songLikeDao.isSongLikedByUser(songId, userId) > 0);
     }
     
     public Future<Integer> getLikeCountForSong(long songId) {
-        return executor.submit(() -> songLikeDao.getLikeCountForSong(songId));
+        return dbReadExecutor.submit(() -> songLikeDao.getLikeCountForSong(songId));
     }
     
     public LiveData<List<Song>> getLikedSongsByUser(long userId) {
@@ -185,7 +196,7 @@ public class MusicPlayerRepository {
      * Returns the new like status
      */
     public Future<Boolean> toggleSongLike(long songId, long userId) {
-        return executor.submit(() -> {
+        return writeBatcher.submit(() -> {
             try {
                 boolean isCurrentlyLiked = songLikeDao.isSongLikedByUser(songId, userId) > 0;
 
@@ -208,11 +219,16 @@ public class MusicPlayerRepository {
      * Get song like status and count in one call for efficiency
      */
     public Future<SongLikeInfo> getSongLikeInfo(long songId, long userId) {
-        return executor.submit(() -> {
-            boolean isLiked = songLikeDao.isSongLikedByUser(songId, userId) > 0;
-            int likeCount = songLikeDao.getLikeCountForSong(songId);
-            return new SongLikeInfo(isLiked, likeCount);
-        });
+        return dbReadExecutor.submit(() -> getSongLikeInfoDirectly(songId, userId));
+    }
+
+    /**
+     * Like info đọc trực tiếp trên thread hiện tại (no ExecutorService)
+     */
+    public SongLikeInfo getSongLikeInfoDirectly(long songId, long userId) {
+        boolean isLiked = songLikeDao.isSongLikedByUser(songId, userId) > 0;
+        int likeCount = songLikeDao.getLikeCountForSong(songId);
+        return new SongLikeInfo(isLiked, likeCount);
     }
 
     // Enhanced Comment Operations for Song Detail Screen
@@ -221,7 +237,7 @@ public class MusicPlayerRepository {
      * Get comment with like info for display
      */
     public Future<CommentLikeInfo> getCommentLikeInfo(long commentId, long userId) {
-        return executor.submit(() -> {
+        return dbReadExecutor.submit(() -> {
             boolean isLiked = commentLikeDao.isCommentLikedByUser(commentId, userId) > 0;
             int likeCount = commentLikeDao.getLikeCountForComment(commentId);
             return new CommentLikeInfo(isLiked, likeCount);
@@ -232,7 +248,7 @@ public class MusicPlayerRepository {
      * Toggle comment like status
      */
     public Future<Boolean> toggleCommentLike(long commentId, long userId) {
-        return executor.submit(() -> {
+        return writeBatcher.submit(() -> {
             boolean isCurrentlyLiked = commentLikeDao.isCommentLikedByUser(commentId, userId) > 0;
             if (isCurrentlyLiked) {
                 commentLikeDao.unlikeComment(commentId, userId);
@@ -249,7 +265,7 @@ public class MusicPlayerRepository {
      * Delete comment by ID (convenience method)
      */
     public Future<Void> deleteCommentById(long commentId) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             commentDao.deleteCommentById(commentId);
             return null;
         });
@@ -277,8 +293,6 @@ public class MusicPlayerRepository {
     }
 
     public void shutdown() {
-        if (executor != null) {
-            executor.shutdown();
-        }
+        // Nothing to release: executors are shared and owned by AppExecutors
     }
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+package com.g3.soundify_musicplayer.data.repository;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+
+/**
+ * Serialized, non-blocking queue for transport commands (next, previous, play/pause, seek...).
+ *
+ * - submit() never blocks and never waits for a result, so it is safe to call from the
+ *   executor thread itself (auto-advance) or from the main thread.
+ * - Commands run one at a time, in order, on the given executor.
+ * - Redundant pending commands are coalesced before they run: rapid seeks keep only the last
+ *   position, repeated next/previous presses become one multi-step skip, next followed by
+ *   previous nets out, two toggles cancel out, and a new list / jump drops every navigation
+ *   command queued before it. Auto-advance only mirrors the player and drops nothing.
+ */
+public class PlaybackCommandQueue {
+
+    public enum Type {
+        REPLACE_LIST,
+        JUMP_TO_INDEX,
+        MOVE_ITEM,
+        NEXT,
+        PREVIOUS,
+        AUTO_ADVANCE,
+        TOGGLE_PLAY_PAUSE,
+        PAUSE,
+        SEEK,
+        RESTORE_SESSION
+    }
+
+    /**
+     * Command.extra of PREVIOUS: every step changes track, even if the song is past 3s
+     */
+    public static final long PREVIOUS_SKIPS_RESTART = 1;
+
+    public static final class Command {
+        public final Type type;
+        public final long value;        // seek position, jump/advanced-to index or skip steps
+        public final long extra;        // second argument (move target, PREVIOUS_SKIPS_RESTART)
+        public final Object payload;    // list for REPLACE_LIST / RESTORE_SESSION
+
+        private Command(Type type, long value, long extra, Object payload) {
+            this.type = type;
+            this.value = value;
+            this.extra = extra;
+            this.payload = payload;
+        }
+
+        public static Command of(Type type) {
+            return new Command(type, 1, 0, null);
+        }
+
+        public static Command of(Type type, long value) {
+            return new Command(type, value, 0, null);
+        }
+
+        public static Command of(Type type, long value, long extra) {
+            return new Command(type, value, extra, null);
+        }
+
+        public static Command withPayload(Type type, long value, Object payload) {
+            return new Command(type, value, 0, payload);
+        }
+    }
+
+    public interface CommandHandler {
+        void handle(Command command);
+    }
+
+    private final Executor executor;
+    private final CommandHandler handler;
+
+    // Guarded by itself
+    private final ArrayDeque<Command> pending = new ArrayDeque<>();
+    private boolean drainScheduled = false;
+
+    public PlaybackCommandQueue(Executor executor, CommandHandler handler) {
+        this.executor = executor;
+        this.handler = handler;
+    }
+
+    /**
+     * Enqueue a command. Returns immediately.
+     */
+    public void submit(Command command) {
+        synchronized (pending) {
+            enqueueCoalesced(command);
+            if (!drainScheduled && !pending.isEmpty()) {
+                drainScheduled = true;
+                executor.execute(this::drain);
+            }
+        }
+    }
+
+    /**
+     * Drop every command that has not started yet
+     */
+    public void clear() {
+        synchronized (pending) {
+            pending.clear();
+        }
+    }
+
+    private void enqueueCoalesced(Command command) {
+        Command last = pending.peekLast();
+
+        switch (command.type) {
+            case SEEK:
+                // Only the latest position matters
+                if (last != null && last.type == Type.SEEK) {
+                    pending.pollLast();
+                }
+                break;
+
+            case TOGGLE_PLAY_PAUSE:
+                // Two pending toggles are a no-op
+                if (last != null && last.type == Type.TOGGLE_PLAY_PAUSE) {
+                    pending.pollLast();
+                    return;
+                }
+                break;
+
+            case PAUSE:
+                if (last != null && last.type == Type.PAUSE) {
+                    return;
+                }
+                break;
+
+            case NEXT:
+            case PREVIOUS:
+                // Seeks queued for the track we are about to leave are pointless
+                while (last != null && last.type == Type.SEEK) {
+                    pending.pollLast();
+                    last = pending.peekLast();
+                }
+                if (last != null && last.type == command.type) {
+                    // Rapid presses become a single multi-step skip
+                    pending.pollLast();
+                    command = Command.of(command.type, last.value + command.value, last.extra);
+                } else if (last != null && last.type == Type.NEXT && command.type == Type.PREVIOUS) {
+                    // Next then previous nets out. Not the other way round: the first previous
+                    // may only restart the current song (position > 3s)
+                    pending.pollLast();
+                    long steps = last.value - command.value;
+                    if (steps == 0) {
+                        return;
+                    }
+                    // The previous presses were made on a song that had just started:
+                    // a remaining previous always changes track, never restarts
+                    command = steps > 0
+                            ? Command.of(Type.NEXT, steps)
+                            : Command.of(Type.PREVIOUS, -steps, PREVIOUS_SKIPS_RESTART);
+                }
+                break;
+
+            case AUTO_ADVANCE:
+                // Only mirrors a move the player already made: keep the user's pending seeks
+                break;
+
+            case REPLACE_LIST:
+            case JUMP_TO_INDEX:
+                // Navigation queued before a new list/jump is obsolete
+                removePending(Type.NEXT, Type.PREVIOUS, Type.AUTO_ADVANCE, Type.SEEK, Type.JUMP_TO_INDEX);
+                if (command.type == Type.REPLACE_LIST) {
+                    removePending(Type.REPLACE_LIST, Type.MOVE_ITEM);
+                }
+                break;
+
+            default:
+                break;
+        }
+
+        pending.addLast(command);
+    }
+
+    private void removePending(Type... types) {
+        Iterator<Command> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            Type type = iterator.next().type;
+            for (Type candidate : types) {
+                if (type == candidate) {
+                    iterator.remove();
+                    break;
+                }
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Command command;
+            synchronized (pending) {
+                command = pending.pollFirst();
+                if (command == null) {
+                    drainScheduled = false;
+                    return;
+                }
+            }
+
+            try {
+                handler.handle(command);
+            } catch (Exception e) {
+                android.util.Log.e("PlaybackCommandQueue", "Error handling " + command.type, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.g3.soundify_musicplayer.data.repository;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.TextUtils;
+
+import com.g3.soundify_musicplayer.data.entity.Song;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
+import com.g3.soundify_musicplayer.utils.Constants;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Lưu phiên phát nhạc (queue IDs, index, title, position) để khôi phục sau khi process bị kill.
+ *
+ * Write-behind: checkpoint*() chỉ cập nhật bản pending trong bộ nhớ; một lần ghi duy nhất được
+ * lên lịch sau SESSION_CHECKPOINT_DELAY_MS và gộp mọi thay đổi trong khoảng đó, nên tick vị trí
+ * không bao giờ ghi đĩa mỗi giây. flush() ghi ngay (pause, app xuống background).
+ * Mọi lần ghi chạy trên diskWrite, load() chạy trên thread của caller (không gọi trên main thread).
+ */
+public class PlaybackSessionStore {
+
+    private static final String TAG = "PlaybackSessionStore";
+
+    /**
+     * Phiên đã lưu, ids theo đúng thứ tự queue
+     */
+    public static final class Session {
+        public final List<Long> songIds;
+        public final int index;
+        public final String title;
+        public final long positionMs;
+
+        Session(List<Long> songIds, int index, String title, long positionMs) {
+            this.songIds = songIds;
+            this.index = index;
+            this.title = title;
+            this.positionMs = positionMs;
+        }
+    }
+
+    private final SharedPreferences prefs;
+    private final Executor diskWrite;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Pending state, guarded by this
+    private String pendingQueueIds;
+    private int pendingIndex = -1;
+    private long pendingSongId = -1;
+    private String pendingTitle;
+    private long pendingPositionMs = -1;
+    private boolean queueDirty = false;
+    private boolean indexDirty = false;
+    private boolean positionDirty = false;
+    private boolean flushScheduled = false;
+
+    private final Runnable scheduledFlush = this::flush;
+
+    public PlaybackSessionStore(Context context) {
+        prefs = context.getApplicationContext().getSharedPreferences(Constants.PREFS_NAME, Context.MODE_PRIVATE);
+        diskWrite = AppExecutors.getInstance().diskWrite();
+    }
+
+    /**
+     * Queue thay đổi (replace list / move item) - serialize ids ngay để không giữ tham chiếu tới list đang bị sửa.
+     * Không đụng tới vị trí: move item không làm bài hiện tại phát lại từ đầu
+     */
+    public void checkpointQueue(List<Song> songs, int index, String title) {
+        StringBuilder ids = new StringBuilder();
+        for (Song song : songs) {
+            if (ids.length() > 0) {
+                ids.append(',');
+            }
+            ids.append(song.getId());
+        }
+        long songId = index >= 0 && index < songs.size() ? songs.get(index).getId() : -1;
+
+        synchronized (this) {
+            pendingQueueIds = ids.toString();
+            pendingTitle = title;
+            pendingIndex = index;
+            pendingSongId = songId;
+            queueDirty = true;
+            indexDirty = true;
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Bắt đầu phát bài ở index (vị trí về 0)
+     */
+    public void checkpointIndex(int index, long songId) {
+        synchronized (this) {
+            pendingIndex = index;
+            pendingSongId = songId;
+            pendingPositionMs = 0;
+            indexDirty = true;
+            positionDirty = true;
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Vị trí phát - gọi thoải mái theo tick, chỉ được ghi tối đa một lần mỗi cửa sổ write-behind
+     */
+    public void checkpointPosition(long positionMs) {
+        synchronized (this) {
+            if (pendingPositionMs == positionMs) {
+                return;
+            }
+            pendingPositionMs = positionMs;
+            positionDirty = true;
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * Ghi ngay những gì đang pending (gọi khi pause / app bị trim memory)
+     */
+    public void flush() {
+        mainHandler.removeCallbacks(scheduledFlush);
+        diskWrite.execute(this::writePending);
+    }
+
+    /**
+     * Đọc phiên đã lưu, null nếu không có. Blocking - chạy trên background thread.
+     */
+    public Session load() {
+        String queueIds = prefs.getString(Constants.KEY_QUEUE_SONG_IDS, null);
+        if (TextUtils.isEmpty(queueIds)) {
+            return null;
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (String part : queueIds.split(",")) {
+            try {
+                ids.add(Long.parseLong(part));
+            } catch (NumberFormatException e) {
+                android.util.Log.w(TAG, "Skipping invalid song id in saved queue: " + part);
+            }
+        }
+        if (ids.isEmpty()) {
+            return null;
+        }
+
+        int index = prefs.getInt(Constants.KEY_QUEUE_INDEX, 0);
+        long songId = prefs.getLong(Constants.KEY_CURRENT_SONG_ID, -1);
+        // Index lệch với song id (queue bị sửa giữa hai lần ghi) -> tin song id
+        if (index < 0 || index >= ids.size() || ids.get(index) != songId) {
+            int byId = ids.indexOf(songId);
+            index = byId >= 0 ? byId : 0;
+        }
+
+        return new Session(Collections.unmodifiableList(ids), index,
+                prefs.getString(Constants.KEY_QUEUE_TITLE, ""),
+                Math.max(0, prefs.getLong(Constants.KEY_PLAYBACK_POSITION, 0)));
+    }
+
+    /**
+     * Xoá phiên đã lưu (queue trống / user đóng player)
+     */
+    public void clear() {
+        synchronized (this) {
+            queueDirty = false;
+            indexDirty = false;
+            positionDirty = false;
+            pendingQueueIds = null;
+            pendingIndex = -1;
+            pendingSongId = -1;
+            pendingPositionMs = -1;
+            // Flush đã hẹn bị huỷ ngay dưới đây: không reset thì scheduleFlush() không bao giờ hẹn lại
+            flushScheduled = false;
+        }
+        mainHandler.removeCallbacks(scheduledFlush);
+        diskWrite.execute(() -> prefs.edit()
+                .remove(Constants.KEY_QUEUE_SONG_IDS)
+                .remove(Constants.KEY_QUEUE_INDEX)
+                .remove(Constants.KEY_QUEUE_TITLE)
+                .remove(Constants.KEY_CURRENT_SONG_ID)
+                .remove(Constants.KEY_PLAYBACK_POSITION)
+                .commit());
+    }
+
+    private void scheduleFlush() {
+        synchronized (this) {
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+        mainHandler.postDelayed(scheduledFlush, Constants.SESSION_CHECKPOINT_DELAY_MS);
+    }
+
+    private void writePending() {
+        SharedPreferences.Editor editor = prefs.edit();
+        synchronized (this) {
+            flushScheduled = false;
+            if (!queueDirty && !indexDirty && !positionDirty) {
+                return;
+            }
+            if (queueDirty) {
+                editor.putString(Constants.KEY_QUEUE_SONG_IDS, pendingQueueIds);
+                editor.putString(Constants.KEY_QUEUE_TITLE, pendingTitle);
+            }
+            if (indexDirty) {
+                editor.putInt(Constants.KEY_QUEUE_INDEX, pendingIndex);
+                editor.putLong(Constants.KEY_CURRENT_SONG_ID, pendingSongId);
+            }
+            if (positionDirty) {
+                editor.putLong(Constants.KEY_PLAYBACK_POSITION, pendingPositionMs);
+            }
+            queueDirty = false;
+            indexDirty = false;
+            positionDirty = false;
+        }
+
+        try {
+            // commit() trên diskWrite: đã ở background, và biết chắc dữ liệu xuống đĩa
+            if (!editor.commit()) {
+                android.util.Log.w(TAG, "Failed to write playback session checkpoint");
+            }
+        } catch (Exception e) {
+            android.util.Log.e(TAG, "Error writing playback session checkpoint", e);
+        }
+    }
+}
@@ -2,8 +2,11 @@ package com.g3.soundify_musicplayer.data.repository;
 
 import android.app.Application;
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingData;
+import androidx.sqlite.db.SupportSQLiteStatement;
 
 import com.g3.soundify_musicplayer.data.database.AppDatabase;
+import com.g3.soundify_musicplayer.data.database.WriteBatcher;
 import com.g3.soundify_musicplayer.data.dao.PlaylistDao;
 import com.g3.soundify_musicplayer.data.dao.PlaylistSongDao;
 import com.g3.soundify_musicplayer.data.dao.PlaylistAccessDao;
@@ -11,12 +14,15 @@ import com.g3.soundify_musicplayer.data.entity.Playlist;
 import com.g3.soundify_musicplayer.data.entity.PlaylistSong;
 import com.g3.soundify_musicplayer.data.entity.PlaylistAccess;
 import com.g3.soundify_musicplayer.data.entity.Song;
+import com.g3.soundify_musicplayer.data.dto.PlaylistSearchRow;
 import com.g3.soundify_musicplayer.data.dto.PlaylistWithSongCount;
+import com.g3.soundify_musicplayer.utils.SearchQueryUtils;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
+import com.g3.soundify_musicplayer.utils.PagingUtils;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 public class PlaylistRepository {
@@ -24,19 +30,25 @@ public class PlaylistRepository {
     private final PlaylistDao playlistDao;
     private final PlaylistSongDao playlistSongDao;
     private final PlaylistAccessDao playlistAccessDao;
-    private final ExecutorService executor;
+    // Shared pools from AppExecutors - not owned here, never shut down by this repository
+    private final ExecutorService dbReadExecutor;
+    private final ExecutorService dbWriteExecutor;
+    // Small user-action writes (likes, follows, history) share one transaction per batch
+    private final WriteBatcher writeBatcher;
     
     public PlaylistRepository(Application application) {
         AppDatabase database = AppDatabase.getInstance(application);
         playlistDao = database.playlistDao();
         playlistSongDao = database.playlistSongDao();
         playlistAccessDao = database.playlistAccessDao();
-        executor = Executors.newFixedThreadPool(4);
+        dbReadExecutor = AppExecutors.getInstance().diskRead();
+        dbWriteExecutor = AppExecutors.getInstance().diskWrite();
+        writeBatcher = WriteBatcher.getInstance(application);
     }
     
     // Playlist CRUD
     public Future<Long> insert(Playlist playlist) {
-        return executor.submit(() -> playlistDao.insert(playlist));
+        return dbWriteExecutor.submit(() -> playlistDao.insert(playlist));
     }
     
     public LiveData<Playlist> getPlaylistById(long playlistId) {
@@ -44,7 +56,7 @@ public class PlaylistRepository {
     }
     
     public Future<Playlist> getPlaylistByIdSync(long playlistId) {
-        return executor.submit(() -> playlistDao.getPlaylistByIdSync(playlistId));
+        return dbReadExecutor.submit(() -> playlistDao.getPlaylistByIdSync(playlistId));
     }
     
     public LiveData<List<Playlist>> getPlaylistsByOwner(long ownerId) {
@@ -52,11 +64,11 @@ public class PlaylistRepository {
     }
 
     public Future<List<Playlist>> getPlaylistsByOwnerSync(long ownerId) {
-        return executor.submit(() -> playlistDao.getPlaylistsByOwnerSync(ownerId));
+        return dbReadExecutor.submit(() -> playlistDao.getPlaylistsByOwnerSync(ownerId));
     }
 
     public Future<List<Playlist>> getPublicPlaylistsByOwnerSync(long ownerId) {
-        return executor.submit(() -> playlistDao.getPublicPlaylistsByOwnerSync(ownerId));
+        return dbReadExecutor.submit(() -> playlistDao.getPublicPlaylistsByOwnerSync(ownerId));
     }
     
     public LiveData<List<Playlist>> getPublicPlaylists() {
@@ -72,21 +84,21 @@ public class PlaylistRepository {
     }
     
     public Future<Void> update(Playlist playlist) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             playlistDao.update(playlist);
             return null;
         });
     }
     
     public Future<Void> delete(Playlist playlist) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             playlistDao.delete(playlist);
             return null;
         });
     }
     
     public Future<Void> deletePlaylistById(long playlistId) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             playlistDao.deletePlaylistById(playlistId);
             return null;
         });
@@ -96,7 +108,7 @@ public class PlaylistRepository {
      * Delete playlist with ownership check
      */
     public Future<Boolean> deletePlaylistByOwner(long playlistId, long userId) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             try {
                 // Check ownership first
                 Playlist playlist = playlistDao.getPlaylistByIdSync(playlistId);
@@ -126,7 +138,7 @@ public class PlaylistRepository {
     
     // Playlist-Song relationship
     public Future<Void> addSongToPlaylist(long playlistId, long songId) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             Integer maxPosition = playlistSongDao.getMaxPositionInPlaylist(playlistId);
             int newPosition = (maxPosition == null) ? 1 : maxPosition + 1;
             PlaylistSong playlistSong = new PlaylistSong(playlistId, songId, newPosition);
@@ -136,7 +148,7 @@ public class PlaylistRepository {
     }
     
     public Future<Void> removeSongFromPlaylist(long playlistId, long songId) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             playlistSongDao.removeSongFromPlaylist(playlistId, songId);
             return null;
         });
@@ -146,8 +158,12 @@ public class PlaylistRepository {
         return playlistSongDao.getSongsInPlaylist(playlistId);
     }
 
+    public LiveData<PagingData<Song>> getSongsInPlaylistPaged(long playlistId) {
+        return PagingUtils.livePager(() -> playlistSongDao.getSongsInPlaylistPaged(playlistId));
+    }
+
     public Future<List<Song>> getSongsInPlaylistSync(long playlistId) {
-        return executor.submit(() -> playlistSongDao.getSongsInPlaylistSync(playlistId));
+        return dbReadExecutor.submit(() -> playlistSongDao.getSongsInPlaylistSync(playlistId));
     }
 
     /**
@@ -166,14 +182,14 @@ public class PlaylistRepository {
      * Get playlists by owner with song counts
      */
     public Future<List<PlaylistWithSongCount>> getPlaylistsByOwnerWithSongCount(long ownerId) {
-        return executor.submit(() -> {
+        return dbReadExecutor.submit(() -> {
             try {
                 List<Playlist> playlists = playlistDao.getPlaylistsByOwnerSync(ownerId);
                 List<PlaylistWithSongCount> playlistsWithCount = new java.util.ArrayList<>();
 
                 for (Playlist playlist : playlists) {
-                    int songCount = playlistSongDao.getSongCountInPlaylist(playlist.getId());
-                    playlistsWithCount.add(new PlaylistWithSongCount(playlist, songCount));
+                    // song_count is a maintained column - no per-playlist COUNT query
+                    playlistsWithCount.add(new PlaylistWithSongCount(playlist, playlist.getSongCount()));
                 }
 
                 return playlistsWithCount;
@@ -189,15 +205,15 @@ public class PlaylistRepository {
     }
     
     public Future<Boolean> isSongInPlaylist(long playlistId, long songId) {
-        return executor.submit(() -> playlistSongDao.checkSongInPlaylist(playlistId, songId) > 0);
+        return dbReadExecutor.submit(() -> playlistSongDao.checkSongInPlaylist(playlistId, songId) > 0);
     }
     
     public Future<Integer> getSongCountInPlaylist(long playlistId) {
-        return executor.submit(() -> playlistSongDao.getSongCountInPlaylist(playlistId));
+        return dbReadExecutor.submit(() -> playlistSongDao.getSongCountInPlaylist(playlistId));
     }
     
     public Future<Void> updateSongPosition(long playlistId, long songId, int newPosition) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             playlistSongDao.updateSongPosition(playlistId, songId, newPosition);
             return null;
         });
@@ -216,20 +232,19 @@ public class PlaylistRepository {
      * Track that user accessed a playlist
      */
     public void trackPlaylistAccess(long userId, long playlistId) {
-        executor.execute(() -> {
-            try {
-                long currentTime = System.currentTimeMillis();
-                PlaylistAccess playlistAccess = new PlaylistAccess(userId, playlistId, currentTime);
-
-                // Insert/update the record
-                playlistAccessDao.insert(playlistAccess);
-
-                // Clean up old records to prevent database bloat
-                playlistAccessDao.cleanupOldAccessRecords(userId);
-
-            } catch (Exception e) {
-                android.util.Log.e("PlaylistRepository", "Error tracking playlist access", e);
-            }
+        writeBatcher.execute("trackPlaylistAccess", () -> {
+            // Insert/update the record
+            SupportSQLiteStatement upsert = writeBatcher.statement(PlaylistAccessDao.SQL_UPSERT_PLAYLIST_ACCESS);
+            upsert.bindLong(1, userId);
+            upsert.bindLong(2, playlistId);
+            upsert.bindLong(3, System.currentTimeMillis());
+            upsert.executeInsert();
+
+            // Clean up old records to prevent database bloat
+            SupportSQLiteStatement cleanup = writeBatcher.statement(PlaylistAccessDao.SQL_CLEANUP_OLD_ACCESS_RECORDS);
+            cleanup.bindLong(1, userId);
+            cleanup.executeUpdateDelete();
+            return null;
         });
     }
 
@@ -241,20 +256,21 @@ public class PlaylistRepository {
     }
 
     /**
-     * Get all public playlists synchronously for search
+     * Full-text search public playlists by name or description (prefix matching, ranked, paged), with owner and song count
      */
-    public Future<List<Playlist>> getAllPublicPlaylistsSync() {
-        return executor.submit(() -> {
-            // Get all playlists and filter public ones
-            List<Playlist> allPlaylists = playlistDao.getAllPlaylistsSync();
-            List<Playlist> publicPlaylists = new ArrayList<>();
-            for (Playlist playlist : allPlaylists) {
-                if (playlist.isPublic()) {
-                    publicPlaylists.add(playlist);
-                }
-            }
-            return publicPlaylists;
-        });
+    public Future<List<PlaylistSearchRow>> searchPublicPlaylistsFts(String query, int limit, int offset) {
+        return dbReadExecutor.submit(() -> searchPublicPlaylistsFtsDirectly(query, limit, offset));
+    }
+
+    /**
+     * Như searchPublicPlaylistsFts nhưng chạy ngay trên thread gọi (caller đã ở trên diskRead, không lồng future)
+     */
+    public List<PlaylistSearchRow> searchPublicPlaylistsFtsDirectly(String query, int limit, int offset) {
+        String match = SearchQueryUtils.toFtsMatchQuery(query);
+        if (match == null) {
+            return new ArrayList<>();
+        }
+        return playlistDao.searchPublicPlaylistsFts(match, SearchQueryUtils.escapeLikePattern(query), limit, offset);
     }
 
     // Enhanced Playlist Operations for Song Detail Screen
@@ -264,14 +280,14 @@ public class PlaylistRepository {
      * Returns only playlists owned by the user
      */
     public Future<List<Playlist>> getUserPlaylistsForAddSong(long userId) {
-        return executor.submit(() -> playlistDao.getPlaylistsByOwnerSync(userId));
+        return dbReadExecutor.submit(() -> playlistDao.getPlaylistsByOwnerSync(userId));
     }
 
     /**
      * Add song to multiple playlists at once
      */
     public Future<Void> addSongToMultiplePlaylists(long songId, List<Long> playlistIds) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             for (Long playlistId : playlistIds) {
                 // Check if song is not already in playlist
                 if (playlistSongDao.checkSongInPlaylist(playlistId, songId) == 0) {
@@ -290,24 +306,14 @@ public class PlaylistRepository {
      * Useful for showing which playlists already have the song
      */
     public Future<List<Long>> getPlaylistIdsContainingSong(long songId, long userId) {
-        return executor.submit(() -> {
-            List<Playlist> userPlaylists = playlistDao.getPlaylistsByOwnerSync(userId);
-            List<Long> playlistsWithSong = new java.util.ArrayList<>();
-
-            for (Playlist playlist : userPlaylists) {
-                if (playlistSongDao.checkSongInPlaylist(playlist.getId(), songId) > 0) {
-                    playlistsWithSong.add(playlist.getId());
-                }
-            }
-            return playlistsWithSong;
-        });
+        return dbReadExecutor.submit(() -> getPlaylistIdsContainingSongDirectly(songId, userId));
     }
 
     /**
      * Create a new playlist and add song to it
      */
     public Future<Long> createPlaylistWithSong(String playlistName, String description, boolean isPublic, long ownerId, long songId) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             // Create playlist
             Playlist playlist = new Playlist(ownerId, playlistName);
             playlist.setDescription(description);
@@ -326,13 +332,12 @@ public class PlaylistRepository {
      * Get playlist info with song count for display
      */
     public Future<PlaylistInfo> getPlaylistInfo(long playlistId) {
-        return executor.submit(() -> {
+        return dbReadExecutor.submit(() -> {
             Playlist playlist = playlistDao.getPlaylistByIdSync(playlistId);
             if (playlist == null) {
                 return null;
             }
-            int songCount = playlistSongDao.getSongCountInPlaylist(playlistId);
-            return new PlaylistInfo(playlist, songCount);
+            return new PlaylistInfo(playlist, playlist.getSongCount());
         });
     }
 
@@ -355,9 +360,22 @@ public class PlaylistRepository {
         return playlistSongDao.getSongsInPlaylistSync(playlistId);
     }
 
-    public void shutdown() {
-        if (executor != null) {
-            executor.shutdown();
+    /**
+     * Get IDs of the user's playlists containing the song directly from database (no ExecutorService)
+     */
+    public List<Long> getPlaylistIdsContainingSongDirectly(long songId, long userId) {
+        List<Playlist> userPlaylists = playlistDao.getPlaylistsByOwnerSync(userId);
+        List<Long> playlistsWithSong = new java.util.ArrayList<>();
+
+        for (Playlist playlist : userPlaylists) {
+            if (playlistSongDao.checkSongInPlaylist(playlist.getId(), songId) > 0) {
+                playlistsWithSong.add(playlist.getId());
+            }
         }
+        return playlistsWithSong;
+    }
+
+    public void shutdown() {
+        // Nothing to release: executors are shared and owned by AppExecutors
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.g3.soundify_musicplayer.data.repository;
+
+/**
+ * Queue của repository đã được nạp vào ExoPlayer của service chưa, và nếu chưa thì phát từ vị trí nào.
+ *
+ * - Queue mới / phiên khôi phục chỉ được nạp vào service ở lần play đầu (lazy).
+ * - Trong lúc chưa nạp, snapshot vị trí từ service là của player cũ hoặc rỗng (vd. 0 ms publish ngay
+ *   khi bind), nên không được ghi đè vị trí đã khôi phục - xem acceptsServicePosition().
+ *
+ * Ghi trên executor thread của command queue, đọc cả trên main thread (callback của service).
+ */
+final class ServicePlaylistState {
+
+    private volatile boolean loaded = false;
+    private volatile long pendingPositionMs = 0;
+
+    /**
+     * Queue mới chưa nạp vào service; lần nạp đầu bắt đầu từ startPositionMs
+     */
+    void reset(long startPositionMs) {
+        loaded = false;
+        pendingPositionMs = startPositionMs;
+    }
+
+    /**
+     * Service mất playlist (disconnect) - vị trí chờ nạp giữ nguyên
+     */
+    void markUnloaded() {
+        loaded = false;
+    }
+
+    /**
+     * Playlist đã được nạp vào service, vị trí chờ không còn dùng
+     */
+    void markLoaded() {
+        loaded = true;
+        pendingPositionMs = 0;
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Seek / đổi bài khi chưa nạp: nhớ vị trí cho lần nạp đầu
+     */
+    void rememberPosition(long positionMs) {
+        pendingPositionMs = positionMs;
+    }
+
+    long pendingPosition() {
+        return pendingPositionMs;
+    }
+
+    /**
+     * Chỉ nhận vị trí từ service khi service đang phát đúng queue của repository
+     */
+    boolean acceptsServicePosition() {
+        return loaded;
+    }
+}
@@ -7,11 +7,11 @@ import com.g3.soundify_musicplayer.data.entity.Comment;
 import com.g3.soundify_musicplayer.data.entity.Playlist;
 import com.g3.soundify_musicplayer.data.entity.Song;
 import com.g3.soundify_musicplayer.data.entity.User;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
 
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 /**
@@ -25,14 +25,14 @@ public class SongDetailRepository {
     protected MusicPlayerRepository musicPlayerRepository;
     protected PlaylistRepository playlistRepository;
     protected UserRepository userRepository;
-    protected ExecutorService executor;
+    protected ExecutorService dbReadExecutor;  // Shared (AppExecutors), only runs direct DAO reads
     
     public SongDetailRepository(Application application) {
         songRepository = new SongRepository(application);
         musicPlayerRepository = new MusicPlayerRepository(application);
         playlistRepository = new PlaylistRepository(application);
         userRepository = new UserRepository(application);
-        executor = Executors.newFixedThreadPool(4);
+        dbReadExecutor = AppExecutors.getInstance().diskRead();
     }
     
     // ========== SONG OPERATIONS ==========
@@ -230,25 +230,27 @@ public class SongDetailRepository {
     // ========== UTILITY METHODS ==========
     
     /**
-     * Get all data needed for song detail screen in one call
+     * Get all data needed for song detail screen in one call.
+     * Chạy thẳng các query trên diskRead, không chờ future nào khác: caller ở pool background
+     * chờ kết quả này được mà không chiếm thêm thread background (tránh deadlock khi pool đầy).
      */
     public Future<SongDetailData> getSongDetailData(long songId, long userId) {
-        return executor.submit(() -> {
+        return dbReadExecutor.submit(() -> {
             try {
                 // Get song
-                Song song = songRepository.getSongByIdSync(songId).get();
+                Song song = songRepository.getSongByIdDirectly(songId);
                 if (song == null) {
                     return null;
                 }
                 
                 // Get like info
-                MusicPlayerRepository.SongLikeInfo likeInfo = musicPlayerRepository.getSongLikeInfo(songId, userId).get();
+                MusicPlayerRepository.SongLikeInfo likeInfo = musicPlayerRepository.getSongLikeInfoDirectly(songId, userId);
                 
                 // Get comment count
-                int commentCount = musicPlayerRepository.getCommentCountBySong(songId).get();
+                int commentCount = musicPlayerRepository.getCommentCountBySongDirectly(songId);
                 
                 // Get playlist IDs containing this song
-                List<Long> playlistIds = playlistRepository.getPlaylistIdsContainingSong(songId, userId).get();
+                List<Long> playlistIds = playlistRepository.getPlaylistIdsContainingSongDirectly(songId, userId);
                 
                 return new SongDetailData(song, likeInfo.isLiked, likeInfo.likeCount, commentCount, playlistIds);
                 
@@ -277,9 +279,7 @@ public class SongDetailRepository {
     }
     
     public void shutdown() {
-        if (executor != null) {
-            executor.shutdown();
-        }
+        // Executors are shared and owned by AppExecutors
         if (songRepository != null) {
             songRepository.shutdown();
         }
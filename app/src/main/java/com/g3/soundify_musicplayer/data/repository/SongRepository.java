@@ -2,36 +2,71 @@ package com.g3.soundify_musicplayer.data.repository;
 
 import android.app.Application;
 import androidx.lifecycle.LiveData;
+import androidx.paging.PagingData;
+import androidx.sqlite.db.SupportSQLiteStatement;
 
 import com.g3.soundify_musicplayer.data.database.AppDatabase;
+import com.g3.soundify_musicplayer.data.database.WriteBatcher;
 import com.g3.soundify_musicplayer.data.dao.SongDao;
 import com.g3.soundify_musicplayer.data.dao.RecentlyPlayedDao;
+import com.g3.soundify_musicplayer.data.dao.SongMetadataDao;
 import com.g3.soundify_musicplayer.data.entity.Song;
+import com.g3.soundify_musicplayer.data.entity.SongMetadata;
 import com.g3.soundify_musicplayer.data.entity.RecentlyPlayed;
+import com.g3.soundify_musicplayer.data.dto.SongSearchRow;
 import com.g3.soundify_musicplayer.data.dto.SongWithUploader;
 import com.g3.soundify_musicplayer.data.dto.SongWithUploaderInfo;
 
+import com.g3.soundify_musicplayer.utils.SearchQueryUtils;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
+import com.g3.soundify_musicplayer.utils.MediaBlobStore;
+import com.g3.soundify_musicplayer.utils.PagingUtils;
+
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 public class SongRepository {
 
     private SongDao songDao;
     private RecentlyPlayedDao recentlyPlayedDao;
-    private ExecutorService executor;
+    private SongMetadataDao songMetadataDao;
+    private final AppDatabase database;
+    // Shared pools from AppExecutors - not owned here, never shut down by this repository
+    private final ExecutorService dbReadExecutor;
+    private final ExecutorService dbWriteExecutor;
+    // Small user-action writes (likes, follows, history) share one transaction per batch
+    private final WriteBatcher writeBatcher;
+    // Audio / ảnh bìa của bài bị xoá được giải phóng ngay khi không còn ai trỏ tới
+    private final MediaBlobStore mediaBlobStore;
     
     public SongRepository(Application application) {
-        AppDatabase database = AppDatabase.getInstance(application);
+        database = AppDatabase.getInstance(application);
         songDao = database.songDao();
         recentlyPlayedDao = database.recentlyPlayedDao();
-        executor = Executors.newFixedThreadPool(4);
+        songMetadataDao = database.songMetadataDao();
+        dbReadExecutor = AppExecutors.getInstance().diskRead();
+        dbWriteExecutor = AppExecutors.getInstance().diskWrite();
+        writeBatcher = WriteBatcher.getInstance(application);
+        mediaBlobStore = MediaBlobStore.getInstance(application);
     }
     
     // Create
     public Future<Long> insert(Song song) {
-        return executor.submit(() -> songDao.insert(song));
+        return dbWriteExecutor.submit(() -> songDao.insert(song));
+    }
+
+    /**
+     * Insert bài hát cùng metadata đã extract trong một transaction
+     */
+    public Future<Long> insertWithMetadata(Song song, SongMetadata metadata) {
+        return dbWriteExecutor.submit(() -> database.runInTransaction(() -> {
+            long songId = songDao.insert(song);
+            metadata.setSongId(songId);
+            songMetadataDao.upsert(metadata);
+            return songId;
+        }));
     }
     
     // Read
@@ -40,13 +75,21 @@ public class SongRepository {
     }
     
     public Future<Song> getSongByIdSync(long songId) {
-        return executor.submit(() -> songDao.getSongByIdSync(songId));
+        return dbReadExecutor.submit(() -> songDao.getSongByIdSync(songId));
+    }
+
+    public Future<List<Song>> getSongsByIdsSync(List<Long> songIds) {
+        return dbReadExecutor.submit(() -> songDao.getSongsByIdsSync(songIds));
     }
 
     public LiveData<List<Song>> getAllSongs() {
         return songDao.getAllSongs();
     }
 
+    public LiveData<PagingData<Song>> getAllSongsPaged() {
+        return PagingUtils.livePager(songDao::getAllSongsPaged);
+    }
+
     public LiveData<List<Song>> getSongsByUploader(long uploaderId) {
         return songDao.getSongsByUploader(uploaderId);
     }
@@ -56,11 +99,11 @@ public class SongRepository {
     }
 
     public Future<List<Song>> getSongsByUploaderSync(long uploaderId) {
-        return executor.submit(() -> songDao.getSongsByUploaderSync(uploaderId));
+        return dbReadExecutor.submit(() -> songDao.getSongsByUploaderSync(uploaderId));
     }
 
     public Future<List<Song>> getPublicSongsByUploaderSync(long uploaderId) {
-        return executor.submit(() -> songDao.getPublicSongsByUploaderSync(uploaderId));
+        return dbReadExecutor.submit(() -> songDao.getPublicSongsByUploaderSync(uploaderId));
     }
     
     public LiveData<List<Song>> searchPublicSongs(String query) {
@@ -85,23 +128,27 @@ public class SongRepository {
     
     // Update
     public Future<Void> update(Song song) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             songDao.update(song);
+            // Đổi audio / ảnh bìa: file cũ được giải phóng nếu không còn ai dùng
+            mediaBlobStore.requestReclaim();
             return null;
         });
     }
     
     // Delete
     public Future<Void> delete(Song song) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             songDao.delete(song);
+            mediaBlobStore.requestReclaim();
             return null;
         });
     }
     
     public Future<Void> deleteSongById(long songId) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             songDao.deleteSongById(songId);
+            mediaBlobStore.requestReclaim();
             return null;
         });
     }
@@ -119,20 +166,19 @@ public class SongRepository {
      * Track that user played a song
      */
     public void trackRecentlyPlayed(long userId, long songId) {
-        executor.execute(() -> {
-            try {
-                long currentTime = System.currentTimeMillis();
-                RecentlyPlayed recentlyPlayed = new RecentlyPlayed(userId, songId, currentTime);
-
-                // Insert/update the record
-                long result = recentlyPlayedDao.insert(recentlyPlayed);
-
-                // Clean up old records to prevent database bloat
-                recentlyPlayedDao.cleanupOldRecords(userId);
-
-            } catch (Exception e) {
-                android.util.Log.e("SongRepository", "Error tracking recently played", e);
-            }
+        writeBatcher.execute("trackRecentlyPlayed", () -> {
+            // Insert/update the record
+            SupportSQLiteStatement upsert = writeBatcher.statement(RecentlyPlayedDao.SQL_UPSERT_RECENTLY_PLAYED);
+            upsert.bindLong(1, userId);
+            upsert.bindLong(2, songId);
+            upsert.bindLong(3, System.currentTimeMillis());
+            upsert.executeInsert();
+
+            // Clean up old records to prevent database bloat
+            SupportSQLiteStatement cleanup = writeBatcher.statement(RecentlyPlayedDao.SQL_CLEANUP_OLD_RECORDS);
+            cleanup.bindLong(1, userId);
+            cleanup.executeUpdateDelete();
+            return null;
         });
     }
 
@@ -151,10 +197,21 @@ public class SongRepository {
     }
 
     /**
-     * Get all songs synchronously for search
+     * Full-text search public songs by title, genre or description (prefix matching, ranked, paged), with uploader
+     */
+    public Future<List<SongSearchRow>> searchPublicSongsFts(String query, int limit, int offset) {
+        return dbReadExecutor.submit(() -> searchPublicSongsFtsDirectly(query, limit, offset));
+    }
+
+    /**
+     * Như searchPublicSongsFts nhưng chạy ngay trên thread gọi (caller đã ở trên diskRead, không lồng future)
      */
-    public Future<List<Song>> getAllSongsSync() {
-        return executor.submit(() -> songDao.getAllSongsSync());
+    public List<SongSearchRow> searchPublicSongsFtsDirectly(String query, int limit, int offset) {
+        String match = SearchQueryUtils.toFtsMatchQuery(query);
+        if (match == null) {
+            return new ArrayList<>();
+        }
+        return songDao.searchPublicSongsFts(match, SearchQueryUtils.escapeLikePattern(query), limit, offset);
     }
 
     // ========== METHODS WITH UPLOADER INFORMATION ==========
@@ -181,6 +238,10 @@ public class SongRepository {
         return songDao.getPublicSongsWithUploaderInfo();
     }
 
+    public LiveData<PagingData<SongWithUploaderInfo>> getPublicSongsWithUploaderInfoPaged() {
+        return PagingUtils.livePager(songDao::getPublicSongsWithUploaderInfoPaged);
+    }
+
     /**
      * Search public songs with uploader information
      */
@@ -192,21 +253,35 @@ public class SongRepository {
      * Get public songs by uploader with uploader information (sync)
      */
     public Future<List<SongWithUploaderInfo>> getPublicSongsByUploaderWithInfoSync(long uploaderId) {
-        return executor.submit(() -> songDao.getPublicSongsByUploaderWithInfoSync(uploaderId));
+        return dbReadExecutor.submit(() -> songDao.getPublicSongsByUploaderWithInfoSync(uploaderId));
     }
 
     /**
      * Get all songs by uploader with uploader information (sync) - for own profile
      */
     public Future<List<SongWithUploaderInfo>> getSongsByUploaderWithInfoSync(long uploaderId) {
-        return executor.submit(() -> songDao.getSongsByUploaderWithInfoSync(uploaderId));
+        return dbReadExecutor.submit(() -> songDao.getSongsByUploaderWithInfoSync(uploaderId));
+    }
+
+    /**
+     * Public songs by uploader with uploader information, page by page (Paging 3)
+     */
+    public LiveData<PagingData<SongWithUploaderInfo>> getPublicSongsByUploaderWithInfoPaged(long uploaderId) {
+        return PagingUtils.livePager(() -> songDao.getPublicSongsByUploaderWithInfoPaged(uploaderId));
+    }
+
+    /**
+     * All songs by uploader with uploader information, page by page (Paging 3)
+     */
+    public LiveData<PagingData<SongWithUploaderInfo>> getSongsByUploaderWithInfoPaged(long uploaderId) {
+        return PagingUtils.livePager(() -> songDao.getSongsByUploaderWithInfoPaged(uploaderId));
     }
 
     /**
      * Get song with uploader information by song ID (sync)
      */
     public Future<SongWithUploaderInfo> getSongWithUploaderInfoSync(long songId) {
-        return executor.submit(() -> songDao.getSongWithUploaderInfoSync(songId));
+        return dbReadExecutor.submit(() -> songDao.getSongWithUploaderInfoSync(songId));
     }
 
     // Song Detail specific methods
@@ -216,17 +291,24 @@ public class SongRepository {
      * This method can be extended to include like count, comment count, etc.
      */
     public Future<Song> getSongWithMetadata(long songId) {
-        return executor.submit(() -> {
+        return dbReadExecutor.submit(() -> {
             // For now, just return the song. Can be extended to include metadata
             return songDao.getSongByIdSync(songId);
         });
     }
 
+    /**
+     * Bitrate, sample rate, tag, ReplayGain... của file audio (null nếu chưa được extract)
+     */
+    public LiveData<SongMetadata> getSongMetadata(long songId) {
+        return songMetadataDao.getBySongId(songId);
+    }
+
     /**
      * Check if song exists and is accessible by user
      */
     public Future<Boolean> isSongAccessible(long songId, long userId) {
-        return executor.submit(() -> {
+        return dbReadExecutor.submit(() -> {
             Song song = songDao.getSongByIdSync(songId);
             if (song == null) {
                 return false;
@@ -240,7 +322,7 @@ public class SongRepository {
      * Check if user is the owner of the song
      */
     public Future<Boolean> isSongOwner(long songId, long userId) {
-        return executor.submit(() -> {
+        return dbReadExecutor.submit(() -> {
             Song song = songDao.getSongByIdSync(songId);
             return song != null && song.getUploaderId() == userId;
         });
@@ -250,7 +332,7 @@ public class SongRepository {
      * Update song information (only for song owner)
      */
     public Future<Boolean> updateSongInfo(long songId, long userId, String title, String description, String genre, boolean isPublic, String coverArtUrl) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             try {
                 // Check ownership first
                 Song song = songDao.getSongByIdSync(songId);
@@ -289,7 +371,7 @@ public class SongRepository {
      * Delete song (only for song owner) - cascades to all related data
      */
     public Future<Boolean> deleteSongByOwner(long songId, long userId) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             try {
                 // Check ownership first
                 Song song = songDao.getSongByIdSync(songId);
@@ -309,6 +391,8 @@ public class SongRepository {
                 // - Playlist songs (via foreign key cascade)
                 // - Recently played (via foreign key cascade)
                 songDao.delete(song);
+                // ref_count của audio/ảnh bìa đã giảm qua trigger - xoá blob không còn dùng
+                mediaBlobStore.requestReclaim();
                 android.util.Log.d("SongRepository", "Successfully deleted song: " + songId);
                 return true;
 
@@ -323,7 +407,7 @@ public class SongRepository {
      * Get songs by the same uploader (for "More from this artist" section)
      */
     public Future<List<Song>> getMoreSongsByUploader(long uploaderId, long excludeSongId, int limit) {
-        return executor.submit(() -> {
+        return dbReadExecutor.submit(() -> {
             List<Song> allSongs = songDao.getPublicSongsByUploaderSync(uploaderId);
             return allSongs.stream()
                     .filter(song -> song.getId() != excludeSongId)
@@ -336,7 +420,7 @@ public class SongRepository {
      * Get related songs by genre (for "You might also like" section)
      */
     public Future<List<Song>> getRelatedSongsByGenre(String genre, long excludeSongId, int limit) {
-        return executor.submit(() -> {
+        return dbReadExecutor.submit(() -> {
             List<Song> allSongs = songDao.getSongsByGenreSync(genre);
             return allSongs.stream()
                     .filter(song -> song.getId() != excludeSongId && song.isPublic())
@@ -361,9 +445,14 @@ public class SongRepository {
         return songDao.getPublicSongsByUploaderSync(uploaderId);
     }
 
+    /**
+     * Get all songs by uploader directly from database (no ExecutorService)
+     */
+    public List<Song> getSongsByUploaderDirectly(long uploaderId) {
+        return songDao.getSongsByUploaderSync(uploaderId);
+    }
+
     public void shutdown() {
-        if (executor != null) {
-            executor.shutdown();
-        }
+        // Nothing to release: executors are shared and owned by AppExecutors
     }
 }
\ No newline at end of file
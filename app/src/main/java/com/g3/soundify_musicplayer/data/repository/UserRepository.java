@@ -5,27 +5,33 @@ import androidx.lifecycle.LiveData;
 
 import com.g3.soundify_musicplayer.data.database.AppDatabase;
 import com.g3.soundify_musicplayer.data.dao.UserDao;
+import com.g3.soundify_musicplayer.data.dto.UserSearchRow;
 import com.g3.soundify_musicplayer.data.entity.User;
+import com.g3.soundify_musicplayer.utils.SearchQueryUtils;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 public class UserRepository {
     
     private UserDao userDao;
-    private ExecutorService executor;
+    // Shared pools from AppExecutors - not owned here, never shut down by this repository
+    private final ExecutorService dbReadExecutor;
+    private final ExecutorService dbWriteExecutor;
     
     public UserRepository(Application application) {
         AppDatabase database = AppDatabase.getInstance(application);
         userDao = database.userDao();
-        executor = Executors.newFixedThreadPool(4);
+        dbReadExecutor = AppExecutors.getInstance().diskRead();
+        dbWriteExecutor = AppExecutors.getInstance().diskWrite();
     }
     
     // Create
     public Future<Long> insert(User user) {
-        return executor.submit(() -> userDao.insert(user));
+        return dbWriteExecutor.submit(() -> userDao.insert(user));
     }
     
     // Read
@@ -34,19 +40,19 @@ public class UserRepository {
     }
     
     public Future<User> getUserByIdSync(long userId) {
-        return executor.submit(() -> userDao.getUserByIdSync(userId));
+        return dbReadExecutor.submit(() -> userDao.getUserByIdSync(userId));
     }
     
     public Future<User> getUserByUsername(String username) {
-        return executor.submit(() -> userDao.getUserByUsername(username));
+        return dbReadExecutor.submit(() -> userDao.getUserByUsername(username));
     }
     
     public Future<User> getUserByEmail(String email) {
-        return executor.submit(() -> userDao.getUserByEmail(email));
+        return dbReadExecutor.submit(() -> userDao.getUserByEmail(email));
     }
     
     public Future<User> authenticateUser(String username, String passwordHash) {
-        return executor.submit(() -> userDao.authenticateUser(username, passwordHash));
+        return dbReadExecutor.submit(() -> userDao.authenticateUser(username, passwordHash));
     }
     
     public LiveData<List<User>> getAllUsers() {
@@ -59,7 +65,7 @@ public class UserRepository {
     
     // Update
     public Future<Void> update(User user) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             userDao.update(user);
             return null;
         });
@@ -67,7 +73,7 @@ public class UserRepository {
     
     // Delete
     public Future<Void> delete(User user) {
-        return executor.submit(() -> {
+        return dbWriteExecutor.submit(() -> {
             userDao.delete(user);
             return null;
         });
@@ -75,23 +81,32 @@ public class UserRepository {
     
     // Validation
     public Future<Boolean> isUsernameExists(String username) {
-        return executor.submit(() -> userDao.checkUsernameExists(username) > 0);
+        return dbReadExecutor.submit(() -> userDao.checkUsernameExists(username) > 0);
     }
     
     public Future<Boolean> isEmailExists(String email) {
-        return executor.submit(() -> userDao.checkEmailExists(email) > 0);
+        return dbReadExecutor.submit(() -> userDao.checkEmailExists(email) > 0);
     }
 
     /**
-     * Get all users synchronously for search
+     * Full-text search users by username or display name (prefix matching, ranked, paged), with song count
      */
-    public Future<List<User>> getAllUsersSync() {
-        return executor.submit(() -> userDao.getAllUsersSync());
+    public Future<List<UserSearchRow>> searchUsersFts(String query, int limit, int offset) {
+        return dbReadExecutor.submit(() -> searchUsersFtsDirectly(query, limit, offset));
     }
 
-    public void shutdown() {
-        if (executor != null) {
-            executor.shutdown();
+    /**
+     * Như searchUsersFts nhưng chạy ngay trên thread gọi (caller đã ở trên diskRead, không lồng future)
+     */
+    public List<UserSearchRow> searchUsersFtsDirectly(String query, int limit, int offset) {
+        String match = SearchQueryUtils.toFtsMatchQuery(query);
+        if (match == null) {
+            return new ArrayList<>();
         }
+        return userDao.searchUsersFts(match, SearchQueryUtils.escapeLikePattern(query), limit, offset);
+    }
+
+    public void shutdown() {
+        // Nothing to release: executors are shared and owned by AppExecutors
     }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.g3.soundify_musicplayer.service;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.DefaultDataSource;
+
+import com.g3.soundify_musicplayer.utils.AppExecutors;
+import com.g3.soundify_musicplayer.utils.Constants;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-ahead cho các bài sắp phát: đọc trước phần đầu file audio (file://, content://, asset)
+ * trên fileIo để nó nằm sẵn trong page cache của OS, next / auto-advance không phải chờ đọc đĩa.
+ *
+ * Bài nào trong app cũng là file local nên không cần cache riêng trên đĩa (copy file local vào
+ * cache chỉ tốn dung lượng); nguồn http(s) bị bỏ qua - tải về rồi vứt đi chỉ tốn data.
+ * Thời gian đọc lạnh của mỗi bài được đo lại: đó là phần trễ mà lần mở bài tiếp theo không phải chịu.
+ */
+@OptIn(markerClass = UnstableApi.class)
+public final class AudioPrefetcher {
+
+    private static final String TAG = "AudioPrefetcher";
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+
+    private static volatile AudioPrefetcher INSTANCE;
+
+    private final Context appContext;
+
+    // Metrics
+    private final AtomicLong prefetchedSongs = new AtomicLong();
+    private final AtomicLong prefetchedBytes = new AtomicLong();
+    private final AtomicLong prefetchMs = new AtomicLong();
+    private final AtomicLong failedSongs = new AtomicLong();
+
+    // Tăng mỗi lần huỷ để lượt prefetch cũ dừng giữa chừng
+    private final AtomicInteger prefetchGeneration = new AtomicInteger();
+
+    private AudioPrefetcher(Context context) {
+        this.appContext = context.getApplicationContext();
+    }
+
+    public static AudioPrefetcher getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (AudioPrefetcher.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new AudioPrefetcher(context);
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    public static boolean isPrefetchable(@Nullable Uri uri) {
+        if (uri == null || uri.getScheme() == null) {
+            return false;
+        }
+        String scheme = uri.getScheme();
+        return !"http".equalsIgnoreCase(scheme) && !"https".equalsIgnoreCase(scheme);
+    }
+
+    /**
+     * Đọc trước PREFETCH_BYTES_PER_SONG đầu tiên của các bài sắp phát.
+     * Gọi lại sẽ huỷ lượt prefetch trước (queue đã đổi).
+     */
+    public void prefetch(List<String> audioUrls) {
+        cancelPrefetch();
+
+        List<Uri> targets = new ArrayList<>();
+        for (String url : audioUrls) {
+            Uri uri = url != null ? Uri.parse(url) : null;
+            if (isPrefetchable(uri)) {
+                targets.add(uri);
+            }
+        }
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        int generation = prefetchGeneration.get();
+        AppExecutors.getInstance().fileIo().execute(() -> {
+            DataSource dataSource = new DefaultDataSource.Factory(appContext).createDataSource();
+            byte[] buffer = new byte[READ_BUFFER_BYTES];
+            for (Uri uri : targets) {
+                if (generation != prefetchGeneration.get()) {
+                    return;
+                }
+                readAhead(dataSource, uri, buffer, generation);
+            }
+        });
+    }
+
+    private void readAhead(DataSource dataSource, Uri uri, byte[] buffer, int generation) {
+        DataSpec dataSpec = new DataSpec.Builder()
+                .setUri(uri)
+                .setLength(Constants.PREFETCH_BYTES_PER_SONG)
+                .build();
+        long start = SystemClock.elapsedRealtime();
+        long read = 0;
+        try {
+            dataSource.open(dataSpec);
+            int count;
+            while (read < Constants.PREFETCH_BYTES_PER_SONG
+                    && generation == prefetchGeneration.get()
+                    && (count = dataSource.read(buffer, 0, buffer.length)) != C.RESULT_END_OF_INPUT) {
+                read += count;
+            }
+            prefetchedSongs.incrementAndGet();
+            prefetchedBytes.addAndGet(read);
+            prefetchMs.addAndGet(SystemClock.elapsedRealtime() - start);
+        } catch (IOException e) {
+            failedSongs.incrementAndGet();
+            Log.w(TAG, "Prefetch failed for " + uri, e);
+        } finally {
+            try {
+                dataSource.close();
+            } catch (IOException e) {
+                // Ignore
+            }
+        }
+    }
+
+    public void cancelPrefetch() {
+        prefetchGeneration.incrementAndGet();
+    }
+
+    /**
+     * Log số bài / byte đã đọc trước và thời gian đọc lạnh trung bình (RepositoryManager.debugRepositoryStates)
+     */
+    public void logStats() {
+        long songs = prefetchedSongs.get();
+        Log.d(TAG, "prefetched=" + songs
+                + " bytes=" + prefetchedBytes.get()
+                + " avgColdReadMs=" + (songs > 0 ? prefetchMs.get() / songs : 0)
+                + " failed=" + failedSongs.get());
+    }
+}
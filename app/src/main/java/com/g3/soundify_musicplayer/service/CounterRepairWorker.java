@@ -0,0 +1,84 @@
+package com.g3.soundify_musicplayer.service;
+
+import android.app.Application;
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.g3.soundify_musicplayer.data.repository.CounterRepository;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Đối chiếu các counter column (like/comment/follower/song count) với COUNT(*) thật.
+ *
+ * Trigger giữ counter đúng, nên việc này chỉ bắt drift hiếm gặp: một lần ngay sau
+ * MIGRATION_7_8 (khi counter vừa được backfill) và định kỳ hằng tuần khi máy sạc + idle,
+ * thay vì full COUNT mỗi lần cold start.
+ */
+public class CounterRepairWorker extends Worker {
+
+    private static final String TAG = "CounterRepairWorker";
+
+    private static final String PERIODIC_WORK_NAME = "counter-repair";
+    private static final String ONE_TIME_WORK_NAME = "counter-repair-after-migration";
+    private static final long REPAIR_INTERVAL_DAYS = 7;
+
+    public CounterRepairWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Lên lịch chạy hằng tuần (idempotent - lịch đã có thì giữ nguyên)
+     */
+    public static void schedule(Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiresCharging(true)
+                .setRequiresDeviceIdle(true)
+                .build();
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(
+                CounterRepairWorker.class, REPAIR_INTERVAL_DAYS, TimeUnit.DAYS)
+                .setConstraints(constraints)
+                .build();
+        WorkManager.getInstance(context)
+                .enqueueUniquePeriodicWork(PERIODIC_WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    /**
+     * Chạy một lần, không chờ idle - dùng sau migration vừa backfill counter
+     */
+    public static void runOnce(Context context) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(CounterRepairWorker.class).build();
+        WorkManager.getInstance(context)
+                .enqueueUniqueWork(ONE_TIME_WORK_NAME, ExistingWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        long start = System.currentTimeMillis();
+        try {
+            // Ghi trên diskWrite như mọi write khác, worker thread chỉ chờ kết quả
+            int repaired = new CounterRepository((Application) getApplicationContext())
+                    .verifyAndRepairCounters().get();
+            Log.d(TAG, "Verified counters (" + repaired + " repaired) in "
+                    + (System.currentTimeMillis() - start) + "ms");
+            return Result.success();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        } catch (Exception e) {
+            Log.e(TAG, "Error verifying counters", e);
+            return Result.retry();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.g3.soundify_musicplayer.service;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.g3.soundify_musicplayer.data.dao.MediaBlobDao;
+import com.g3.soundify_musicplayer.data.database.AppDatabase;
+import com.g3.soundify_musicplayer.utils.CoverThumbnails;
+import com.g3.soundify_musicplayer.utils.FileUtils;
+import com.g3.soundify_musicplayer.utils.MediaBlobStore;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dọn file media không còn được dùng, chạy định kỳ khi máy đang sạc và idle.
+ *
+ * Mỗi lần chạy:
+ * 1. Sửa ref_count = 0 bị lệch của ứng viên xoá (nếu có) rồi xoá blob không còn ai trỏ tới (MediaBlobStore).
+ * 2. Đối chiếu file trong files/audio, files/images (upload trước v10, lưu theo tên) và
+ *    files/media (blob không có row) với DB - theo batch, tối đa MAX_FILES_PER_RUN file,
+ *    tiếp tục từ cursor của lần trước nên thư viện lớn được quét dần qua nhiều lần chạy.
+ * 3. Xoá file upload dở và marker upload đã quá hạn.
+ * File mới hơn ORPHAN_GRACE_MS không bao giờ bị xoá, tránh đụng file đang được ghi/insert.
+ */
+public class MediaGcWorker extends Worker {
+
+    private static final String TAG = "MediaGcWorker";
+
+    private static final String UNIQUE_WORK_NAME = "media-gc";
+    private static final int BATCH_SIZE = 200;
+    private static final int MAX_FILES_PER_RUN = 2_000;
+    private static final long ORPHAN_GRACE_MS = TimeUnit.DAYS.toMillis(1);
+    // SongUploadWorker bỏ cuộc sau vài lần retry, WorkManager giữ kết quả work khoảng 1 ngày
+    private static final long ABANDONED_UPLOAD_MS = TimeUnit.DAYS.toMillis(7);
+    private static final String[] LEGACY_DIRS = {"audio", "images"};
+    private static final String UPLOAD_MARKER_DIR = "uploads";
+
+    private static final String PREFS_NAME = "media_gc";
+    private static final String KEY_CURSOR = "cursor";
+    private static final String KEY_TOTAL_RECLAIMED = "total_bytes_reclaimed";
+
+    public static final String KEY_BYTES_RECLAIMED = "bytes_reclaimed";
+    public static final String KEY_FILES_SCANNED = "files_scanned";
+
+    public MediaGcWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Lên lịch chạy hằng ngày (idempotent - lịch đã có thì giữ nguyên)
+     */
+    public static void schedule(Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiresCharging(true)
+                .setRequiresDeviceIdle(true)
+                .build();
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(MediaGcWorker.class, 1, TimeUnit.DAYS)
+                .setConstraints(constraints)
+                .build();
+        WorkManager.getInstance(context)
+                .enqueueUniquePeriodicWork(UNIQUE_WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        Context context = getApplicationContext();
+        MediaBlobDao mediaBlobDao = AppDatabase.getInstance(context).mediaBlobDao();
+        MediaBlobStore blobStore = MediaBlobStore.getInstance(context);
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        long cutoff = System.currentTimeMillis() - ORPHAN_GRACE_MS;
+        long start = System.currentTimeMillis();
+
+        try {
+            int drifted = mediaBlobDao.repairDeletionCandidates();
+            if (drifted > 0) {
+                Log.w(TAG, "Repaired " + drifted + " media ref counts");
+            }
+            long reclaimed = blobStore.reclaimUnreferenced();
+
+            // Quét incremental theo thứ tự path, tiếp từ cursor
+            String cursor = prefs.getString(KEY_CURSOR, "");
+            List<File> candidates = listCandidates(context, blobStore, cursor);
+            int scanned = 0;
+            String lastPath = cursor;
+            for (int from = 0; from < candidates.size() && !isStopped(); from += BATCH_SIZE) {
+                List<File> batch = candidates.subList(from, Math.min(from + BATCH_SIZE, candidates.size()));
+                reclaimed += collectBatch(context, batch, mediaBlobDao, blobStore, cutoff);
+                scanned += batch.size();
+                lastPath = batch.get(batch.size() - 1).getAbsolutePath();
+            }
+            // Hết danh sách thì lần sau quét lại từ đầu
+            boolean reachedEnd = scanned == candidates.size() && candidates.size() < MAX_FILES_PER_RUN;
+            prefs.edit().putString(KEY_CURSOR, reachedEnd ? "" : lastPath).apply();
+
+            reclaimed += deleteOlderThan(blobStore.getTempDir(), System.currentTimeMillis() - ABANDONED_UPLOAD_MS);
+            reclaimed += deleteOlderThan(new File(context.getNoBackupFilesDir(), UPLOAD_MARKER_DIR),
+                    System.currentTimeMillis() - ABANDONED_UPLOAD_MS);
+
+            long total = prefs.getLong(KEY_TOTAL_RECLAIMED, 0) + reclaimed;
+            prefs.edit().putLong(KEY_TOTAL_RECLAIMED, total).apply();
+            Log.d(TAG, "Scanned " + scanned + " files, reclaimed " + FileUtils.formatFileSize(reclaimed)
+                    + " (total " + FileUtils.formatFileSize(total) + ") in "
+                    + (System.currentTimeMillis() - start) + "ms");
+
+            return Result.success(new Data.Builder()
+                    .putLong(KEY_BYTES_RECLAIMED, reclaimed)
+                    .putInt(KEY_FILES_SCANNED, scanned)
+                    .build());
+        } catch (Exception e) {
+            Log.e(TAG, "Error collecting orphaned media", e);
+            return Result.retry();
+        }
+    }
+
+    /**
+     * File media (legacy + store, không gồm tmp) có path sau cursor, tối đa MAX_FILES_PER_RUN
+     */
+    private static List<File> listCandidates(Context context, MediaBlobStore blobStore, String cursor) {
+        List<File> files = new ArrayList<>();
+        for (String dirName : LEGACY_DIRS) {
+            addFiles(new File(context.getFilesDir(), dirName), files);
+        }
+        File[] shards = blobStore.getStoreDir().listFiles();
+        if (shards != null) {
+            for (File shard : shards) {
+                if (shard.isDirectory() && !shard.equals(blobStore.getTempDir())) {
+                    addFiles(shard, files);
+                }
+            }
+        }
+
+        Collections.sort(files);
+        List<File> candidates = new ArrayList<>();
+        for (File file : files) {
+            if (file.getAbsolutePath().compareTo(cursor) > 0) {
+                candidates.add(file);
+                if (candidates.size() == MAX_FILES_PER_RUN) {
+                    break;
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static void addFiles(File dir, List<File> out) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isFile()) {
+                out.add(file);
+            }
+        }
+    }
+
+    /**
+     * Legacy file: xoá nếu không còn songs/users trỏ tới. File trong store: xoá nếu không có row blob.
+     */
+    private static long collectBatch(Context context, List<File> batch, MediaBlobDao mediaBlobDao,
+                                     MediaBlobStore blobStore, long cutoff) {
+        List<File> legacyFiles = new ArrayList<>();
+        List<File> storeFiles = new ArrayList<>();
+        for (File file : batch) {
+            if (blobStore.isStorePath(file.getAbsolutePath())) {
+                storeFiles.add(file);
+            } else {
+                legacyFiles.add(file);
+            }
+        }
+
+        long freedBytes = 0;
+        if (!storeFiles.isEmpty()) {
+            freedBytes += blobStore.deleteUntrackedFiles(storeFiles, cutoff);
+        }
+        if (!legacyFiles.isEmpty()) {
+            List<String> paths = new ArrayList<>(legacyFiles.size());
+            for (File file : legacyFiles) {
+                paths.add(file.getAbsolutePath());
+            }
+            Set<String> referenced = new HashSet<>(mediaBlobDao.findReferencedPathsSync(paths));
+            for (File file : legacyFiles) {
+                if (referenced.contains(file.getAbsolutePath()) || file.lastModified() >= cutoff) {
+                    continue;
+                }
+                long size = file.length();
+                if (file.delete()) {
+                    freedBytes += size;
+                    CoverThumbnails.delete(context, file.getAbsolutePath());
+                }
+            }
+        }
+        return freedBytes;
+    }
+
+    private static long deleteOlderThan(File dir, long modifiedBefore) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return 0;
+        }
+        long freedBytes = 0;
+        for (File file : files) {
+            if (file.isFile() && file.lastModified() < modifiedBefore) {
+                long size = file.length();
+                if (file.delete()) {
+                    freedBytes += size;
+                }
+            }
+        }
+        return freedBytes;
+    }
+}
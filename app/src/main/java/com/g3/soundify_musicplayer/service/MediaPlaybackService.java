@@ -22,6 +22,11 @@ import com.g3.soundify_musicplayer.R;
 import com.g3.soundify_musicplayer.ui.main.MainActivity;
 import com.g3.soundify_musicplayer.data.entity.Song;
 import com.g3.soundify_musicplayer.data.entity.User;
+import com.g3.soundify_musicplayer.data.model.MediaPlayerState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Service quản lý ExoPlayer và duy trì playback state toàn cục
@@ -40,9 +45,10 @@ public class MediaPlaybackService extends Service {
         void onPlaybackStateChanged(boolean isPlaying);
 
         /**
-         * Báo cáo vị trí và duration hiện tại (gọi liên tục khi đang phát)
+         * Báo cáo vị trí hiện tại dạng snapshot bất biến (main thread).
+         * Tần suất do PositionUpdateEngine quyết định, chỉ gọi khi giá trị thay đổi
          */
-        void onPositionChanged(long currentPosition, long duration);
+        void onPositionChanged(MediaPlayerState.PositionSnapshot snapshot);
 
         /**
          * Báo cáo khi bài hát thay đổi
@@ -50,7 +56,12 @@ public class MediaPlaybackService extends Service {
         void onSongChanged(Song song, User artist);
 
         /**
-         * Báo cáo khi bài hát kết thúc (để tự động next)
+         * Báo cáo khi ExoPlayer tự chuyển sang bài kế tiếp trong playlist (gapless)
+         */
+        void onTrackAdvanced(int index);
+
+        /**
+         * Báo cáo khi phát hết playlist
          */
         void onSongCompleted();
 
@@ -72,9 +83,13 @@ public class MediaPlaybackService extends Service {
     // Main thread handler for ExoPlayer operations
     private Handler mainHandler;
 
-    // Progress update handler
-    private Handler progressHandler;
-    private Runnable progressRunnable;
+    // Phát vị trí theo tần suất của UI đang hiển thị (thay cho polling cố định 1s)
+    private PositionUpdateEngine positionEngine;
+
+    // Danh sách phát theo index của Repository (chỉ truy cập trên main thread)
+    private final List<Song> playlistSongs = new ArrayList<>();
+    // Bài không có audio_url không được nạp vào ExoPlayer: player index -> index trong playlistSongs (tăng dần)
+    private final List<Integer> playerToQueueIndex = new ArrayList<>();
 
     // Current playback state
     private Song currentSong;
@@ -93,9 +108,8 @@ public class MediaPlaybackService extends Service {
     @Override
     public void onCreate() {
         super.onCreate();
-        // mainHandler và progressHandler đảm bảo ExoPlayer operations chạy trên Main Thread
+        // mainHandler đảm bảo ExoPlayer operations chạy trên Main Thread
         mainHandler = new Handler(Looper.getMainLooper());
-        progressHandler = new Handler(Looper.getMainLooper());
         initializePlayer();
         createNotificationChannel();
     }
@@ -104,8 +118,32 @@ public class MediaPlaybackService extends Service {
      * Khởi tạo ExoPlayer
      */
     private void initializePlayer() {
+        // Bài nào cũng là file local: đọc thẳng, bài kế tiếp được AudioPrefetcher đọc trước
         exoPlayer = new ExoPlayer.Builder(this).build();
 
+        positionEngine = new PositionUpdateEngine(
+                new PositionUpdateEngine.PositionSource() {
+                    @Override
+                    public long getCurrentPosition() {
+                        return exoPlayer.getCurrentPosition();
+                    }
+
+                    @Override
+                    public long getDuration() {
+                        return exoPlayer.getDuration();
+                    }
+
+                    @Override
+                    public long getBufferedPosition() {
+                        return exoPlayer.getBufferedPosition();
+                    }
+                },
+                snapshot -> {
+                    if (playbackStateListener != null) {
+                        playbackStateListener.onPositionChanged(snapshot);
+                    }
+                });
+
         exoPlayer.addListener(new Player.Listener() {
             @Override
             public void onPlaybackStateChanged(int playbackState) {
@@ -117,15 +155,39 @@ public class MediaPlaybackService extends Service {
                 }
 
                 // Start/stop progress updates
-                if (isPlaying) {
-                    startProgressUpdates();
-                } else {
-                    stopProgressUpdates();
+                positionEngine.setPlaying(isPlaying);
+
+                // Hết playlist (chuyển bài giữa chừng do ExoPlayer tự xử lý gapless)
+                if (playbackState == Player.STATE_ENDED && playbackStateListener != null) {
+                    playbackStateListener.onSongCompleted();
                 }
 
                 updateNotification();
             }
 
+            @Override
+            public void onMediaItemTransition(@Nullable MediaItem mediaItem, int reason) {
+                // Chỉ xử lý chuyển bài tự động; seek/playIndex đã tự cập nhật state
+                if (reason != Player.MEDIA_ITEM_TRANSITION_REASON_AUTO
+                        && reason != Player.MEDIA_ITEM_TRANSITION_REASON_REPEAT) {
+                    return;
+                }
+
+                int index = toQueueIndex(exoPlayer.getCurrentMediaItemIndex());
+                if (index < 0) {
+                    return;
+                }
+
+                currentSong = playlistSongs.get(index);
+                currentArtist = null;
+                updateNotification();
+
+                if (playbackStateListener != null) {
+                    playbackStateListener.onTrackAdvanced(index);
+                    playbackStateListener.onSongChanged(currentSong, null);
+                }
+            }
+
             @Override
             public void onPlayWhenReadyChanged(boolean playWhenReady, int reason) {
                 boolean isPlaying = playWhenReady && exoPlayer.getPlaybackState() == Player.STATE_READY;
@@ -135,56 +197,202 @@ public class MediaPlaybackService extends Service {
                 }
 
                 // Start/stop progress updates
-                if (isPlaying) {
-                    startProgressUpdates();
-                } else {
-                    stopProgressUpdates();
-                }
+                positionEngine.setPlaying(isPlaying);
 
                 updateNotification();
             }
         });
     }
 
+    /**
+     * Phát một bài hát đơn lẻ (playlist 1 phần tử)
+     */
     public void playSong(Song song, User artist) {
         if (song == null || song.getAudioUrl() == null) {
             return;
         }
+        List<Song> single = new ArrayList<>();
+        single.add(song);
+        setPlaylist(single, 0, artist);
+    }
 
-        currentSong = song;
-        currentArtist = artist;
+    /**
+     * Nạp toàn bộ danh sách vào ExoPlayer dưới dạng playlist MediaItem.
+     * ExoPlayer tự buffer bài kế tiếp khi bài hiện tại đã load xong, nên chuyển bài
+     * không có khoảng lặng (gapless) và next bắt đầu ngay lập tức.
+     * Chỉ gọi khi danh sách thay đổi; chuyển bài trong cùng danh sách dùng playIndex().
+     */
+    public void setPlaylist(List<Song> songs, int startIndex, User artist) {
+        setPlaylist(songs, startIndex, artist, 0);
+    }
+
+    /**
+     * Như setPlaylist() nhưng bắt đầu từ startPositionMs (khôi phục phiên sau khi process bị kill)
+     */
+    public void setPlaylist(List<Song> songs, int startIndex, User artist, long startPositionMs) {
+        if (songs == null || songs.isEmpty() || startIndex < 0 || startIndex >= songs.size()) {
+            return;
+        }
+
+        final List<Song> snapshot = new ArrayList<>(songs);
 
         // Đảm bảo tất cả ExoPlayer operations chạy trên main thread
         mainHandler.post(() -> {
             try {
-                // Tạo MediaItem từ URL
-                MediaItem mediaItem = MediaItem.fromUri(song.getAudioUrl());
-
-                // QUAN TRỌNG: Luôn stop và reset trước khi phát bài mới/cũ
-                exoPlayer.stop();
-                exoPlayer.clearMediaItems();
+                playlistSongs.clear();
+                playlistSongs.addAll(snapshot);
+                rebuildIndexMap();
+
+                // Một bài hỏng không được làm hỏng cả playlist: bỏ qua bài không có audio
+                List<MediaItem> mediaItems = new ArrayList<>(playerToQueueIndex.size());
+                for (int queueIndex : playerToQueueIndex) {
+                    mediaItems.add(buildMediaItem(playlistSongs.get(queueIndex)));
+                }
+                int queueStart = nextPlayableIndex(startIndex);
+                if (queueStart < 0) {
+                    android.util.Log.w("MediaPlaybackService", "No playable song in playlist");
+                    return;
+                }
 
-                // Set media item và bắt đầu phát từ đầu
-                exoPlayer.setMediaItem(mediaItem);
+                // Thay toàn bộ playlist và bắt đầu phát từ đầu bài được chọn
+                long startPosition = queueStart == startIndex ? Math.max(0, startPositionMs) : 0;
+                exoPlayer.setMediaItems(mediaItems, toPlayerIndex(queueStart), startPosition);
                 exoPlayer.prepare();
-                exoPlayer.seekTo(0); // Đảm bảo bắt đầu từ đầu
                 exoPlayer.setPlayWhenReady(true);
 
-                // Start foreground service với notification (chỉ khi cần)
-                startForegroundService();
+                onCurrentItemChanged(queueStart, artist);
+                if (queueStart != startIndex && playbackStateListener != null) {
+                    playbackStateListener.onTrackAdvanced(queueStart);
+                }
+            } catch (Exception e) {
+                android.util.Log.e("MediaPlaybackService", "Error setting playlist", e);
+            }
+        });
+    }
 
-                // Thông báo UI về bài hát mới (luôn gọi để refresh UI)
-                if (playbackStateListener != null) {
-                    playbackStateListener.onSongChanged(song, artist);
-                } else {
-                    android.util.Log.w("MediaPlaybackService", "playbackStateListener is NULL!");
+    /**
+     * Chuyển đến bài ở vị trí index trong playlist hiện tại (không re-prepare, không teardown)
+     */
+    public void playIndex(int index, User artist) {
+        mainHandler.post(() -> {
+            try {
+                if (index < 0 || index >= playlistSongs.size()) {
+                    android.util.Log.w("MediaPlaybackService", "Invalid playlist index: " + index);
+                    return;
+                }
+                int queueIndex = nextPlayableIndex(index);
+                if (queueIndex < 0) {
+                    android.util.Log.w("MediaPlaybackService", "No playable song from index " + index);
+                    return;
+                }
+
+                exoPlayer.seekTo(toPlayerIndex(queueIndex), 0);
+                exoPlayer.setPlayWhenReady(true);
+
+                onCurrentItemChanged(queueIndex, artist);
+                if (queueIndex != index && playbackStateListener != null) {
+                    playbackStateListener.onTrackAdvanced(queueIndex);
                 }
             } catch (Exception e) {
-                android.util.Log.e("MediaPlaybackService", "Error playing song", e);
+                android.util.Log.e("MediaPlaybackService", "Error playing index " + index, e);
             }
         });
     }
 
+    /**
+     * Di chuyển bài trong playlist (drag & drop ở Queue) - giữ đồng bộ với Repository
+     */
+    public void moveItem(int fromIndex, int toIndex) {
+        mainHandler.post(() -> {
+            if (fromIndex < 0 || fromIndex >= playlistSongs.size()
+                    || toIndex < 0 || toIndex >= playlistSongs.size()) {
+                return;
+            }
+            int playerFrom = toPlayerIndex(fromIndex);
+            playlistSongs.add(toIndex, playlistSongs.remove(fromIndex));
+            rebuildIndexMap();
+            if (playerFrom >= 0) {
+                exoPlayer.moveMediaItem(playerFrom, toPlayerIndex(toIndex));
+            }
+        });
+    }
+
+    /**
+     * Số bài trong danh sách phát (gồm cả bài không phát được)
+     */
+    public int getPlaylistSize() {
+        return playlistSongs.size();
+    }
+
+    private static boolean isPlayable(Song song) {
+        return song.getAudioUrl() != null && !song.getAudioUrl().trim().isEmpty();
+    }
+
+    private void rebuildIndexMap() {
+        playerToQueueIndex.clear();
+        for (int i = 0; i < playlistSongs.size(); i++) {
+            if (isPlayable(playlistSongs.get(i))) {
+                playerToQueueIndex.add(i);
+            }
+        }
+    }
+
+    /**
+     * Index trong ExoPlayer của bài ở queueIndex, -1 nếu bài đó không được nạp
+     */
+    private int toPlayerIndex(int queueIndex) {
+        int playerIndex = Collections.binarySearch(playerToQueueIndex, queueIndex);
+        return playerIndex >= 0 ? playerIndex : -1;
+    }
+
+    private int toQueueIndex(int playerIndex) {
+        return playerIndex >= 0 && playerIndex < playerToQueueIndex.size()
+                ? playerToQueueIndex.get(playerIndex) : -1;
+    }
+
+    /**
+     * Bài phát được đầu tiên từ queueIndex trở đi (không có thì tìm ngược lại), -1 nếu không còn bài nào
+     */
+    private int nextPlayableIndex(int queueIndex) {
+        if (playerToQueueIndex.isEmpty()) {
+            return -1;
+        }
+        int insertion = Collections.binarySearch(playerToQueueIndex, queueIndex);
+        if (insertion >= 0) {
+            return queueIndex;
+        }
+        int next = -insertion - 1;
+        return next < playerToQueueIndex.size()
+                ? playerToQueueIndex.get(next)
+                : playerToQueueIndex.get(playerToQueueIndex.size() - 1);
+    }
+
+    private MediaItem buildMediaItem(Song song) {
+        return new MediaItem.Builder()
+                .setMediaId(String.valueOf(song.getId()))
+                .setUri(song.getAudioUrl())
+                .build();
+    }
+
+    /**
+     * Cập nhật bài hiện tại + notification và báo cho Repository (main thread)
+     */
+    private void onCurrentItemChanged(int index, User artist) {
+        currentSong = playlistSongs.get(index);
+        currentArtist = artist;
+
+        // Start foreground service với notification (chỉ khi cần)
+        startForegroundService();
+
+        // Thông báo UI về bài hát mới (luôn gọi để refresh UI)
+        if (playbackStateListener != null) {
+            playbackStateListener.onSongChanged(currentSong, artist);
+        } else {
+            android.util.Log.w("MediaPlaybackService", "playbackStateListener is NULL!");
+        }
+        positionEngine.publishNow();
+    }
+
     /**
      * Lấy current song
      */
@@ -226,6 +434,7 @@ public class MediaPlaybackService extends Service {
                     if (wasPlaying) {
                         exoPlayer.setPlayWhenReady(true);
                     }
+                    positionEngine.publishNow();
                 } else {
                     android.util.Log.w("MediaPlaybackService", "Invalid seek position: " + positionMs);
                 }
@@ -355,38 +564,15 @@ public class MediaPlaybackService extends Service {
     }
 
     /**
-     * Start progress updates
+     * Đổi tần suất cập nhật vị trí (FRAME khi FullPlayer hiển thị, COARSE cho MiniPlayer,
+     * NONE khi không còn UI nào hiển thị)
      */
-    private void startProgressUpdates() {
-        stopProgressUpdates(); // Stop any existing updates
-
-        progressRunnable = new Runnable() {
-            @Override
-            public void run() {
-                if (exoPlayer != null && playbackStateListener != null) {
-                    long currentPosition = exoPlayer.getCurrentPosition();
-                    long duration = exoPlayer.getDuration();
-                    playbackStateListener.onPositionChanged(currentPosition, duration);
-                }
-
-                // Schedule next update
-                if (progressRunnable != null) {
-                    progressHandler.postDelayed(this, 1000); // Update every second
-                }
+    public void setPositionUpdateRate(PositionUpdateEngine.Rate rate) {
+        mainHandler.post(() -> {
+            if (positionEngine != null) {
+                positionEngine.setRate(rate);
             }
-        };
-
-        progressHandler.post(progressRunnable);
-    }
-
-    /**
-     * Stop progress updates
-     */
-    private void stopProgressUpdates() {
-        if (progressRunnable != null) {
-            progressHandler.removeCallbacks(progressRunnable);
-            progressRunnable = null;
-        }
+        });
     }
 
     /**
@@ -405,7 +591,8 @@ public class MediaPlaybackService extends Service {
                     if (currentSong != null) {
                         listener.onSongChanged(currentSong, currentArtist);
                     }
-                    listener.onPositionChanged(exoPlayer.getCurrentPosition(), exoPlayer.getDuration());
+                    positionEngine.release(); // reset distinct để listener mới nhận snapshot đầu tiên
+                    positionEngine.setPlaying(exoPlayer.isPlaying());
                 }
             });
         }
@@ -435,7 +622,9 @@ public class MediaPlaybackService extends Service {
     @Override
     public void onDestroy() {
         super.onDestroy();
-        stopProgressUpdates();
+        if (positionEngine != null) {
+            positionEngine.release();
+        }
         if (exoPlayer != null) {
             exoPlayer.release();
         }
@@ -0,0 +1,133 @@
+package com.g3.soundify_musicplayer.service;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteConstraintException;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.g3.soundify_musicplayer.data.dao.SongMetadataDao;
+import com.g3.soundify_musicplayer.data.database.AppDatabase;
+import com.g3.soundify_musicplayer.data.entity.Song;
+import com.g3.soundify_musicplayer.data.entity.SongMetadata;
+import com.g3.soundify_musicplayer.utils.AudioMetadataExtractor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extract metadata cho bài upload trước khi có song_metadata (hoặc từ extractor version cũ).
+ *
+ * Throttled: mỗi lần chạy tối đa MAX_SONGS_PER_RUN bài, nghỉ giữa các bài, chỉ chạy khi pin
+ * không yếu. Còn bài thì tự xếp lượt tiếp theo (APPEND) sau một khoảng nghỉ.
+ * Bài không đọc được vẫn được ghi một row (các cột null) để không bị đọc lại mãi.
+ */
+public class MetadataBackfillWorker extends Worker {
+
+    private static final String TAG = "MetadataBackfillWorker";
+
+    private static final String UNIQUE_WORK_NAME = "metadata-backfill";
+    private static final int BATCH_SIZE = 20;
+    private static final int MAX_SONGS_PER_RUN = 100;
+    private static final long PAUSE_BETWEEN_SONGS_MS = 200;
+    private static final long NEXT_RUN_DELAY_MINUTES = 15;
+
+    public MetadataBackfillWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Gọi lúc app khởi động - không làm gì nếu backfill đang chờ/chạy
+     */
+    public static void schedule(Context context) {
+        enqueue(context, ExistingWorkPolicy.KEEP, 0);
+    }
+
+    private static void enqueue(Context context, ExistingWorkPolicy policy, long delayMinutes) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(MetadataBackfillWorker.class)
+                .setConstraints(new Constraints.Builder().setRequiresBatteryNotLow(true).build())
+                .setInitialDelay(delayMinutes, TimeUnit.MINUTES)
+                .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(UNIQUE_WORK_NAME, policy, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        Context context = getApplicationContext();
+        SongMetadataDao songMetadataDao = AppDatabase.getInstance(context).songMetadataDao();
+        long start = System.currentTimeMillis();
+        int processed = 0;
+        long afterId = 0;
+
+        try {
+            while (processed < MAX_SONGS_PER_RUN) {
+                List<Song> songs = songMetadataDao.getSongsNeedingExtractionSync(
+                        AudioMetadataExtractor.VERSION, afterId, BATCH_SIZE);
+                if (songs.isEmpty()) {
+                    break;
+                }
+                for (Song song : songs) {
+                    if (isStopped()) {
+                        // Các bài đã xong được ghi từng bài, lượt sau làm tiếp phần còn lại
+                        return Result.retry();
+                    }
+                    extractAndSave(context, songMetadataDao, song);
+                    afterId = song.getId();
+                    if (++processed >= MAX_SONGS_PER_RUN) {
+                        break;
+                    }
+                    Thread.sleep(PAUSE_BETWEEN_SONGS_MS);
+                }
+            }
+            boolean moreRemaining = processed >= MAX_SONGS_PER_RUN && !songMetadataDao
+                    .getSongsNeedingExtractionSync(AudioMetadataExtractor.VERSION, afterId, 1).isEmpty();
+
+            Log.d(TAG, "Extracted metadata for " + processed + " songs in "
+                    + (System.currentTimeMillis() - start) + "ms" + (moreRemaining ? ", more remaining" : ""));
+            if (moreRemaining) {
+                // APPEND_OR_REPLACE: lượt sau chạy sau khi work hiện tại kết thúc
+                enqueue(context, ExistingWorkPolicy.APPEND_OR_REPLACE, NEXT_RUN_DELAY_MINUTES);
+            }
+            return Result.success();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        } catch (Exception e) {
+            Log.e(TAG, "Error backfilling song metadata", e);
+            return Result.retry();
+        }
+    }
+
+    private static void extractAndSave(Context context, SongMetadataDao songMetadataDao, Song song) {
+        String audioUrl = song.getAudioUrl();
+        SongMetadata metadata;
+        if (audioUrl == null || audioUrl.startsWith("http://") || audioUrl.startsWith("https://")) {
+            // Không tải file từ mạng chỉ để đọc tag: ghi row rỗng
+            metadata = new SongMetadata();
+            metadata.setExtractorVersion(AudioMetadataExtractor.VERSION);
+            metadata.setExtractedAt(System.currentTimeMillis());
+        } else {
+            metadata = AudioMetadataExtractor.extract(context, AudioMetadataExtractor.toUri(audioUrl), null);
+        }
+        metadata.setSongId(song.getId());
+
+        try {
+            AppDatabase.getInstance(context).runInTransaction(() -> {
+                songMetadataDao.upsert(metadata);
+                if (metadata.getDurationMs() != null && metadata.getDurationMs() > 0) {
+                    songMetadataDao.fillMissingDuration(song.getId(), metadata.getDurationMs().intValue());
+                }
+            });
+        } catch (SQLiteConstraintException e) {
+            // Bài bị xoá trong lúc đang đọc file
+            Log.d(TAG, "Song " + song.getId() + " deleted during extraction");
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.g3.soundify_musicplayer.service;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import com.g3.soundify_musicplayer.data.model.MediaPlayerState;
+
+/**
+ * Phát vị trí playback với tần suất tuỳ theo ai đang xem:
+ * FRAME - đồng bộ theo frame (Choreographer) khi seekbar của FullPlayer đang hiển thị,
+ * COARSE - 1 giây/lần cho MiniPlayer, NONE - không tick khi app ở background.
+ * Mọi method chỉ được gọi trên main thread (cùng thread với ExoPlayer).
+ */
+public final class PositionUpdateEngine {
+
+    /**
+     * Tần suất cập nhật, sắp theo thứ tự tăng dần - nhiều subscriber thì lấy mức cao nhất
+     */
+    public enum Rate {
+        NONE,
+        COARSE,
+        FRAME;
+
+        public static Rate max(Rate a, Rate b) {
+            return a.ordinal() >= b.ordinal() ? a : b;
+        }
+    }
+
+    /**
+     * Nguồn đọc vị trí (ExoPlayer)
+     */
+    interface PositionSource {
+        long getCurrentPosition();
+        long getDuration();
+        long getBufferedPosition();
+    }
+
+    /**
+     * Nơi nhận snapshot mới
+     */
+    interface PositionSink {
+        void onPosition(MediaPlayerState.PositionSnapshot snapshot);
+    }
+
+    private static final long COARSE_INTERVAL_MS = 1000;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final PositionSource source;
+    private final PositionSink sink;
+
+    private Rate rate = Rate.NONE;
+    private boolean playing = false;
+    private boolean ticking = false;
+    private MediaPlayerState.PositionSnapshot lastPublished;
+
+    private final Choreographer.FrameCallback frameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            if (!ticking) {
+                return;
+            }
+            publish();
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    };
+
+    private final Runnable coarseRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (!ticking) {
+                return;
+            }
+            publish();
+            handler.postDelayed(this, COARSE_INTERVAL_MS);
+        }
+    };
+
+    PositionUpdateEngine(PositionSource source, PositionSink sink) {
+        this.source = source;
+        this.sink = sink;
+    }
+
+    /**
+     * Đổi tần suất theo subscriber hiện tại (MediaPlayerRepository tổng hợp)
+     */
+    void setRate(Rate newRate) {
+        if (newRate == null) {
+            newRate = Rate.NONE;
+        }
+        if (rate == newRate) {
+            return;
+        }
+        rate = newRate;
+        reschedule();
+    }
+
+    Rate getRate() {
+        return rate;
+    }
+
+    /**
+     * Bật/tắt tick theo trạng thái phát. Luôn publish một mẫu tại thời điểm chuyển trạng thái
+     * để vị trí đúng cả khi không ai subscribe (pause ở background, previous > 3s...)
+     */
+    void setPlaying(boolean isPlaying) {
+        playing = isPlaying;
+        publish();
+        reschedule();
+    }
+
+    /**
+     * Publish ngay vị trí hiện tại (sau seek, đổi bài, đăng ký listener)
+     */
+    void publishNow() {
+        publish();
+    }
+
+    void release() {
+        stopTicking();
+        lastPublished = null;
+    }
+
+    private void reschedule() {
+        stopTicking();
+        if (!playing || rate == Rate.NONE) {
+            return;
+        }
+        ticking = true;
+        if (rate == Rate.FRAME) {
+            Choreographer.getInstance().postFrameCallback(frameCallback);
+        } else {
+            handler.post(coarseRunnable);
+        }
+    }
+
+    private void stopTicking() {
+        ticking = false;
+        Choreographer.getInstance().removeFrameCallback(frameCallback);
+        handler.removeCallbacks(coarseRunnable);
+    }
+
+    private void publish() {
+        MediaPlayerState.PositionSnapshot snapshot = new MediaPlayerState.PositionSnapshot(
+                source.getCurrentPosition(),
+                source.getDuration(),
+                source.getBufferedPosition());
+
+        // Distinct-until-changed: frame tick khi đang buffer/pause không tạo update thừa
+        if (snapshot.equals(lastPublished)) {
+            return;
+        }
+        lastPublished = snapshot;
+        sink.onPosition(snapshot);
+    }
+}
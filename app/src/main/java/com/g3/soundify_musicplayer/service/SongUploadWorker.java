@@ -0,0 +1,295 @@
+package com.g3.soundify_musicplayer.service;
+
+import android.app.Application;
+import android.content.Context;
+import android.content.Intent;
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.OutOfQuotaPolicy;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.g3.soundify_musicplayer.data.entity.Song;
+import com.g3.soundify_musicplayer.data.entity.SongMetadata;
+import com.g3.soundify_musicplayer.data.repository.SongRepository;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
+import com.g3.soundify_musicplayer.utils.AudioMetadataExtractor;
+import com.g3.soundify_musicplayer.utils.CoverThumbnails;
+import com.g3.soundify_musicplayer.utils.FileUtils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upload bài hát ở background qua WorkManager: copy audio (streaming, resume được),
+ * đọc metadata (AudioMetadataExtractor) song song với copy, copy ảnh bìa rồi insert bài hát
+ * cùng song_metadata vào DB. Không chọn ảnh bìa thì dùng ảnh nhúng trong file audio (nếu có);
+ * thumbnail của ảnh bìa được tạo luôn ở đây (CoverThumbnails).
+ *
+ * Work được WorkManager lưu lại, nên khi process bị kill giữa chừng nó chạy lại với cùng input:
+ * file tạm đặt tên theo uploadId nên bản copy dở được copy tiếp thay vì làm lại từ đầu, và
+ * marker "<uploadId>.done" ghi sau khi insert giúp bài hát không bị insert lần nữa.
+ * File audio/ảnh bìa được lưu trong MediaBlobStore (qua FileUtils), upload trùng nội dung dùng lại file cũ.
+ * URI nguồn phải có persistable read permission (ACTION_OPEN_DOCUMENT), xem {@link #enqueue}.
+ */
+public class SongUploadWorker extends Worker {
+
+    private static final String TAG = "SongUploadWorker";
+
+    public static final String WORK_TAG = "song-upload";
+    private static final String UNIQUE_WORK_PREFIX = "song-upload-";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String MARKER_DIR = "uploads";
+    private static final String MARKER_SUFFIX = ".done";
+    private static final String ARTWORK_DIR = "upload_artwork";
+
+    // Input
+    private static final String KEY_UPLOAD_ID = "upload_id";
+    private static final String KEY_UPLOADER_ID = "uploader_id";
+    private static final String KEY_AUDIO_URI = "audio_uri";
+    private static final String KEY_COVER_URI = "cover_uri";
+    private static final String KEY_TITLE = "title";
+    private static final String KEY_DESCRIPTION = "description";
+    private static final String KEY_GENRE = "genre";
+    private static final String KEY_IS_PUBLIC = "is_public";
+
+    // Progress / output
+    public static final String KEY_PROGRESS_PERCENT = "progress_percent";
+    public static final String KEY_SONG_ID = "song_id";
+    public static final String KEY_ERROR = "error";
+
+    private int lastReportedPercent = -1;
+
+    public SongUploadWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Đưa upload vào hàng đợi của WorkManager
+     *
+     * @return id của WorkRequest, dùng với WorkManager.getWorkInfoByIdLiveData
+     */
+    public static UUID enqueue(Context context, long uploaderId, Uri audioUri, @Nullable Uri coverArtUri,
+                               String title, String description, String genre, boolean isPublic) {
+        // Giữ quyền đọc qua process death - worker có thể chạy lại sau khi app bị kill
+        takeReadPermission(context, audioUri);
+        takeReadPermission(context, coverArtUri);
+
+        String uploadId = UUID.randomUUID().toString();
+        Data input = new Data.Builder()
+                .putString(KEY_UPLOAD_ID, uploadId)
+                .putLong(KEY_UPLOADER_ID, uploaderId)
+                .putString(KEY_AUDIO_URI, audioUri.toString())
+                .putString(KEY_COVER_URI, coverArtUri != null ? coverArtUri.toString() : null)
+                .putString(KEY_TITLE, title)
+                .putString(KEY_DESCRIPTION, description)
+                .putString(KEY_GENRE, genre)
+                .putBoolean(KEY_IS_PUBLIC, isPublic)
+                .build();
+
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(SongUploadWorker.class)
+                .setInputData(input)
+                .setConstraints(new Constraints.Builder().setRequiresStorageNotLow(true).build())
+                // Người dùng đang chờ: chạy ngay nếu còn quota, không thì như work thường
+                .setExpedited(OutOfQuotaPolicy.RUN_AS_NON_EXPEDITED_WORK_REQUEST)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 10, TimeUnit.SECONDS)
+                .addTag(WORK_TAG)
+                .build();
+
+        WorkManager.getInstance(context)
+                .enqueueUniqueWork(UNIQUE_WORK_PREFIX + uploadId, ExistingWorkPolicy.KEEP, request);
+        return request.getId();
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        Context context = getApplicationContext();
+        Data input = getInputData();
+        String uploadId = input.getString(KEY_UPLOAD_ID);
+        long uploaderId = input.getLong(KEY_UPLOADER_ID, -1);
+        Uri audioUri = Uri.parse(input.getString(KEY_AUDIO_URI));
+        String coverValue = input.getString(KEY_COVER_URI);
+        Uri coverArtUri = coverValue != null ? Uri.parse(coverValue) : null;
+
+        // Metadata đọc song song với copy (extractor đọc header/seek từ URI gốc).
+        // Ảnh nhúng chỉ được ghi ra khi người dùng không chọn ảnh bìa
+        File artworkFile = new File(new File(context.getCacheDir(), ARTWORK_DIR), uploadId);
+        Future<SongMetadata> metadataFuture = AppExecutors.getInstance().fileIo()
+                .submit(() -> AudioMetadataExtractor.extract(context, audioUri,
+                        coverArtUri == null ? artworkFile : null));
+
+        try {
+            long completedSongId = readCompletedSongId(context, uploadId);
+            if (completedSongId > 0) {
+                // Lần chạy trước đã insert xong nhưng bị kill trước khi WorkManager ghi nhận
+                return finish(context, audioUri, coverArtUri, Result.success(songOutput(completedSongId)));
+            }
+
+            String audioPath = FileUtils.copyToInternalStorage(context, audioUri, uploadId, true,
+                    new FileUtils.CopyListener() {
+                        @Override
+                        public void onProgress(long copiedBytes, long totalBytes) {
+                            reportProgress(copiedBytes, totalBytes);
+                        }
+
+                        @Override
+                        public boolean isCancelled() {
+                            return isStopped();
+                        }
+                    });
+
+            Song song = new Song(uploaderId, input.getString(KEY_TITLE), audioPath);
+            song.setDescription(input.getString(KEY_DESCRIPTION));
+            song.setGenre(input.getString(KEY_GENRE));
+            song.setPublic(input.getBoolean(KEY_IS_PUBLIC, true));
+            song.setCreatedAt(System.currentTimeMillis());
+
+            SongMetadata metadata = metadataFuture.get();
+            if (metadata.getDurationMs() != null && metadata.getDurationMs() > 0) {
+                song.setDurationMs(metadata.getDurationMs().intValue());
+            }
+
+            Uri coverSource = coverArtUri != null ? coverArtUri
+                    : artworkFile.exists() ? Uri.fromFile(artworkFile) : null;
+            if (coverSource != null) {
+                try {
+                    String coverPath = FileUtils.copyToInternalStorage(context, coverSource,
+                            uploadId + "_cover", false, null);
+                    // Thumbnail list / card / full player có sẵn trước khi bài hát xuất hiện trên UI
+                    CoverThumbnails.generate(context, coverPath);
+                    song.setCoverArtUrl(coverPath);
+                } catch (IOException e) {
+                    // Ảnh bìa là tùy chọn, không làm hỏng cả upload
+                    Log.e(TAG, "Error copying cover art", e);
+                }
+            }
+
+            long songId = new SongRepository((Application) context).insertWithMetadata(song, metadata).get();
+            writeCompletedSongId(context, uploadId, songId);
+            return finish(context, audioUri, coverArtUri, Result.success(songOutput(songId)));
+
+        } catch (InterruptedIOException e) {
+            // WorkManager dừng work (constraint, quota...) - .part được giữ lại, lần chạy sau copy tiếp
+            Log.d(TAG, "Upload " + uploadId + " stopped: " + e.getMessage());
+            return Result.retry();
+        } catch (FileNotFoundException | SecurityException e) {
+            // File nguồn bị xoá hoặc mất quyền đọc: retry không giúp được gì
+            Log.e(TAG, "Upload source no longer readable: " + audioUri, e);
+            return finish(context, audioUri, coverArtUri, failure("Không đọc được file audio"));
+        } catch (IOException | ExecutionException e) {
+            Log.e(TAG, "Error uploading song, attempt " + (getRunAttemptCount() + 1), e);
+            if (getRunAttemptCount() + 1 < MAX_ATTEMPTS) {
+                return Result.retry();
+            }
+            return finish(context, audioUri, coverArtUri, failure("Lỗi khi tải bài hát lên"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        } finally {
+            metadataFuture.cancel(true);
+            artworkFile.delete();
+        }
+    }
+
+    private void reportProgress(long copiedBytes, long totalBytes) {
+        if (totalBytes <= 0) {
+            return;
+        }
+        int percent = (int) (copiedBytes * 100 / totalBytes);
+        // Mỗi lần setProgress là một lần ghi DB của WorkManager - chỉ báo khi % thay đổi
+        if (percent != lastReportedPercent) {
+            lastReportedPercent = percent;
+            setProgressAsync(new Data.Builder().putInt(KEY_PROGRESS_PERCENT, percent).build());
+        }
+    }
+
+    private static File markerFile(Context context, String uploadId) {
+        return new File(new File(context.getNoBackupFilesDir(), MARKER_DIR), uploadId + MARKER_SUFFIX);
+    }
+
+    private static long readCompletedSongId(Context context, String uploadId) {
+        File marker = markerFile(context, uploadId);
+        if (!marker.exists()) {
+            return -1;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(marker))) {
+            return Long.parseLong(reader.readLine().trim());
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Unreadable upload marker " + marker, e);
+            return -1;
+        }
+    }
+
+    private static void writeCompletedSongId(Context context, String uploadId, long songId) {
+        File marker = markerFile(context, uploadId);
+        File parent = marker.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        try (FileWriter writer = new FileWriter(marker)) {
+            writer.write(Long.toString(songId));
+        } catch (IOException e) {
+            // Chỉ mất khả năng chống insert trùng nếu process bị kill ngay sau đây
+            Log.w(TAG, "Cannot write upload marker " + marker, e);
+        }
+    }
+
+    private static Data songOutput(long songId) {
+        return new Data.Builder().putLong(KEY_SONG_ID, songId).build();
+    }
+
+    private static Result failure(String error) {
+        return Result.failure(new Data.Builder().putString(KEY_ERROR, error).build());
+    }
+
+    /**
+     * Upload kết thúc hẳn (thành công hoặc lỗi không retry): trả lại quyền đọc URI
+     */
+    private static Result finish(Context context, Uri audioUri, @Nullable Uri coverArtUri, Result result) {
+        releaseReadPermission(context, audioUri);
+        releaseReadPermission(context, coverArtUri);
+        return result;
+    }
+
+    private static void takeReadPermission(Context context, @Nullable Uri uri) {
+        if (uri == null || !"content".equals(uri.getScheme())) {
+            return;
+        }
+        try {
+            context.getContentResolver().takePersistableUriPermission(uri, Intent.FLAG_GRANT_READ_URI_PERMISSION);
+        } catch (SecurityException e) {
+            // Provider không cho persistable permission: upload vẫn chạy, chỉ không resume được sau khi bị kill
+            Log.w(TAG, "Cannot persist read permission for " + uri);
+        }
+    }
+
+    private static void releaseReadPermission(Context context, @Nullable Uri uri) {
+        if (uri == null || !"content".equals(uri.getScheme())) {
+            return;
+        }
+        try {
+            context.getContentResolver().releasePersistableUriPermission(uri, Intent.FLAG_GRANT_READ_URI_PERMISSION);
+        } catch (SecurityException e) {
+            // Chưa từng được persist
+        }
+    }
+}
@@ -37,6 +37,8 @@ public class HomeFragment extends Fragment {
     private RecentSongWithUploaderInfoAdapter recentAdapter;
     private SongWithUploaderInfoAdapter suggestedAdapter;
 
+    private boolean reportedFullyDrawn = false;
+
     public HomeFragment() { super(R.layout.fragment_home); }
 
     @Override
@@ -174,6 +176,12 @@ public class HomeFragment extends Fragment {
             if (suggestedSongsWithUploader != null) {
                 suggestedAdapter.updateData(suggestedSongsWithUploader);
 
+                // Mốc "fully drawn" cho startup metrics: danh sách chính đã có dữ liệu
+                if (!reportedFullyDrawn) {
+                    reportedFullyDrawn = true;
+                    requireActivity().reportFullyDrawn();
+                }
+
                 // Adjust spacing based on item count
                 adjustSuggestedSongsSpacing(v, suggestedSongsWithUploader.size());
             } else {
@@ -24,6 +24,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.paging.LoadState;
 
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
@@ -37,6 +38,7 @@ import com.g3.soundify_musicplayer.R;
 import com.g3.soundify_musicplayer.ui.playlist.PlaylistWithSongCountAdapter;
 import com.g3.soundify_musicplayer.ui.song.SongAdapter;
 import com.g3.soundify_musicplayer.ui.song.SongWithUploaderInfoAdapter;
+import com.g3.soundify_musicplayer.ui.song.SongWithUploaderInfoPagingAdapter;
 import com.g3.soundify_musicplayer.data.entity.Song;
 import com.g3.soundify_musicplayer.data.dto.PlaylistWithSongCount;
 import com.g3.soundify_musicplayer.data.dto.SongWithUploaderInfo;
@@ -44,12 +46,16 @@ import com.g3.soundify_musicplayer.data.entity.User;
 
 import com.g3.soundify_musicplayer.ui.player.SongDetailViewModel;
 import com.g3.soundify_musicplayer.ui.playlist.PlaylistDetailFragment;
+import com.g3.soundify_musicplayer.utils.CoverThumbnails;
+import com.g3.soundify_musicplayer.utils.ImageLoader;
 import com.g3.soundify_musicplayer.viewmodel.HomeViewModel;
 import com.google.android.material.tabs.TabLayout;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import kotlin.Unit;
+
 /**
  * Library Fragment - Contains 3 sub-tabs: My Songs, My Playlists, Liked Songs
  * Updated to use real database data through LibraryViewModel
@@ -67,7 +73,7 @@ public class LibraryFragment extends Fragment {
     private Button buttonCreatePlaylist;
 
     // Adapters and ViewModel
-    private SongWithUploaderInfoAdapter mySongsAdapter;
+    private SongWithUploaderInfoPagingAdapter mySongsAdapter;
     private PlaylistWithSongCountAdapter myPlaylistsAdapter;
     private SongAdapter likedSongsAdapter;
     private LibraryViewModel libraryViewModel;
@@ -156,7 +162,7 @@ public class LibraryFragment extends Fragment {
     private void setupRecyclerViews() {
         // Setup My Songs RecyclerView with Uploader Info
         mySongsRecyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
-        mySongsAdapter = new SongWithUploaderInfoAdapter(new ArrayList<>(), new SongWithUploaderInfoAdapter.OnSongClick() {
+        mySongsAdapter = new SongWithUploaderInfoPagingAdapter(new SongWithUploaderInfoAdapter.OnSongClick() {
             @Override
             public void onPlay(SongWithUploaderInfo songInfo) {
                 // Track recently played
@@ -164,10 +170,8 @@ public class LibraryFragment extends Fragment {
 
                 showToast("Playing: " + songInfo.getTitle() + " by " + songInfo.getDisplayUploaderName());
 
-                // ✅ CONSISTENT: Use playFromView for all fragments
-                List<Song> allSongs = convertToSongs(mySongsAdapter.getCurrentData());
-                int position = findSongPosition(songInfo, mySongsAdapter.getCurrentData());
-                songDetailViewModel.playFromView(allSongs, "My Songs", position);
+                // ✅ CONSISTENT: Queue là toàn bộ My Songs, không chỉ các trang đã load
+                songDetailViewModel.playFromQuery(libraryViewModel.getMySongsQueueQuery(), "My Songs", songInfo.getId());
             }
 
             @Override
@@ -177,10 +181,8 @@ public class LibraryFragment extends Fragment {
 
                 showToast("Open detail: " + songInfo.getTitle() + " by " + songInfo.getDisplayUploaderName());
 
-                // ✅ CONSISTENT: Use playFromView for all fragments
-                List<Song> allSongs = convertToSongs(mySongsAdapter.getCurrentData());
-                int position = findSongPosition(songInfo, mySongsAdapter.getCurrentData());
-                songDetailViewModel.playFromView(allSongs, "My Songs", position);
+                // ✅ CONSISTENT: Queue là toàn bộ My Songs, không chỉ các trang đã load
+                songDetailViewModel.playFromQuery(libraryViewModel.getMySongsQueueQuery(), "My Songs", songInfo.getId());
             }
 
             @Override
@@ -195,6 +197,15 @@ public class LibraryFragment extends Fragment {
                 showDeleteSongConfirmation(songInfo);
             }
         });
+        // Enable owner options for My Songs (user owns all songs in this tab)
+        mySongsAdapter.setOwnerOptions(true, libraryViewModel.getCurrentUserId());
+        mySongsAdapter.addLoadStateListener(loadStates -> {
+            // Update empty state if this is the current tab
+            if (loadStates.getRefresh() instanceof LoadState.NotLoading && currentTab == TAB_MY_SONGS) {
+                updateEmptyState(mySongsAdapter.getItemCount() == 0, "No songs uploaded", "Upload your first song to see it here");
+            }
+            return Unit.INSTANCE;
+        });
         mySongsRecyclerView.setAdapter(mySongsAdapter);
 
         // Setup My Playlists RecyclerView with Song Count
@@ -258,20 +269,8 @@ public class LibraryFragment extends Fragment {
 
     private void observeViewModel() {
         // Observe My Songs with Uploader Info
-        libraryViewModel.getMySongsWithUploaderInfo().observe(getViewLifecycleOwner(), songsWithInfo -> {
-            if (songsWithInfo != null) {
-                mySongsAdapter.updateData(songsWithInfo);
-
-                // Enable owner options for My Songs (user owns all songs in this tab)
-                long currentUserId = libraryViewModel.getCurrentUserId();
-                mySongsAdapter.setOwnerOptions(true, currentUserId);
-
-                // Update empty state if this is the current tab
-                if (currentTab == TAB_MY_SONGS) {
-                    updateEmptyState(songsWithInfo.isEmpty(), "No songs uploaded", "Upload your first song to see it here");
-                }
-            }
-        });
+        libraryViewModel.getMySongsWithUploaderInfo().observe(getViewLifecycleOwner(),
+                pagingData -> mySongsAdapter.submitData(getViewLifecycleOwner().getLifecycle(), pagingData));
 
         // Observe My Playlists with Song Count
         libraryViewModel.getMyPlaylistsWithSongCount().observe(getViewLifecycleOwner(), playlistsWithSongCount -> {
@@ -579,21 +578,6 @@ public class LibraryFragment extends Fragment {
         return songs;
     }
 
-    /**
-     * Helper method để tìm position của song trong list
-     */
-    private int findSongPosition(SongWithUploaderInfo targetSong, List<SongWithUploaderInfo> songList) {
-        if (targetSong == null || songList == null) return 0;
-
-        for (int i = 0; i < songList.size(); i++) {
-            SongWithUploaderInfo song = songList.get(i);
-            if (song != null && song.getId() == targetSong.getId()) {
-                return i;
-            }
-        }
-        return 0; // Default to first position if not found
-    }
-
     /**
      * Helper method để tìm position của Song trong Song list
      */
@@ -793,15 +777,7 @@ public class LibraryFragment extends Fragment {
      * Load current cover art for the song
      */
     private void loadCurrentCoverArt(SongWithUploaderInfo songInfo, ImageView coverPreview) {
-        if (songInfo.getCoverArtUrl() != null && !songInfo.getCoverArtUrl().isEmpty()) {
-            // TODO: Use Glide or similar image loading library to load from URL
-            // For now, just set a placeholder or default image
-            // Glide.with(this).load(songInfo.getCoverArtUrl()).into(coverPreview);
-            android.util.Log.d("LibraryFragment", "Loading cover art from URL: " + songInfo.getCoverArtUrl());
-        } else {
-            // Set default cover art
-            coverPreview.setImageResource(R.drawable.splashi_icon);
-        }
+        ImageLoader.loadCover(coverPreview, songInfo.getCoverArtUrl(), CoverThumbnails.Variant.CARD);
     }
 
     /**
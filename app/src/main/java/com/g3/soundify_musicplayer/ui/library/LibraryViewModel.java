@@ -6,6 +6,8 @@ import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
 
 import com.g3.soundify_musicplayer.data.entity.Playlist;
 import com.g3.soundify_musicplayer.data.entity.Song;
@@ -15,11 +17,12 @@ import com.g3.soundify_musicplayer.data.repository.SongRepository;
 import com.g3.soundify_musicplayer.data.repository.PlaylistRepository;
 import com.g3.soundify_musicplayer.data.repository.MusicPlayerRepository;
 import com.g3.soundify_musicplayer.utils.AuthManager;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * ViewModel for Library Screen
@@ -29,7 +32,7 @@ public class LibraryViewModel extends AndroidViewModel {
 
     // LiveData for each tab
     private LiveData<List<Song>> mySongs;
-    private MutableLiveData<List<SongWithUploaderInfo>> mySongsWithUploaderInfo = new MutableLiveData<>();
+    private LiveData<PagingData<SongWithUploaderInfo>> mySongsWithUploaderInfo;
     private LiveData<List<Playlist>> myPlaylists;
     private MutableLiveData<List<PlaylistWithSongCount>> myPlaylistsWithSongCount = new MutableLiveData<>();
     private LiveData<List<Song>> likedSongs;
@@ -41,7 +44,7 @@ public class LibraryViewModel extends AndroidViewModel {
     private AuthManager authManager;
 
     // Executor for background tasks
-    private ExecutorService executor = Executors.newFixedThreadPool(2);
+    private ExecutorService executor = AppExecutors.getInstance().background();
 
     public static final int TAB_MY_PLAYLISTS = 1;
 
@@ -63,10 +66,18 @@ public class LibraryViewModel extends AndroidViewModel {
         loadLibraryData();
     }
 
-    public LiveData<List<SongWithUploaderInfo>> getMySongsWithUploaderInfo() {
+    public LiveData<PagingData<SongWithUploaderInfo>> getMySongsWithUploaderInfo() {
         return mySongsWithUploaderInfo;
     }
 
+    /**
+     * Query đọc toàn bộ My Songs (cùng thứ tự với list paged) làm queue phát nhạc
+     */
+    public Callable<List<Song>> getMySongsQueueQuery() {
+        long currentUserId = authManager.getCurrentUserId();
+        return () -> songRepository.getSongsByUploaderDirectly(currentUserId);
+    }
+
     public LiveData<List<PlaylistWithSongCount>> getMyPlaylistsWithSongCount() {
         return myPlaylistsWithSongCount;
     }
@@ -84,8 +95,9 @@ public class LibraryViewModel extends AndroidViewModel {
             // Load my songs (songs I uploaded)
             mySongs = songRepository.getSongsByUploader(currentUserId);
 
-            // Load my songs with uploader info
-            loadMySongsWithUploaderInfo(currentUserId);
+            // Load my songs with uploader info page by page (Room tự invalidate khi bảng songs đổi)
+            mySongsWithUploaderInfo = PagingLiveData.cachedIn(
+                    songRepository.getSongsByUploaderWithInfoPaged(currentUserId), this);
 
             // Load my playlists (playlists I created)
             myPlaylists = playlistRepository.getPlaylistsByOwner(currentUserId);
@@ -98,7 +110,7 @@ public class LibraryViewModel extends AndroidViewModel {
         } else {
             // User not logged in, show empty lists
             mySongs = new MutableLiveData<>(new ArrayList<>());
-            mySongsWithUploaderInfo.setValue(new ArrayList<>());
+            mySongsWithUploaderInfo = new MutableLiveData<>(PagingData.empty());
             myPlaylists = new MutableLiveData<>(new ArrayList<>());
             likedSongs = new MutableLiveData<>(new ArrayList<>());
         }
@@ -113,8 +125,8 @@ public class LibraryViewModel extends AndroidViewModel {
 
         switch (tabIndex) {
             case 0: // My Songs
+                // Paged list được Room invalidate, không cần load lại
                 mySongs = songRepository.getSongsByUploader(currentUserId);
-                loadMySongsWithUploaderInfo(currentUserId);
                 break;
             case 1: // My Playlists
                 myPlaylists = playlistRepository.getPlaylistsByOwner(currentUserId);
@@ -153,7 +165,7 @@ public class LibraryViewModel extends AndroidViewModel {
         errorMessage.setValue(null);
 
         // Create playlist in background thread
-        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newSingleThreadExecutor();
+        java.util.concurrent.ExecutorService executor = AppExecutors.getInstance().background();
         executor.execute(() -> {
             try {
                 // Create playlist entity
@@ -187,7 +199,7 @@ public class LibraryViewModel extends AndroidViewModel {
      * Load playlists with song count for current user
      */
     private void loadPlaylistsWithSongCount(long userId) {
-        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newSingleThreadExecutor();
+        java.util.concurrent.ExecutorService executor = AppExecutors.getInstance().background();
         executor.execute(() -> {
             try {
                 java.util.concurrent.Future<java.util.List<PlaylistWithSongCount>> future =
@@ -354,29 +366,6 @@ public class LibraryViewModel extends AndroidViewModel {
         }
     }
 
-    /**
-     * Load my songs with uploader information
-     */
-    private void loadMySongsWithUploaderInfo(long currentUserId) {
-        // Use executor to run in background thread
-        java.util.concurrent.Executor executor = java.util.concurrent.Executors.newSingleThreadExecutor();
-        executor.execute(() -> {
-            try {
-                // Get songs with uploader info from repository
-                java.util.concurrent.Future<java.util.List<SongWithUploaderInfo>> future =
-                    songRepository.getSongsByUploaderWithInfoSync(currentUserId);
-                java.util.List<SongWithUploaderInfo> songsWithInfo = future.get();
-
-                // Post to main thread
-                mySongsWithUploaderInfo.postValue(songsWithInfo);
-            } catch (Exception e) {
-                e.printStackTrace();
-                // Post empty list on error
-                mySongsWithUploaderInfo.postValue(new java.util.ArrayList<>());
-            }
-        });
-    }
-
     public LiveData<List<Song>> getMySongs() {
         return mySongs;
     }
@@ -11,6 +11,7 @@ import com.g3.soundify_musicplayer.data.entity.Song;
 import com.g3.soundify_musicplayer.data.dto.SongWithUploaderInfo;
 import com.g3.soundify_musicplayer.data.repository.MusicPlayerRepository;
 import com.g3.soundify_musicplayer.utils.AuthManager;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
 
 import java.util.List;
 
@@ -75,7 +76,7 @@ public class LikedSongPlaylistViewModel extends AndroidViewModel {
         
         if (currentUserId != -1) {
             // Test with executor to check database directly
-            java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newSingleThreadExecutor();
+            java.util.concurrent.ExecutorService executor = AppExecutors.getInstance().background();
             executor.execute(() -> {
                 try {
                     // Try to get song like info directly
@@ -2,6 +2,7 @@ package com.g3.soundify_musicplayer.ui.main;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Trace;
 
 import com.g3.soundify_musicplayer.ui.login_register.LoginActivity;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
@@ -34,7 +35,16 @@ public class MainActivity extends BaseActivity {
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
+        Trace.beginSection("MainActivity.onCreate");
+        try {
+            super.onCreate(savedInstanceState);
+            setupMainScreen(savedInstanceState);
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    private void setupMainScreen(Bundle savedInstanceState) {
         EdgeToEdge.enable(this);
         
         // Initialize AuthManager
@@ -22,13 +22,15 @@ import androidx.core.view.WindowInsetsCompat;
 import androidx.core.view.WindowInsetsControllerCompat;
 import androidx.lifecycle.ViewModelProvider;
 
-import com.bumptech.glide.Glide;
 import com.g3.soundify_musicplayer.R;
 import com.g3.soundify_musicplayer.data.entity.Song;
 import com.g3.soundify_musicplayer.data.entity.User;
+import com.g3.soundify_musicplayer.service.PositionUpdateEngine;
 import com.g3.soundify_musicplayer.ui.player.comment.CommentActivity;
 import com.g3.soundify_musicplayer.ui.player.queue.QueueActivity;
 import com.g3.soundify_musicplayer.ui.player.playlist.PlaylistSelectionActivity;
+import com.g3.soundify_musicplayer.utils.CoverThumbnails;
+import com.g3.soundify_musicplayer.utils.ImageLoader;
 import com.g3.soundify_musicplayer.utils.TimeUtils;
 
 /**
@@ -38,6 +40,8 @@ import com.g3.soundify_musicplayer.utils.TimeUtils;
 public class FullPlayerActivity extends AppCompatActivity {
 
     private static final String EXTRA_SONG_ID = "song_id";
+    // Độ phân giải seekbar đủ mịn để update theo frame nhìn thấy được chuyển động
+    private static final int SEEKBAR_MAX = 1000;
 
     private ActivityResultLauncher<Intent> playlistSelectionLauncher;
     private ActivityResultLauncher<Intent> commentActivityLauncher;
@@ -71,6 +75,7 @@ public class FullPlayerActivity extends AppCompatActivity {
 
     // Seek bar state
     private boolean isUserSeeking = false;
+    private long lastDisplayedSecond = -1;
 
     /**
      * Create intent to launch FullPlayerActivity
@@ -144,7 +149,7 @@ public class FullPlayerActivity extends AppCompatActivity {
 
         // Playback controls
         seekbarProgress = findViewById(R.id.seekbar_progress);
-        seekbarProgress.setMax(100);
+        seekbarProgress.setMax(SEEKBAR_MAX);
         seekbarProgress.setProgress(0);
 
         textCurrentTime = findViewById(R.id.text_current_time);
@@ -168,11 +173,6 @@ public class FullPlayerActivity extends AppCompatActivity {
         // Header actions
         btnMinimize.setOnClickListener(v -> {
             try {
-                // Pause ViewModel updates to prevent thread leaks during transition
-                if (viewModel != null) {
-                    viewModel.pauseUpdates();
-                }
-
                 showToast("Minimized to mini player");
                 minimizeToMiniPlayer();
             } catch (Exception e) {
@@ -225,7 +225,7 @@ public class FullPlayerActivity extends AppCompatActivity {
             @Override
             public void onStopTrackingTouch(SeekBar seekBar) {
                 int progress = seekBar.getProgress();
-                viewModel.seekToPercentage(progress);
+                viewModel.seekToProgress(progress, seekBar.getMax());
                 isUserSeeking = false;
             }
         });
@@ -331,17 +331,17 @@ public class FullPlayerActivity extends AppCompatActivity {
             }
         });
 
-        // Current position
-        viewModel.getCurrentPosition().observe(this, positionMs -> {
-            if (positionMs != null && !isUserSeeking && currentSong != null) {
-                textCurrentTime.setText(formatTime(positionMs));
-
-                // Calculate progress from position
-                Long duration = viewModel.getDuration().getValue();
-                if (duration != null && duration > 0) {
-                    int progressPercent = (int) ((positionMs * 100) / duration);
-                    seekbarProgress.setProgress(progressPercent);
+        // Current position - frame-aligned khi activity hiển thị, dừng khi onStop
+        viewModel.bindPositionUpdates(this, PositionUpdateEngine.Rate.FRAME);
+        viewModel.getPositionState().observe(this, snapshot -> {
+            if (snapshot != null && !isUserSeeking && currentSong != null) {
+                // Text chỉ đổi mỗi giây, tránh setText/relayout ở mỗi frame
+                long second = snapshot.getPositionMs() / 1000;
+                if (second != lastDisplayedSecond) {
+                    lastDisplayedSecond = second;
+                    textCurrentTime.setText(formatTime(snapshot.getPositionMs()));
                 }
+                seekbarProgress.setProgress(snapshot.getProgress(seekbarProgress.getMax()));
             }
         });
 
@@ -417,22 +417,14 @@ public class FullPlayerActivity extends AppCompatActivity {
         // Update total time
         if (song.getDurationMs() != null && song.getDurationMs() > 0) {
             textTotalTime.setText(formatTime(song.getDurationMs()));
-            seekbarProgress.setMax(100);
+            seekbarProgress.setMax(SEEKBAR_MAX);
         } else {
             textTotalTime.setText(getString(R.string.duration_unknown));
-            seekbarProgress.setMax(100);
+            seekbarProgress.setMax(SEEKBAR_MAX);
         }
 
-        // Load cover art using Glide
-        if (song.getCoverArtUrl() != null && !song.getCoverArtUrl().isEmpty()) {
-            Glide.with(this)
-                    .load(song.getCoverArtUrl())
-                    .placeholder(R.drawable.splashi_icon)
-                    .error(R.drawable.splashi_icon)
-                    .into(imageAlbumArt);
-        } else {
-            imageAlbumArt.setImageResource(R.drawable.splashi_icon);
-        }
+        // Load cover art
+        ImageLoader.loadCover(imageAlbumArt, song.getCoverArtUrl(), CoverThumbnails.Variant.FULL);
     }
 
     private void updateArtistInfo(User artist) {
@@ -469,13 +461,14 @@ public class FullPlayerActivity extends AppCompatActivity {
     }
 
     /**
-     * Update current time display based on seek bar progress (0-100)
+     * Update current time display based on seek bar progress (0..SEEKBAR_MAX)
      */
-    private void updateCurrentTimeFromProgress(int progressPercent) {
+    private void updateCurrentTimeFromProgress(int progress) {
         if (currentSong != null && currentSong.getDurationMs() != null) {
             long totalDurationMs = currentSong.getDurationMs();
-            long estimatedPositionMs = (totalDurationMs * progressPercent) / 100;
+            long estimatedPositionMs = (totalDurationMs * progress) / seekbarProgress.getMax();
             textCurrentTime.setText(formatTime(estimatedPositionMs));
+            lastDisplayedSecond = -1;
         }
     }
 
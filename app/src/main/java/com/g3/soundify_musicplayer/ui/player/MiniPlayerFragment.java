@@ -17,10 +17,12 @@ import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 
-import com.bumptech.glide.Glide;
 import com.g3.soundify_musicplayer.R;
 import com.g3.soundify_musicplayer.data.entity.Song;
 import com.g3.soundify_musicplayer.data.entity.User;
+import com.g3.soundify_musicplayer.service.PositionUpdateEngine;
+import com.g3.soundify_musicplayer.utils.CoverThumbnails;
+import com.g3.soundify_musicplayer.utils.ImageLoader;
 
 /**
  * Mini Player Fragment - Persistent component that appears on all screens.
@@ -149,15 +151,11 @@ public class MiniPlayerFragment extends Fragment {
             }
         });
 
-        // XÓA OBSERVER PROGRESS RIÊNG - chỉ dùng currentPosition
-        viewModel.getCurrentPosition().observe(getViewLifecycleOwner(), positionMs -> {
-            if (positionMs != null && currentSong != null) {
-                // Tính progress từ position
-                Long duration = viewModel.getDuration().getValue();
-                if (duration != null && duration > 0) {
-                    int progressPercent = (int) ((positionMs * 100) / duration);
-                    updateProgress(progressPercent);
-                }
+        // Progress bar nhỏ chỉ cần cập nhật thưa (COARSE); tự dừng khi view onStop
+        viewModel.bindPositionUpdates(getViewLifecycleOwner(), PositionUpdateEngine.Rate.COARSE);
+        viewModel.getPositionState().observe(getViewLifecycleOwner(), snapshot -> {
+            if (snapshot != null && currentSong != null) {
+                updateProgress(snapshot.getProgressPercentage());
             }
         });
 
@@ -173,16 +171,8 @@ public class MiniPlayerFragment extends Fragment {
         textSongTitle.setText(song.getTitle());
         textArtistName.setText(song.getUploaderName());
 
-        // Load cover art using Glide
-        if (song.getCoverArtUrl() != null && !song.getCoverArtUrl().isEmpty()) {
-            Glide.with(imageAlbumArt.getContext())
-                    .load(song.getCoverArtUrl())
-                    .placeholder(R.drawable.splashi_icon)
-                    .error(R.drawable.splashi_icon)
-                    .into(imageAlbumArt);
-        } else {
-            imageAlbumArt.setImageResource(R.drawable.splashi_icon);
-        }
+        // Load cover art
+        ImageLoader.loadCover(imageAlbumArt, song.getCoverArtUrl(), CoverThumbnails.Variant.LIST);
     }
 
     private void updateArtistInfo(User artist) {
@@ -223,24 +213,6 @@ public class MiniPlayerFragment extends Fragment {
         }
     }
     
-    @Override
-    public void onResume() {
-        super.onResume();
-
-        if (viewModel != null) {
-            viewModel.resumeUpdates();
-        }
-    }
-
-    @Override
-    public void onPause() {
-        super.onPause();
-        //Khi user mở  FullPlayerActivity từ  MiniPlayerFragment, fragment sẽ gọi onPause() nhưng KHÔNG nên dừng progress updates.
-        //MiniPlayer vẫn cần hoạt động khi FullPlayer mở
-        //User có thể minimize FullPlayer về MiniPlayer bất cứ lúc nào
-        //Progress bar phải tiếp tục cập nhật để sync với nhạc đang phát
-    }
-
     private void showToast(String message) {
         if (getContext() != null) {
             Toast.makeText(getContext(), message, Toast.LENGTH_SHORT).show();
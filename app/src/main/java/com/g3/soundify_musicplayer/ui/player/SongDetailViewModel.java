@@ -1,13 +1,14 @@
 package com.g3.soundify_musicplayer.ui.player;
 
 import android.app.Application;
-import android.os.Handler;
-import android.os.Looper;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
 import com.g3.soundify_musicplayer.data.entity.Playlist;
 import com.g3.soundify_musicplayer.data.entity.Song;
 import com.g3.soundify_musicplayer.data.entity.User;
@@ -17,13 +18,15 @@ import com.g3.soundify_musicplayer.data.repository.MediaPlayerRepository;
 import com.g3.soundify_musicplayer.data.repository.MusicPlayerRepository;
 import com.g3.soundify_musicplayer.data.repository.SongDetailRepository;
 import com.g3.soundify_musicplayer.data.repository.SongRepository;
+import com.g3.soundify_musicplayer.service.PositionUpdateEngine;
 
 import com.g3.soundify_musicplayer.utils.AuthManager;
 import com.g3.soundify_musicplayer.utils.RepositoryManager;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * ViewModel THỐNG NHẤT cho cả MiniPlayer và FullPlayer
@@ -56,8 +59,9 @@ public class SongDetailViewModel extends AndroidViewModel {
     private final MutableLiveData<Boolean> isSongOwner = new MutableLiveData<>(false);
     private final MutableLiveData<String> successMessage = new MutableLiveData<>();
 
-    private final Handler progressHandler = new Handler(Looper.getMainLooper());
-    private Runnable progressRunnable;
+    private Observer<MediaPlayerState.TrackInfo> trackObserver;
+    private Observer<MediaPlayerState.PlaybackState> transportObserver;
+    private Observer<MediaPlayerState.PositionSnapshot> positionObserver;
 
     public SongDetailViewModel(@NonNull Application application,
                                SongDetailRepository repository,
@@ -66,7 +70,7 @@ public class SongDetailViewModel extends AndroidViewModel {
         this.repository = repository;
         this.mediaPlayerRepository = mediaPlayerRepository;
         this.authManager = new AuthManager(application);
-        this.executor = Executors.newFixedThreadPool(2);
+        this.executor = AppExecutors.getInstance().background();
 
         isLoading.setValue(false);
         isLiked.setValue(false);
@@ -303,34 +307,57 @@ public class SongDetailViewModel extends AndroidViewModel {
     }
 
     /**
-     * Toggle play/pause
+     * Như playFromView nhưng queue được đọc từ DB (trên diskRead) lúc bắt đầu phát:
+     * list đang hiển thị là Paging nên chỉ giữ một window, không đủ làm queue.
+     * startSongId không có trong queue (hoặc -1) thì phát từ bài đầu.
      */
-    public void togglePlayPause() {
-        executor.execute(() -> {
+    public void playFromQuery(Callable<List<Song>> queueQuery, String viewTitle, long startSongId) {
+        AppExecutors.getInstance().diskRead().execute(() -> {
             try {
-                mediaPlayerRepository.togglePlayPause().get();
+                List<Song> songs = queueQuery.call();
+                if (songs == null || songs.isEmpty()) {
+                    return;
+                }
+                int startIndex = 0;
+                for (int i = 0; i < songs.size(); i++) {
+                    if (songs.get(i).getId() == startSongId) {
+                        startIndex = i;
+                        break;
+                    }
+                }
+                // replaceListAndPlay chỉ enqueue command, loadSongDetail dùng postValue: gọi được từ thread này
+                playFromView(songs, viewTitle, startIndex);
             } catch (Exception e) {
-                errorMessage.postValue("Lỗi khi toggle play/pause: " + e.getMessage());
+                android.util.Log.e("SongDetailViewModel", "Error loading queue for " + viewTitle, e);
+                errorMessage.postValue("Không thể phát danh sách: " + viewTitle);
             }
         });
     }
 
+    /**
+     * Toggle play/pause
+     */
+    public void togglePlayPause() {
+        mediaPlayerRepository.togglePlayPause();
+    }
+
     /**
      * Seek đến vị trí cụ thể (percentage 0-100)
      */
     public void seekToPercentage(int percentage) {
-        executor.execute(() -> {
-            try {
-                // Lấy duration từ MediaPlayerRepository state
-                MediaPlayerState.CurrentPlaybackState state = mediaPlayerRepository.getCurrentPlaybackState().getValue();
-                if (state != null && state.getDuration() > 0 && percentage >= 0 && percentage <= 100) {
-                    long targetPosition = (state.getDuration() * percentage) / 100;
-                    mediaPlayerRepository.seekTo(targetPosition).get();
-                }
-            } catch (Exception e) {
-                errorMessage.postValue("Lỗi khi seek: " + e.getMessage());
-            }
-        });
+        seekToProgress(percentage, 100);
+    }
+
+    /**
+     * Seek theo progress của seekbar (0..max)
+     */
+    public void seekToProgress(int progressValue, int max) {
+        MediaPlayerState.PositionSnapshot snapshot = mediaPlayerRepository.getCurrentStateSnapshot().getPosition();
+        if (snapshot.getDurationMs() > 0 && max > 0
+                && progressValue >= 0 && progressValue <= max) {
+            long targetPosition = (snapshot.getDurationMs() * progressValue) / max;
+            mediaPlayerRepository.seekTo(targetPosition);
+        }
     }
 
     /**
@@ -435,129 +462,93 @@ public class SongDetailViewModel extends AndroidViewModel {
      * Setup observers để sync state từ MediaPlayerRepository
      */
     private void setupMediaPlayerObservers() {
-        // Observer cho playback state changes
-        mediaPlayerRepository.getCurrentPlaybackState().observeForever(state -> {
-            if (state != null) {
-                // Update song info
-                if (state.getCurrentSong() != null) {
-                    Song newSong = state.getCurrentSong();
-                    Song currentSongValue = currentSong.getValue();
-                    if (currentSongValue == null || (newSong.getId() != currentSongValue.getId())) {
-                        currentSong.postValue(newSong);
-                        loadArtistInfo(newSong.getUploaderId());
-
-                        // ✅ TRACK RECENTLY PLAYED: Track when song changes (including next/previous)
-                        trackRecentlyPlayedForCurrentSong(newSong.getId());
-                    }
-                }
-
-                if (state.getCurrentArtist() != null) {
-                    setCurrentArtist(state.getCurrentArtist());
+        // Track stream: chỉ chạy khi đổi bài/artist, không chạy theo tick vị trí
+        trackObserver = track -> {
+            if (track == null) {
+                return;
+            }
+            if (track.getSong() != null) {
+                Song newSong = track.getSong();
+                Song currentSongValue = currentSong.getValue();
+                if (currentSongValue == null || (newSong.getId() != currentSongValue.getId())) {
+                    currentSong.postValue(newSong);
+                    loadArtistInfo(newSong.getUploaderId());
+
+                    // ✅ TRACK RECENTLY PLAYED: Track when song changes (including next/previous)
+                    trackRecentlyPlayedForCurrentSong(newSong.getId());
                 }
+            }
 
-                // Update playback state
-                isPlaying.postValue(state.isPlaying());
-                currentPosition.postValue(state.getCurrentPosition());
-                duration.postValue(state.getDuration());
+            if (track.getArtist() != null) {
+                setCurrentArtist(track.getArtist());
+            }
+        };
+        mediaPlayerRepository.getTrackState().observeForever(trackObserver);
 
-                // Update progress
-                if (state.getDuration() > 0) {
-                    int progressPercent = (int) ((state.getCurrentPosition() * 100) / state.getDuration());
-                    progress.postValue(progressPercent);
-                }
+        // Transport stream: play/pause button
+        transportObserver = playbackState -> {
+            boolean playing = playbackState == MediaPlayerState.PlaybackState.PLAYING;
+            if (!Boolean.valueOf(playing).equals(isPlaying.getValue())) {
+                isPlaying.setValue(playing);
+            }
+        };
+        mediaPlayerRepository.getTransportState().observeForever(transportObserver);
 
-                // Start/stop progress updates based on playing state
-                if (state.isPlaying()) {
-                    startProgressUpdates();
-                } else {
-                    stopProgressUpdates();
-                }
+        // Vị trí đi qua stream riêng, tần suất do UI đăng ký bindPositionUpdates() quyết định
+        positionObserver = snapshot -> {
+            if (snapshot == null) {
+                return;
             }
-        });
+            if (!Long.valueOf(snapshot.getPositionMs()).equals(currentPosition.getValue())) {
+                currentPosition.setValue(snapshot.getPositionMs());
+            }
+            if (!Long.valueOf(snapshot.getDurationMs()).equals(duration.getValue())) {
+                duration.setValue(snapshot.getDurationMs());
+            }
+            int progressPercent = snapshot.getProgressPercentage();
+            if (!Integer.valueOf(progressPercent).equals(progress.getValue())) {
+                progress.setValue(progressPercent);
+            }
+        };
+        mediaPlayerRepository.getPositionState().observeForever(positionObserver);
     }
 
     /**
-     * ✅ FIXED: Thread-safe progress updates with proper lifecycle management
+     * Đăng ký nhận vị trí trong khoảng onStart..onStop của owner.
+     * FullPlayer dùng FRAME (seekbar mượt), MiniPlayer dùng COARSE; khi app vào background
+     * mọi owner đều onStop nên service ngừng tick hoàn toàn.
      */
-    private void startProgressUpdates() {
-        stopProgressUpdates(); // Ensure cleanup before creating new one
-
-        progressRunnable = new Runnable() {
+    public void bindPositionUpdates(LifecycleOwner owner, PositionUpdateEngine.Rate rate) {
+        owner.getLifecycle().addObserver(new DefaultLifecycleObserver() {
             @Override
-            public void run() {
-                try {
-                    // ✅ CRITICAL: Check if ViewModel is still active
-                    if (progressRunnable == null) {
-                        // ViewModel was cleared, stop updates
-                        return;
-                    }
-
-                    MediaPlayerState.CurrentPlaybackState state = mediaPlayerRepository.getCurrentPlaybackState().getValue();
-                    if (state != null && state.isPlaying()) {
-                        long currentPos = state.getCurrentPosition();
-                        long dur = state.getDuration();
-
-                        // ✅ SAFE: Only update if values are valid
-                        if (currentPos >= 0 && dur > 0) {
-                            currentPosition.postValue(currentPos);
-                            duration.postValue(dur);
-                            int progressPercent = (int) ((currentPos * 100) / dur);
-                            progress.postValue(progressPercent);
-                        }
-
-                        // ✅ CRITICAL: Only schedule next update if still playing AND runnable exists
-                        if (state.isPlaying() && progressRunnable != null) {
-                            progressHandler.postDelayed(this, 500);
-                        }
-                    }
-                } catch (Exception e) {
-                    android.util.Log.w("SongDetailViewModel", "Error updating progress: " + e.getMessage());
-                    stopProgressUpdates(); // Stop on any error to prevent crash
-                }
+            public void onStart(@NonNull LifecycleOwner source) {
+                mediaPlayerRepository.requestPositionUpdates(source, rate);
             }
-        };
 
-        // ✅ SAFE: Only start if handler is valid
-        if (progressHandler != null) {
-            progressHandler.post(progressRunnable);
-        }
-    }
+            @Override
+            public void onStop(@NonNull LifecycleOwner source) {
+                mediaPlayerRepository.releasePositionUpdates(source);
+            }
 
-    /**
-     * ✅ FIXED: Robust cleanup to prevent thread leaks
-     */
-    private void stopProgressUpdates() {
-        if (progressRunnable != null && progressHandler != null) {
-            progressHandler.removeCallbacks(progressRunnable);
-            progressRunnable = null;
-        }
+            @Override
+            public void onDestroy(@NonNull LifecycleOwner source) {
+                source.getLifecycle().removeObserver(this);
+            }
+        });
     }
 
     /**
      * Play next song in queue
      */
     public void playNext() {
-        executor.execute(() -> {
-            try {
-                mediaPlayerRepository.playNext().get();
-            } catch (Exception e) {
-                errorMessage.postValue("Lỗi khi chuyển bài tiếp theo: " + e.getMessage());
-            }
-        });
+        mediaPlayerRepository.playNext();
     }
 
     /**
      * Play previous song in queue
      */
     public void playPrevious() {
-        executor.execute(() -> {
-            try {
-                android.util.Log.d("SongDetailViewModel", "Playing previous song=====================");
-                mediaPlayerRepository.playPrevious().get();
-            } catch (Exception e) {
-                errorMessage.postValue("Lỗi khi chuyển bài trước đó: " + e.getMessage());
-            }
-        });
+        mediaPlayerRepository.playPrevious();
     }
 
 
@@ -566,13 +557,7 @@ public class SongDetailViewModel extends AndroidViewModel {
      */
     public void hideMiniPlayer() {
         mediaPlayerRepository.hidePlayer();
-        executor.execute(() -> {
-            try {
-                mediaPlayerRepository.pause().get();
-            } catch (Exception e) {
-                android.util.Log.w("SongDetailViewModel", "Error pausing: " + e.getMessage());
-            }
-        });
+        mediaPlayerRepository.pause();
     }
 
 
@@ -662,6 +647,10 @@ public class SongDetailViewModel extends AndroidViewModel {
         return duration;
     }
 
+    public LiveData<MediaPlayerState.PositionSnapshot> getPositionState() {
+        return mediaPlayerRepository.getPositionState();
+    }
+
     public LiveData<Boolean> getIsFollowing() {
         return isFollowing;
     }
@@ -670,26 +659,23 @@ public class SongDetailViewModel extends AndroidViewModel {
     protected void onCleared() {
         super.onCleared();
         try {
-            stopProgressUpdates();
+            if (trackObserver != null) {
+                mediaPlayerRepository.getTrackState().removeObserver(trackObserver);
+                trackObserver = null;
+            }
+            if (transportObserver != null) {
+                mediaPlayerRepository.getTransportState().removeObserver(transportObserver);
+                transportObserver = null;
+            }
+            if (positionObserver != null) {
+                mediaPlayerRepository.getPositionState().removeObserver(positionObserver);
+                positionObserver = null;
+            }
             if (repository != null) {
                 repository.shutdown();
             }
-            if (executor != null) {
-                executor.shutdown();
-            }
         } catch (Exception e) {
             android.util.Log.e("SongDetailViewModel", "Error during ViewModel cleanup", e);
         }
     }
-
-    public void pauseUpdates() {
-        stopProgressUpdates();
-    }
-
-    public void resumeUpdates() {
-        MediaPlayerState.CurrentPlaybackState state = mediaPlayerRepository.getCurrentPlaybackState().getValue();
-        if (state != null && state.isPlaying()) {
-            startProgressUpdates();
-        }
-    }
 }
@@ -14,13 +14,15 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.lifecycle.LiveData;
+import androidx.paging.LoadState;
+import androidx.paging.PagingData;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.g3.soundify_musicplayer.R;
 
-import java.util.List;
+import kotlin.Unit;
 
 /**
  * Activity for displaying comments list for a song.
@@ -43,7 +45,7 @@ public class CommentActivity extends AppCompatActivity implements CommentAdapter
 
     // ViewModel and Adapter
     private CommentsViewModel viewModel;
-    private CommentAdapter adapter;
+    private CommentPagingAdapter adapter;
 
     // Data
     private long songId;
@@ -83,7 +85,7 @@ public class CommentActivity extends AppCompatActivity implements CommentAdapter
     }
 
     private void setupRecyclerView() {
-        adapter = new CommentAdapter(this);
+        adapter = new CommentPagingAdapter(this);
         adapter.setOnCommentLikeListener(this);
         adapter.setOnCommentDeleteListener(this);
 
@@ -95,6 +97,16 @@ public class CommentActivity extends AppCompatActivity implements CommentAdapter
             adapter.setCurrentUserId(-1); // Default to no user
         }
 
+        // Empty / loading / error state comes from the paging load state
+        adapter.addLoadStateListener(loadStates -> {
+            LoadState refresh = loadStates.getRefresh();
+            boolean loading = refresh instanceof LoadState.Loading && adapter.getItemCount() == 0;
+            String error = refresh instanceof LoadState.Error
+                    ? ((LoadState.Error) refresh).getError().getMessage() : null;
+            updateUIState(!loading && error == null && adapter.getItemCount() == 0, loading, error);
+            return Unit.INSTANCE;
+        });
+
         recyclerComments.setLayoutManager(new LinearLayoutManager(this));
         recyclerComments.setAdapter(adapter);
     }
@@ -171,13 +183,8 @@ public class CommentActivity extends AppCompatActivity implements CommentAdapter
             return;
         }
 
-        LiveData<List<CommentWithUser>> commentsLiveData = viewModel.loadComments(songId);
-        commentsLiveData.observe(this, comments -> {
-            if (comments != null) {
-                adapter.setComments(comments);
-                updateUIState(comments.isEmpty(), false, null);
-            }
-        });
+        LiveData<PagingData<CommentWithUser>> commentsLiveData = viewModel.loadPagedComments(songId);
+        commentsLiveData.observe(this, pagingData -> adapter.submitData(getLifecycle(), pagingData));
     }
 
     private void updateUIState(boolean isEmpty, boolean isLoading, String errorMessage) {
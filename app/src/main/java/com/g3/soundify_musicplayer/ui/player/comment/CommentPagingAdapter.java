@@ -0,0 +1,68 @@
+package com.g3.soundify_musicplayer.ui.player.comment;
+
+import android.content.Context;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.DiffUtil;
+
+import java.util.Objects;
+
+/**
+ * Paged version of CommentAdapter (Paging 3).
+ * Only the loaded window of comments is held in memory; view binding is shared with CommentAdapter.
+ */
+public class CommentPagingAdapter extends PagingDataAdapter<CommentWithUser, CommentAdapter.CommentViewHolder> {
+
+    private static final DiffUtil.ItemCallback<CommentWithUser> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<CommentWithUser>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull CommentWithUser oldItem, @NonNull CommentWithUser newItem) {
+                    return oldItem.getCommentId() == newItem.getCommentId();
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull CommentWithUser oldItem, @NonNull CommentWithUser newItem) {
+                    return oldItem.isLiked() == newItem.isLiked()
+                            && oldItem.getLikeCount() == newItem.getLikeCount()
+                            && Objects.equals(oldItem.getContent(), newItem.getContent())
+                            && Objects.equals(oldItem.getDisplayName(), newItem.getDisplayName())
+                            && Objects.equals(oldItem.getUsername(), newItem.getUsername());
+                }
+            };
+
+    // Holds listeners / current user and creates the shared view holders
+    private final CommentAdapter binder;
+
+    public CommentPagingAdapter(Context context) {
+        super(DIFF_CALLBACK);
+        this.binder = new CommentAdapter(context);
+    }
+
+    public void setOnCommentLikeListener(CommentAdapter.OnCommentLikeListener listener) {
+        binder.setOnCommentLikeListener(listener);
+    }
+
+    public void setOnCommentDeleteListener(CommentAdapter.OnCommentDeleteListener listener) {
+        binder.setOnCommentDeleteListener(listener);
+    }
+
+    public void setCurrentUserId(long userId) {
+        binder.setCurrentUserId(userId);
+    }
+
+    @NonNull
+    @Override
+    public CommentAdapter.CommentViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        return binder.onCreateViewHolder(parent, viewType);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull CommentAdapter.CommentViewHolder holder, int position) {
+        CommentWithUser comment = getItem(position);
+        if (comment != null) {
+            holder.bind(comment, position);
+        }
+    }
+}
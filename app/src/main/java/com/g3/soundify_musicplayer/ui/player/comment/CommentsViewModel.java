@@ -7,13 +7,15 @@ import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
 
 import com.g3.soundify_musicplayer.data.repository.CommentRepository;
 import com.g3.soundify_musicplayer.utils.AuthManager;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * ViewModel for the Comments screen.
@@ -36,7 +38,7 @@ public class CommentsViewModel extends AndroidViewModel {
         super(application);
         commentRepository = new CommentRepository(application);
         authManager = new AuthManager(application);
-        executor = Executors.newFixedThreadPool(2);
+        executor = AppExecutors.getInstance().background();
     }
 
     /**
@@ -58,6 +60,15 @@ public class CommentsViewModel extends AndroidViewModel {
         return result;
     }
 
+    /**
+     * Load comments for a song page by page (Paging 3), cached for the lifetime of this ViewModel
+     */
+    public LiveData<PagingData<CommentWithUser>> loadPagedComments(long songId) {
+        this.currentSongId = songId;
+        errorMessage.setValue(null);
+        return PagingLiveData.cachedIn(commentRepository.getCommentsWithUserDataPaged(songId), this);
+    }
+
     /**
      * Add a new comment
      */
@@ -200,8 +211,5 @@ public class CommentsViewModel extends AndroidViewModel {
         if (commentRepository != null) {
             commentRepository.shutdown();
         }
-        if (executor != null) {
-            executor.shutdown();
-        }
     }
 }
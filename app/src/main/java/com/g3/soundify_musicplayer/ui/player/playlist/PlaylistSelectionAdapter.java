@@ -8,22 +8,38 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.g3.soundify_musicplayer.R;
 import com.g3.soundify_musicplayer.data.entity.Playlist;
+import com.g3.soundify_musicplayer.utils.DiffConfigUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Adapter for displaying playlists in selection mode
  * Clean, Apple-like design with generous whitespace
  */
-public class PlaylistSelectionAdapter extends RecyclerView.Adapter<PlaylistSelectionAdapter.PlaylistViewHolder> {
+public class PlaylistSelectionAdapter extends ListAdapter<Playlist, PlaylistSelectionAdapter.PlaylistViewHolder> {
+
+    private static final DiffUtil.ItemCallback<Playlist> DIFF_CALLBACK = new DiffUtil.ItemCallback<Playlist>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Playlist oldItem, @NonNull Playlist newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Playlist oldItem, @NonNull Playlist newItem) {
+            return Objects.equals(oldItem.getName(), newItem.getName())
+                    && Objects.equals(oldItem.getDescription(), newItem.getDescription());
+        }
+    };
 
     private final Context context;
-    private final List<Playlist> playlists;
     private OnPlaylistClickListener listener;
 
     public interface OnPlaylistClickListener {
@@ -31,8 +47,8 @@ public class PlaylistSelectionAdapter extends RecyclerView.Adapter<PlaylistSelec
     }
 
     public PlaylistSelectionAdapter(Context context) {
+        super(DiffConfigUtils.backgroundConfig(DIFF_CALLBACK));
         this.context = context;
-        this.playlists = new ArrayList<>();
     }
 
     public void setOnPlaylistClickListener(OnPlaylistClickListener listener) {
@@ -48,21 +64,12 @@ public class PlaylistSelectionAdapter extends RecyclerView.Adapter<PlaylistSelec
 
     @Override
     public void onBindViewHolder(@NonNull PlaylistViewHolder holder, int position) {
-        Playlist playlist = playlists.get(position);
+        Playlist playlist = getItem(position);
         holder.bind(playlist);
     }
 
-    @Override
-    public int getItemCount() {
-        return playlists.size();
-    }
-
     public void updateData(List<Playlist> newData) {
-        playlists.clear();
-        if (newData != null) {
-            playlists.addAll(newData);
-        }
-        notifyDataSetChanged();
+        submitList(newData != null ? new ArrayList<>(newData) : new ArrayList<>());
     }
 
     class PlaylistViewHolder extends RecyclerView.ViewHolder {
@@ -104,18 +104,15 @@ public class QueueActivity extends AppCompatActivity {
                 List<Song> songs = mediaPlayerRepository.getCurrentQueue();
                 int currentIndex = queueInfo.getCurrentIndex();
                 String title = queueInfo.getQueueTitle();
-                User currentArtist = null;
-                if (mediaPlayerRepository.getCurrentPlaybackState().getValue() != null) {
-                    currentArtist = mediaPlayerRepository.getCurrentPlaybackState().getValue().getCurrentArtist();
-                }
+                User currentArtist = mediaPlayerRepository.getCurrentStateSnapshot().getCurrentArtist();
                 adapter.updateData(songs, currentIndex, currentArtist);
                 updateQueueTitle(queueInfo.getTotalSongs(), title != null ? title : "Queue");
             }
         });
 
-        // Observe playback state changes to update current song highlighting
-        mediaPlayerRepository.getCurrentPlaybackState().observe(this, playbackState -> {
-            if (playbackState != null && playbackState.getCurrentSong() != null) {
+        // Observe track changes (not position ticks) to update current song highlighting
+        mediaPlayerRepository.getTrackState().observe(this, track -> {
+            if (track != null && track.getSong() != null) {
                 // Update adapter to highlight current song
                 adapter.notifyDataSetChanged();
             }
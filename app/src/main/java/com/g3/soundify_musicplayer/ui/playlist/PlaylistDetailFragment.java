@@ -27,6 +27,7 @@ import androidx.annotation.Nullable;
 import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.paging.LoadState;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
@@ -42,15 +43,18 @@ import com.google.android.material.imageview.ShapeableImageView;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+
+import kotlin.Unit;
 
 /**
  * Fragment for displaying playlist details and managing songs
  */
-public class PlaylistDetailFragment extends Fragment implements PlaylistSongCardAdapter.OnSongActionListener {
+public class PlaylistDetailFragment extends Fragment implements PlaylistSongPagingAdapter.OnSongActionListener {
 
     private PlaylistDetailViewModel viewModel;
     private SongDetailViewModel songDetailViewModel;
-    private PlaylistSongCardAdapter adapter;
+    private PlaylistSongPagingAdapter adapter;
     
     // UI Components
     private ShapeableImageView playlistCover;
@@ -135,9 +139,17 @@ public class PlaylistDetailFragment extends Fragment implements PlaylistSongCard
     private void setupRecyclerView() {
         if (getContext() == null) return;
 
-        adapter = new PlaylistSongCardAdapter(getContext());
+        adapter = new PlaylistSongPagingAdapter(getContext());
         adapter.setOnSongActionListener(this);
 
+        // Empty state / action buttons come from the paging load state
+        adapter.addLoadStateListener(loadStates -> {
+            if (loadStates.getRefresh() instanceof LoadState.NotLoading) {
+                updateSongsState();
+            }
+            return Unit.INSTANCE;
+        });
+
         songsRecyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
         songsRecyclerView.setAdapter(adapter);
     }
@@ -160,11 +172,9 @@ public class PlaylistDetailFragment extends Fragment implements PlaylistSongCard
             updatePlaylistInfo(playlist);
         });
 
-        // Observe playlist songs
-        viewModel.getSongsInPlaylist().observe(getViewLifecycleOwner(), songs -> {
-            android.util.Log.d("PlaylistDetailFragment", "Songs observed: " + (songs != null ? songs.size() + " songs" : "null"));
-            updateSongsList(songs);
-        });
+        // Observe playlist songs page by page
+        viewModel.getSongsInPlaylistPaged().observe(getViewLifecycleOwner(),
+                pagingData -> adapter.submitData(getViewLifecycleOwner().getLifecycle(), pagingData));
 
         // Observe owner status
         viewModel.getIsOwner().observe(getViewLifecycleOwner(), isOwner -> {
@@ -263,29 +273,14 @@ public class PlaylistDetailFragment extends Fragment implements PlaylistSongCard
         if (playlist == null) return;
         
         playlistName.setText(playlist.getName());
-        // Update playlist info will be handled by updatePlaylistInfoText()
+        updatePlaylistInfoText();
     }
     
     /**
-     * Update songs list and stats
+     * Update empty state and action buttons once a page has loaded
      */
-    private void updateSongsList(List<Song> songs) {
-        android.util.Log.d("PlaylistDetailFragment", "updateSongsList called with " + (songs != null ? songs.size() + " songs" : "null songs"));
-
-        // Update adapter
-        if (adapter != null) {
-            adapter.setSongs(songs);
-            android.util.Log.d("PlaylistDetailFragment", "Adapter updated with songs");
-        } else {
-            android.util.Log.e("PlaylistDetailFragment", "Adapter is null when trying to update songs");
-        }
-
-        // Update stats
-        viewModel.updatePlaylistStats(songs);
-        updatePlaylistInfoText();
-
-        // Show/hide empty state
-        boolean isEmpty = songs == null || songs.isEmpty();
+    private void updateSongsState() {
+        boolean isEmpty = adapter.getItemCount() == 0;
         android.util.Log.d("PlaylistDetailFragment", "Songs list isEmpty: " + isEmpty);
 
         emptyStateLayout.setVisibility(isEmpty ? View.VISIBLE : View.GONE);
@@ -294,14 +289,6 @@ public class PlaylistDetailFragment extends Fragment implements PlaylistSongCard
         // Update action buttons state
         playAllButton.setEnabled(!isEmpty);
         shuffleButton.setEnabled(!isEmpty);
-        android.util.Log.d("PlaylistDetailFragment", "Action buttons enabled: " + !isEmpty);
-
-        // Update adapter remove option visibility based on owner status
-        Boolean isOwner = viewModel.getIsOwner().getValue();
-        if (adapter != null && isOwner != null) {
-            adapter.setShowRemoveOption(isOwner);
-            android.util.Log.d("PlaylistDetailFragment", "Remove option visibility: " + isOwner);
-        }
     }
     
     /**
@@ -324,7 +311,8 @@ public class PlaylistDetailFragment extends Fragment implements PlaylistSongCard
             }
         }
 
-        int songCount = adapter.getItemCount();
+        // Adapter only holds the loaded pages: use the playlist's song_count
+        int songCount = playlist.getSongCount();
 
         // Format: "Created by [owner] • [X] songs" (removed duration)
         String infoText = String.format("Created by %s • %d songs", ownerName, songCount);
@@ -354,26 +342,16 @@ public class PlaylistDetailFragment extends Fragment implements PlaylistSongCard
             return;
         }
 
-        List<Song> playlistSongs = adapter.getSongs();
         Playlist currentPlaylist = viewModel.getCurrentPlaylist().getValue();
-
-        android.util.Log.d("PlaylistDetailFragment", "Playlist songs count: " + playlistSongs.size());
-        android.util.Log.d("PlaylistDetailFragment", "Current playlist: " + (currentPlaylist != null ? currentPlaylist.getName() : "null"));
-
-        if (currentPlaylist != null && !playlistSongs.isEmpty()) {
-            try {
-                // ✅ CONSISTENT: Use playFromView with full playlist for navigation
-                songDetailViewModel.playFromView(playlistSongs, currentPlaylist.getName(), 0);
-                showToast("Đang phát tất cả bài hát từ: " + currentPlaylist.getName());
-                android.util.Log.d("PlaylistDetailFragment", "Successfully started playing all songs");
-            } catch (Exception e) {
-                android.util.Log.e("PlaylistDetailFragment", "Error playing all songs", e);
-                showToast("Lỗi khi phát playlist: " + e.getMessage());
-            }
-        } else {
-            android.util.Log.e("PlaylistDetailFragment", "Cannot play - playlist or songs invalid");
+        if (currentPlaylist == null) {
+            android.util.Log.e("PlaylistDetailFragment", "Cannot play - playlist not loaded");
             showToast("Không thể phát playlist - dữ liệu không hợp lệ");
+            return;
         }
+
+        // ✅ CONSISTENT: Queue là toàn bộ playlist, đọc từ DB chứ không từ các trang đã load
+        songDetailViewModel.playFromQuery(viewModel.getPlaybackQueueQuery(), currentPlaylist.getName(), -1);
+        showToast("Đang phát tất cả bài hát từ: " + currentPlaylist.getName());
     }
 
     /**
@@ -395,30 +373,20 @@ public class PlaylistDetailFragment extends Fragment implements PlaylistSongCard
             return;
         }
 
-        List<Song> playlistSongs = new ArrayList<>(adapter.getSongs());
         Playlist currentPlaylist = viewModel.getCurrentPlaylist().getValue();
-
-        android.util.Log.d("PlaylistDetailFragment", "Songs to shuffle: " + playlistSongs.size());
-        android.util.Log.d("PlaylistDetailFragment", "Current playlist for shuffle: " + (currentPlaylist != null ? currentPlaylist.getName() : "null"));
-
-        if (currentPlaylist != null && !playlistSongs.isEmpty()) {
-            try {
-                // Shuffle the songs list
-                Collections.shuffle(playlistSongs);
-                android.util.Log.d("PlaylistDetailFragment", "Songs shuffled successfully");
-
-                // ✅ CONSISTENT: Use playFromView with shuffled playlist
-                songDetailViewModel.playFromView(playlistSongs, currentPlaylist.getName() + " (Shuffled)", 0);
-                showToast("Đang shuffle và phát: " + currentPlaylist.getName());
-                android.util.Log.d("PlaylistDetailFragment", "Successfully started shuffled playback");
-            } catch (Exception e) {
-                android.util.Log.e("PlaylistDetailFragment", "Error shuffling playlist", e);
-                showToast("Lỗi khi shuffle playlist: " + e.getMessage());
-            }
-        } else {
-            android.util.Log.e("PlaylistDetailFragment", "Cannot shuffle - playlist or songs invalid");
+        if (currentPlaylist == null) {
+            android.util.Log.e("PlaylistDetailFragment", "Cannot shuffle - playlist not loaded");
             showToast("Không thể shuffle playlist - dữ liệu không hợp lệ");
+            return;
         }
+
+        Callable<List<Song>> playlistQuery = viewModel.getPlaybackQueueQuery();
+        songDetailViewModel.playFromQuery(() -> {
+            List<Song> shuffled = new ArrayList<>(playlistQuery.call());
+            Collections.shuffle(shuffled);
+            return shuffled;
+        }, currentPlaylist.getName() + " (Shuffled)", -1);
+        showToast("Đang shuffle và phát: " + currentPlaylist.getName());
     }
     
     /**
@@ -547,14 +515,9 @@ public class PlaylistDetailFragment extends Fragment implements PlaylistSongCard
         // ✅ IMPORTANT: Clean up resources but don't affect mini player
         // MediaPlayerRepository singleton must persist for mini player functionality
         android.util.Log.d("PlaylistDetailFragment", "onDestroy() - Fragment destroyed, mini player persists");
-
-        // Clear adapter to prevent memory leaks
-        if (adapter != null) {
-            adapter.setSongs(null);
-        }
     }
     
-    // PlaylistSongCardAdapter.OnSongActionListener implementation
+    // PlaylistSongPagingAdapter.OnSongActionListener implementation
     @Override
     public void onSongClick(Song song, int position) {
         // When user clicks on song card, play the song (same as play button)
@@ -565,50 +528,16 @@ public class PlaylistDetailFragment extends Fragment implements PlaylistSongCard
     public void onPlaySong(Song song, int position) {
         android.util.Log.d("PlaylistDetailFragment", "onPlaySong called - Song: " + song.getTitle() + ", Position: " + position);
 
-        // ✅ FIX: Use adapter data instead of ViewModel LiveData to avoid null issues
         Playlist currentPlaylist = viewModel.getCurrentPlaylist().getValue();
-        List<Song> playlistSongs = null;
-
-        // Try to get songs from adapter first (more reliable)
-        if (adapter != null && adapter.getItemCount() > 0) {
-            playlistSongs = adapter.getSongs();
-            android.util.Log.d("PlaylistDetailFragment", "Got " + playlistSongs.size() + " songs from adapter");
-        } else {
-            // Fallback to ViewModel data
-            playlistSongs = viewModel.getSongsInPlaylist().getValue();
-            android.util.Log.d("PlaylistDetailFragment", "Fallback to ViewModel data: " + (playlistSongs != null ? playlistSongs.size() : "null"));
-        }
-
-        // Validation with better error messages
         if (currentPlaylist == null) {
             android.util.Log.e("PlaylistDetailFragment", "Current playlist is null");
             showToast("Lỗi: Không tìm thấy thông tin playlist");
             return;
         }
 
-        if (playlistSongs == null || playlistSongs.isEmpty()) {
-            android.util.Log.e("PlaylistDetailFragment", "Playlist songs is null or empty");
-            showToast("Lỗi: Danh sách bài hát trống");
-            return;
-        }
-
-        if (position < 0 || position >= playlistSongs.size()) {
-            android.util.Log.e("PlaylistDetailFragment", "Invalid position: " + position + " for playlist size: " + playlistSongs.size());
-            showToast("Lỗi: Vị trí bài hát không hợp lệ");
-            return;
-        }
-
-        try {
-            // ✅ CONSISTENT: Use playFromView with full playlist for navigation
-            songDetailViewModel.playFromView(playlistSongs, currentPlaylist.getName(), position);
-
-            android.util.Log.d("PlaylistDetailFragment", "Successfully called playFromView");
-            showToast("Đang phát: " + song.getTitle() + " từ playlist: " + currentPlaylist.getName());
-
-        } catch (Exception e) {
-            android.util.Log.e("PlaylistDetailFragment", "Error playing song", e);
-            showToast("Lỗi khi phát bài hát: " + e.getMessage());
-        }
+        // ✅ CONSISTENT: Queue là toàn bộ playlist, bắt đầu từ bài được chọn
+        songDetailViewModel.playFromQuery(viewModel.getPlaybackQueueQuery(), currentPlaylist.getName(), song.getId());
+        showToast("Đang phát: " + song.getTitle() + " từ playlist: " + currentPlaylist.getName());
     }
 
     @Override
@@ -6,6 +6,8 @@ import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
 
 import com.g3.soundify_musicplayer.data.entity.Playlist;
 import com.g3.soundify_musicplayer.data.entity.Song;
@@ -13,12 +15,12 @@ import com.g3.soundify_musicplayer.data.entity.User;
 import com.g3.soundify_musicplayer.data.repository.PlaylistRepository;
 import com.g3.soundify_musicplayer.data.repository.UserRepository;
 import com.g3.soundify_musicplayer.utils.AuthManager;
-import com.g3.soundify_musicplayer.utils.TimeUtils;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 /**
@@ -46,13 +48,17 @@ public class PlaylistDetailViewModel extends AndroidViewModel {
     
     // Current playlist ID
     private long currentPlaylistId = -1;
+
+    // Paged songs of currentPlaylistId (rotation giữ lại window đã load)
+    private LiveData<PagingData<Song>> pagedSongs;
+    private long pagedSongsPlaylistId = -1;
     
     public PlaylistDetailViewModel(@NonNull Application application) {
         super(application);
         this.playlistRepository = new PlaylistRepository(application);
         this.userRepository = new UserRepository(application);
         this.authManager = new AuthManager(application);
-        this.executor = Executors.newFixedThreadPool(2);
+        this.executor = AppExecutors.getInstance().background();
     }
     
     /**
@@ -71,6 +77,8 @@ public class PlaylistDetailViewModel extends AndroidViewModel {
         playlistLiveData.observeForever(playlist -> {
             if (playlist != null) {
                 currentPlaylist.setValue(playlist);
+                // song_count do trigger giữ, list bài chỉ được load theo trang
+                songCount.setValue(playlist.getSongCount());
                 loadPlaylistOwner(playlist.getOwnerId());
                 checkOwnership(playlist.getOwnerId());
             } else {
@@ -102,37 +110,25 @@ public class PlaylistDetailViewModel extends AndroidViewModel {
     }
     
     /**
-     * Get songs in playlist with LiveData
+     * Get songs in playlist page by page (Paging 3), cached for the lifetime of this ViewModel
      */
-    public LiveData<List<Song>> getSongsInPlaylist() {
-        if (currentPlaylistId != -1) {
-            return playlistRepository.getSongsInPlaylist(currentPlaylistId);
+    public LiveData<PagingData<Song>> getSongsInPlaylistPaged() {
+        if (currentPlaylistId == -1) {
+            return new MutableLiveData<>();
         }
-
-        return new MutableLiveData<>();
+        if (pagedSongs == null || pagedSongsPlaylistId != currentPlaylistId) {
+            pagedSongs = PagingLiveData.cachedIn(playlistRepository.getSongsInPlaylistPaged(currentPlaylistId), this);
+            pagedSongsPlaylistId = currentPlaylistId;
+        }
+        return pagedSongs;
     }
-    
+
     /**
-     * Update playlist stats when songs change
+     * Query đọc toàn bộ bài của playlist (cùng thứ tự với list paged) làm queue phát nhạc
      */
-    public void updatePlaylistStats(List<Song> songs) {
-        if (songs == null) {
-            songCount.setValue(0);
-            totalDuration.setValue("0:00");
-            return;
-        }
-        
-        songCount.setValue(songs.size());
-        
-        // Calculate total duration
-        long totalMs = 0;
-        for (Song song : songs) {
-            if (song.getDurationMs() != null) {
-                totalMs += song.getDurationMs();
-            }
-        }
-        
-        totalDuration.setValue(TimeUtils.formatDuration((int) totalMs));
+    public Callable<List<Song>> getPlaybackQueueQuery() {
+        long playlistId = currentPlaylistId;
+        return () -> playlistRepository.getSongsInPlaylistDirectly(playlistId);
     }
     
     /**
@@ -415,9 +411,6 @@ public class PlaylistDetailViewModel extends AndroidViewModel {
     protected void onCleared() {
         super.onCleared();
         // Clean up resources
-        if (executor != null && !executor.isShutdown()) {
-            executor.shutdown();
-        }
         playlistRepository.shutdown();
         userRepository.shutdown();
     }
@@ -1,7 +1,6 @@
 package com.g3.soundify_musicplayer.ui.playlist;
 
 import android.content.Context;
-import android.net.Uri;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -11,25 +10,49 @@ import android.widget.PopupMenu;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.g3.soundify_musicplayer.R;
 import com.g3.soundify_musicplayer.data.entity.Song;
+import com.g3.soundify_musicplayer.utils.CoverThumbnails;
+import com.g3.soundify_musicplayer.utils.DiffConfigUtils;
+import com.g3.soundify_musicplayer.utils.ImageLoader;
 import com.g3.soundify_musicplayer.utils.TimeUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * RecyclerView Adapter for playlist songs with drag-and-drop support
  */
-public class PlaylistSongAdapter extends RecyclerView.Adapter<PlaylistSongAdapter.SongViewHolder> {
+public class PlaylistSongAdapter extends ListAdapter<Song, PlaylistSongAdapter.SongViewHolder> {
+
+    private static final DiffUtil.ItemCallback<Song> DIFF_CALLBACK = new DiffUtil.ItemCallback<Song>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Song oldItem, @NonNull Song newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Song oldItem, @NonNull Song newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getCoverArtUrl(), newItem.getCoverArtUrl())
+                    && Objects.equals(oldItem.getDurationMs(), newItem.getDurationMs());
+        }
+    };
+
+    // Partial rebind payload: only drag handle / menu visibility changed
+    private static final Object PAYLOAD_OWNER = new Object();
     
-    private List<Song> songs = new ArrayList<>();
     private final Context context;
     private OnSongActionListener listener;
     private boolean isOwner = false;
+    // Last list passed to submitList: the diff of a previous move may not be committed yet
+    private List<Song> latestSongs = new ArrayList<>();
     
     public interface OnSongActionListener {
         void onSongClick(Song song, int position);
@@ -38,6 +61,7 @@ public class PlaylistSongAdapter extends RecyclerView.Adapter<PlaylistSongAdapte
     }
     
     public PlaylistSongAdapter(Context context) {
+        super(DiffConfigUtils.backgroundConfig(DIFF_CALLBACK));
         this.context = context;
     }
     
@@ -46,23 +70,31 @@ public class PlaylistSongAdapter extends RecyclerView.Adapter<PlaylistSongAdapte
     }
     
     public void setIsOwner(boolean isOwner) {
-        this.isOwner = isOwner;
-        notifyDataSetChanged();
+        if (this.isOwner != isOwner) {
+            this.isOwner = isOwner;
+            notifyItemRangeChanged(0, getItemCount(), PAYLOAD_OWNER);
+        }
     }
     
     public void setSongs(List<Song> songs) {
-        this.songs = songs != null ? new ArrayList<>(songs) : new ArrayList<>();
-        notifyDataSetChanged();
+        latestSongs = songs != null ? new ArrayList<>(songs) : new ArrayList<>();
+        submitList(latestSongs);
     }
     
     public List<Song> getSongs() {
-        return new ArrayList<>(songs);
+        return new ArrayList<>(latestSongs);
     }
     
     /**
      * Move item for drag and drop
      */
     public void moveItem(int fromPosition, int toPosition) {
+        // Reorder a copy of the latest submitted list (not getCurrentList(), which lags behind
+        // while the previous diff is running) and let the differ dispatch the move
+        List<Song> songs = new ArrayList<>(latestSongs);
+        if (fromPosition < 0 || fromPosition >= songs.size() || toPosition < 0 || toPosition >= songs.size()) {
+            return;
+        }
         if (fromPosition < toPosition) {
             for (int i = fromPosition; i < toPosition; i++) {
                 Collections.swap(songs, i, i + 1);
@@ -72,7 +104,8 @@ public class PlaylistSongAdapter extends RecyclerView.Adapter<PlaylistSongAdapte
                 Collections.swap(songs, i, i - 1);
             }
         }
-        notifyItemMoved(fromPosition, toPosition);
+        latestSongs = songs;
+        submitList(songs);
         
         if (listener != null) {
             listener.onMoveSong(fromPosition, toPosition);
@@ -88,13 +121,18 @@ public class PlaylistSongAdapter extends RecyclerView.Adapter<PlaylistSongAdapte
     
     @Override
     public void onBindViewHolder(@NonNull SongViewHolder holder, int position) {
-        Song song = songs.get(position);
+        Song song = getItem(position);
         holder.bind(song, position);
     }
-    
+
     @Override
-    public int getItemCount() {
-        return songs.size();
+    public void onBindViewHolder(@NonNull SongViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(PAYLOAD_OWNER)) {
+            holder.dragHandle.setVisibility(isOwner ? View.VISIBLE : View.GONE);
+            holder.menuButton.setVisibility(isOwner ? View.VISIBLE : View.GONE);
+            return;
+        }
+        super.onBindViewHolder(holder, position, payloads);
     }
     
     class SongViewHolder extends RecyclerView.ViewHolder {
@@ -120,7 +158,7 @@ public class PlaylistSongAdapter extends RecyclerView.Adapter<PlaylistSongAdapte
             itemView.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (position != RecyclerView.NO_POSITION && listener != null) {
-                    listener.onSongClick(songs.get(position), position);
+                    listener.onSongClick(getItem(position), position);
                 }
             });
             
@@ -143,16 +181,8 @@ public class PlaylistSongAdapter extends RecyclerView.Adapter<PlaylistSongAdapte
             }
             
             // Set cover art
-            if (song.getCoverArtUrl() != null && !song.getCoverArtUrl().isEmpty()) {
-                try {
-                    Uri coverUri = Uri.parse(song.getCoverArtUrl());
-                    songCover.setImageURI(coverUri);
-                } catch (Exception e) {
-                    songCover.setImageResource(R.drawable.placeholder_album_art);
-                }
-            } else {
-                songCover.setImageResource(R.drawable.placeholder_album_art);
-            }
+            ImageLoader.loadCover(songCover, song.getCoverArtUrl(), CoverThumbnails.Variant.LIST,
+                    R.drawable.placeholder_album_art);
             
             // Show/hide drag handle based on ownership
             dragHandle.setVisibility(isOwner ? View.VISIBLE : View.GONE);
@@ -166,7 +196,7 @@ public class PlaylistSongAdapter extends RecyclerView.Adapter<PlaylistSongAdapte
                 return;
             }
             
-            Song song = songs.get(position);
+            Song song = getItem(position);
             
             PopupMenu popup = new PopupMenu(context, anchor);
             popup.getMenuInflater().inflate(R.menu.menu_playlist_song, popup.getMenu());
@@ -184,7 +214,7 @@ public class PlaylistSongAdapter extends RecyclerView.Adapter<PlaylistSongAdapte
                     }
                     return true;
                 } else if (itemId == R.id.action_move_down) {
-                    if (position < songs.size() - 1) {
+                    if (position < getItemCount() - 1) {
                         moveItem(position, position + 1);
                     }
                     return true;
@@ -194,7 +224,7 @@ public class PlaylistSongAdapter extends RecyclerView.Adapter<PlaylistSongAdapte
             
             // Enable/disable move options based on position
             popup.getMenu().findItem(R.id.action_move_up).setEnabled(position > 0);
-            popup.getMenu().findItem(R.id.action_move_down).setEnabled(position < songs.size() - 1);
+            popup.getMenu().findItem(R.id.action_move_down).setEnabled(position < getItemCount() - 1);
             
             popup.show();
         }
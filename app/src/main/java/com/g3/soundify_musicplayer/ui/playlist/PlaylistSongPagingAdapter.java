@@ -0,0 +1,164 @@
+package com.g3.soundify_musicplayer.ui.playlist;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageButton;
+import android.widget.ImageView;
+import android.widget.PopupMenu;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.g3.soundify_musicplayer.R;
+import com.g3.soundify_musicplayer.data.entity.Song;
+import com.g3.soundify_musicplayer.utils.CoverThumbnails;
+import com.g3.soundify_musicplayer.utils.ImageLoader;
+
+import java.util.Objects;
+
+/**
+ * Paged playlist songs (Paging 3) for PlaylistDetailFragment, using item_song_card.xml.
+ * Only a window of the playlist is held in memory: playback builds its queue with a query
+ * (SongDetailViewModel.playFromQuery) instead of reading the adapter.
+ */
+public class PlaylistSongPagingAdapter extends PagingDataAdapter<Song, PlaylistSongPagingAdapter.SongCardViewHolder> {
+
+    private static final DiffUtil.ItemCallback<Song> DIFF_CALLBACK = new DiffUtil.ItemCallback<Song>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Song oldItem, @NonNull Song newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Song oldItem, @NonNull Song newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getCoverArtUrl(), newItem.getCoverArtUrl())
+                    && Objects.equals(oldItem.getUploaderName(), newItem.getUploaderName());
+        }
+    };
+
+    private final Context context;
+    private OnSongActionListener listener;
+    private boolean showRemoveOption = false; // Only show for playlist owners
+
+    public interface OnSongActionListener {
+        void onSongClick(Song song, int position);
+        void onPlaySong(Song song, int position);
+        void onRemoveFromPlaylist(Song song, int position);
+    }
+
+    public PlaylistSongPagingAdapter(Context context) {
+        super(DIFF_CALLBACK);
+        this.context = context;
+    }
+
+    public void setOnSongActionListener(OnSongActionListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Set whether to show remove option (only for playlist owners)
+     */
+    public void setShowRemoveOption(boolean showRemoveOption) {
+        if (this.showRemoveOption != showRemoveOption) {
+            this.showRemoveOption = showRemoveOption;
+            notifyItemRangeChanged(0, getItemCount());
+        }
+    }
+
+    @NonNull
+    @Override
+    public SongCardViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(context).inflate(R.layout.item_song_card, parent, false);
+        return new SongCardViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull SongCardViewHolder holder, int position) {
+        Song song = getItem(position);
+        if (song != null) {
+            holder.bind(song);
+        }
+    }
+
+    class SongCardViewHolder extends RecyclerView.ViewHolder {
+
+        private final ImageView imgCover;
+        private final TextView tvTitle;
+        private final TextView tvUploader;
+        private final ImageButton btnPlay;
+        private final ImageButton btnOverflow;
+
+        public SongCardViewHolder(@NonNull View itemView) {
+            super(itemView);
+
+            imgCover = itemView.findViewById(R.id.imgCover);
+            tvTitle = itemView.findViewById(R.id.tvTitle);
+            tvUploader = itemView.findViewById(R.id.tvUploader);
+            btnPlay = itemView.findViewById(R.id.btnPlay);
+            btnOverflow = itemView.findViewById(R.id.btnOverflow);
+
+            itemView.setOnClickListener(v -> {
+                int position = getBindingAdapterPosition();
+                Song song = position != RecyclerView.NO_POSITION ? getItem(position) : null;
+                if (song != null && listener != null) {
+                    listener.onSongClick(song, position);
+                }
+            });
+
+            btnPlay.setOnClickListener(v -> {
+                int position = getBindingAdapterPosition();
+                Song song = position != RecyclerView.NO_POSITION ? getItem(position) : null;
+                if (song != null && listener != null) {
+                    listener.onPlaySong(song, position);
+                }
+            });
+
+            btnOverflow.setOnClickListener(v -> {
+                int position = getBindingAdapterPosition();
+                Song song = position != RecyclerView.NO_POSITION ? getItem(position) : null;
+                if (song != null && listener != null) {
+                    showOverflowMenu(v, song, position);
+                }
+            });
+        }
+
+        /**
+         * Show overflow menu with remove option
+         */
+        private void showOverflowMenu(View anchor, Song song, int position) {
+            PopupMenu popup = new PopupMenu(context, anchor);
+            popup.getMenuInflater().inflate(R.menu.playlist_song_menu, popup.getMenu());
+
+            popup.setOnMenuItemClickListener(item -> {
+                if (item.getItemId() == R.id.action_remove_from_playlist) {
+                    if (listener != null) {
+                        listener.onRemoveFromPlaylist(song, position);
+                    }
+                    return true;
+                }
+                return false;
+            });
+
+            popup.show();
+        }
+
+        public void bind(Song song) {
+            tvTitle.setText(song.getTitle() != null ? song.getTitle() : "Unknown Title");
+
+            // uploaderName comes from the playlist query's join on users
+            String uploaderName = song.getUploaderName();
+            tvUploader.setText(uploaderName != null && !uploaderName.trim().isEmpty() ? uploaderName : "Unknown Artist");
+
+            ImageLoader.loadCover(imgCover, song.getCoverArtUrl(), CoverThumbnails.Variant.LIST);
+
+            // Show/hide overflow button based on owner status
+            btnOverflow.setVisibility(showRemoveOption ? View.VISIBLE : View.GONE);
+        }
+    }
+}
@@ -9,23 +9,44 @@ import android.widget.PopupMenu;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.g3.soundify_musicplayer.R;
 import com.g3.soundify_musicplayer.data.dto.PlaylistWithSongCount;
+import com.g3.soundify_musicplayer.utils.DiffConfigUtils;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 /**
  * Adapter for displaying playlists with song counts in RecyclerView
  */
-public class PlaylistWithSongCountAdapter extends RecyclerView.Adapter<PlaylistWithSongCountAdapter.PlaylistViewHolder> {
+public class PlaylistWithSongCountAdapter extends ListAdapter<PlaylistWithSongCount, PlaylistWithSongCountAdapter.PlaylistViewHolder> {
+
+    private static final DiffUtil.ItemCallback<PlaylistWithSongCount> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<PlaylistWithSongCount>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull PlaylistWithSongCount oldItem, @NonNull PlaylistWithSongCount newItem) {
+                    return oldItem.getId() == newItem.getId();
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull PlaylistWithSongCount oldItem, @NonNull PlaylistWithSongCount newItem) {
+                    return oldItem.getSongCount() == newItem.getSongCount()
+                            && Objects.equals(oldItem.getName(), newItem.getName())
+                            && oldItem.getCreatedAt() == newItem.getCreatedAt();
+                }
+            };
+
+    // Partial rebind payload: only the overflow button visibility changed
+    private static final Object PAYLOAD_OWNER_OPTIONS = new Object();
     
-    private List<PlaylistWithSongCount> playlists;
     private OnPlaylistClickListener listener;
     private boolean showOwnerOptions = false; // Show edit/delete options for owner playlists
     private long currentUserId = -1; // Current user ID to check ownership
@@ -38,8 +59,9 @@ public class PlaylistWithSongCountAdapter extends RecyclerView.Adapter<PlaylistW
     }
     
     public PlaylistWithSongCountAdapter(List<PlaylistWithSongCount> playlists, OnPlaylistClickListener listener) {
-        this.playlists = new ArrayList<>(playlists != null ? playlists : new ArrayList<>());
+        super(DiffConfigUtils.backgroundConfig(DIFF_CALLBACK));
         this.listener = listener;
+        submitList(playlists != null ? new ArrayList<>(playlists) : new ArrayList<>());
     }
 
     /**
@@ -49,7 +71,7 @@ public class PlaylistWithSongCountAdapter extends RecyclerView.Adapter<PlaylistW
         if (this.showOwnerOptions != showOwnerOptions || this.currentUserId != currentUserId) {
             this.showOwnerOptions = showOwnerOptions;
             this.currentUserId = currentUserId;
-            notifyDataSetChanged(); // Refresh to show/hide overflow buttons
+            notifyItemRangeChanged(0, getItemCount(), PAYLOAD_OWNER_OPTIONS); // Only show/hide overflow buttons
         }
     }
     
@@ -63,13 +85,22 @@ public class PlaylistWithSongCountAdapter extends RecyclerView.Adapter<PlaylistW
     
     @Override
     public void onBindViewHolder(@NonNull PlaylistViewHolder holder, int position) {
-        PlaylistWithSongCount playlistWithSongCount = playlists.get(position);
+        PlaylistWithSongCount playlistWithSongCount = getItem(position);
         holder.bind(playlistWithSongCount);
     }
-    
+
     @Override
-    public int getItemCount() {
-        return playlists.size();
+    public void onBindViewHolder(@NonNull PlaylistViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(PAYLOAD_OWNER_OPTIONS)) {
+            boolean isOwner = isOwnerOf(getItem(position));
+            holder.btnPlaylistOverflow.setVisibility(isOwner ? View.VISIBLE : View.GONE);
+            return;
+        }
+        super.onBindViewHolder(holder, position, payloads);
+    }
+
+    private boolean isOwnerOf(PlaylistWithSongCount playlist) {
+        return showOwnerOptions && currentUserId != -1 && playlist.getOwnerId() == currentUserId;
     }
     
     class PlaylistViewHolder extends RecyclerView.ViewHolder {
@@ -105,7 +136,7 @@ public class PlaylistWithSongCountAdapter extends RecyclerView.Adapter<PlaylistW
             ivPlaylistCover.setImageResource(R.drawable.placeholder_album_art);
             
             // Show/hide overflow button based on ownership
-            boolean isOwner = showOwnerOptions && currentUserId != -1 && playlistWithSongCount.getOwnerId() == currentUserId;
+            boolean isOwner = isOwnerOf(playlistWithSongCount);
             btnPlaylistOverflow.setVisibility(isOwner ? View.VISIBLE : View.GONE);
 
             // Click listeners
@@ -123,7 +154,7 @@ public class PlaylistWithSongCountAdapter extends RecyclerView.Adapter<PlaylistW
 
             // Set up overflow menu
             btnPlaylistOverflow.setOnClickListener(v -> {
-                if (listener != null && isOwner) {
+                if (listener != null && isOwnerOf(playlistWithSongCount)) {
                     showOwnerMenu(v, playlistWithSongCount);
                 }
             });
@@ -163,19 +194,15 @@ public class PlaylistWithSongCountAdapter extends RecyclerView.Adapter<PlaylistW
      * Update adapter data
      */
     public void updateData(List<PlaylistWithSongCount> newData) {
-        playlists.clear();
-        if (newData != null) {
-            playlists.addAll(newData);
-        }
-        notifyDataSetChanged();
+        submitList(newData != null ? new ArrayList<>(newData) : new ArrayList<>());
     }
     
     /**
      * Get playlist at position
      */
     public PlaylistWithSongCount getPlaylistAt(int position) {
-        if (position >= 0 && position < playlists.size()) {
-            return playlists.get(position);
+        if (position >= 0 && position < getItemCount()) {
+            return getItem(position);
         }
         return null;
     }
@@ -184,6 +211,6 @@ public class PlaylistWithSongCountAdapter extends RecyclerView.Adapter<PlaylistW
      * Get all playlists
      */
     public List<PlaylistWithSongCount> getAllPlaylists() {
-        return new ArrayList<>(playlists);
+        return new ArrayList<>(getCurrentList());
     }
 }
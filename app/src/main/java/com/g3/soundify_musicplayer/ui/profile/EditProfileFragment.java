@@ -25,6 +25,7 @@ import com.google.android.material.textfield.TextInputLayout;
 import com.g3.soundify_musicplayer.R;
 import com.g3.soundify_musicplayer.data.entity.User;
 import com.g3.soundify_musicplayer.utils.AuthManager;
+import com.g3.soundify_musicplayer.utils.ImageLoader;
 
 /**
  * Fragment for editing user profile
@@ -242,7 +243,7 @@ public class EditProfileFragment extends Fragment {
         editTextBio.setText(user.getBio());
         
         // Load profile image if available
-        // TODO: Implement image loading with Glide/Picasso
+        ImageLoader.loadAvatar(profileImageView, user.getAvatarUrl());
     }
     
     /**
@@ -13,9 +13,9 @@ import com.g3.soundify_musicplayer.data.entity.User;
 import com.g3.soundify_musicplayer.data.repository.UserRepository;
 import com.g3.soundify_musicplayer.utils.AuthManager;
 import com.g3.soundify_musicplayer.utils.FileUtils;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
 
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 public class EditProfileViewModel extends AndroidViewModel {
@@ -44,7 +44,7 @@ public class EditProfileViewModel extends AndroidViewModel {
         super(application);
         userRepository = new UserRepository(application);
         authManager = new AuthManager(application);
-        executor = Executors.newFixedThreadPool(4);
+        executor = AppExecutors.getInstance().background();
     }
 
     // Getters for LiveData
@@ -288,8 +288,5 @@ public class EditProfileViewModel extends AndroidViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        if (executor != null) {
-            executor.shutdown();
-        }
     }
 }
@@ -111,6 +111,8 @@ public class FollowersFollowingActivity extends AppCompatActivity implements Use
         long currentUserId = authManager.getCurrentUserId();
         adapter = new UserFollowAdapter(this, currentUserId);
         adapter.setOnUserActionListener(this);
+        // Empty state is evaluated after the async diff has been applied
+        adapter.setOnListCommittedListener(this::updateEmptyState);
         
         recyclerViewUsers.setLayoutManager(new LinearLayoutManager(this));
         recyclerViewUsers.setAdapter(adapter);
@@ -145,7 +147,6 @@ public class FollowersFollowingActivity extends AppCompatActivity implements Use
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
                 adapter.filterUsers(s.toString());
-                updateEmptyState();
             }
 
             @Override
@@ -285,7 +286,6 @@ public class FollowersFollowingActivity extends AppCompatActivity implements Use
 
     private void updateUsersList(List<User> users) {
         adapter.setUsers(users);
-        updateEmptyState();
         hideLoadingState();
         hideErrorState();
     }
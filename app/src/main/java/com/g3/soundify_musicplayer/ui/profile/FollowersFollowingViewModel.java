@@ -13,10 +13,10 @@ import com.g3.soundify_musicplayer.data.entity.User;
 import com.g3.soundify_musicplayer.data.repository.MusicPlayerRepository;
 import com.g3.soundify_musicplayer.data.repository.UserRepository;
 import com.g3.soundify_musicplayer.utils.AuthManager;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class FollowersFollowingViewModel extends AndroidViewModel {
 
@@ -45,7 +45,7 @@ public class FollowersFollowingViewModel extends AndroidViewModel {
         musicPlayerRepository = new MusicPlayerRepository(application);
         userRepository = new UserRepository(application);
         authManager = new AuthManager(application);
-        executor = Executors.newFixedThreadPool(4);
+        executor = AppExecutors.getInstance().background();
 
         // Set up LiveData transformations
         followers = Transformations.switchMap(targetUserId, userId -> {
@@ -228,9 +228,6 @@ public class FollowersFollowingViewModel extends AndroidViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        if (executor != null) {
-            executor.shutdown();
-        }
         if (musicPlayerRepository != null) {
             musicPlayerRepository.shutdown();
         }
@@ -9,21 +9,40 @@ import android.widget.ImageButton;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.g3.soundify_musicplayer.R;
 import com.g3.soundify_musicplayer.data.entity.Playlist;
+import com.g3.soundify_musicplayer.utils.DiffConfigUtils;
 import com.google.android.material.imageview.ShapeableImageView;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * RecyclerView Adapter for public playlists in user profile
  */
-public class PublicPlaylistAdapter extends RecyclerView.Adapter<PublicPlaylistAdapter.PlaylistViewHolder> {
+public class PublicPlaylistAdapter extends ListAdapter<Playlist, PublicPlaylistAdapter.PlaylistViewHolder> {
+
+    private static final DiffUtil.ItemCallback<Playlist> DIFF_CALLBACK = new DiffUtil.ItemCallback<Playlist>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Playlist oldItem, @NonNull Playlist newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Playlist oldItem, @NonNull Playlist newItem) {
+            return Objects.equals(oldItem.getName(), newItem.getName())
+                    && Objects.equals(oldItem.getDescription(), newItem.getDescription());
+        }
+    };
+
+    // Partial rebind payload: only the menu button visibility changed
+    private static final Object PAYLOAD_MENU = new Object();
     
-    private List<Playlist> playlists = new ArrayList<>();
     private final Context context;
     private OnPlaylistClickListener listener;
     private boolean showMenu = false;
@@ -34,6 +53,7 @@ public class PublicPlaylistAdapter extends RecyclerView.Adapter<PublicPlaylistAd
     }
     
     public PublicPlaylistAdapter(Context context) {
+        super(DiffConfigUtils.backgroundConfig(DIFF_CALLBACK));
         this.context = context;
     }
     
@@ -42,17 +62,18 @@ public class PublicPlaylistAdapter extends RecyclerView.Adapter<PublicPlaylistAd
     }
     
     public void setShowMenu(boolean showMenu) {
-        this.showMenu = showMenu;
-        notifyDataSetChanged();
+        if (this.showMenu != showMenu) {
+            this.showMenu = showMenu;
+            notifyItemRangeChanged(0, getItemCount(), PAYLOAD_MENU);
+        }
     }
     
     public void setPlaylists(List<Playlist> playlists) {
-        this.playlists = playlists != null ? new ArrayList<>(playlists) : new ArrayList<>();
-        notifyDataSetChanged();
+        submitList(playlists != null ? new ArrayList<>(playlists) : new ArrayList<>());
     }
     
     public List<Playlist> getPlaylists() {
-        return new ArrayList<>(playlists);
+        return new ArrayList<>(getCurrentList());
     }
     
     @NonNull
@@ -64,13 +85,17 @@ public class PublicPlaylistAdapter extends RecyclerView.Adapter<PublicPlaylistAd
     
     @Override
     public void onBindViewHolder(@NonNull PlaylistViewHolder holder, int position) {
-        Playlist playlist = playlists.get(position);
+        Playlist playlist = getItem(position);
         holder.bind(playlist, position);
     }
-    
+
     @Override
-    public int getItemCount() {
-        return playlists.size();
+    public void onBindViewHolder(@NonNull PlaylistViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(PAYLOAD_MENU)) {
+            holder.menuButton.setVisibility(showMenu ? View.VISIBLE : View.GONE);
+            return;
+        }
+        super.onBindViewHolder(holder, position, payloads);
     }
     
     class PlaylistViewHolder extends RecyclerView.ViewHolder {
@@ -94,14 +119,14 @@ public class PublicPlaylistAdapter extends RecyclerView.Adapter<PublicPlaylistAd
             itemView.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (position != RecyclerView.NO_POSITION && listener != null) {
-                    listener.onPlaylistClick(playlists.get(position), position);
+                    listener.onPlaylistClick(getItem(position), position);
                 }
             });
             
             menuButton.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (position != RecyclerView.NO_POSITION && listener != null) {
-                    listener.onPlaylistMenuClick(playlists.get(position), position);
+                    listener.onPlaylistMenuClick(getItem(position), position);
                 }
             });
         }
@@ -1,7 +1,6 @@
 package com.g3.soundify_musicplayer.ui.profile;
 
 import android.content.Context;
-import android.net.Uri;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -9,10 +8,15 @@ import android.widget.ImageButton;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.g3.soundify_musicplayer.R;
 import com.g3.soundify_musicplayer.data.entity.Song;
+import com.g3.soundify_musicplayer.utils.CoverThumbnails;
+import com.g3.soundify_musicplayer.utils.DiffConfigUtils;
+import com.g3.soundify_musicplayer.utils.ImageLoader;
 import com.g3.soundify_musicplayer.utils.TimeUtils;
 import com.google.android.material.imageview.ShapeableImageView;
 
@@ -21,13 +25,31 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 /**
  * RecyclerView Adapter for public songs in user profile
  */
-public class PublicSongAdapter extends RecyclerView.Adapter<PublicSongAdapter.SongViewHolder> {
+public class PublicSongAdapter extends ListAdapter<Song, PublicSongAdapter.SongViewHolder> {
+
+    private static final DiffUtil.ItemCallback<Song> DIFF_CALLBACK = new DiffUtil.ItemCallback<Song>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Song oldItem, @NonNull Song newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Song oldItem, @NonNull Song newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getGenre(), newItem.getGenre())
+                    && Objects.equals(oldItem.getDurationMs(), newItem.getDurationMs())
+                    && Objects.equals(oldItem.getCoverArtUrl(), newItem.getCoverArtUrl());
+        }
+    };
+
+    // Partial rebind payload: only the menu button visibility changed
+    private static final Object PAYLOAD_MENU = new Object();
     
-    private List<Song> songs = new ArrayList<>();
     private final Context context;
     private OnSongClickListener listener;
     private boolean showMenu = false;
@@ -38,6 +60,7 @@ public class PublicSongAdapter extends RecyclerView.Adapter<PublicSongAdapter.So
     }
     
     public PublicSongAdapter(Context context) {
+        super(DiffConfigUtils.backgroundConfig(DIFF_CALLBACK));
         this.context = context;
     }
     
@@ -46,17 +69,18 @@ public class PublicSongAdapter extends RecyclerView.Adapter<PublicSongAdapter.So
     }
     
     public void setShowMenu(boolean showMenu) {
-        this.showMenu = showMenu;
-        notifyDataSetChanged();
+        if (this.showMenu != showMenu) {
+            this.showMenu = showMenu;
+            notifyItemRangeChanged(0, getItemCount(), PAYLOAD_MENU);
+        }
     }
     
     public void setSongs(List<Song> songs) {
-        this.songs = songs != null ? new ArrayList<>(songs) : new ArrayList<>();
-        notifyDataSetChanged();
+        submitList(songs != null ? new ArrayList<>(songs) : new ArrayList<>());
     }
     
     public List<Song> getSongs() {
-        return new ArrayList<>(songs);
+        return new ArrayList<>(getCurrentList());
     }
     
     @NonNull
@@ -68,13 +92,17 @@ public class PublicSongAdapter extends RecyclerView.Adapter<PublicSongAdapter.So
     
     @Override
     public void onBindViewHolder(@NonNull SongViewHolder holder, int position) {
-        Song song = songs.get(position);
+        Song song = getItem(position);
         holder.bind(song, position);
     }
-    
+
     @Override
-    public int getItemCount() {
-        return songs.size();
+    public void onBindViewHolder(@NonNull SongViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(PAYLOAD_MENU)) {
+            holder.menuButton.setVisibility(showMenu ? View.VISIBLE : View.GONE);
+            return;
+        }
+        super.onBindViewHolder(holder, position, payloads);
     }
     
     class SongViewHolder extends RecyclerView.ViewHolder {
@@ -100,14 +128,14 @@ public class PublicSongAdapter extends RecyclerView.Adapter<PublicSongAdapter.So
             itemView.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (position != RecyclerView.NO_POSITION && listener != null) {
-                    listener.onSongClick(songs.get(position), position);
+                    listener.onSongClick(getItem(position), position);
                 }
             });
             
             menuButton.setOnClickListener(v -> {
                 int position = getAdapterPosition();
                 if (position != RecyclerView.NO_POSITION && listener != null) {
-                    listener.onSongMenuClick(songs.get(position), position);
+                    listener.onSongMenuClick(getItem(position), position);
                 }
             });
         }
@@ -148,16 +176,8 @@ public class PublicSongAdapter extends RecyclerView.Adapter<PublicSongAdapter.So
             }
             
             // Set cover art
-            if (song.getCoverArtUrl() != null && !song.getCoverArtUrl().isEmpty()) {
-                try {
-                    Uri coverUri = Uri.parse(song.getCoverArtUrl());
-                    songCover.setImageURI(coverUri);
-                } catch (Exception e) {
-                    songCover.setImageResource(R.drawable.placeholder_album_art);
-                }
-            } else {
-                songCover.setImageResource(R.drawable.placeholder_album_art);
-            }
+            ImageLoader.loadCover(songCover, song.getCoverArtUrl(), CoverThumbnails.Variant.LIST,
+                    R.drawable.placeholder_album_art);
             
             // Show/hide menu button
             menuButton.setVisibility(showMenu ? View.VISIBLE : View.GONE);
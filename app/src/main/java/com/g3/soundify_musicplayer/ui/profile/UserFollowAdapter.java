@@ -7,26 +7,44 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.g3.soundify_musicplayer.R;
 import com.g3.soundify_musicplayer.data.entity.User;
+import com.g3.soundify_musicplayer.utils.DiffConfigUtils;
+import com.g3.soundify_musicplayer.utils.ImageLoader;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.imageview.ShapeableImageView;
 
-import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Adapter for displaying users in followers/following lists
  */
-public class UserFollowAdapter extends RecyclerView.Adapter<UserFollowAdapter.UserViewHolder> {
+public class UserFollowAdapter extends ListAdapter<User, UserFollowAdapter.UserViewHolder> {
+
+    private static final DiffUtil.ItemCallback<User> DIFF_CALLBACK = new DiffUtil.ItemCallback<User>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull User oldItem, @NonNull User newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull User oldItem, @NonNull User newItem) {
+            return Objects.equals(oldItem.getDisplayName(), newItem.getDisplayName())
+                    && Objects.equals(oldItem.getUsername(), newItem.getUsername())
+                    && Objects.equals(oldItem.getBio(), newItem.getBio())
+                    && Objects.equals(oldItem.getAvatarUrl(), newItem.getAvatarUrl());
+        }
+    };
 
     private Context context;
     private List<User> users;
-    private List<User> filteredUsers;
+    private Runnable onListCommittedListener;
     private List<Long> followingIds; // IDs of users that current user is following
     private OnUserActionListener listener;
     private long currentUserId;
@@ -37,10 +55,10 @@ public class UserFollowAdapter extends RecyclerView.Adapter<UserFollowAdapter.Us
     }
 
     public UserFollowAdapter(Context context, long currentUserId) {
+        super(DiffConfigUtils.backgroundConfig(DIFF_CALLBACK));
         this.context = context;
         this.currentUserId = currentUserId;
         this.users = new ArrayList<>();
-        this.filteredUsers = new ArrayList<>();
         this.followingIds = new ArrayList<>();
     }
 
@@ -48,19 +66,41 @@ public class UserFollowAdapter extends RecyclerView.Adapter<UserFollowAdapter.Us
         this.listener = listener;
     }
 
+    /**
+     * Called on the main thread once a submitted list has been diffed and applied
+     * (getItemCount() is up to date at that point)
+     */
+    public void setOnListCommittedListener(Runnable listener) {
+        this.onListCommittedListener = listener;
+    }
+
+    @Override
+    public void onCurrentListChanged(@NonNull List<User> previousList, @NonNull List<User> currentList) {
+        if (onListCommittedListener != null) {
+            onListCommittedListener.run();
+        }
+    }
+
     public void setUsers(List<User> users) {
         this.users = users != null ? new ArrayList<>(users) : new ArrayList<>();
-        this.filteredUsers = new ArrayList<>(this.users);
-        notifyDataSetChanged();
+        submitList(new ArrayList<>(this.users));
     }
 
     public void setFollowingIds(List<Long> followingIds) {
+        List<Long> oldIds = this.followingIds;
         this.followingIds = followingIds != null ? new ArrayList<>(followingIds) : new ArrayList<>();
-        notifyDataSetChanged();
+        // Rebind only rows whose follow state changed
+        List<User> current = getCurrentList();
+        for (int i = 0; i < current.size(); i++) {
+            long userId = current.get(i).getId();
+            if (oldIds.contains(userId) != this.followingIds.contains(userId)) {
+                notifyItemChanged(i);
+            }
+        }
     }
 
     public void filterUsers(String query) {
-        filteredUsers.clear();
+        List<User> filteredUsers = new ArrayList<>();
         
         if (query == null || query.trim().isEmpty()) {
             filteredUsers.addAll(users);
@@ -73,7 +113,7 @@ public class UserFollowAdapter extends RecyclerView.Adapter<UserFollowAdapter.Us
             }
         }
         
-        notifyDataSetChanged();
+        submitList(filteredUsers);
     }
 
     private boolean matchesQuery(User user, String query) {
@@ -105,8 +145,9 @@ public class UserFollowAdapter extends RecyclerView.Adapter<UserFollowAdapter.Us
         }
         
         // Find and update the specific item
-        for (int i = 0; i < filteredUsers.size(); i++) {
-            if (filteredUsers.get(i).getId() == userId) {
+        List<User> current = getCurrentList();
+        for (int i = 0; i < current.size(); i++) {
+            if (current.get(i).getId() == userId) {
                 notifyItemChanged(i);
                 break;
             }
@@ -122,15 +163,10 @@ public class UserFollowAdapter extends RecyclerView.Adapter<UserFollowAdapter.Us
 
     @Override
     public void onBindViewHolder(@NonNull UserViewHolder holder, int position) {
-        User user = filteredUsers.get(position);
+        User user = getItem(position);
         holder.bind(user, position);
     }
 
-    @Override
-    public int getItemCount() {
-        return filteredUsers.size();
-    }
-
     public class UserViewHolder extends RecyclerView.ViewHolder {
         
         private ShapeableImageView imageUserAvatar;
@@ -168,20 +204,7 @@ public class UserFollowAdapter extends RecyclerView.Adapter<UserFollowAdapter.Us
             }
             
             // Load avatar
-            if (user.getAvatarUrl() != null && !user.getAvatarUrl().isEmpty()) {
-                File avatarFile = new File(user.getAvatarUrl());
-                if (avatarFile.exists()) {
-                    Glide.with(context)
-                        .load(avatarFile)
-                        .centerCrop()
-                        .placeholder(R.drawable.placeholder_avatar)
-                        .into(imageUserAvatar);
-                } else {
-                    imageUserAvatar.setImageResource(R.drawable.placeholder_avatar);
-                }
-            } else {
-                imageUserAvatar.setImageResource(R.drawable.placeholder_avatar);
-            }
+            ImageLoader.loadAvatar(imageUserAvatar, user.getAvatarUrl());
             
             // Handle follow button state
             boolean isCurrentlyFollowing = followingIds.contains(user.getId());
@@ -207,19 +230,19 @@ public class UserFollowAdapter extends RecyclerView.Adapter<UserFollowAdapter.Us
             // Set click listeners
             itemView.setOnClickListener(v -> {
                 if (listener != null) {
-                    listener.onUserClick(user, position);
+                    listener.onUserClick(user, getBindingAdapterPosition());
                 }
             });
             
             buttonFollow.setOnClickListener(v -> {
                 if (listener != null) {
-                    listener.onFollowClick(user, position, false);
+                    listener.onFollowClick(user, getBindingAdapterPosition(), false);
                 }
             });
             
             buttonFollowing.setOnClickListener(v -> {
                 if (listener != null) {
-                    listener.onFollowClick(user, position, true);
+                    listener.onFollowClick(user, getBindingAdapterPosition(), true);
                 }
             });
         }
@@ -20,20 +20,20 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.g3.soundify_musicplayer.R;
 import com.g3.soundify_musicplayer.data.entity.Playlist;
-import com.g3.soundify_musicplayer.data.entity.Song;
 import com.g3.soundify_musicplayer.data.entity.User;
 
 import com.g3.soundify_musicplayer.ui.login_register.LoginActivity;
 import com.g3.soundify_musicplayer.ui.player.SongDetailViewModel;
 import com.g3.soundify_musicplayer.ui.playlist.PlaylistWithSongCountAdapter;
 import com.g3.soundify_musicplayer.ui.song.SongWithUploaderInfoAdapter;
+import com.g3.soundify_musicplayer.ui.song.SongWithUploaderInfoPagingAdapter;
 import com.g3.soundify_musicplayer.data.dto.PlaylistWithSongCount;
 import com.g3.soundify_musicplayer.data.dto.SongWithUploaderInfo;
 import com.g3.soundify_musicplayer.utils.AuthManager;
+import com.g3.soundify_musicplayer.utils.ImageLoader;
 import com.g3.soundify_musicplayer.viewmodel.HomeViewModel;
 
 import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Fragment for displaying user profile
@@ -74,7 +74,7 @@ public class UserProfileFragment extends Fragment {
     private RecyclerView playlistsRecyclerView;
 
     // Adapters
-    private SongWithUploaderInfoAdapter songsAdapter;
+    private SongWithUploaderInfoPagingAdapter songsAdapter;
     private PlaylistWithSongCountAdapter playlistsAdapter;
 
     // Data
@@ -191,7 +191,7 @@ public class UserProfileFragment extends Fragment {
      */
     private void setupRecyclerViews() {
         // Songs RecyclerView with uploader info
-        songsAdapter = new SongWithUploaderInfoAdapter(new ArrayList<>(), new SongWithUploaderInfoAdapter.OnSongClick() {
+        songsAdapter = new SongWithUploaderInfoPagingAdapter(new SongWithUploaderInfoAdapter.OnSongClick() {
             @Override
             public void onPlay(SongWithUploaderInfo songInfo) {
                 // Track recently played
@@ -344,11 +344,8 @@ public class UserProfileFragment extends Fragment {
         });
 
         // Observe user songs with uploader info
-        viewModel.getPublicSongsWithUploaderInfo().observe(getViewLifecycleOwner(), songsWithInfo -> {
-            if (songsWithInfo != null) {
-                songsAdapter.updateData(songsWithInfo);
-            }
-        });
+        viewModel.getPublicSongsWithUploaderInfo().observe(getViewLifecycleOwner(),
+                pagingData -> songsAdapter.submitData(getViewLifecycleOwner().getLifecycle(), pagingData));
 
         // Observe user playlists
         viewModel.getPublicPlaylists().observe(getViewLifecycleOwner(), playlists -> {
@@ -413,7 +410,7 @@ public class UserProfileFragment extends Fragment {
         bio.setText(user.getBio() != null ? user.getBio() : "No bio available");
 
         // Load profile image if available
-        // TODO: Implement image loading with Glide/Picasso
+        ImageLoader.loadAvatar(profileImage, user.getAvatarUrl());
     }
 
     /**
@@ -555,32 +552,9 @@ public class UserProfileFragment extends Fragment {
      * ✅ CONSISTENT: Play from user's all songs for navigation support
      */
     private void showMiniPlayerWithSongInfo(SongWithUploaderInfo songInfo) {
-        // Get all songs from adapter for queue navigation
-        List<SongWithUploaderInfo> allUserSongs = songsAdapter.getCurrentData();
-        List<Song> songList = new ArrayList<>();
-        int clickedPosition = 0;
-
-        // Convert all songs and find clicked position
-        for (int i = 0; i < allUserSongs.size(); i++) {
-            SongWithUploaderInfo info = allUserSongs.get(i);
-            Song song = new Song(info.getUploaderId(), info.getTitle(), info.getAudioUrl());
-            song.setId(info.getId());
-            song.setDescription(info.getDescription());
-            song.setCoverArtUrl(info.getCoverArtUrl());
-            song.setGenre(info.getGenre());
-            song.setDurationMs(info.getDurationMs());
-            song.setPublic(info.isPublic());
-            song.setCreatedAt(info.getCreatedAt());
-            songList.add(song);
-
-            if (info.getId() == songInfo.getId()) {
-                clickedPosition = i;
-            }
-        }
-
-        // ✅ CONSISTENT: Use playFromView for full user songs navigation
+        // Adapter chỉ giữ các trang đã load: queue đọc toàn bộ songs của user từ DB
         String viewTitle = "User Songs";
-        songDetailViewModel.playFromView(songList, viewTitle, clickedPosition);
+        songDetailViewModel.playFromQuery(viewModel.getSongsQueueQuery(), viewTitle, songInfo.getId());
     }
 
     // ========== 🗑️ REMOVED: Complex NavigationContext method ==========
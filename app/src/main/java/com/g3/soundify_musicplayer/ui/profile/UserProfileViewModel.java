@@ -6,6 +6,9 @@ import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
 
 import com.g3.soundify_musicplayer.data.entity.Playlist;
 import com.g3.soundify_musicplayer.data.dto.PlaylistWithSongCount;
@@ -19,6 +22,7 @@ import com.g3.soundify_musicplayer.data.repository.UserRepository;
 import com.g3.soundify_musicplayer.utils.AuthManager;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
@@ -48,9 +52,9 @@ public class UserProfileViewModel extends AndroidViewModel {
     private final MutableLiveData<Integer> songsCount = new MutableLiveData<>(0);
     
     // Content LiveData
-    private final MutableLiveData<List<Song>> publicSongs = new MutableLiveData<>();
     private final MutableLiveData<List<PlaylistWithSongCount>> publicPlaylists = new MutableLiveData<>();
-    private final MutableLiveData<List<SongWithUploaderInfo>> publicSongsWithUploaderInfo = new MutableLiveData<>();
+    private final MutableLiveData<Long> songsUploaderId = new MutableLiveData<>();
+    private final LiveData<PagingData<SongWithUploaderInfo>> publicSongsWithUploaderInfo;
     
     // Current user ID
     private long currentUserId = -1;
@@ -62,6 +66,18 @@ public class UserProfileViewModel extends AndroidViewModel {
         this.playlistRepository = new PlaylistRepository(application);
         this.musicPlayerRepository = new MusicPlayerRepository(application);
         this.authManager = new AuthManager(application);
+
+        // Songs của profile load theo trang: own profile thấy cả bài private
+        LiveData<PagingData<SongWithUploaderInfo>> songsPaged = Transformations.switchMap(songsUploaderId, userId -> {
+            if (userId == null || userId <= 0) {
+                return new MutableLiveData<>(PagingData.empty());
+            }
+            if (authManager.getCurrentUserId() == userId) {
+                return songRepository.getSongsByUploaderWithInfoPaged(userId);
+            }
+            return songRepository.getPublicSongsByUploaderWithInfoPaged(userId);
+        });
+        publicSongsWithUploaderInfo = PagingLiveData.cachedIn(songsPaged, this);
     }
     
     /**
@@ -89,6 +105,7 @@ public class UserProfileViewModel extends AndroidViewModel {
      */
     private void loadUserProfileInternal(long userId) {
         isLoading.setValue(true);
+        songsUploaderId.setValue(userId);
         
         // Load user data in background
         new Thread(() -> {
@@ -194,25 +211,9 @@ public class UserProfileViewModel extends AndroidViewModel {
     private void loadUserContent(long userId) {
         new Thread(() -> {
             try {
-                // Load public songs
-                Future<List<Song>> songsFuture;
-                Future<List<SongWithUploaderInfo>> songsWithInfoFuture;
+                // Songs được load theo trang qua songsUploaderId
                 long currentLoggedUserId = authManager.getCurrentUserId();
-                if (currentLoggedUserId == userId) {
-                    // Own profile - show all songs
-                    songsFuture = songRepository.getSongsByUploaderSync(userId);
-                    songsWithInfoFuture = songRepository.getSongsByUploaderWithInfoSync(userId);
-                } else {
-                    // Other user's profile - show only public songs
-                    songsFuture = songRepository.getPublicSongsByUploaderSync(userId);
-                    songsWithInfoFuture = songRepository.getPublicSongsByUploaderWithInfoSync(userId);
-                }
 
-                List<Song> songs = songsFuture.get();
-                List<SongWithUploaderInfo> songsWithInfo = songsWithInfoFuture.get();
-                publicSongs.postValue(songs);
-                publicSongsWithUploaderInfo.postValue(songsWithInfo);
-                
                 // Load public playlists with song count
                 List<PlaylistWithSongCount> playlistsWithCount;
                 if (currentLoggedUserId == userId) {
@@ -226,8 +227,7 @@ public class UserProfileViewModel extends AndroidViewModel {
                     // Convert to PlaylistWithSongCount
                     playlistsWithCount = new java.util.ArrayList<>();
                     for (Playlist playlist : publicPlaylists) {
-                        int songCount = playlistRepository.getSongCountInPlaylist(playlist.getId()).get();
-                        playlistsWithCount.add(new PlaylistWithSongCount(playlist, songCount));
+                        playlistsWithCount.add(new PlaylistWithSongCount(playlist, playlist.getSongCount()));
                     }
                 }
 
@@ -391,12 +391,19 @@ public class UserProfileViewModel extends AndroidViewModel {
         return songsCount;
     }
     
-    public LiveData<List<Song>> getPublicSongs() {
-        return publicSongs;
+    public LiveData<PagingData<SongWithUploaderInfo>> getPublicSongsWithUploaderInfo() {
+        return publicSongsWithUploaderInfo;
     }
 
-    public LiveData<List<SongWithUploaderInfo>> getPublicSongsWithUploaderInfo() {
-        return publicSongsWithUploaderInfo;
+    /**
+     * Query đọc toàn bộ songs của profile (cùng thứ tự với list paged) làm queue phát nhạc
+     */
+    public Callable<List<Song>> getSongsQueueQuery() {
+        long userId = currentUserId;
+        if (authManager.getCurrentUserId() == userId) {
+            return () -> songRepository.getSongsByUploaderDirectly(userId);
+        }
+        return () -> songRepository.getPublicSongsByUploaderDirectly(userId);
     }
 
     public LiveData<List<PlaylistWithSongCount>> getPublicPlaylists() {
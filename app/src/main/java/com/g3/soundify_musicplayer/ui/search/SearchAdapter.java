@@ -9,22 +9,41 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.g3.soundify_musicplayer.R;
+import com.g3.soundify_musicplayer.utils.DiffConfigUtils;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 /**
  * RecyclerView adapter for displaying search results.
  * Handles different types of search results: Songs, Artists, and Playlists.
  */
-public class SearchAdapter extends RecyclerView.Adapter<SearchAdapter.SearchViewHolder> {
+public class SearchAdapter extends ListAdapter<SearchResult, SearchAdapter.SearchViewHolder> {
+
+    // Rows are keyed on (type, entity id): a song and a user may share the same numeric id
+    private static final DiffUtil.ItemCallback<SearchResult> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<SearchResult>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull SearchResult oldItem, @NonNull SearchResult newItem) {
+                    return oldItem.getType() == newItem.getType() && oldItem.getId() == newItem.getId();
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull SearchResult oldItem, @NonNull SearchResult newItem) {
+                    return Objects.equals(oldItem.getPrimaryText(), newItem.getPrimaryText())
+                            && Objects.equals(oldItem.getSecondaryText(), newItem.getSecondaryText())
+                            && Objects.equals(oldItem.getTertiaryText(), newItem.getTertiaryText());
+                }
+            };
 
-    private List<SearchResult> searchResults;
     private Context context;
     private OnSearchResultClickListener clickListener;
     private Set<Long> followingUserIds;
@@ -40,16 +59,15 @@ public class SearchAdapter extends RecyclerView.Adapter<SearchAdapter.SearchView
     }
 
     public SearchAdapter(Context context) {
+        super(DiffConfigUtils.backgroundConfig(DIFF_CALLBACK));
         this.context = context;
-        this.searchResults = new ArrayList<>();
         this.followingUserIds = new HashSet<>();
         this.loadingUserIds = new HashSet<>();
         this.currentUserId = -1;
     }
 
     public void setSearchResults(List<SearchResult> results) {
-        this.searchResults = results != null ? results : new ArrayList<>();
-        notifyDataSetChanged();
+        submitList(results != null ? new ArrayList<>(results) : new ArrayList<>());
     }
 
     public void setOnSearchResultClickListener(OnSearchResultClickListener listener) {
@@ -57,13 +75,26 @@ public class SearchAdapter extends RecyclerView.Adapter<SearchAdapter.SearchView
     }
 
     public void setFollowingUserIds(Set<Long> followingIds) {
+        Set<Long> oldIds = this.followingUserIds;
         this.followingUserIds = followingIds != null ? followingIds : new HashSet<>();
-        notifyDataSetChanged();
+        // Rebind only artist rows whose follow state actually changed
+        List<SearchResult> current = getCurrentList();
+        for (int i = 0; i < current.size(); i++) {
+            SearchResult result = current.get(i);
+            if (result.getType() == SearchResult.Type.ARTIST && result.getUser() != null) {
+                long userId = result.getUser().getId();
+                if (oldIds.contains(userId) != followingUserIds.contains(userId)) {
+                    notifyItemChanged(i);
+                }
+            }
+        }
     }
 
     public void setCurrentUserId(long userId) {
-        this.currentUserId = userId;
-        notifyDataSetChanged();
+        if (this.currentUserId != userId) {
+            this.currentUserId = userId;
+            notifyItemRangeChanged(0, getItemCount());
+        }
     }
 
     @NonNull
@@ -75,15 +106,10 @@ public class SearchAdapter extends RecyclerView.Adapter<SearchAdapter.SearchView
 
     @Override
     public void onBindViewHolder(@NonNull SearchViewHolder holder, int position) {
-        SearchResult result = searchResults.get(position);
+        SearchResult result = getItem(position);
         holder.bind(result);
     }
 
-    @Override
-    public int getItemCount() {
-        return searchResults.size();
-    }
-
     class SearchViewHolder extends RecyclerView.ViewHolder {
         private ImageView imageItem;
         private ImageView imageTypeIcon;
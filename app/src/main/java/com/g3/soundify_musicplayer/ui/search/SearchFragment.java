@@ -40,6 +40,8 @@ import java.util.List;
  */
 public class SearchFragment extends Fragment implements SearchAdapter.OnSearchResultClickListener {
 
+    private static final int LOAD_MORE_THRESHOLD = 5;
+
     // UI Components
     private TextInputEditText editTextSearch;
     private ChipGroup chipGroupFilters;
@@ -98,8 +100,21 @@ public class SearchFragment extends Fragment implements SearchAdapter.OnSearchRe
         adapter = new SearchAdapter(requireContext());
         adapter.setOnSearchResultClickListener(this);
 
-        recyclerSearchResults.setLayoutManager(new LinearLayoutManager(requireContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        recyclerSearchResults.setLayoutManager(layoutManager);
         recyclerSearchResults.setAdapter(adapter);
+
+        // Request next page when the user scrolls near the end of the loaded results
+        recyclerSearchResults.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy <= 0) return;
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (lastVisible >= adapter.getItemCount() - LOAD_MORE_THRESHOLD) {
+                    viewModel.loadMoreResults();
+                }
+            }
+        });
     }
 
     private void setupViewModel() {
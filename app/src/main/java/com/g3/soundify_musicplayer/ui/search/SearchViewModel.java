@@ -9,21 +9,25 @@ import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
-import com.g3.soundify_musicplayer.data.entity.Playlist;
-import com.g3.soundify_musicplayer.data.entity.Song;
+import com.g3.soundify_musicplayer.data.dto.PlaylistSearchRow;
+import com.g3.soundify_musicplayer.data.dto.SongSearchRow;
+import com.g3.soundify_musicplayer.data.dto.UserSearchRow;
 import com.g3.soundify_musicplayer.data.entity.User;
 import com.g3.soundify_musicplayer.data.repository.MusicPlayerRepository;
 import com.g3.soundify_musicplayer.data.repository.SongRepository;
 import com.g3.soundify_musicplayer.data.repository.UserRepository;
 import com.g3.soundify_musicplayer.data.repository.PlaylistRepository;
 import com.g3.soundify_musicplayer.utils.AuthManager;
+import com.g3.soundify_musicplayer.utils.Constants;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ViewModel for the Search screen.
@@ -51,6 +55,23 @@ public class SearchViewModel extends AndroidViewModel {
 
     private String lastQuery = "";
 
+    // Search pipeline: debounce on main thread, cancellable futures, generation token for stale results.
+    // Query chạy thẳng trên diskRead (repository *Directly), không block trên future lồng nhau
+    private static final int PAGE_SIZE = Constants.ITEMS_PER_PAGE;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService searchExecutor = AppExecutors.getInstance().diskRead();
+    private final AtomicInteger searchGeneration = new AtomicInteger();
+    private Runnable pendingSearch;
+    private Future<?> inFlightSearch;
+
+    // Accumulated pages per type
+    private final List<SearchResult> songResults = new ArrayList<>();
+    private final List<SearchResult> userResults = new ArrayList<>();
+    private final List<SearchResult> playlistResults = new ArrayList<>();
+    private boolean songsExhausted;
+    private boolean usersExhausted;
+    private boolean playlistsExhausted;
+
     // Follow state tracking
     private final MutableLiveData<Set<Long>> followingUserIds = new MutableLiveData<>(new HashSet<>());
     private final MutableLiveData<String> followMessage = new MutableLiveData<>();
@@ -64,7 +85,7 @@ public class SearchViewModel extends AndroidViewModel {
         playlistRepository = new PlaylistRepository(application);
         musicPlayerRepository = new MusicPlayerRepository(application);
         authManager = new AuthManager(application);
-        executor = Executors.newFixedThreadPool(4);
+        executor = AppExecutors.getInstance().background();
 
         // Initialize with empty results
         searchResults.setValue(new ArrayList<>());
@@ -74,65 +95,178 @@ public class SearchViewModel extends AndroidViewModel {
     }
 
     // Public methods for Fragment to call
+
+    /**
+     * Debounced search: the query only hits the database after the user stops typing
+     * for SEARCH_DELAY_MS. Any pending or in-flight search for an older query is dropped.
+     */
     public void search(String query) {
         if (query == null) query = "";
 
         currentQuery.setValue(query);
         lastQuery = query.trim();
 
+        cancelCurrentSearch();
+
         if (lastQuery.isEmpty()) {
+            resetPages();
             searchResults.setValue(new ArrayList<>());
+            isLoading.setValue(false);
             return;
         }
 
-        performDatabaseSearch(lastQuery);
+        final String debouncedQuery = lastQuery;
+        pendingSearch = () -> startNewSearch(debouncedQuery);
+        mainHandler.postDelayed(pendingSearch, Constants.SEARCH_DELAY_MS);
     }
 
     public void setFilter(FilterType filter) {
         currentFilter.setValue(filter);
 
-        // Re-apply search with new filter
+        // Re-apply search with new filter (no debounce, user tapped a chip)
         if (!lastQuery.isEmpty()) {
-            performDatabaseSearch(lastQuery);
+            cancelCurrentSearch();
+            startNewSearch(lastQuery);
+        }
+    }
+
+    /**
+     * Load the next page for the current query. Called by the Fragment when the list nears its end.
+     */
+    public void loadMoreResults() {
+        if (lastQuery.isEmpty() || pendingSearch != null || inFlightSearch != null || !hasMoreResults()) {
+            return;
+        }
+        loadPage(lastQuery, searchGeneration.get(), false);
+    }
+
+    // Search pipeline (state below is only touched on the main thread)
+
+    private void cancelCurrentSearch() {
+        if (pendingSearch != null) {
+            mainHandler.removeCallbacks(pendingSearch);
+            pendingSearch = null;
+        }
+        // Bump generation so results of older searches are ignored even if they still arrive
+        searchGeneration.incrementAndGet();
+        if (inFlightSearch != null) {
+            // Không interrupt thread db-read dùng chung: search chưa chạy thì bị bỏ,
+            // đang chạy thì kết quả bị generation token loại
+            inFlightSearch.cancel(false);
+            inFlightSearch = null;
         }
     }
 
-    private void performDatabaseSearch(String query) {
+    private void startNewSearch(String query) {
+        pendingSearch = null;
+        resetPages();
         isLoading.setValue(true);
         error.setValue(null);
+        loadPage(query, searchGeneration.get(), true);
+    }
 
-        executor.execute(() -> {
+    private void loadPage(String query, int generation, boolean firstPage) {
+        FilterType filter = currentFilter.getValue();
+        if (filter == null) filter = FilterType.ALL;
+
+        final boolean loadSongs = (filter == FilterType.ALL || filter == FilterType.SONGS) && !songsExhausted;
+        final boolean loadUsers = (filter == FilterType.ALL || filter == FilterType.ARTISTS) && !usersExhausted;
+        final boolean loadPlaylists = (filter == FilterType.ALL || filter == FilterType.PLAYLISTS) && !playlistsExhausted;
+        final int songOffset = songResults.size();
+        final int userOffset = userResults.size();
+        final int playlistOffset = playlistResults.size();
+
+        inFlightSearch = searchExecutor.submit(() -> {
             try {
-                List<SearchResult> results = new ArrayList<>();
-                FilterType filter = currentFilter.getValue();
-                if (filter == null) filter = FilterType.ALL;
+                SearchPage page = new SearchPage();
 
-                // Search songs
-                if (filter == FilterType.ALL || filter == FilterType.SONGS) {
-                    searchSongs(query, results);
+                if (loadSongs && isCurrentSearch(generation)) {
+                    page.songs = searchSongs(query, songOffset);
                 }
-
-                // Search users/artists
-                if (filter == FilterType.ALL || filter == FilterType.ARTISTS) {
-                    searchUsers(query, results);
+                if (loadUsers && isCurrentSearch(generation)) {
+                    page.users = searchUsers(query, userOffset);
                 }
-
-                // Search playlists
-                if (filter == FilterType.ALL || filter == FilterType.PLAYLISTS) {
-                    searchPlaylists(query, results);
+                if (loadPlaylists && isCurrentSearch(generation)) {
+                    page.playlists = searchPlaylists(query, playlistOffset);
                 }
 
-                // Update UI on main thread
-                searchResults.postValue(results);
-                isLoading.postValue(false);
+                mainHandler.post(() -> applyPage(page, generation));
 
             } catch (Exception e) {
-                error.postValue("Search failed: " + e.getMessage());
-                isLoading.postValue(false);
+                if (isCurrentSearch(generation)) {
+                    android.util.Log.e("SearchViewModel", "Search failed", e);
+                    mainHandler.post(() -> {
+                        if (!isCurrentSearch(generation)) return;
+                        inFlightSearch = null;
+                        error.setValue("Search failed: " + e.getMessage());
+                        isLoading.setValue(false);
+                    });
+                }
             }
         });
     }
 
+    private void applyPage(SearchPage page, int generation) {
+        // Out-of-order guard: a newer query or filter has started since this page was requested
+        if (!isCurrentSearch(generation)) {
+            return;
+        }
+        inFlightSearch = null;
+
+        if (page.songs != null) {
+            songResults.addAll(page.songs);
+            songsExhausted = page.songs.size() < PAGE_SIZE;
+        }
+        if (page.users != null) {
+            userResults.addAll(page.users);
+            usersExhausted = page.users.size() < PAGE_SIZE;
+        }
+        if (page.playlists != null) {
+            playlistResults.addAll(page.playlists);
+            playlistsExhausted = page.playlists.size() < PAGE_SIZE;
+        }
+
+        // Keep grouping: songs, then artists, then playlists
+        List<SearchResult> results = new ArrayList<>(songResults.size() + userResults.size() + playlistResults.size());
+        results.addAll(songResults);
+        results.addAll(userResults);
+        results.addAll(playlistResults);
+
+        searchResults.setValue(results);
+        isLoading.setValue(false);
+    }
+
+    private boolean hasMoreResults() {
+        FilterType filter = currentFilter.getValue();
+        if (filter == null) filter = FilterType.ALL;
+
+        return ((filter == FilterType.ALL || filter == FilterType.SONGS) && !songsExhausted)
+                || ((filter == FilterType.ALL || filter == FilterType.ARTISTS) && !usersExhausted)
+                || ((filter == FilterType.ALL || filter == FilterType.PLAYLISTS) && !playlistsExhausted);
+    }
+
+    private boolean isCurrentSearch(int generation) {
+        return generation == searchGeneration.get();
+    }
+
+    private void resetPages() {
+        songResults.clear();
+        userResults.clear();
+        playlistResults.clear();
+        songsExhausted = false;
+        usersExhausted = false;
+        playlistsExhausted = false;
+    }
+
+    /**
+     * One page of results per type; null means the type was not requested for this page
+     */
+    private static class SearchPage {
+        List<SearchResult> songs;
+        List<SearchResult> users;
+        List<SearchResult> playlists;
+    }
+
     // LiveData getters
     public LiveData<List<SearchResult>> getSearchResults() {
         return searchResults;
@@ -163,160 +297,35 @@ public class SearchViewModel extends AndroidViewModel {
     }
 
     // Private methods for database search
-    private void searchSongs(String query, List<SearchResult> results) {
-        try {
-            // Use the existing searchPublicSongs method from SongRepository
-            // Since we're in background thread, we need to get data synchronously
-            LiveData<List<Song>> songsLiveData = songRepository.searchPublicSongs(query);
-
-            // For now, we'll use a simple approach - get all public songs and filter
-            LiveData<List<Song>> allSongsLiveData = songRepository.getPublicSongs();
-
-            // Note: In a real implementation, you'd want to create sync versions of these methods
-            // For now, we'll create some demo songs that match the query
-            List<Song> songs = createFilteredSongsFromDatabase(query);
-
-            for (Song song : songs) {
-                // Get artist info
-                User artist = getUserById(song.getUploaderId());
-                results.add(new SearchResult(song, artist));
-            }
-        } catch (Exception e) {
-            android.util.Log.e("SearchViewModel", "Error searching songs", e);
-        }
-    }
+    // Each type is a single FTS4 MATCH + JOIN query, uploader/owner and song counts come in the same row
+    private List<SearchResult> searchSongs(String query, int offset) throws Exception {
+        List<SongSearchRow> rows = songRepository.searchPublicSongsFtsDirectly(query, PAGE_SIZE, offset);
 
-    private void searchUsers(String query, List<SearchResult> results) {
-        try {
-            // Search for users by username or display name
-            List<User> users = searchUsersFromDatabase(query);
-
-            for (User user : users) {
-                // Get song count for this user
-                int songCount = getSongCountForUser(user.getId());
-                results.add(new SearchResult(user, songCount));
-            }
-        } catch (Exception e) {
-            android.util.Log.e("SearchViewModel", "Error searching users", e);
+        List<SearchResult> results = new ArrayList<>(rows.size());
+        for (SongSearchRow row : rows) {
+            results.add(new SearchResult(row.getSong(), row.getUploader()));
         }
+        return results;
     }
 
-    private void searchPlaylists(String query, List<SearchResult> results) {
-        try {
-            // Search for public playlists
-            List<Playlist> playlists = searchPlaylistsFromDatabase(query);
+    private List<SearchResult> searchUsers(String query, int offset) throws Exception {
+        List<UserSearchRow> rows = userRepository.searchUsersFtsDirectly(query, PAGE_SIZE, offset);
 
-            for (Playlist playlist : playlists) {
-                // Get owner info and song count
-                User owner = getUserById(playlist.getOwnerId());
-                int songCount = getSongCountForPlaylist(playlist.getId());
-                results.add(new SearchResult(playlist, owner, songCount));
-            }
-        } catch (Exception e) {
-            android.util.Log.e("SearchViewModel", "Error searching playlists", e);
+        List<SearchResult> results = new ArrayList<>(rows.size());
+        for (UserSearchRow row : rows) {
+            results.add(new SearchResult(row.getUser(), row.getSongCount()));
         }
+        return results;
     }
 
-    // Helper methods to get data from database
-    private List<Song> createFilteredSongsFromDatabase(String query) {
-        List<Song> filteredSongs = new ArrayList<>();
-
-        try {
-            // Get all songs from database synchronously
-            List<Song> allSongs = songRepository.getAllSongsSync().get();
-
-
-
-            // Filter songs that match the query
-            String lowerQuery = query.toLowerCase();
-            for (Song song : allSongs) {
-                if (song.isPublic() &&
-                    (song.getTitle().toLowerCase().contains(lowerQuery) ||
-                     (song.getGenre() != null && song.getGenre().toLowerCase().contains(lowerQuery)) ||
-                     (song.getDescription() != null && song.getDescription().toLowerCase().contains(lowerQuery)))) {
-                    filteredSongs.add(song);
-                }
-            }
+    private List<SearchResult> searchPlaylists(String query, int offset) throws Exception {
+        List<PlaylistSearchRow> rows = playlistRepository.searchPublicPlaylistsFtsDirectly(query, PAGE_SIZE, offset);
 
-        } catch (Exception e) {
-            android.util.Log.e("SearchViewModel", "Error filtering songs", e);
-        }
-
-        return filteredSongs;
-    }
-
-    private List<User> searchUsersFromDatabase(String query) {
-        List<User> filteredUsers = new ArrayList<>();
-
-        try {
-            // Get all users from database synchronously
-            List<User> allUsers = userRepository.getAllUsersSync().get();
-
-            // Filter users that match the query
-            String lowerQuery = query.toLowerCase();
-            for (User user : allUsers) {
-                if (user.getUsername().toLowerCase().contains(lowerQuery) ||
-                    (user.getDisplayName() != null && user.getDisplayName().toLowerCase().contains(lowerQuery))) {
-                    filteredUsers.add(user);
-                }
-            }
-        } catch (Exception e) {
-            android.util.Log.e("SearchViewModel", "Error filtering users", e);
-        }
-
-        return filteredUsers;
-    }
-
-    private List<Playlist> searchPlaylistsFromDatabase(String query) {
-        List<Playlist> filteredPlaylists = new ArrayList<>();
-
-        try {
-            // Get all public playlists from database synchronously
-            List<Playlist> allPlaylists = playlistRepository.getAllPublicPlaylistsSync().get();
-
-            // Filter playlists that match the query
-            String lowerQuery = query.toLowerCase();
-            for (Playlist playlist : allPlaylists) {
-                if (playlist.getName().toLowerCase().contains(lowerQuery) ||
-                    (playlist.getDescription() != null && playlist.getDescription().toLowerCase().contains(lowerQuery))) {
-                    filteredPlaylists.add(playlist);
-                }
-            }
-        } catch (Exception e) {
-            android.util.Log.e("SearchViewModel", "Error filtering playlists", e);
-        }
-
-        return filteredPlaylists;
-    }
-
-    // Helper methods to get additional data
-    private User getUserById(long userId) {
-        try {
-            return userRepository.getUserByIdSync(userId).get();
-        } catch (Exception e) {
-            android.util.Log.e("SearchViewModel", "Error getting user", e);
-            return null;
-        }
-    }
-
-    private int getSongCountForUser(long userId) {
-        try {
-            List<Song> songs = songRepository.getSongsByUploaderSync(userId).get();
-            return songs != null ? songs.size() : 0;
-        } catch (Exception e) {
-            android.util.Log.e("SearchViewModel", "Error getting song count", e);
-            return 0;
-        }
-    }
-
-    private int getSongCountForPlaylist(long playlistId) {
-        try {
-            List<Song> songs = playlistRepository.getSongsInPlaylistSync(playlistId).get();
-            return songs != null ? songs.size() : 0;
-        } catch (Exception e) {
-            android.util.Log.e("SearchViewModel", "Error getting playlist song count", e);
-            return 0;
+        List<SearchResult> results = new ArrayList<>(rows.size());
+        for (PlaylistSearchRow row : rows) {
+            results.add(new SearchResult(row.getPlaylist(), row.getOwner(), row.getSongCount()));
         }
+        return results;
     }
 
     // Follow functionality methods
@@ -414,9 +423,7 @@ public class SearchViewModel extends AndroidViewModel {
     @Override
     protected void onCleared() {
         super.onCleared();
-        if (executor != null) {
-            executor.shutdown();
-        }
+        cancelCurrentSearch();
         if (songRepository != null) {
             songRepository.shutdown();
         }
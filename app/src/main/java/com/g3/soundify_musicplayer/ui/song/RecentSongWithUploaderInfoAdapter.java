@@ -9,9 +9,10 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.g3.soundify_musicplayer.R;
 import com.g3.soundify_musicplayer.data.dto.SongWithUploaderInfo;
+import com.g3.soundify_musicplayer.utils.CoverThumbnails;
+import com.g3.soundify_musicplayer.utils.ImageLoader;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -63,15 +64,7 @@ public class RecentSongWithUploaderInfoAdapter extends RecyclerView.Adapter<Rece
         holder.tvUploader.setText(song.getDisplayUploaderName());
 
         // Load cover art
-        if (song.getCoverArtUrl() != null && !song.getCoverArtUrl().isEmpty()) {
-            Glide.with(holder.imgCover.getContext())
-                    .load(song.getCoverArtUrl())
-                    .placeholder(R.drawable.splashi_icon)
-                    .error(R.drawable.splashi_icon)
-                    .into(holder.imgCover);
-        } else {
-            holder.imgCover.setImageResource(R.drawable.splashi_icon);
-        }
+        ImageLoader.loadCover(holder.imgCover, song.getCoverArtUrl(), CoverThumbnails.Variant.CARD);
 
         // Set click listener
         holder.itemView.setOnClickListener(v -> {
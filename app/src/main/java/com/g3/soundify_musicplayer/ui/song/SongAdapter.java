@@ -8,17 +8,36 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.g3.soundify_musicplayer.R;
 import com.g3.soundify_musicplayer.data.entity.Song;
+import com.g3.soundify_musicplayer.utils.CoverThumbnails;
+import com.g3.soundify_musicplayer.utils.DiffConfigUtils;
+import com.g3.soundify_musicplayer.utils.ImageLoader;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+
+public class SongAdapter extends ListAdapter<Song, SongAdapter.SongVH> {
+
+    private static final DiffUtil.ItemCallback<Song> DIFF_CALLBACK = new DiffUtil.ItemCallback<Song>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Song oldItem, @NonNull Song newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
 
-public class SongAdapter extends RecyclerView.Adapter<SongAdapter.SongVH> {
+        @Override
+        public boolean areContentsTheSame(@NonNull Song oldItem, @NonNull Song newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getUploaderName(), newItem.getUploaderName())
+                    && Objects.equals(oldItem.getCoverArtUrl(), newItem.getCoverArtUrl());
+        }
+    };
 
-    private final List<Song> data;
     private final OnSongClick listener;
 
     public interface OnSongClick {
@@ -27,8 +46,9 @@ public class SongAdapter extends RecyclerView.Adapter<SongAdapter.SongVH> {
     }
 
     public SongAdapter(List<Song> data, OnSongClick l) {
-        this.data = new ArrayList<>(data != null ? data : new ArrayList<>());
+        super(DiffConfigUtils.backgroundConfig(DIFF_CALLBACK));
         this.listener = l;
+        submitList(data != null ? new ArrayList<>(data) : new ArrayList<>());
     }
 
     @NonNull
@@ -40,7 +60,7 @@ public class SongAdapter extends RecyclerView.Adapter<SongAdapter.SongVH> {
     }
 
     @Override public void onBindViewHolder(@NonNull SongVH h, int i) {
-        Song s = data.get(i);
+        Song s = getItem(i);
         h.tvTitle.setText(s.getTitle());
 
         // Display uploader name instead of ID
@@ -51,34 +71,24 @@ public class SongAdapter extends RecyclerView.Adapter<SongAdapter.SongVH> {
         }
 
         // load cover: nếu null -> placeholder
-        if (s.getCoverArtUrl() != null && !s.getCoverArtUrl().isEmpty()) {
-            Glide.with(h.imgCover.getContext())
-                    .load(s.getCoverArtUrl())
-                    .placeholder(R.drawable.splashi_icon)
-                    .into(h.imgCover);
-        } else {
-            h.imgCover.setImageResource(R.drawable.splashi_icon);
-        }
+        ImageLoader.loadCover(h.imgCover, s.getCoverArtUrl(), CoverThumbnails.Variant.LIST);
 
         h.itemView.setOnClickListener(v -> listener.onOpenDetail(s));
         h.btnPlay.setOnClickListener(v -> listener.onPlay(s));
     }
 
-    @Override public int getItemCount() { return data.size(); }
-
+    /**
+     * Submit new data - only changed rows are rebound (diff runs off the main thread)
+     */
     public void updateData(List<Song> newData) {
-        data.clear();
-        if (newData != null) {
-            data.addAll(newData);
-        }
-        notifyDataSetChanged();
+        submitList(newData != null ? new ArrayList<>(newData) : new ArrayList<>());
     }
 
     /**
      * Get current data list (for creating NavigationContext)
      */
     public List<Song> getCurrentData() {
-        return new ArrayList<>(data);
+        return new ArrayList<>(getCurrentList());
     }
 
     static class SongVH extends RecyclerView.ViewHolder {
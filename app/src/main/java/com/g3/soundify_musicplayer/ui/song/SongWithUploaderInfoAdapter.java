@@ -9,22 +9,44 @@ import android.widget.TextView;
 import android.widget.PopupMenu;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.g3.soundify_musicplayer.R;
 import com.g3.soundify_musicplayer.data.dto.SongWithUploaderInfo;
+import com.g3.soundify_musicplayer.utils.CoverThumbnails;
+import com.g3.soundify_musicplayer.utils.DiffConfigUtils;
+import com.g3.soundify_musicplayer.utils.ImageLoader;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Adapter for displaying songs with uploader information
  * Used in HomeFragment for suggested songs section
  */
-public class SongWithUploaderInfoAdapter extends RecyclerView.Adapter<SongWithUploaderInfoAdapter.SongVH> {
+public class SongWithUploaderInfoAdapter extends ListAdapter<SongWithUploaderInfo, SongWithUploaderInfoAdapter.SongVH> {
+
+    private static final DiffUtil.ItemCallback<SongWithUploaderInfo> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<SongWithUploaderInfo>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull SongWithUploaderInfo oldItem, @NonNull SongWithUploaderInfo newItem) {
+                    return oldItem.getId() == newItem.getId();
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull SongWithUploaderInfo oldItem, @NonNull SongWithUploaderInfo newItem) {
+                    return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                            && Objects.equals(oldItem.getCoverArtUrl(), newItem.getCoverArtUrl())
+                            && Objects.equals(oldItem.getDisplayUploaderName(), newItem.getDisplayUploaderName());
+                }
+            };
+
+    // Partial rebind payload: only the overflow button visibility changed
+    private static final Object PAYLOAD_OWNER_OPTIONS = new Object();
 
-    private final List<SongWithUploaderInfo> data;
     private final OnSongClick listener;
     private boolean showOwnerOptions = false; // Show edit/delete options for owner songs
     private long currentUserId = -1; // Current user ID to check ownership
@@ -37,8 +59,9 @@ public class SongWithUploaderInfoAdapter extends RecyclerView.Adapter<SongWithUp
     }
 
     public SongWithUploaderInfoAdapter(List<SongWithUploaderInfo> data, OnSongClick listener) {
-        this.data = new ArrayList<>(data != null ? data : new ArrayList<>());
+        super(DiffConfigUtils.backgroundConfig(DIFF_CALLBACK));
         this.listener = listener;
+        submitList(data != null ? new ArrayList<>(data) : new ArrayList<>());
     }
 
     /**
@@ -48,7 +71,7 @@ public class SongWithUploaderInfoAdapter extends RecyclerView.Adapter<SongWithUp
         if (this.showOwnerOptions != showOwnerOptions || this.currentUserId != currentUserId) {
             this.showOwnerOptions = showOwnerOptions;
             this.currentUserId = currentUserId;
-            notifyDataSetChanged(); // Refresh to show/hide overflow buttons
+            notifyItemRangeChanged(0, getItemCount(), PAYLOAD_OWNER_OPTIONS); // Only show/hide overflow buttons
         }
     }
 
@@ -62,8 +85,28 @@ public class SongWithUploaderInfoAdapter extends RecyclerView.Adapter<SongWithUp
 
     @Override
     public void onBindViewHolder(@NonNull SongVH holder, int position) {
-        SongWithUploaderInfo song = data.get(position);
+        bind(holder, getItem(position), position);
+    }
 
+    @Override
+    public void onBindViewHolder(@NonNull SongVH holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(PAYLOAD_OWNER_OPTIONS)) {
+            SongWithUploaderInfo song = getItem(position);
+            boolean isOwner = song != null && isOwnerOf(song);
+            holder.btnOverflow.setVisibility(isOwner ? View.VISIBLE : View.GONE);
+            return;
+        }
+        super.onBindViewHolder(holder, position, payloads);
+    }
+
+    private boolean isOwnerOf(SongWithUploaderInfo song) {
+        return showOwnerOptions && currentUserId != -1 && song.getUploaderId() == currentUserId;
+    }
+
+    /**
+     * Bind one song into a holder (shared with SongWithUploaderInfoPagingAdapter)
+     */
+    void bind(@NonNull SongVH holder, SongWithUploaderInfo song, int position) {
         if (song == null) {
             android.util.Log.e("SongAdapter", "Song at position " + position + " is null!");
             return;
@@ -92,18 +135,10 @@ public class SongWithUploaderInfoAdapter extends RecyclerView.Adapter<SongWithUp
         holder.tvUploader.setText(song.getDisplayUploaderName());
 
         // Load cover art
-        if (song.getCoverArtUrl() != null && !song.getCoverArtUrl().isEmpty()) {
-            Glide.with(holder.imgCover.getContext())
-                    .load(song.getCoverArtUrl())
-                    .placeholder(R.drawable.splashi_icon)
-                    .error(R.drawable.splashi_icon)
-                    .into(holder.imgCover);
-        } else {
-            holder.imgCover.setImageResource(R.drawable.splashi_icon);
-        }
+        ImageLoader.loadCover(holder.imgCover, song.getCoverArtUrl(), CoverThumbnails.Variant.LIST);
 
         // Show/hide overflow button based on ownership
-        boolean isOwner = showOwnerOptions && currentUserId != -1 && song.getUploaderId() == currentUserId;
+        boolean isOwner = isOwnerOf(song);
         holder.btnOverflow.setVisibility(isOwner ? View.VISIBLE : View.GONE);
 
         // Set click listeners
@@ -119,39 +154,26 @@ public class SongWithUploaderInfoAdapter extends RecyclerView.Adapter<SongWithUp
             }
         });
 
-        // Set up overflow menu
+        // Set up overflow menu (ownership re-checked at click time, options may change without rebind)
         holder.btnOverflow.setOnClickListener(v -> {
-            if (listener != null && isOwner) {
+            if (listener != null && isOwnerOf(song)) {
                 showOwnerMenu(v, song);
             }
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return data.size();
-    }
-
     /**
-     * Update the data and notify adapter
+     * Submit new data - only changed rows are rebound (diff runs off the main thread)
      */
     public void updateData(List<SongWithUploaderInfo> newData) {
-        data.clear();
-        if (newData != null) {
-            data.addAll(newData);
-            for (int i = 0; i < newData.size(); i++) {
-                SongWithUploaderInfo song = newData.get(i);
-            }
-        } else {
-        }
-        notifyDataSetChanged();
+        submitList(newData != null ? new ArrayList<>(newData) : new ArrayList<>());
     }
 
     /**
      * Get current data list (for creating NavigationContext)
      */
     public List<SongWithUploaderInfo> getCurrentData() {
-        return new java.util.ArrayList<>(data);
+        return new ArrayList<>(getCurrentList());
     }
 
     /**
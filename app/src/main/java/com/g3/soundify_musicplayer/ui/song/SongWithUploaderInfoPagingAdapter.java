@@ -0,0 +1,84 @@
+package com.g3.soundify_musicplayer.ui.song;
+
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.g3.soundify_musicplayer.data.dto.SongWithUploaderInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Paged version of SongWithUploaderInfoAdapter (Paging 3) for long song lists.
+ * Binding and owner menu are shared with SongWithUploaderInfoAdapter.
+ */
+public class SongWithUploaderInfoPagingAdapter
+        extends PagingDataAdapter<SongWithUploaderInfo, SongWithUploaderInfoAdapter.SongVH> {
+
+    private static final DiffUtil.ItemCallback<SongWithUploaderInfo> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<SongWithUploaderInfo>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull SongWithUploaderInfo oldItem, @NonNull SongWithUploaderInfo newItem) {
+                    return oldItem.getId() == newItem.getId();
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull SongWithUploaderInfo oldItem, @NonNull SongWithUploaderInfo newItem) {
+                    return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                            && Objects.equals(oldItem.getCoverArtUrl(), newItem.getCoverArtUrl())
+                            && Objects.equals(oldItem.getDisplayUploaderName(), newItem.getDisplayUploaderName());
+                }
+            };
+
+    private final SongWithUploaderInfoAdapter binder;
+    private boolean showOwnerOptions = false;
+    private long currentUserId = -1;
+
+    public SongWithUploaderInfoPagingAdapter(SongWithUploaderInfoAdapter.OnSongClick listener) {
+        super(DIFF_CALLBACK);
+        this.binder = new SongWithUploaderInfoAdapter(new ArrayList<>(), listener);
+    }
+
+    /**
+     * Set whether to show owner options (edit/delete) and current user ID
+     */
+    public void setOwnerOptions(boolean showOwnerOptions, long currentUserId) {
+        if (this.showOwnerOptions != showOwnerOptions || this.currentUserId != currentUserId) {
+            this.showOwnerOptions = showOwnerOptions;
+            this.currentUserId = currentUserId;
+            binder.setOwnerOptions(showOwnerOptions, currentUserId);
+            notifyItemRangeChanged(0, getItemCount());
+        }
+    }
+
+    /**
+     * Currently loaded songs (for creating NavigationContext) - only the loaded window, not the whole table
+     */
+    public List<SongWithUploaderInfo> getCurrentData() {
+        List<SongWithUploaderInfo> loaded = new ArrayList<>();
+        for (SongWithUploaderInfo song : snapshot().getItems()) {
+            if (song != null) {
+                loaded.add(song);
+            }
+        }
+        return loaded;
+    }
+
+    @NonNull
+    @Override
+    public SongWithUploaderInfoAdapter.SongVH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        return binder.onCreateViewHolder(parent, viewType);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull SongWithUploaderInfoAdapter.SongVH holder, int position) {
+        SongWithUploaderInfo song = getItem(position);
+        if (song != null) {
+            binder.bind(holder, song, position);
+        }
+    }
+}
@@ -26,6 +26,8 @@ import androidx.lifecycle.ViewModelProvider;
 
 import com.g3.soundify_musicplayer.R;
 import com.g3.soundify_musicplayer.data.entity.Song;
+import com.g3.soundify_musicplayer.utils.CoverThumbnails;
+import com.g3.soundify_musicplayer.utils.ImageLoader;
 
 /**
  * Fragment for uploading new songs or editing existing ones
@@ -224,6 +226,13 @@ public class UploadSongFragment extends Fragment {
             }
         });
 
+        // Observe upload progress (copy audio trong SongUploadWorker)
+        viewModel.getUploadProgress().observe(getViewLifecycleOwner(), percent -> {
+            if (percent != null) {
+                buttonSave.setText(getString(R.string.uploading_progress, percent));
+            }
+        });
+
         // Observe current song (for edit mode)
         viewModel.getCurrentSong().observe(getViewLifecycleOwner(), this::populateFields);
 
@@ -261,7 +270,8 @@ public class UploadSongFragment extends Fragment {
      * Select cover art image
      */
     private void selectCoverArt() {
-        Intent intent = new Intent(Intent.ACTION_GET_CONTENT);
+        // OPEN_DOCUMENT: quyền đọc persist được, SongUploadWorker đọc lại được sau process death
+        Intent intent = new Intent(Intent.ACTION_OPEN_DOCUMENT);
         intent.setType("image/*");
         intent.addCategory(Intent.CATEGORY_OPENABLE);
         imagePickerLauncher.launch(Intent.createChooser(intent, getString(R.string.select_cover_art)));
@@ -271,7 +281,8 @@ public class UploadSongFragment extends Fragment {
      * Select audio file
      */
     private void selectAudioFile() {
-        Intent intent = new Intent(Intent.ACTION_GET_CONTENT);
+        // OPEN_DOCUMENT: quyền đọc persist được, SongUploadWorker đọc lại được sau process death
+        Intent intent = new Intent(Intent.ACTION_OPEN_DOCUMENT);
         intent.setType("audio/*");
         intent.addCategory(Intent.CATEGORY_OPENABLE);
         audioPickerLauncher.launch(Intent.createChooser(intent, getString(R.string.select_audio_file)));
@@ -406,10 +417,7 @@ public class UploadSongFragment extends Fragment {
             switchVisibility.setChecked(song.isPublic());
             
             // Load cover art if available
-            if (song.getCoverArtUrl() != null && !song.getCoverArtUrl().isEmpty()) {
-                // Load cover art using Glide or similar
-                // Glide.with(this).load(song.getCoverArtUrl()).into(imageViewCoverArt);
-            }
+            ImageLoader.loadCover(imageViewCoverArt, song.getCoverArtUrl(), CoverThumbnails.Variant.CARD);
         }
     }
 }
@@ -7,12 +7,17 @@ import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
+import androidx.work.Data;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
 
 import com.g3.soundify_musicplayer.data.entity.Song;
 import com.g3.soundify_musicplayer.data.repository.SongRepository;
+import com.g3.soundify_musicplayer.service.SongUploadWorker;
 import com.g3.soundify_musicplayer.utils.AuthManager;
-import com.g3.soundify_musicplayer.utils.FileUtils;
 
+import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
@@ -36,6 +41,11 @@ public class UploadSongViewModel extends AndroidViewModel {
     private final MutableLiveData<Uri> selectedAudioUri = new MutableLiveData<>();
     private final MutableLiveData<Uri> selectedCoverArtUri = new MutableLiveData<>();
     private final MutableLiveData<String> audioFileName = new MutableLiveData<>();
+
+    // Upload đang chạy (SongUploadWorker): % đã copy, null khi không có upload
+    private final MutableLiveData<Integer> uploadProgress = new MutableLiveData<>();
+    private LiveData<WorkInfo> uploadWorkInfo;
+    private final Observer<WorkInfo> uploadObserver = this::onUploadWorkInfoChanged;
     
     public UploadSongViewModel(@NonNull Application application) {
         super(application);
@@ -134,54 +144,52 @@ public class UploadSongViewModel extends AndroidViewModel {
             return;
         }
         
-        // Copy audio file to internal storage
-        String fileName = FileUtils.getFileName(getApplication(), audioUri);
-        String internalPath = FileUtils.copyFileToInternalStorage(getApplication(), audioUri, fileName);
+        // Copy, đọc metadata và insert chạy trong SongUploadWorker - tiếp tục được cả khi rời màn hình
+        UUID workId = SongUploadWorker.enqueue(getApplication(), currentUserId, audioUri,
+                selectedCoverArtUri.getValue(), title, description, genre, isPublic);
+        observeUpload(workId);
+    }
 
-        if (internalPath == null) {
-            errorMessage.setValue("Lỗi khi sao chép file audio");
-            isLoading.setValue(false);
+    private void observeUpload(UUID workId) {
+        stopObservingUpload();
+        uploadProgress.setValue(0);
+        uploadWorkInfo = WorkManager.getInstance(getApplication()).getWorkInfoByIdLiveData(workId);
+        uploadWorkInfo.observeForever(uploadObserver);
+    }
+
+    private void onUploadWorkInfoChanged(WorkInfo workInfo) {
+        if (workInfo == null) {
             return;
         }
-
-        // Get audio duration
-        long duration = FileUtils.getAudioDuration(getApplication(), audioUri);
-
-        // Create new song object
-        Song newSong = new Song(currentUserId, title, internalPath);
-        newSong.setDescription(description);
-        newSong.setGenre(genre);
-        newSong.setPublic(isPublic);
-        newSong.setCreatedAt(System.currentTimeMillis());
-        if (duration > 0) {
-            newSong.setDurationMs((int) duration);
+        switch (workInfo.getState()) {
+            case RUNNING:
+                uploadProgress.setValue(workInfo.getProgress().getInt(SongUploadWorker.KEY_PROGRESS_PERCENT, 0));
+                break;
+            case SUCCEEDED:
+                stopObservingUpload();
+                successMessage.setValue("Bài hát đã được tải lên thành công");
+                isLoading.setValue(false);
+                break;
+            case FAILED:
+            case CANCELLED:
+                stopObservingUpload();
+                Data output = workInfo.getOutputData();
+                String error = output.getString(SongUploadWorker.KEY_ERROR);
+                errorMessage.setValue(error != null ? error : "Lỗi khi lưu bài hát");
+                isLoading.setValue(false);
+                break;
+            default:
+                // ENQUEUED / BLOCKED: đang chờ constraint hoặc retry
+                break;
         }
+    }
 
-        // Set cover art if selected
-        Uri coverArtUri = selectedCoverArtUri.getValue();
-        if (coverArtUri != null) {
-            // Copy cover art to internal storage
-            String coverFileName = FileUtils.getFileName(getApplication(), coverArtUri);
-            String coverInternalPath = FileUtils.copyFileToInternalStorage(getApplication(), coverArtUri, "cover_" + coverFileName);
-            if (coverInternalPath != null) {
-                newSong.setCoverArtUrl(coverInternalPath);
-            }
-        }
-        
-        // Save to database
-        Future<Long> future = songRepository.insert(newSong);
-        try {
-            Long songId = future.get();
-            if (songId != null && songId > 0) {
-                successMessage.setValue("Bài hát đã được tải lên thành công");
-            } else {
-                errorMessage.setValue("Lỗi khi lưu bài hát");
-            }
-        } catch (ExecutionException | InterruptedException e) {
-            errorMessage.setValue("Lỗi khi lưu bài hát: " + e.getMessage());
-        } finally {
-            isLoading.setValue(false);
+    private void stopObservingUpload() {
+        if (uploadWorkInfo != null) {
+            uploadWorkInfo.removeObserver(uploadObserver);
+            uploadWorkInfo = null;
         }
+        uploadProgress.setValue(null);
     }
     
     /**
@@ -338,11 +346,16 @@ public class UploadSongViewModel extends AndroidViewModel {
     public LiveData<String> getAudioFileName() {
         return audioFileName;
     }
+
+    public LiveData<Integer> getUploadProgress() {
+        return uploadProgress;
+    }
     
     @Override
     protected void onCleared() {
         super.onCleared();
-        // Clean up resources if needed
+        // Upload vẫn chạy tiếp trong WorkManager, chỉ bỏ observer
+        stopObservingUpload();
         songRepository.shutdown();
     }
 }
@@ -0,0 +1,230 @@
+package com.g3.soundify_musicplayer.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Application-wide executor layer.
+ * Repositories and ViewModels share these bounded pools instead of creating their own,
+ * so the thread count stays fixed no matter how many repositories/ViewModels exist.
+ *
+ * - diskRead:   Room queries (SQLite allows concurrent readers)
+ * - diskWrite:  Room inserts/updates/deletes, single thread so writes never contend for the lock
+ * - fileIo:     copying / reading media files
+ * - background: jobs that wait on other futures (ViewModel orchestration, composite loads).
+ *               Never block on this pool from diskRead/diskWrite tasks, that could starve it.
+ * - playback:   serialized playback command thread for MediaPlayerRepository
+ * - diff:       DiffUtil for ListAdapters (DiffConfigUtils), kept apart so list updates never
+ *               queue behind blocking background jobs
+ *
+ * Idle threads time out, so an idle app holds no worker threads.
+ * Owned by RepositoryManager, shut down in RepositoryManager.cleanup().
+ */
+public class AppExecutors {
+
+    private static final String TAG = "AppExecutors";
+
+    private static final int DISK_READ_THREADS = 4;
+    private static final int DISK_WRITE_THREADS = 1;
+    private static final int FILE_IO_THREADS = 2;
+    private static final int BACKGROUND_THREADS = 4;
+    private static final int PLAYBACK_THREADS = 1;
+    private static final int DIFF_THREADS = 2;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static volatile AppExecutors INSTANCE;
+
+    private final ThreadPoolExecutor diskRead;
+    private final ThreadPoolExecutor diskWrite;
+    private final ThreadPoolExecutor fileIo;
+    private final ThreadPoolExecutor background;
+    private final ThreadPoolExecutor playback;
+    private final ThreadPoolExecutor diff;
+    private final Executor mainThread;
+
+    private AppExecutors() {
+        diskRead = newPool("db-read", DISK_READ_THREADS);
+        diskWrite = newPool("db-write", DISK_WRITE_THREADS);
+        fileIo = newPool("file-io", FILE_IO_THREADS);
+        background = newPool("background", BACKGROUND_THREADS);
+        playback = newPool("playback", PLAYBACK_THREADS);
+        diff = newPool("diff", DIFF_THREADS);
+        mainThread = new MainThreadExecutor();
+    }
+
+    /**
+     * Get singleton instance of AppExecutors
+     */
+    public static AppExecutors getInstance() {
+        if (INSTANCE == null) {
+            synchronized (AppExecutors.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new AppExecutors();
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    public ExecutorService diskRead() {
+        return diskRead;
+    }
+
+    public ExecutorService diskWrite() {
+        return diskWrite;
+    }
+
+    public ExecutorService fileIo() {
+        return fileIo;
+    }
+
+    public ExecutorService background() {
+        return background;
+    }
+
+    /**
+     * Single thread, tasks run strictly in submission order
+     */
+    public ExecutorService playback() {
+        return playback;
+    }
+
+    /**
+     * Pure CPU work only (list diffing) - never block or do I/O here
+     */
+    public ExecutorService diff() {
+        return diff;
+    }
+
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    // ========== METRICS ==========
+
+    /**
+     * Snapshot of one pool's counters
+     */
+    public static class PoolStats {
+        public final String name;
+        public final int maxThreads;
+        public final int liveThreads;
+        public final int activeThreads;
+        public final int largestThreads;
+        public final int queuedTasks;
+        public final long completedTasks;
+
+        PoolStats(String name, ThreadPoolExecutor pool) {
+            this.name = name;
+            this.maxThreads = pool.getMaximumPoolSize();
+            this.liveThreads = pool.getPoolSize();
+            this.activeThreads = pool.getActiveCount();
+            this.largestThreads = pool.getLargestPoolSize();
+            this.queuedTasks = pool.getQueue().size();
+            this.completedTasks = pool.getCompletedTaskCount();
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return name + ": live=" + liveThreads + "/" + maxThreads
+                    + " active=" + activeThreads
+                    + " peak=" + largestThreads
+                    + " queued=" + queuedTasks
+                    + " completed=" + completedTasks;
+        }
+    }
+
+    public List<PoolStats> getStats() {
+        List<PoolStats> stats = new ArrayList<>();
+        stats.add(new PoolStats("db-read", diskRead));
+        stats.add(new PoolStats("db-write", diskWrite));
+        stats.add(new PoolStats("file-io", fileIo));
+        stats.add(new PoolStats("background", background));
+        stats.add(new PoolStats("playback", playback));
+        stats.add(new PoolStats("diff", diff));
+        return stats;
+    }
+
+    /**
+     * Total worker threads currently alive across all shared pools
+     */
+    public int getLiveThreadCount() {
+        return diskRead.getPoolSize() + diskWrite.getPoolSize() + fileIo.getPoolSize()
+                + background.getPoolSize() + playback.getPoolSize() + diff.getPoolSize();
+    }
+
+    public void logStats() {
+        for (PoolStats stats : getStats()) {
+            Log.d(TAG, stats.toString());
+        }
+    }
+
+    // ========== LIFECYCLE ==========
+
+    /**
+     * Stop accepting work and let queued tasks finish. Called when the application is torn down.
+     */
+    public static void shutdown() {
+        synchronized (AppExecutors.class) {
+            if (INSTANCE != null) {
+                INSTANCE.diskRead.shutdown();
+                INSTANCE.diskWrite.shutdown();
+                INSTANCE.fileIo.shutdown();
+                INSTANCE.background.shutdown();
+                INSTANCE.playback.shutdown();
+                INSTANCE.diff.shutdown();
+                INSTANCE = null;
+            }
+        }
+    }
+
+    private static ThreadPoolExecutor newPool(String name, int threads) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                threads, threads,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new NamedThreadFactory(name));
+        // Release idle threads instead of keeping them parked forever
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger counter = new AtomicInteger(1);
+
+        NamedThreadFactory(String name) {
+            this.prefix = "soundify-" + name + "-";
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    private static class MainThreadExecutor implements Executor {
+        private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            mainHandler.post(command);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.g3.soundify_musicplayer.utils;
+
+import android.content.Context;
+import android.media.MediaMetadataRetriever;
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.Format;
+import androidx.media3.common.MediaItem;
+import androidx.media3.common.Metadata;
+import androidx.media3.common.MimeTypes;
+import androidx.media3.common.TrackGroup;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.MetadataRetriever;
+import androidx.media3.exoplayer.source.TrackGroupArray;
+import androidx.media3.extractor.metadata.id3.InternalFrame;
+import androidx.media3.extractor.metadata.id3.TextInformationFrame;
+import androidx.media3.extractor.metadata.vorbis.VorbisComment;
+
+import com.g3.soundify_musicplayer.data.entity.SongMetadata;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Đọc metadata của file audio một lần: thông tin kỹ thuật + tag qua MediaMetadataRetriever
+ * (một instance cho mọi key, kể cả ảnh nhúng), ReplayGain qua Media3 MetadataRetriever vì
+ * MediaMetadataRetriever không đọc được tag tự do (ID3 TXXX, Vorbis comment, MP4 ----).
+ *
+ * Blocking, gọi trên background thread. Không throw: gì không đọc được thì để null.
+ */
+public final class AudioMetadataExtractor {
+
+    private static final String TAG = "AudioMetadataExtractor";
+
+    /**
+     * Tăng khi extractor đọc thêm field mới - MetadataBackfillWorker sẽ đọc lại các bài cũ
+     */
+    public static final int VERSION = 1;
+
+    private static final long TAG_READ_TIMEOUT_MS = 10_000;
+    // Opus R128 gain tham chiếu -23 LUFS, ReplayGain tham chiếu ~-18 LUFS
+    private static final float R128_TO_REPLAY_GAIN_DB = 5f;
+
+    private AudioMetadataExtractor() {}
+
+    /**
+     * @param artworkOut nếu khác null và file có ảnh nhúng, ảnh được ghi ra file này
+     */
+    public static SongMetadata extract(Context context, Uri audioUri, @Nullable File artworkOut) {
+        SongMetadata metadata = new SongMetadata();
+        metadata.setExtractorVersion(VERSION);
+        metadata.setExtractedAt(System.currentTimeMillis());
+        readTags(context, audioUri, metadata, artworkOut);
+        readReplayGain(context, audioUri, metadata);
+        return metadata;
+    }
+
+    /**
+     * audio_url trong DB: path tuyệt đối (file trong app) hoặc URI
+     */
+    public static Uri toUri(String audioUrl) {
+        return audioUrl.startsWith(File.separator) ? Uri.fromFile(new File(audioUrl)) : Uri.parse(audioUrl);
+    }
+
+    private static void readTags(Context context, Uri audioUri, SongMetadata metadata, @Nullable File artworkOut) {
+        MediaMetadataRetriever retriever = new MediaMetadataRetriever();
+        try {
+            retriever.setDataSource(context, audioUri);
+            metadata.setMimeType(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_MIMETYPE));
+            String duration = retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_DURATION);
+            metadata.setDurationMs(duration != null ? parseLeadingLong(duration) : null);
+            metadata.setBitrate(parseInt(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_BITRATE)));
+            metadata.setSampleRate(parseInt(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_SAMPLERATE)));
+            metadata.setBitsPerSample(parseInt(
+                    retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_BITS_PER_SAMPLE)));
+            metadata.setArtist(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_ARTIST));
+            metadata.setAlbum(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_ALBUM));
+            metadata.setAlbumArtist(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_ALBUMARTIST));
+            metadata.setYear(parseInt(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_YEAR)));
+            // "3/12" -> 3
+            metadata.setTrackNumber(parseInt(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_CD_TRACK_NUMBER)));
+
+            byte[] artwork = retriever.getEmbeddedPicture();
+            metadata.setHasEmbeddedArtwork(artwork != null);
+            if (artwork != null && artworkOut != null) {
+                writeArtwork(artwork, artworkOut);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error reading audio tags: " + audioUri, e);
+        } finally {
+            try {
+                retriever.release();
+            } catch (Exception e) {
+                Log.e(TAG, "Error releasing MediaMetadataRetriever", e);
+            }
+        }
+    }
+
+    @OptIn(markerClass = UnstableApi.class)
+    private static void readReplayGain(Context context, Uri audioUri, SongMetadata metadata) {
+        ListenableFuture<TrackGroupArray> future =
+                MetadataRetriever.retrieveMetadata(context, MediaItem.fromUri(audioUri));
+        try {
+            TrackGroupArray trackGroups = future.get(TAG_READ_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            for (int i = 0; i < trackGroups.length; i++) {
+                TrackGroup group = trackGroups.get(i);
+                for (int j = 0; j < group.length; j++) {
+                    Format format = group.getFormat(j);
+                    if (!MimeTypes.isAudio(format.sampleMimeType)) {
+                        continue;
+                    }
+                    if (format.channelCount != Format.NO_VALUE) {
+                        metadata.setChannelCount(format.channelCount);
+                    }
+                    if (metadata.getSampleRate() == null && format.sampleRate != Format.NO_VALUE) {
+                        metadata.setSampleRate(format.sampleRate);
+                    }
+                    if (format.metadata != null) {
+                        for (int k = 0; k < format.metadata.length(); k++) {
+                            applyReplayGain(format.metadata.get(k), metadata);
+                        }
+                    }
+                }
+            }
+        } catch (ExecutionException | TimeoutException e) {
+            Log.w(TAG, "Cannot read ReplayGain tags: " + audioUri, e);
+            future.cancel(true);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @OptIn(markerClass = UnstableApi.class)
+    private static void applyReplayGain(Metadata.Entry entry, SongMetadata metadata) {
+        String key;
+        String value;
+        if (entry instanceof TextInformationFrame) {
+            // MP3: TXXX:REPLAYGAIN_TRACK_GAIN
+            TextInformationFrame frame = (TextInformationFrame) entry;
+            if (!"TXXX".equals(frame.id) || frame.values.isEmpty()) {
+                return;
+            }
+            key = frame.description;
+            value = frame.values.get(0);
+        } else if (entry instanceof VorbisComment) {
+            // FLAC / Ogg / Opus
+            key = ((VorbisComment) entry).key;
+            value = ((VorbisComment) entry).value;
+        } else if (entry instanceof InternalFrame) {
+            // MP4: ----:com.apple.iTunes:replaygain_track_gain
+            key = ((InternalFrame) entry).description;
+            value = ((InternalFrame) entry).text;
+        } else {
+            return;
+        }
+        if (key == null || value == null) {
+            return;
+        }
+
+        switch (key.toUpperCase(Locale.US)) {
+            case "REPLAYGAIN_TRACK_GAIN":
+                metadata.setTrackGainDb(parseFloat(value));
+                break;
+            case "REPLAYGAIN_TRACK_PEAK":
+                metadata.setTrackPeak(parseFloat(value));
+                break;
+            case "REPLAYGAIN_ALBUM_GAIN":
+                metadata.setAlbumGainDb(parseFloat(value));
+                break;
+            case "REPLAYGAIN_ALBUM_PEAK":
+                metadata.setAlbumPeak(parseFloat(value));
+                break;
+            case "R128_TRACK_GAIN":
+                // Chỉ dùng khi không có tag ReplayGain chuẩn: Q7.8 fixed point
+                if (metadata.getTrackGainDb() == null) {
+                    Integer q78 = parseInt(value);
+                    metadata.setTrackGainDb(q78 != null ? q78 / 256f + R128_TO_REPLAY_GAIN_DB : null);
+                }
+                break;
+            case "R128_ALBUM_GAIN":
+                if (metadata.getAlbumGainDb() == null) {
+                    Integer q78 = parseInt(value);
+                    metadata.setAlbumGainDb(q78 != null ? q78 / 256f + R128_TO_REPLAY_GAIN_DB : null);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void writeArtwork(byte[] artwork, File artworkOut) {
+        File parent = artworkOut.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        try (FileOutputStream output = new FileOutputStream(artworkOut)) {
+            output.write(artwork);
+        } catch (IOException e) {
+            Log.w(TAG, "Cannot write embedded artwork to " + artworkOut, e);
+            artworkOut.delete();
+        }
+    }
+
+    /**
+     * Số nguyên ở đầu chuỗi ("3/12" -> 3, "2009-01-01" -> 2009), null nếu không có
+     */
+    @Nullable
+    private static Integer parseInt(@Nullable String value) {
+        Long parsed = value != null ? parseLeadingLong(value) : null;
+        return parsed != null && parsed <= Integer.MAX_VALUE ? parsed.intValue() : null;
+    }
+
+    @Nullable
+    private static Long parseLeadingLong(String value) {
+        String trimmed = value.trim();
+        int end = trimmed.startsWith("-") || trimmed.startsWith("+") ? 1 : 0;
+        while (end < trimmed.length() && Character.isDigit(trimmed.charAt(end))) {
+            end++;
+        }
+        try {
+            return Long.parseLong(trimmed.substring(0, end));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * "-6.54 dB" -> -6.54
+     */
+    @Nullable
+    private static Float parseFloat(String value) {
+        String trimmed = value.trim();
+        if (trimmed.regionMatches(true, Math.max(0, trimmed.length() - 2), "dB", 0, 2)) {
+            trimmed = trimmed.substring(0, trimmed.length() - 2).trim();
+        }
+        try {
+            return Float.parseFloat(trimmed);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -13,6 +13,9 @@ public class Constants {
     public static final String KEY_IS_LOGGED_IN = "is_logged_in";
     public static final String KEY_CURRENT_SONG_ID = "current_song_id";
     public static final String KEY_PLAYBACK_POSITION = "playback_position";
+    public static final String KEY_QUEUE_SONG_IDS = "queue_song_ids";
+    public static final String KEY_QUEUE_INDEX = "queue_index";
+    public static final String KEY_QUEUE_TITLE = "queue_title";
     
     // Validation Constants
     public static final int MIN_USERNAME_LENGTH = 3;
@@ -34,6 +37,8 @@ public class Constants {
     
     // UI Constants
     public static final int ITEMS_PER_PAGE = 20;
+    public static final int PAGING_PREFETCH_DISTANCE = 20; // rows ahead of the viewport
+    public static final int PAGING_MAX_SIZE = 200; // rows kept in memory before old pages are dropped
     public static final int SEARCH_DELAY_MS = 500;
     public static final int SPLASH_DELAY_MS = 2000;
     public static final int ANIMATION_DURATION_MS = 300;
@@ -42,6 +47,9 @@ public class Constants {
     public static final int SEEK_FORWARD_TIME = 10000; // 10 seconds
     public static final int SEEK_BACKWARD_TIME = 10000; // 10 seconds
     public static final int PROGRESS_UPDATE_INTERVAL = 1000; // 1 second
+    public static final int SESSION_CHECKPOINT_DELAY_MS = 5000; // write-behind window for playback session
+    public static final int PREFETCH_NEXT_SONGS = 2; // upcoming songs read ahead into the OS page cache
+    public static final long PREFETCH_BYTES_PER_SONG = 1024L * 1024; // enough for an instant start
     
     // Request Codes
     public static final int REQUEST_CODE_PICK_AUDIO = 1001;
@@ -0,0 +1,140 @@
+package com.g3.soundify_musicplayer.utils;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.ImageDecoder;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Thumbnail vuông, kích thước cố định của ảnh bìa: files/thumbs/<variant>/<tên file gốc>.webp.
+ * Tạo một lần lúc upload (ảnh gốc chỉ decode một lần, các variant scale từ cùng bitmap),
+ * ImageLoader chọn variant hợp với view thay vì decode ảnh gốc full-resolution mỗi lần bind.
+ *
+ * Ảnh bìa chưa có thumbnail (upload trước khi có pipeline này) vẫn hiển thị được:
+ * ImageLoader load ảnh gốc với size hint và Glide cache bản đã thu nhỏ trên đĩa.
+ */
+public final class CoverThumbnails {
+
+    private static final String TAG = "CoverThumbnails";
+
+    private static final String THUMBS_DIR = "thumbs";
+    private static final String THUMB_SUFFIX = ".webp";
+    private static final int WEBP_QUALITY = 85;
+
+    /**
+     * Kích thước theo view lớn nhất dùng variant đó ở xxxhdpi (4x)
+     */
+    public enum Variant {
+        // Row 48-64dp: item_song_card, mini player, playlist rows
+        LIST(256),
+        // Card 120dp: recently played, edit dialog preview
+        CARD(480),
+        // Full player 280dp
+        FULL(1120);
+
+        public final int sizePx;
+
+        Variant(int sizePx) {
+            this.sizePx = sizePx;
+        }
+    }
+
+    private CoverThumbnails() {}
+
+    /**
+     * Tạo đủ các variant cho ảnh bìa (path tuyệt đối trong app). Blocking, lỗi chỉ được log.
+     */
+    public static void generate(Context context, String coverPath) {
+        File source = new File(coverPath);
+        if (!source.isFile()) {
+            return;
+        }
+        try {
+            Bitmap decoded = ImageDecoder.decodeBitmap(ImageDecoder.createSource(source), (decoder, info, src) -> {
+                // Software bitmap: cần cho createScaledBitmap / compress
+                decoder.setAllocator(ImageDecoder.ALLOCATOR_SOFTWARE);
+                int shortSide = Math.min(info.getSize().getWidth(), info.getSize().getHeight());
+                // Subsample lúc decode, vẫn đủ lớn cho variant lớn nhất
+                int sampleSize = 1;
+                while (shortSide / (sampleSize * 2) >= Variant.FULL.sizePx) {
+                    sampleSize *= 2;
+                }
+                decoder.setTargetSampleSize(sampleSize);
+            });
+            Bitmap square = cropSquare(decoded);
+            for (Variant variant : Variant.values()) {
+                write(square, thumbnailFile(context, coverPath, variant), variant.sizePx);
+            }
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Error generating thumbnails for " + coverPath, e);
+        }
+    }
+
+    /**
+     * Path thumbnail của ảnh bìa, null nếu ảnh không nằm trong app (URI ngoài app...).
+     * Không kiểm tra file trên đĩa (gọi từ main thread lúc bind): ảnh cũ chưa có thumbnail
+     * thì request load thumbnail lỗi và ImageLoader fallback về ảnh gốc.
+     */
+    @Nullable
+    public static File thumbnailFor(Context context, @Nullable String coverPath, Variant variant) {
+        if (coverPath == null || !coverPath.startsWith(File.separator)) {
+            return null;
+        }
+        return thumbnailFile(context, coverPath, variant);
+    }
+
+    /**
+     * Xoá thumbnail khi file gốc bị xoá (không có thì thôi)
+     */
+    public static void delete(Context context, String sourcePath) {
+        for (Variant variant : Variant.values()) {
+            File thumbnail = thumbnailFile(context, sourcePath, variant);
+            if (thumbnail.exists() && !thumbnail.delete()) {
+                Log.w(TAG, "Cannot delete thumbnail " + thumbnail);
+            }
+        }
+    }
+
+    private static File thumbnailFile(Context context, String coverPath, Variant variant) {
+        File variantDir = new File(new File(context.getFilesDir(), THUMBS_DIR), variant.name().toLowerCase(Locale.US));
+        // Tên file gốc là duy nhất: SHA-256 trong MediaBlobStore, tên file trong files/images với ảnh cũ
+        return new File(variantDir, new File(coverPath).getName() + THUMB_SUFFIX);
+    }
+
+    private static Bitmap cropSquare(Bitmap bitmap) {
+        int width = bitmap.getWidth();
+        int height = bitmap.getHeight();
+        if (width == height) {
+            return bitmap;
+        }
+        int side = Math.min(width, height);
+        return Bitmap.createBitmap(bitmap, (width - side) / 2, (height - side) / 2, side, side);
+    }
+
+    private static void write(Bitmap square, File target, int sizePx) throws IOException {
+        // Không phóng to ảnh nhỏ hơn variant
+        int size = Math.min(sizePx, square.getWidth());
+        Bitmap scaled = size == square.getWidth() ? square : Bitmap.createScaledBitmap(square, size, size, true);
+
+        File parent = target.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        // Ghi ra file tạm rồi rename: ImageLoader không bao giờ thấy thumbnail ghi dở
+        File temp = new File(target.getPath() + ".tmp");
+        try (FileOutputStream output = new FileOutputStream(temp)) {
+            scaled.compress(Bitmap.CompressFormat.WEBP_LOSSY, WEBP_QUALITY, output);
+        }
+        if (!temp.renameTo(target)) {
+            temp.delete();
+            throw new IOException("Cannot move " + temp + " to " + target);
+        }
+    }
+}
@@ -12,8 +12,6 @@ import com.g3.soundify_musicplayer.data.entity.Song;
 import com.g3.soundify_musicplayer.data.entity.Playlist;
 import com.g3.soundify_musicplayer.data.entity.PlaylistSong;
 
-import java.util.concurrent.Executors;
-
 /**
  * Helper class to create test data for development and testing
  */
@@ -23,7 +21,7 @@ public class DatabaseTestHelper {
      * Create test users and songs if they don't exist
      */
     public static void createTestUsersIfNeeded(Context context) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskWrite().execute(() -> {
             AppDatabase database = AppDatabase.getInstance(context);
             UserDao userDao = database.userDao();
             SongDao songDao = database.songDao();
@@ -179,7 +177,7 @@ public class DatabaseTestHelper {
      * Clear all data from database (for testing purposes)
      */
     public static void clearAllData(Context context) {
-        Executors.newSingleThreadExecutor().execute(() -> {
+        AppExecutors.getInstance().diskWrite().execute(() -> {
             AppDatabase database = AppDatabase.getInstance(context);
             database.clearAllTables();
         });
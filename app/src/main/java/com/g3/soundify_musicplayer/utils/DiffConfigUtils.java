@@ -0,0 +1,22 @@
+package com.g3.soundify_musicplayer.utils;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.DiffUtil;
+
+/**
+ * AsyncDifferConfig factory for ListAdapters.
+ * Diffs are computed on the shared diff pool instead of ListAdapter's private executor.
+ */
+public final class DiffConfigUtils {
+
+    private DiffConfigUtils() {
+        // Utility class
+    }
+
+    public static <T> AsyncDifferConfig<T> backgroundConfig(@NonNull DiffUtil.ItemCallback<T> callback) {
+        return new AsyncDifferConfig.Builder<>(callback)
+                .setBackgroundThreadExecutor(AppExecutors.getInstance().diff())
+                .build();
+    }
+}
@@ -7,10 +7,12 @@ import android.net.Uri;
 import android.provider.OpenableColumns;
 import android.util.Log;
 
+import androidx.annotation.Nullable;
+
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.UUID;
 
 /**
  * Utility class for file operations
@@ -19,6 +21,15 @@ import java.io.InputStream;
 public class FileUtils {
     
     private static final String TAG = "FileUtils";
+
+    /**
+     * Progress + cancellation cho copyToInternalStorage
+     */
+    public interface CopyListener {
+        void onProgress(long copiedBytes, long totalBytes);
+
+        boolean isCancelled();
+    }
     
     /**
      * Get file name from URI
@@ -82,46 +93,30 @@ public class FileUtils {
     }
     
     /**
-     * Copy file from URI to internal storage
+     * Copy file from URI to internal storage (MediaBlobStore). fileName chỉ để log - file được
+     * lưu theo hash nội dung, nên file trùng tên không còn ghi đè nhau.
      */
     public static String copyFileToInternalStorage(Context context, Uri sourceUri, String fileName) {
         try {
-            // Determine directory based on file type
-            String dirName = "audio"; // default
-            if (fileName.toLowerCase().matches(".*\\.(jpg|jpeg|png|webp)$")) {
-                dirName = "images";
-            }
-
-            // Create directory
-            File targetDir = new File(context.getFilesDir(), dirName);
-            if (!targetDir.exists()) {
-                targetDir.mkdirs();
-            }
-
-            // Create destination file
-            File destFile = new File(targetDir, fileName);
-
-            // Copy file
-            try (InputStream inputStream = context.getContentResolver().openInputStream(sourceUri);
-                 FileOutputStream outputStream = new FileOutputStream(destFile)) {
-
-                if (inputStream != null) {
-                    byte[] buffer = new byte[4096];
-                    int bytesRead;
-                    while ((bytesRead = inputStream.read(buffer)) != -1) {
-                        outputStream.write(buffer, 0, bytesRead);
-                    }
-                }
-            }
-
-            return destFile.getAbsolutePath();
-
+            return copyToInternalStorage(context, sourceUri, UUID.randomUUID().toString(), false, null);
         } catch (IOException e) {
-            Log.e(TAG, "Error copying file to internal storage", e);
+            Log.e(TAG, "Error copying file to internal storage: " + fileName, e);
             return null;
         }
     }
-    
+
+    /**
+     * Streaming copy vào content-addressed store, nội dung trùng với file đã có thì dùng lại file đó.
+     *
+     * @param tempKey tên file tạm trong lúc copy - cùng key + resume thì copy tiếp từ lần trước
+     * @return đường dẫn tuyệt đối của file trong store
+     * @throws InterruptedIOException khi listener báo cancel - file tạm được giữ lại để resume
+     */
+    public static String copyToInternalStorage(Context context, Uri sourceUri, String tempKey,
+                                               boolean resume, @Nullable CopyListener listener) throws IOException {
+        return MediaBlobStore.getInstance(context).store(context, sourceUri, tempKey, resume, listener);
+    }
+
     /**
      * Get audio duration from file URI
      */
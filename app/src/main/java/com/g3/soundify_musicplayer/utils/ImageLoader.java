@@ -0,0 +1,78 @@
+package com.g3.soundify_musicplayer.utils;
+
+import android.graphics.drawable.Drawable;
+import android.widget.ImageView;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.request.RequestOptions;
+import com.g3.soundify_musicplayer.R;
+
+import java.io.File;
+
+/**
+ * Điểm load ảnh bìa / avatar chung cho adapter, fragment và player.
+ *
+ * - Ảnh trong app thì load thumbnail (CoverThumbnails): file nhỏ, không cần Glide disk cache.
+ *   Không kiểm tra file tồn tại trên main thread: load thumbnail lỗi thì fallback về ảnh gốc.
+ * - Ảnh gốc được load với size hint của variant; Glide cache bản đã thu nhỏ trên đĩa
+ *   (RESOURCE) nên ảnh gốc chỉ bị decode lần đầu.
+ * - LIST / CARD decode RGB_565 (nửa bộ nhớ so với ARGB_8888, ảnh bìa không có alpha),
+ *   FULL giữ ARGB_8888 cho ảnh lớn trong full player.
+ * Không có ảnh thì clear request cũ của view (row được recycle) rồi hiện placeholder.
+ */
+public final class ImageLoader {
+
+    private static final RequestOptions LIST_OPTIONS = new RequestOptions().format(DecodeFormat.PREFER_RGB_565);
+    private static final RequestOptions FULL_OPTIONS = new RequestOptions().format(DecodeFormat.PREFER_ARGB_8888);
+
+    private ImageLoader() {}
+
+    public static void loadCover(ImageView view, @Nullable String coverUrl, CoverThumbnails.Variant variant) {
+        loadCover(view, coverUrl, variant, R.drawable.splashi_icon);
+    }
+
+    public static void loadCover(ImageView view, @Nullable String coverUrl, CoverThumbnails.Variant variant,
+                                 @DrawableRes int placeholder) {
+        if (coverUrl == null || coverUrl.trim().isEmpty()) {
+            Glide.with(view).clear(view);
+            view.setImageResource(placeholder);
+            return;
+        }
+
+        RequestOptions options = variant == CoverThumbnails.Variant.FULL ? FULL_OPTIONS : LIST_OPTIONS;
+        RequestBuilder<Drawable> original = Glide.with(view)
+                .load(coverUrl)
+                .override(variant.sizePx)
+                .diskCacheStrategy(DiskCacheStrategy.RESOURCE)
+                .apply(options)
+                .error(placeholder);
+
+        File thumbnail = CoverThumbnails.thumbnailFor(view.getContext(), coverUrl, variant);
+        RequestBuilder<Drawable> request;
+        if (thumbnail != null) {
+            // Chưa có thumbnail (ảnh cũ) thì load lỗi và Glide chuyển sang ảnh gốc
+            request = Glide.with(view)
+                    .load(thumbnail)
+                    .diskCacheStrategy(DiskCacheStrategy.NONE)
+                    .apply(options)
+                    .error(original);
+        } else {
+            request = original;
+        }
+        request.placeholder(placeholder)
+                .into(view);
+    }
+
+    /**
+     * Avatar người dùng (không có thumbnail riêng, dùng size của row)
+     */
+    public static void loadAvatar(ImageView view, @Nullable String avatarUrl) {
+        loadCover(view, avatarUrl, CoverThumbnails.Variant.LIST, R.drawable.placeholder_avatar);
+    }
+}
@@ -0,0 +1,340 @@
+package com.g3.soundify_musicplayer.utils;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.ParcelFileDescriptor;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.g3.soundify_musicplayer.data.dao.MediaBlobDao;
+import com.g3.soundify_musicplayer.data.database.AppDatabase;
+import com.g3.soundify_musicplayer.data.entity.MediaBlob;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Content-addressed store cho file media (audio, ảnh bìa, avatar): files/media/ab/abcdef...
+ * với tên là SHA-256 của nội dung. Nằm sau FileUtils.copyToInternalStorage.
+ *
+ * Hash được tính trong lúc copy (một lần đọc source). Nội dung đã có trong store thì bản copy
+ * tạm bị bỏ và path cũ được dùng lại: upload trùng không tốn thêm dung lượng, và hai file khác
+ * nhau trùng tên không còn ghi đè nhau.
+ *
+ * Số chỗ trỏ tới mỗi blob (songs / users) nằm ở media_blobs.ref_count, do MediaRefTriggers
+ * cập nhật. Blob vừa store chưa có ai trỏ tới được "pin" một lúc để reclaim không xoá mất
+ * trước khi caller kịp insert/update row tham chiếu.
+ */
+public final class MediaBlobStore {
+
+    private static final String TAG = "MediaBlobStore";
+
+    private static final String STORE_DIR = "media";
+    private static final String TEMP_DIR = "tmp";
+    private static final String PART_SUFFIX = ".part";
+    private static final String HASH_ALGORITHM = "SHA-256";
+    // Direct buffer: FileChannel đọc/ghi thẳng, không copy qua Java heap
+    private static final int BUFFER_BYTES = 1024 * 1024;
+    private static final long PIN_TTL_MS = 10 * 60 * 1000;
+
+    private static volatile MediaBlobStore INSTANCE;
+
+    private final Context context;
+    private final File storeDir;
+    private final File tempDir;
+    private final MediaBlobDao mediaBlobDao;
+    // hash -> elapsedRealtime hết hạn pin
+    private final Map<String, Long> pins = new HashMap<>();
+    // Đã có một reclaim đang chờ trên fileIo (requestReclaim)
+    private final AtomicBoolean reclaimQueued = new AtomicBoolean();
+
+    private MediaBlobStore(Context context) {
+        this.context = context;
+        storeDir = new File(context.getFilesDir(), STORE_DIR);
+        tempDir = new File(storeDir, TEMP_DIR);
+        mediaBlobDao = AppDatabase.getInstance(context).mediaBlobDao();
+    }
+
+    public static MediaBlobStore getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (MediaBlobStore.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new MediaBlobStore(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Stream source vào file tạm (tempKey), hash trong lúc copy rồi đưa vào store. Blocking.
+     *
+     * @param resume tiếp tục từ file tạm còn lại của lần trước (cùng tempKey) nếu source seek được
+     * @return đường dẫn tuyệt đối của blob
+     * @throws InterruptedIOException khi listener báo cancel - file tạm được giữ lại để resume
+     */
+    public String store(Context context, Uri sourceUri, String tempKey, boolean resume,
+                        @Nullable FileUtils.CopyListener listener) throws IOException {
+        if (!tempDir.exists() && !tempDir.mkdirs()) {
+            throw new IOException("Cannot create " + tempDir);
+        }
+        File partFile = new File(tempDir, tempKey + PART_SUFFIX);
+        if (!resume && partFile.exists() && !partFile.delete()) {
+            throw new IOException("Cannot delete stale partial file " + partFile);
+        }
+        long totalBytes = FileUtils.getFileSize(context, sourceUri);
+        MessageDigest digest = newDigest();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        long position;
+
+        ParcelFileDescriptor pfd = context.getContentResolver().openFileDescriptor(sourceUri, "r");
+        if (pfd == null) {
+            throw new FileNotFoundException("Cannot open " + sourceUri);
+        }
+        try (ParcelFileDescriptor.AutoCloseInputStream input = new ParcelFileDescriptor.AutoCloseInputStream(pfd);
+             FileChannel source = input.getChannel();
+             RandomAccessFile output = new RandomAccessFile(partFile, "rw");
+             FileChannel target = output.getChannel()) {
+
+            position = target.size();
+            if (position > 0 && ((totalBytes > 0 && position > totalBytes) || !seek(source, position))) {
+                // Không resume được (source là pipe, hoặc file nguồn đã đổi) - copy lại từ đầu
+                target.truncate(0);
+                position = 0;
+            }
+            // Hash của phần đã copy: đọc lại file tạm local, rẻ hơn copy lại từ source
+            if (position > 0) {
+                hashPrefix(target, position, digest, buffer);
+            }
+            target.position(position);
+
+            while (true) {
+                if (listener != null && listener.isCancelled()) {
+                    throw new InterruptedIOException("Copy cancelled at " + position + " bytes");
+                }
+                buffer.clear();
+                int read = source.read(buffer);
+                if (read < 0) {
+                    break;
+                }
+                buffer.flip();
+                digest.update(buffer);
+                buffer.rewind();
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                position += read;
+                if (listener != null) {
+                    listener.onProgress(position, totalBytes);
+                }
+            }
+
+            if (totalBytes > 0 && position != totalBytes) {
+                throw new IOException("Incomplete copy: " + position + "/" + totalBytes + " bytes");
+            }
+            // Dữ liệu phải nằm trên disk trước khi blob xuất hiện trong store
+            target.force(true);
+        }
+
+        return commit(partFile, toHex(digest.digest()), position);
+    }
+
+    /**
+     * Đưa file tạm vào store (hoặc bỏ nếu nội dung đã có), ghi row media_blobs và pin blob
+     */
+    private synchronized String commit(File partFile, String hash, long sizeBytes) throws IOException {
+        File blobFile = blobFile(hash);
+        if (blobFile.exists() && blobFile.length() == sizeBytes) {
+            // Trùng nội dung: dùng lại blob có sẵn
+            if (!partFile.delete()) {
+                Log.w(TAG, "Cannot delete duplicate temp file " + partFile);
+            }
+        } else {
+            File parent = blobFile.getParentFile();
+            if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                throw new IOException("Cannot create " + parent);
+            }
+            if (blobFile.exists() && !blobFile.delete()) {
+                throw new IOException("Cannot replace corrupt blob " + blobFile);
+            }
+            if (!partFile.renameTo(blobFile)) {
+                throw new IOException("Cannot move " + partFile + " to " + blobFile);
+            }
+        }
+
+        String path = blobFile.getAbsolutePath();
+        mediaBlobDao.insertIfAbsent(new MediaBlob(hash, path, sizeBytes, System.currentTimeMillis()));
+        pins.put(hash, SystemClock.elapsedRealtime() + PIN_TTL_MS);
+        return path;
+    }
+
+    /**
+     * Chạy reclaimUnreferenced trên fileIo, không chặn caller (db-write thread sau update/delete).
+     * Nhiều request liên tiếp gộp thành một lần reclaim.
+     */
+    public void requestReclaim() {
+        if (!reclaimQueued.compareAndSet(false, true)) {
+            return;
+        }
+        AppExecutors.getInstance().fileIo().execute(() -> {
+            // Reset trước khi chạy: delete xảy ra trong lúc đang reclaim sẽ xếp một lần mới
+            reclaimQueued.set(false);
+            try {
+                reclaimUnreferenced();
+            } catch (Exception e) {
+                Log.e(TAG, "Error reclaiming unreferenced blobs", e);
+            }
+        });
+    }
+
+    /**
+     * Xoá các blob không còn ai trỏ tới (ref_count = 0, không bị pin). Blocking.
+     *
+     * @return số byte giải phóng được
+     */
+    public synchronized long reclaimUnreferenced() {
+        long now = SystemClock.elapsedRealtime();
+        for (Iterator<Long> it = pins.values().iterator(); it.hasNext(); ) {
+            if (it.next() <= now) {
+                it.remove();
+            }
+        }
+
+        long freedBytes = 0;
+        List<MediaBlob> unreferenced = mediaBlobDao.getUnreferencedSync();
+        for (MediaBlob blob : unreferenced) {
+            if (pins.containsKey(blob.getHash())) {
+                continue;
+            }
+            // Xoá row trước: nếu ref_count vừa tăng lại thì delete không khớp và file được giữ
+            if (mediaBlobDao.deleteIfUnreferenced(blob.getHash()) == 0) {
+                continue;
+            }
+            File file = new File(blob.getPath());
+            if (file.exists() && !file.delete()) {
+                Log.w(TAG, "Cannot delete blob file " + file);
+                continue;
+            }
+            CoverThumbnails.delete(context, blob.getPath());
+            freedBytes += blob.getSizeBytes();
+        }
+        if (freedBytes > 0) {
+            Log.d(TAG, "Reclaimed " + FileUtils.formatFileSize(freedBytes));
+        }
+        return freedBytes;
+    }
+
+    /**
+     * Xoá các file trong store không có row media_blobs (crash giữa lúc rename và insert),
+     * chỉ file cũ hơn modifiedBefore. Chạy dưới cùng lock với commit nên không đụng blob đang ghi.
+     *
+     * @return số byte giải phóng được
+     */
+    public synchronized long deleteUntrackedFiles(List<File> files, long modifiedBefore) {
+        List<String> paths = new ArrayList<>(files.size());
+        for (File file : files) {
+            paths.add(file.getAbsolutePath());
+        }
+        Set<String> known = new HashSet<>(mediaBlobDao.findKnownPathsSync(paths));
+
+        long freedBytes = 0;
+        for (File file : files) {
+            if (known.contains(file.getAbsolutePath()) || file.lastModified() >= modifiedBefore) {
+                continue;
+            }
+            long size = file.length();
+            if (file.delete()) {
+                freedBytes += size;
+            }
+        }
+        return freedBytes;
+    }
+
+    /**
+     * Thư mục gốc của store (files/media), blob nằm trong các thư mục con 2 ký tự
+     */
+    public File getStoreDir() {
+        return storeDir;
+    }
+
+    /**
+     * File copy dở (upload đang chạy hoặc đã bỏ)
+     */
+    public File getTempDir() {
+        return tempDir;
+    }
+
+    /**
+     * Path có nằm trong store không (file cũ trước v10 nằm ở files/audio, files/images)
+     */
+    public boolean isStorePath(@Nullable String path) {
+        return path != null && path.startsWith(storeDir.getAbsolutePath() + File.separator);
+    }
+
+    private File blobFile(String hash) {
+        // 2 ký tự đầu làm thư mục con để không dồn hàng nghìn file vào một thư mục
+        return new File(new File(storeDir, hash.substring(0, 2)), hash);
+    }
+
+    private static void hashPrefix(FileChannel file, long length, MessageDigest digest, ByteBuffer buffer)
+            throws IOException {
+        file.position(0);
+        long remaining = length;
+        while (remaining > 0) {
+            buffer.clear();
+            if (remaining < buffer.capacity()) {
+                buffer.limit((int) remaining);
+            }
+            int read = file.read(buffer);
+            if (read < 0) {
+                throw new IOException("Partial file shorter than expected");
+            }
+            buffer.flip();
+            digest.update(buffer);
+            remaining -= read;
+        }
+    }
+
+    private static boolean seek(FileChannel source, long position) {
+        try {
+            source.position(position);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 luôn có trên Android
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package com.g3.soundify_musicplayer.utils;
+
+import androidx.lifecycle.LiveData;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+import androidx.paging.PagingSource;
+
+import kotlin.jvm.functions.Function0;
+
+/**
+ * Shared Paging 3 setup so every paged list uses the same window size.
+ * Placeholders are disabled; at most PAGING_MAX_SIZE rows stay in memory.
+ */
+public final class PagingUtils {
+
+    private PagingUtils() {
+        // Utility class
+    }
+
+    public static PagingConfig defaultConfig() {
+        return new PagingConfig(
+                Constants.ITEMS_PER_PAGE,
+                Constants.PAGING_PREFETCH_DISTANCE,
+                false,
+                Constants.ITEMS_PER_PAGE * 2,
+                Constants.PAGING_MAX_SIZE);
+    }
+
+    /**
+     * Wrap a Room PagingSource factory into a LiveData stream of PagingData.
+     * The factory is called again whenever Room invalidates the source.
+     */
+    public static <T> LiveData<PagingData<T>> livePager(Function0<PagingSource<Integer, T>> sourceFactory) {
+        Pager<Integer, T> pager = new Pager<>(defaultConfig(), sourceFactory);
+        return PagingLiveData.getLiveData(pager);
+    }
+}
@@ -1,10 +1,13 @@
 package com.g3.soundify_musicplayer.utils;
 
 import android.app.Application;
+import android.os.Trace;
 
+import com.g3.soundify_musicplayer.data.database.WriteBatcher;
 import com.g3.soundify_musicplayer.data.repository.MediaPlayerRepository;
 import com.g3.soundify_musicplayer.data.repository.SongDetailRepository;
 import com.g3.soundify_musicplayer.data.repository.SongRepository;
+import com.g3.soundify_musicplayer.service.AudioPrefetcher;
 
 /**
  * Singleton Repository Manager
@@ -15,17 +18,20 @@ public class RepositoryManager {
     
     private static volatile RepositoryManager INSTANCE;
     
-    // Singleton Repository instances
-    private MediaPlayerRepository mediaPlayerRepository;
-    private SongDetailRepository songDetailRepository;
-    private SongRepository songRepository;
+    // Singleton Repository instances - tạo lười ở lần dùng đầu tiên
+    private volatile MediaPlayerRepository mediaPlayerRepository;
+    private volatile SongDetailRepository songDetailRepository;
+    private volatile SongRepository songRepository;
     
+    // Shared thread pools used by every repository / ViewModel
+    private final AppExecutors appExecutors;
+
     // Application context
     private final Application application;
     
     private RepositoryManager(Application application) {
         this.application = application;
-        initializeRepositories();
+        this.appExecutors = AppExecutors.getInstance();
     }
     
     /**
@@ -43,25 +49,30 @@ public class RepositoryManager {
     }
     
     /**
-     * Initialize all Repository instances
-     * QUAN TRỌNG: MediaPlayerRepository phải được tạo trước SongDetailRepository
-     * vì SongDetailRepository có thể phụ thuộc vào MediaPlayerRepository
+     * Instance nếu đã được tạo, null nếu chưa (không kích hoạt khởi tạo)
      */
-    private void initializeRepositories() {
-        
-        // Tạo MediaPlayerRepository trước (quan trọng cho service binding)
-        mediaPlayerRepository = new MediaPlayerRepository(application);
-        songDetailRepository = new SongDetailRepository(application);
-        songRepository = new SongRepository(application);
+    public static RepositoryManager peekInstance() {
+        return INSTANCE;
     }
-    
+
     /**
      * Get singleton MediaPlayerRepository instance
-     * Đây là instance duy nhất quản lý playback state trong toàn bộ app
+     * Đây là instance duy nhất quản lý playback state trong toàn bộ app.
+     * Tạo ở lần dùng đầu tiên (MiniPlayer / FullPlayer) - start + bind MediaPlaybackService
+     * không còn nằm trên đường cold start.
      */
     public MediaPlayerRepository getMediaPlayerRepository() {
         if (mediaPlayerRepository == null) {
-            throw new IllegalStateException("MediaPlayerRepository not initialized!");
+            synchronized (this) {
+                if (mediaPlayerRepository == null) {
+                    Trace.beginSection("RepositoryManager.createMediaPlayerRepository");
+                    try {
+                        mediaPlayerRepository = new MediaPlayerRepository(application);
+                    } finally {
+                        Trace.endSection();
+                    }
+                }
+            }
         }
         return mediaPlayerRepository;
     }
@@ -71,7 +82,16 @@ public class RepositoryManager {
      */
     public SongDetailRepository getSongDetailRepository() {
         if (songDetailRepository == null) {
-            throw new IllegalStateException("SongDetailRepository not initialized!");
+            synchronized (this) {
+                if (songDetailRepository == null) {
+                    Trace.beginSection("RepositoryManager.createSongDetailRepository");
+                    try {
+                        songDetailRepository = new SongDetailRepository(application);
+                    } finally {
+                        Trace.endSection();
+                    }
+                }
+            }
         }
         return songDetailRepository;
     }
@@ -81,11 +101,37 @@ public class RepositoryManager {
      */
     public SongRepository getSongRepository() {
         if (songRepository == null) {
-            throw new IllegalStateException("SongRepository not initialized!");
+            synchronized (this) {
+                if (songRepository == null) {
+                    Trace.beginSection("RepositoryManager.createSongRepository");
+                    try {
+                        songRepository = new SongRepository(application);
+                    } finally {
+                        Trace.endSection();
+                    }
+                }
+            }
         }
         return songRepository;
     }
+
+    /**
+     * Ghi checkpoint phiên phát nhạc nếu player đã từng được dùng (không tạo repository mới)
+     */
+    public void flushPlaybackSession() {
+        MediaPlayerRepository repository = mediaPlayerRepository;
+        if (repository != null) {
+            repository.flushSession();
+        }
+    }
     
+    /**
+     * Get the shared executor layer (thread-count metrics, pools)
+     */
+    public AppExecutors getAppExecutors() {
+        return appExecutors;
+    }
+
     /**
      * Cleanup method - call when application is destroyed
      */
@@ -97,6 +143,9 @@ public class RepositoryManager {
         if (songDetailRepository != null) {
             songDetailRepository.shutdown();
         }
+
+        // Shared pools are shut down last, after repositories stopped submitting work
+        AppExecutors.shutdown();
         
         // Reset instance
         INSTANCE = null;
@@ -110,5 +159,8 @@ public class RepositoryManager {
             // Check service binding status
             mediaPlayerRepository.checkServiceStatus();
         }
+        appExecutors.logStats();
+        AudioPrefetcher.getInstance(application).logStats();
+        WriteBatcher.getInstance(application).logStats();
     }
 }
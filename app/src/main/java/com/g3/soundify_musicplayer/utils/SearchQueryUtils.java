@@ -0,0 +1,50 @@
+package com.g3.soundify_musicplayer.utils;
+
+import java.util.Locale;
+
+public class SearchQueryUtils {
+
+    /**
+     * Convert raw user input into an FTS4 MATCH expression.
+     * Every token becomes a prefix term ("lo fi" -> "lo* fi*") and all terms must match.
+     * Input is lower-cased and punctuation stripped, so FTS operators (AND, OR, NEAR, quotes,
+     * column filters) typed by the user can never break the query.
+     *
+     * @return MATCH expression, or null when the input has no searchable tokens
+     */
+    public static String toFtsMatchQuery(String rawQuery) {
+        if (rawQuery == null) {
+            return null;
+        }
+
+        String[] tokens = rawQuery.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        StringBuilder match = new StringBuilder();
+        for (String token : tokens) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            if (match.length() > 0) {
+                match.append(' ');
+            }
+            match.append(token).append('*');
+        }
+
+        return match.length() > 0 ? match.toString() : null;
+    }
+
+    /**
+     * Escape LIKE wildcards so the raw query can be used for rank ordering
+     */
+    public static String escapeLikePattern(String rawQuery) {
+        if (rawQuery == null) {
+            return "";
+        }
+        return rawQuery.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    // Private constructor to prevent instantiation
+    private SearchQueryUtils() {}
+}
@@ -0,0 +1,48 @@
+package com.g3.soundify_musicplayer.utils;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.module.AppGlideModule;
+
+/**
+ * Cấu hình Glide cho cả app: kích thước memory cache / bitmap pool và disk cache.
+ * Load ảnh qua ImageLoader để được chọn đúng thumbnail và decode format.
+ */
+@GlideModule
+public final class SoundifyGlideModule extends AppGlideModule {
+
+    // Ảnh bìa đã thu nhỏ (ảnh cũ chưa có thumbnail, avatar)
+    private static final long DISK_CACHE_BYTES = 100L * 1024 * 1024;
+    private static final String DISK_CACHE_DIR = "image_cache";
+    // List rows đa số RGB_565 (nửa bộ nhớ), giữ khoảng 2 màn hình ảnh trong memory cache
+    private static final float MEMORY_CACHE_SCREENS = 2;
+    // Pool đủ cho fling: bitmap của row vừa ra khỏi màn hình được decode lại vào
+    private static final float BITMAP_POOL_SCREENS = 3;
+
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        MemorySizeCalculator calculator = new MemorySizeCalculator.Builder(context)
+                .setMemoryCacheScreens(MEMORY_CACHE_SCREENS)
+                .setBitmapPoolScreens(BITMAP_POOL_SCREENS)
+                .build();
+        builder.setMemoryCache(new LruResourceCache(calculator.getMemoryCacheSize()));
+        builder.setBitmapPool(new LruBitmapPool(calculator.getBitmapPoolSize()));
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(context, DISK_CACHE_DIR, DISK_CACHE_BYTES));
+        builder.setLogLevel(Log.ERROR);
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        // Không dùng GlideModule khai báo trong manifest (Glide v3)
+        return false;
+    }
+}
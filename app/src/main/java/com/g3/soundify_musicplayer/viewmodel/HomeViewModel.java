@@ -16,6 +16,7 @@ import com.g3.soundify_musicplayer.data.dto.SongWithUploaderInfo;
 import com.g3.soundify_musicplayer.data.repository.SongRepository;
 import com.g3.soundify_musicplayer.data.repository.PlaylistRepository;
 import com.g3.soundify_musicplayer.utils.AuthManager;
+import com.g3.soundify_musicplayer.utils.AppExecutors;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -81,7 +82,7 @@ public class HomeViewModel extends AndroidViewModel {
             userPlaylists = liveData;
 
             // Load playlists with song count in background using executor
-            java.util.concurrent.Executors.newSingleThreadExecutor().execute(() -> {
+            AppExecutors.getInstance().background().execute(() -> {
                 try {
                     List<PlaylistWithSongCount> playlists = playlistRepository.getPlaylistsByOwnerWithSongCount(currentUserId).get();
                     liveData.postValue(playlists);
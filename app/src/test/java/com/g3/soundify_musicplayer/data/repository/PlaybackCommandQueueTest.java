@@ -0,0 +1,199 @@
+package com.g3.soundify_musicplayer.data.repository;
+
+import com.g3.soundify_musicplayer.data.repository.PlaybackCommandQueue.Command;
+import com.g3.soundify_musicplayer.data.repository.PlaybackCommandQueue.Type;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Luật coalesce của PlaybackCommandQueue.
+ *
+ * Executor chỉ giữ task lại, nên mọi command submit trước run() đều còn pending và được coalesce.
+ */
+public class PlaybackCommandQueueTest {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<Command> handled = new ArrayList<>();
+    private PlaybackCommandQueue queue;
+
+    @Before
+    public void setUp() {
+        Executor executor = tasks::add;
+        queue = new PlaybackCommandQueue(executor, handled::add);
+    }
+
+    @Test
+    public void seeksCollapseToTheLast() {
+        queue.submit(Command.of(Type.SEEK, 1_000));
+        queue.submit(Command.of(Type.SEEK, 2_000));
+        queue.submit(Command.of(Type.SEEK, 3_000));
+
+        run();
+        assertCommands(Type.SEEK);
+        assertEquals(3_000, handled.get(0).value);
+    }
+
+    @Test
+    public void togglesCancelOutByParity() {
+        queue.submit(Command.of(Type.TOGGLE_PLAY_PAUSE));
+        queue.submit(Command.of(Type.TOGGLE_PLAY_PAUSE));
+        run();
+        assertTrue(handled.isEmpty());
+
+        queue.submit(Command.of(Type.TOGGLE_PLAY_PAUSE));
+        queue.submit(Command.of(Type.TOGGLE_PLAY_PAUSE));
+        queue.submit(Command.of(Type.TOGGLE_PLAY_PAUSE));
+        run();
+        assertCommands(Type.TOGGLE_PLAY_PAUSE);
+    }
+
+    @Test
+    public void repeatedPressesAddUpToOneSkip() {
+        queue.submit(Command.of(Type.NEXT));
+        queue.submit(Command.of(Type.NEXT));
+        queue.submit(Command.of(Type.NEXT));
+        run();
+        assertCommands(Type.NEXT);
+        assertEquals(3, handled.get(0).value);
+
+        handled.clear();
+        queue.submit(Command.of(Type.PREVIOUS));
+        queue.submit(Command.of(Type.PREVIOUS));
+        run();
+        assertCommands(Type.PREVIOUS);
+        assertEquals(2, handled.get(0).value);
+        assertEquals(0, handled.get(0).extra);
+    }
+
+    @Test
+    public void nextThenPreviousNetsOut() {
+        queue.submit(Command.of(Type.NEXT));
+        queue.submit(Command.of(Type.PREVIOUS));
+        run();
+        assertTrue(handled.isEmpty());
+
+        queue.submit(Command.of(Type.NEXT));
+        queue.submit(Command.of(Type.NEXT));
+        queue.submit(Command.of(Type.PREVIOUS));
+        run();
+        assertCommands(Type.NEXT);
+        assertEquals(1, handled.get(0).value);
+    }
+
+    @Test
+    public void remainingPreviousAfterNextNeverRestarts() {
+        queue.submit(Command.of(Type.NEXT));
+        queue.submit(Command.of(Type.PREVIOUS, 3));
+
+        run();
+        assertCommands(Type.PREVIOUS);
+        assertEquals(2, handled.get(0).value);
+        assertEquals(PlaybackCommandQueue.PREVIOUS_SKIPS_RESTART, handled.get(0).extra);
+    }
+
+    @Test
+    public void previousThenNextDoesNotNetOut() {
+        // Previous có thể chỉ tua lại đầu bài, next sau đó vẫn phải chuyển bài
+        queue.submit(Command.of(Type.PREVIOUS));
+        queue.submit(Command.of(Type.NEXT));
+
+        run();
+        assertCommands(Type.PREVIOUS, Type.NEXT);
+    }
+
+    @Test
+    public void skipDropsSeeksOnTheTrackBeingLeft() {
+        queue.submit(Command.of(Type.SEEK, 5_000));
+        queue.submit(Command.of(Type.NEXT));
+
+        run();
+        assertCommands(Type.NEXT);
+    }
+
+    @Test
+    public void jumpPurgesPendingNavigation() {
+        queue.submit(Command.of(Type.NEXT));
+        queue.submit(Command.of(Type.TOGGLE_PLAY_PAUSE));
+        queue.submit(Command.of(Type.SEEK, 5_000));
+        queue.submit(Command.of(Type.JUMP_TO_INDEX, 2));
+        queue.submit(Command.of(Type.JUMP_TO_INDEX, 4));
+
+        run();
+        assertCommands(Type.TOGGLE_PLAY_PAUSE, Type.JUMP_TO_INDEX);
+        assertEquals(4, handled.get(1).value);
+    }
+
+    @Test
+    public void replaceListPurgesNavigationAndOlderLists() {
+        queue.submit(Command.withPayload(Type.REPLACE_LIST, 0, "first"));
+        queue.submit(Command.of(Type.MOVE_ITEM, 0, 1));
+        queue.submit(Command.of(Type.PREVIOUS));
+        queue.submit(Command.of(Type.PAUSE));
+        queue.submit(Command.withPayload(Type.REPLACE_LIST, 3, "second"));
+
+        run();
+        assertCommands(Type.PAUSE, Type.REPLACE_LIST);
+        assertEquals("second", handled.get(1).payload);
+    }
+
+    @Test
+    public void autoAdvanceKeepsPendingSeeks() {
+        queue.submit(Command.of(Type.SEEK, 5_000));
+        queue.submit(Command.of(Type.AUTO_ADVANCE, 1));
+
+        run();
+        assertCommands(Type.SEEK, Type.AUTO_ADVANCE);
+    }
+
+    @Test
+    public void seekAfterAutoAdvanceSurvivesTheNextAdvance() {
+        queue.submit(Command.of(Type.AUTO_ADVANCE, 1));
+        queue.submit(Command.of(Type.SEEK, 5_000));
+        queue.submit(Command.of(Type.AUTO_ADVANCE, 2));
+
+        run();
+        assertCommands(Type.AUTO_ADVANCE, Type.SEEK, Type.AUTO_ADVANCE);
+        assertEquals(5_000, handled.get(1).value);
+        assertEquals(2, handled.get(2).value);
+    }
+
+    @Test
+    public void commandsSubmittedWhileDrainingRunInOrder() {
+        PlaybackCommandQueue[] self = new PlaybackCommandQueue[1];
+        self[0] = new PlaybackCommandQueue(tasks::add, command -> {
+            handled.add(command);
+            // Handler tự submit (auto-advance từ executor thread) không được block
+            if (command.type == Type.NEXT) {
+                self[0].submit(Command.of(Type.AUTO_ADVANCE, 1));
+            }
+        });
+        self[0].submit(Command.of(Type.NEXT));
+        self[0].submit(Command.of(Type.PAUSE));
+
+        run();
+        assertCommands(Type.NEXT, Type.PAUSE, Type.AUTO_ADVANCE);
+    }
+
+    private void run() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    private void assertCommands(Type... expected) {
+        List<Type> actual = new ArrayList<>();
+        for (Command command : handled) {
+            actual.add(command.type);
+        }
+        assertEquals(Arrays.asList(expected), actual);
+    }
+}
@@ -0,0 +1,86 @@
+package com.g3.soundify_musicplayer.data.repository;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Vị trí của phiên khôi phục phải sống qua lần bind service (snapshot 0 ms) cho tới lần play đầu.
+ *
+ * onServicePosition() làm đúng như MediaPlayerRepository.onPositionChanged: chỉ ghi vị trí
+ * (UI + checkpoint) khi state nhận snapshot từ service.
+ */
+public class ServicePlaylistStateTest {
+
+    private ServicePlaylistState state;
+    private long checkpointedMs;
+
+    @Before
+    public void setUp() {
+        state = new ServicePlaylistState();
+        checkpointedMs = -1;
+    }
+
+    @Test
+    public void restoreThenConnectKeepsSavedPosition() {
+        // restoreSessionSync
+        state.reset(42_000);
+        checkpointedMs = 42_000;
+
+        // bind service: setPlaybackStateListener publish snapshot của player rỗng
+        onServicePosition(0);
+
+        assertEquals(42_000, checkpointedMs);
+        assertEquals(42_000, state.pendingPosition());
+
+        // play đầu tiên (resumeSync) nạp playlist từ vị trí đã lưu
+        assertFalse(state.isLoaded());
+        long startMs = state.pendingPosition();
+        state.markLoaded();
+        assertEquals(42_000, startMs);
+
+        onServicePosition(43_000);
+        assertEquals(43_000, checkpointedMs);
+    }
+
+    @Test
+    public void seekBeforeFirstPlayReplacesRestoredPosition() {
+        state.reset(42_000);
+        state.rememberPosition(10_000);
+        onServicePosition(0);
+
+        assertEquals(10_000, state.pendingPosition());
+        assertEquals(-1, checkpointedMs);
+    }
+
+    @Test
+    public void disconnectKeepsPendingPosition() {
+        state.reset(42_000);
+        state.markUnloaded();
+
+        assertEquals(42_000, state.pendingPosition());
+        assertFalse(state.acceptsServicePosition());
+    }
+
+    @Test
+    public void newListStartsFromZeroAndAcceptsPositionsOnceLoaded() {
+        state.reset(42_000);
+        state.markLoaded();
+        state.reset(0);
+        assertEquals(0, state.pendingPosition());
+
+        state.markLoaded();
+        assertTrue(state.acceptsServicePosition());
+        onServicePosition(1_500);
+        assertEquals(1_500, checkpointedMs);
+    }
+
+    private void onServicePosition(long positionMs) {
+        if (state.acceptsServicePosition()) {
+            checkpointedMs = positionMs;
+        }
+    }
+}
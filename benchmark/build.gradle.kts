@@ -0,0 +1,36 @@
+plugins {
+    alias(libs.plugins.android.test)
+    alias(libs.plugins.baselineprofile)
+}
+
+android {
+    namespace = "com.g3.soundify_musicplayer.benchmark"
+    compileSdk = 36
+
+    defaultConfig {
+        minSdk = 35
+        targetSdk = 36
+
+        testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+    }
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_11
+        targetCompatibility = JavaVersion.VERSION_11
+    }
+
+    targetProjectPath = ":app"
+}
+
+// Chạy trên máy thật / emulator đang kết nối:
+//   ./gradlew :benchmark:connectedBenchmarkReleaseAndroidTest   (đo)
+//   ./gradlew :app:generateBaselineProfile                      (sinh baseline profile)
+baselineProfile {
+    useConnectedDevices = true
+}
+
+dependencies {
+    implementation(libs.ext.junit)
+    implementation(libs.uiautomator)
+    implementation(libs.benchmark.macro.junit4)
+}
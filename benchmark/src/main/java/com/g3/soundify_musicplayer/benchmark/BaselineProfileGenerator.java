@@ -0,0 +1,79 @@
+package com.g3.soundify_musicplayer.benchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+/**
+ * Sinh Baseline Profile từ chính các journey được benchmark:
+ *   ./gradlew :app:generateBaselineProfile
+ * Kết quả được plugin baselineprofile ghi vào app/src/main/generated/baselineProfiles.
+ * Phần startup (tới Home) cũng được đưa vào startup profile để tối ưu layout dex.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class BaselineProfileGenerator {
+
+    private static final int MAX_ITERATIONS = 15;
+    private static final int STABLE_ITERATIONS = 3;
+
+    @Rule
+    public final BaselineProfileRule baselineProfileRule = new BaselineProfileRule();
+
+    @Test
+    public void startup() {
+        baselineProfileRule.collect(
+                Journeys.PACKAGE_NAME,
+                MAX_ITERATIONS,
+                STABLE_ITERATIONS,
+                null,
+                true,
+                scope -> {
+                    Journeys.seedData(scope);
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    Journeys.waitForHome(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+
+    @Test
+    public void criticalUserJourneys() {
+        baselineProfileRule.collect(
+                Journeys.PACKAGE_NAME,
+                MAX_ITERATIONS,
+                STABLE_ITERATIONS,
+                null,
+                false,
+                scope -> {
+                    Journeys.seedData(scope);
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    Journeys.waitForHome(scope);
+
+                    Journeys.openPlaylistDetail(scope);
+                    Journeys.scrollList(scope, "recycler_view_songs");
+                    scope.getDevice().pressBack();
+                    Journeys.waitForHome(scope);
+
+                    Journeys.openLibrary(scope);
+                    Journeys.scrollList(scope, "recycler_my_songs");
+
+                    Journeys.openSearch(scope);
+                    Journeys.clearSearchQuery(scope);
+                    Journeys.typeSearchQuery(scope, Journeys.SEARCH_QUERY);
+
+                    Journeys.openHome(scope);
+                    Journeys.startPlayback(scope);
+                    Journeys.openFullPlayer(scope);
+                    Journeys.closeFullPlayer(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,147 @@
+package com.g3.soundify_musicplayer.benchmark;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.BySelector;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+import java.io.IOException;
+
+/**
+ * Các bước UI dùng chung cho benchmark và BaselineProfileGenerator.
+ * Dữ liệu được seed qua BenchmarkSeedReceiver của app (chỉ có trong build benchmark),
+ * nên journey luôn chạy trên cùng một dataset lớn và đã đăng nhập sẵn.
+ */
+final class Journeys {
+
+    static final String PACKAGE_NAME = "com.g3.soundify_musicplayer";
+
+    private static final String SEED_ACTION = "com.g3.soundify_musicplayer.SEED_BENCHMARK_DATA";
+    private static final String SEED_RECEIVER = PACKAGE_NAME + "/.data.database.BenchmarkSeedReceiver";
+
+    private static final long UI_TIMEOUT_MS = 10_000;
+    private static final int FLINGS_PER_LIST = 5;
+    static final String SEARCH_QUERY = "summer night";
+
+    private Journeys() {
+    }
+
+    /**
+     * Seed dataset + session (idempotent). `am broadcast` chờ receiver xong mới trả về.
+     */
+    static void seedData(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        try {
+            String output = device.executeShellCommand(
+                    "am broadcast -a " + SEED_ACTION + " -n " + SEED_RECEIVER);
+            if (!output.contains("result=1")) {
+                throw new IllegalStateException("Seeding benchmark data failed: " + output);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot run seed broadcast", e);
+        }
+    }
+
+    /**
+     * Chờ HomeFragment hiển thị danh sách bài hát (cũng là lúc HomeFragment gọi reportFullyDrawn)
+     */
+    static void waitForHome(MacrobenchmarkScope scope) {
+        waitFor(scope, By.res(PACKAGE_NAME, "rvSongs"));
+    }
+
+    static void openHome(MacrobenchmarkScope scope) {
+        clickNavItem(scope, "nav_home");
+        waitForHome(scope);
+    }
+
+    static void openLibrary(MacrobenchmarkScope scope) {
+        clickNavItem(scope, "nav_library");
+        waitFor(scope, By.res(PACKAGE_NAME, "recycler_my_songs"));
+    }
+
+    static void openSearch(MacrobenchmarkScope scope) {
+        clickNavItem(scope, "nav_search");
+        waitFor(scope, By.res(PACKAGE_NAME, "edit_text_search"));
+    }
+
+    /**
+     * Mở playlist lớn của benchmark user từ mục "My Playlists" trên Home
+     */
+    static void openPlaylistDetail(MacrobenchmarkScope scope) {
+        UiObject2 playlists = waitFor(scope, By.res(PACKAGE_NAME, "rvMyPlaylists"));
+        playlists.getChildren().get(0).click();
+        waitFor(scope, By.res(PACKAGE_NAME, "recycler_view_songs"));
+    }
+
+    /**
+     * Phát bài đầu tiên trên Home để MiniPlayer hiện ra
+     */
+    static void startPlayback(MacrobenchmarkScope scope) {
+        UiObject2 songs = waitFor(scope, By.res(PACKAGE_NAME, "rvSongs"));
+        songs.getChildren().get(0).click();
+        waitFor(scope, By.res(PACKAGE_NAME, "btn_play_pause"));
+    }
+
+    static void openFullPlayer(MacrobenchmarkScope scope) {
+        waitFor(scope, By.res(PACKAGE_NAME, "mini_player_container")).click();
+        waitFor(scope, By.res(PACKAGE_NAME, "seekbar_progress"));
+    }
+
+    static void closeFullPlayer(MacrobenchmarkScope scope) {
+        scope.getDevice().pressBack();
+        waitFor(scope, By.res(PACKAGE_NAME, "mini_player_container"));
+    }
+
+    /**
+     * Fling xuống rồi lên lại - FrameTimingMetric đo frame trong lúc bind item mới
+     */
+    static void scrollList(MacrobenchmarkScope scope, String recyclerViewId) {
+        UiDevice device = scope.getDevice();
+        UiObject2 list = waitFor(scope, By.res(PACKAGE_NAME, recyclerViewId));
+        // Chừa mép để gesture không bị hiểu là system back
+        list.setGestureMargin(device.getDisplayWidth() / 5);
+        for (int i = 0; i < FLINGS_PER_LIST; i++) {
+            list.fling(Direction.DOWN);
+            device.waitForIdle();
+        }
+        for (int i = 0; i < FLINGS_PER_LIST; i++) {
+            list.fling(Direction.UP);
+            device.waitForIdle();
+        }
+    }
+
+    /**
+     * Gõ từng ký tự như người dùng thật, mỗi ký tự là một lần search-as-you-type
+     */
+    static void typeSearchQuery(MacrobenchmarkScope scope, String query) {
+        UiObject2 input = waitFor(scope, By.res(PACKAGE_NAME, "edit_text_search"));
+        input.click();
+        StringBuilder typed = new StringBuilder();
+        for (char c : query.toCharArray()) {
+            typed.append(c);
+            input.setText(typed.toString());
+            scope.getDevice().waitForIdle();
+        }
+        waitFor(scope, By.res(PACKAGE_NAME, "recycler_search_results"));
+    }
+
+    static void clearSearchQuery(MacrobenchmarkScope scope) {
+        waitFor(scope, By.res(PACKAGE_NAME, "edit_text_search")).clear();
+        scope.getDevice().waitForIdle();
+    }
+
+    private static void clickNavItem(MacrobenchmarkScope scope, String itemId) {
+        waitFor(scope, By.res(PACKAGE_NAME, itemId)).click();
+    }
+
+    private static UiObject2 waitFor(MacrobenchmarkScope scope, BySelector selector) {
+        UiObject2 object = scope.getDevice().wait(Until.findObject(selector), UI_TIMEOUT_MS);
+        if (object == null) {
+            throw new IllegalStateException("Timed out waiting for " + selector);
+        }
+        return object;
+    }
+}
@@ -0,0 +1,53 @@
+package com.g3.soundify_musicplayer.benchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import kotlin.Unit;
+
+/**
+ * Mở FullPlayerActivity từ MiniPlayer: đo frame của animation chuyển màn hình
+ * và lần bind đầu tiên (artwork, seekbar, position engine chuyển sang FRAME rate).
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class PlayerBenchmark {
+
+    private static final int ITERATIONS = 5;
+
+    @Rule
+    public final MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void openFullPlayer() {
+        benchmarkRule.measureRepeated(
+                Journeys.PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                new CompilationMode.Partial(BaselineProfileMode.Require),
+                StartupMode.WARM,
+                ITERATIONS,
+                scope -> {
+                    Journeys.seedData(scope);
+                    scope.startActivityAndWait();
+                    Journeys.waitForHome(scope);
+                    Journeys.startPlayback(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    Journeys.openFullPlayer(scope);
+                    Journeys.closeFullPlayer(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,73 @@
+package com.g3.soundify_musicplayer.benchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import kotlin.Unit;
+
+/**
+ * Frame timing khi scroll các danh sách dài trên dataset đã seed
+ * (1k bài trong Library > My Songs, playlist 2k bài).
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class ScrollBenchmark {
+
+    private static final int ITERATIONS = 5;
+
+    @Rule
+    public final MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void scrollLibrarySongs() {
+        benchmarkRule.measureRepeated(
+                Journeys.PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                new CompilationMode.Partial(BaselineProfileMode.Require),
+                StartupMode.WARM,
+                ITERATIONS,
+                scope -> {
+                    Journeys.seedData(scope);
+                    scope.startActivityAndWait();
+                    Journeys.waitForHome(scope);
+                    Journeys.openLibrary(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    Journeys.scrollList(scope, "recycler_my_songs");
+                    return Unit.INSTANCE;
+                });
+    }
+
+    @Test
+    public void scrollPlaylistDetail() {
+        benchmarkRule.measureRepeated(
+                Journeys.PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                new CompilationMode.Partial(BaselineProfileMode.Require),
+                StartupMode.WARM,
+                ITERATIONS,
+                scope -> {
+                    Journeys.seedData(scope);
+                    scope.startActivityAndWait();
+                    Journeys.waitForHome(scope);
+                    Journeys.openPlaylistDetail(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    Journeys.scrollList(scope, "recycler_view_songs");
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,53 @@
+package com.g3.soundify_musicplayer.benchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import kotlin.Unit;
+
+/**
+ * Frame timing khi gõ search-as-you-type trên 10k bài / 500 user:
+ * mỗi ký tự kích hoạt debounce + FTS query + diff kết quả.
+ */
+@LargeTest
+@RunWith(AndroidJUnit4.class)
+public class SearchBenchmark {
+
+    private static final int ITERATIONS = 5;
+
+    @Rule
+    public final MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Test
+    public void typeSearchQuery() {
+        benchmarkRule.measureRepeated(
+                Journeys.PACKAGE_NAME,
+                Collections.singletonList(new FrameTimingMetric()),
+                new CompilationMode.Partial(BaselineProfileMode.Require),
+                StartupMode.WARM,
+                ITERATIONS,
+                scope -> {
+                    Journeys.seedData(scope);
+                    scope.startActivityAndWait();
+                    Journeys.waitForHome(scope);
+                    Journeys.openSearch(scope);
+                    Journeys.clearSearchQuery(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    Journeys.typeSearchQuery(scope, Journeys.SEARCH_QUERY);
+                    return Unit.INSTANCE;
+                });
+    }
+}
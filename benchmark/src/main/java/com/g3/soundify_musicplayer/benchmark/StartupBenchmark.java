@@ -0,0 +1,69 @@
+package com.g3.soundify_musicplayer.benchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.TraceSectionMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * Cold start tới khi HomeFragment có dữ liệu (Splash -> Login tự bỏ qua vì đã có session -> Main).
+ * So sánh không AOT với có Baseline Profile để thấy profile giúp được bao nhiêu.
+ * Ngoài timeToInitialDisplay/timeToFullDisplay còn đo các Trace section đặt ở cold-start path.
+ */
+@LargeTest
+@RunWith(Parameterized.class)
+public class StartupBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public final MacrobenchmarkRule benchmarkRule = new MacrobenchmarkRule();
+
+    @Parameterized.Parameter
+    public CompilationMode compilationMode;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<CompilationMode> compilationModes() {
+        return Arrays.asList(
+                new CompilationMode.None(),
+                new CompilationMode.Partial(BaselineProfileMode.Require));
+    }
+
+    @Test
+    public void coldStartToHome() {
+        benchmarkRule.measureRepeated(
+                Journeys.PACKAGE_NAME,
+                Arrays.asList(
+                        new StartupTimingMetric(),
+                        new TraceSectionMetric("SoundifyApplication.onCreate"),
+                        new TraceSectionMetric("MainActivity.onCreate"),
+                        new TraceSectionMetric("AppDatabase.warmUp")),
+                compilationMode,
+                StartupMode.COLD,
+                ITERATIONS,
+                scope -> {
+                    // Broadcast seed khởi động process app: kill lại để lần đo vẫn là cold start
+                    Journeys.seedData(scope);
+                    scope.killProcess();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scope.startActivityAndWait();
+                    Journeys.waitForHome(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}